@@ -0,0 +1,35 @@
+package com.coupon.demo.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalização do código: CouponCode.normalize (varredura única) contra o regex usado antes
+ * em Coupon.create. Entradas: já normalizado, com separadores e longo demais.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CouponCodeBenchmark {
+
+    @Param({"ABC123", "abc-12.3", "ABCDEFGHIJKLMNOP"})
+    public String code;
+
+    @Benchmark
+    public String normalize() {
+        return CouponCode.normalize(code);
+    }
+
+    @Benchmark
+    public String regex() {
+        String limpo = code.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+        return limpo.length() == 6 ? limpo : null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.coupon.demo.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coupon.create: normalização do código (regex) e parse da data, a cada POST /coupon.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CouponCreateBenchmark {
+
+    @Param({"ABC123", "abc-12.3"})
+    public String code;
+
+    @Benchmark
+    public Coupon create() {
+        return Coupon.create(code, "Cupom de benchmark", 10.0, "2099-12-31", true);
+    }
+}
@@ -0,0 +1,47 @@
+package com.coupon.demo.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExpirationDateParser contra o parse anterior (dd-MM-yyyy, e ISO após capturar a exceção),
+ * para entradas válidas nos dois formatos e inválidas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExpirationDateParserBenchmark {
+
+    private static final DateTimeFormatter DD_MM_YYYY = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    @Param({"31-12-2099", "2099-12-31", "31/12/2099"})
+    public String date;
+
+    @Benchmark
+    public LocalDate parse() {
+        return ExpirationDateParser.parse(date);
+    }
+
+    @Benchmark
+    public LocalDate exceptionFallback() {
+        try {
+            return LocalDate.parse(date, DD_MM_YYYY);
+        } catch (DateTimeParseException e1) {
+            try {
+                return LocalDate.parse(date);
+            } catch (DateTimeParseException e2) {
+                return null;
+            }
+        }
+    }
+}
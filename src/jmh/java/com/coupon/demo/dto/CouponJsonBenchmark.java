@@ -0,0 +1,52 @@
+package com.coupon.demo.dto;
+
+import com.coupon.demo.domain.CouponStatus;
+import com.coupon.demo.dto.request.CouponRequestDto;
+import com.coupon.demo.dto.response.CouponResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ida e volta Jackson (bytes → DTO → bytes) dos DTOs da API, com um ObjectMapper configurado como o do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CouponJsonBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final byte[] request;
+    private final byte[] response;
+
+    public CouponJsonBenchmark() {
+        try {
+            request = ("{\"code\":\"ABC123\",\"description\":\"Cupom de benchmark\",\"discountValue\":10.0,"
+                    + "\"expirationDate\":\"31-12-2099\",\"published\":true}").getBytes(StandardCharsets.UTF_8);
+            response = objectMapper.writeValueAsBytes(new CouponResponseDto(UUID.randomUUID().toString(), "ABC123",
+                    "Cupom de benchmark", 10.0, "2099-12-31", CouponStatus.ACTIVE, true, null));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] requestRoundTrip() throws IOException {
+        return objectMapper.writeValueAsBytes(objectMapper.readValue(request, CouponRequestDto.class));
+    }
+
+    @Benchmark
+    public byte[] responseRoundTrip() throws IOException {
+        return objectMapper.writeValueAsBytes(objectMapper.readValue(response, CouponResponseDto.class));
+    }
+}
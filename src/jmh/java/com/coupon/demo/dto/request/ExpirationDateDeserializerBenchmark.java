@@ -0,0 +1,49 @@
+package com.coupon.demo.dto.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExpirationDateDeserializer num ObjectReader (parser + contexto do Jackson, como no corpo da requisição).
+ * Os dois formatos válidos seguem o mesmo caminho; o inválido lança a exceção de erro para o cliente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExpirationDateDeserializerBenchmark {
+
+    @Param({"31-12-2099", "2099-12-31", "31/12/2099"})
+    public String date;
+
+    private ObjectReader reader;
+    private String json;
+
+    @Setup
+    public void setup() {
+        SimpleModule module = new SimpleModule().addDeserializer(LocalDate.class, new ExpirationDateDeserializer());
+        reader = new ObjectMapper().registerModule(module).readerFor(LocalDate.class);
+        json = "\"" + date + "\"";
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        try {
+            return reader.readValue(json);
+        } catch (IOException e) {
+            return e;
+        }
+    }
+}
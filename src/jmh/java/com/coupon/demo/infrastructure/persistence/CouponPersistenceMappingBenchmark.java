@@ -0,0 +1,38 @@
+package com.coupon.demo.infrastructure.persistence;
+
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão domain ↔ entidade do adapter JPA, sem banco (repository e EntityManager não são usados).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CouponPersistenceMappingBenchmark {
+
+    private final CouponPersistenceAdapter adapter = new CouponPersistenceAdapter(null, null);
+    private final Coupon coupon = Coupon.reconstitute(UUID.randomUUID(), "ABC123", "Cupom de benchmark", 10.0,
+            LocalDateTime.of(2099, 12, 31, 0, 0), CouponStatus.ACTIVE, true);
+    private final CouponEntity entity = adapter.toEntity(coupon);
+
+    @Benchmark
+    public CouponEntity toEntity() {
+        return adapter.toEntity(coupon);
+    }
+
+    @Benchmark
+    public Coupon toDomain() {
+        return adapter.toDomain(entity);
+    }
+}
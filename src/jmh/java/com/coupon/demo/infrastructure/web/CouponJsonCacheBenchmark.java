@@ -0,0 +1,68 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.domain.CouponStatus;
+import com.coupon.demo.infrastructure.cache.CouponCodeIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corpo do GET /coupon/{id}: mapear e serializar a cada requisição contra servir os bytes guardados
+ * (busca no CouponJsonCache e comparação do If-None-Match).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CouponJsonCacheBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CouponWebMapper webMapper = new CouponWebMapper();
+    private final CouponJsonCache jsonCache = new CouponJsonCache(Caffeine.newBuilder().maximumSize(1000).build(),
+            new CouponCodeIndex(1000), CacheControl.noCache());
+    private final Coupon coupon = Coupon.reconstitute(UUID.randomUUID(), "ABC123", "Cupom de benchmark", 10.0,
+            LocalDateTime.of(2099, 12, 31, 0, 0), CouponStatus.ACTIVE, true);
+    private final HttpHeaders ifNoneMatch = new HttpHeaders();
+
+    public CouponJsonCacheBenchmark() {
+        try {
+            CouponJsonCache.Entry entry = new CouponJsonCache.Entry(
+                    objectMapper.writeValueAsBytes(webMapper.toResponseDto(coupon)),
+                    CouponConditionalRequests.etag(coupon.getVersion()), null, CouponCode.pack(coupon.getCode()));
+            jsonCache.put(coupon.getId(), entry, jsonCache.epoch());
+            ifNoneMatch.setIfNoneMatch(entry.etag());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws IOException {
+        return objectMapper.writeValueAsBytes(webMapper.toResponseDto(coupon));
+    }
+
+    @Benchmark
+    public byte[] cachedBody() {
+        return jsonCache.get(coupon.getId()).body();
+    }
+
+    @Benchmark
+    public boolean cachedNotModified() {
+        CouponJsonCache.Entry entry = jsonCache.get(coupon.getId());
+        return CouponConditionalRequests.notModified(entry.etag(), entry.lastModified(), ifNoneMatch);
+    }
+}
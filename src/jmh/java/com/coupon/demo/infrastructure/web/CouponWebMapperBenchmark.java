@@ -0,0 +1,33 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import com.coupon.demo.dto.response.CouponResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CouponWebMapper.toResponseDto: executado em toda resposta com cupom.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CouponWebMapperBenchmark {
+
+    private final CouponWebMapper webMapper = new CouponWebMapper();
+    private final Coupon coupon = Coupon.reconstitute(UUID.randomUUID(), "ABC123", "Cupom de benchmark", 10.0,
+            LocalDateTime.of(2099, 12, 31, 0, 0), CouponStatus.ACTIVE, true);
+
+    @Benchmark
+    public CouponResponseDto toResponseDto() {
+        return webMapper.toResponseDto(coupon);
+    }
+}
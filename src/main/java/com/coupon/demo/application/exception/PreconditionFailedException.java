@@ -0,0 +1,12 @@
+package com.coupon.demo.application.exception;
+
+
+/**
+ * A versão esperada pelo cliente (If-Match) não é mais a atual do cupom.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.coupon.demo.application.port;
+
+import com.coupon.demo.domain.Coupon;
+
+import java.util.OptionalLong;
+
+/**
+ * Porta para contar usos (resgates) de cupom. Implementação (adapter) fica na infra;
+ * application não sabe se a contagem é em memória, no banco ou ambos.
+ */
+public interface CouponUsagePort {
+
+    /**
+     * Consome um uso do cupom, respeitando maxUses quando houver. Vazio quando o limite já foi atingido.
+     * Devolve os usos contados logo após este resgate (sob concorrência, pode incluir resgates simultâneos).
+     */
+    OptionalLong tryRedeem(Coupon coupon);
+}
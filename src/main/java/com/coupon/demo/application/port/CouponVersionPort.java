@@ -0,0 +1,16 @@
+package com.coupon.demo.application.port;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Porta para ler só a versão do cupom (sem carregar a linha inteira), usada nas requisições condicionais.
+ */
+public interface CouponVersionPort {
+
+    Optional<CouponVersion> findVersion(UUID id);
+
+    record CouponVersion(long version, LocalDateTime updatedAt) {
+    }
+}
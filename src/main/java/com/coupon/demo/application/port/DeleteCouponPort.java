@@ -0,0 +1,22 @@
+package com.coupon.demo.application.port;
+
+import com.coupon.demo.domain.Coupon;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Porta para o soft delete atômico. Implementação (adapter) fica na infra;
+ * application não importa JPA nem Spring Data.
+ */
+public interface DeleteCouponPort {
+
+    /**
+     * Marca o cupom como DELETED numa única instrução, só se ainda não estiver deletado e, com
+     * expectedVersion, só se a versão for essa. Incrementa a versão e grava deletedAt como updatedAt.
+     * Retorna o cupom como ficou após a instrução, lido dela mesma (sem nova consulta); vazio se nenhuma linha
+     * foi alterada: não existe, já estava deletado ou a versão mudou.
+     */
+    Optional<Coupon> markDeleted(UUID id, Long expectedVersion, LocalDateTime deletedAt);
+}
@@ -0,0 +1,43 @@
+package com.coupon.demo.application.port;
+
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Porta para listar cupons em ordem de (expirationDate, id). Implementação (adapter) fica na infra;
+ * application não importa JPA nem Spring Data.
+ */
+public interface ListCouponsPort {
+
+    /**
+     * Até limit cupons depois do cursor (exclusivo); cursor nulo começa do início.
+     */
+    List<Coupon> findPage(Filter filter, Cursor after, int limit);
+
+    /**
+     * Percorre todos os cupons do filtro, um por vez, sem carregar o resultado inteiro.
+     * Retorna quantos foram entregues ao consumer.
+     */
+    long forEach(Filter filter, Consumer<Coupon> consumer);
+
+    /**
+     * Filtros opcionais: campo nulo não filtra.
+     */
+    record Filter(CouponStatus status, Boolean published) {
+    }
+
+    /**
+     * Posição na ordenação: o último item da página anterior.
+     */
+    record Cursor(LocalDateTime expirationDate, UUID id) {
+
+        public static Cursor of(Coupon coupon) {
+            return new Cursor(coupon.getExpirationDate(), coupon.getId());
+        }
+    }
+}
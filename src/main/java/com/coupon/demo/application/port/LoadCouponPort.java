@@ -12,4 +12,9 @@ import java.util.UUID;
 public interface LoadCouponPort {
 
     Optional<Coupon> findById(UUID id);
+
+    /**
+     * Busca pelo código; aceita o código bruto e aplica a normalização de Coupon.create.
+     */
+    Optional<Coupon> findByCode(String code);
 }
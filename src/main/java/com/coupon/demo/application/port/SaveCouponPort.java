@@ -2,6 +2,8 @@ package com.coupon.demo.application.port;
 
 import com.coupon.demo.domain.Coupon;
 
+import java.util.List;
+
 /**
  * Porta para persistir cupom. Implementação (adapter) fica na infra;
  * application não importa JPA nem Spring Data.
@@ -9,4 +11,9 @@ import com.coupon.demo.domain.Coupon;
 public interface SaveCouponPort {
 
     Coupon save(Coupon coupon);
+
+    /**
+     * Persiste cupons novos numa única transação; falha de qualquer item desfaz o bloco inteiro.
+     */
+    List<Coupon> saveAll(List<Coupon> coupons);
 }
@@ -0,0 +1,20 @@
+package com.coupon.demo.application.usecase;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Onde e com que prazo roda a variante assíncrona (executeAsync) de um use case: o executor
+ * (na infra, um bulkhead limitado por use case) e o timeout. Só JDK; application continua sem Spring.
+ * Com o executor cheio, supply lança RejectedExecutionException na hora; estourado o prazo, o future
+ * completa com TimeoutException e, se a tarefa ainda estava na fila, ela não chega a rodar.
+ */
+public record AsyncExecution(Executor executor, Duration timeout) {
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.domain.Coupon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Persiste um bloco de cupons novos numa única transação (saveAll). Se o bloco falhar
+ * (ex.: código duplicado), regrava item a item para apontar exatamente quais falharam.
+ * Compartilhado pela criação em lote e pela importação de arquivos.
+ */
+final class CouponChunkWriter {
+
+    private final SaveCouponPort saveCouponPort;
+
+    CouponChunkWriter(SaveCouponPort saveCouponPort) {
+        this.saveCouponPort = saveCouponPort;
+    }
+
+    /**
+     * Devolve quantos cupons foram gravados; cada rejeição é entregue com a posição do item na entrada.
+     */
+    int write(List<Pending> chunk, ObjLongConsumer<String> rejections) {
+        List<Coupon> coupons = new ArrayList<>(chunk.size());
+        chunk.forEach(pending -> coupons.add(pending.coupon()));
+        try {
+            return saveCouponPort.saveAll(coupons).size();
+        } catch (RuntimeException chunkFailure) {
+            int created = 0;
+            for (Pending pending : chunk) {
+                try {
+                    saveCouponPort.save(pending.coupon());
+                    created++;
+                } catch (RuntimeException e) {
+                    rejections.accept("Não foi possível persistir o cupom " + pending.coupon().getCode()
+                            + ": código já existente ou dados inválidos", pending.position());
+                }
+            }
+            return created;
+        }
+    }
+
+    record Pending(long position, Coupon coupon) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.application.usecase.CouponChunkWriter.Pending;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Use case: criar cupons em lote. Uma única intenção, um método público (execute).
+ * Cada item passa por Coupon.create; os válidos são persistidos em blocos (saveAll),
+ * um bloco por transação. Se um bloco falhar (ex.: código duplicado), os itens dele
+ * são regravados um a um para apontar exatamente quais falharam.
+ */
+public class CreateCouponBatchUseCase {
+
+    private final CouponChunkWriter chunkWriter;
+    private final int chunkSize;
+
+    public CreateCouponBatchUseCase(SaveCouponPort saveCouponPort, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("O tamanho do bloco deve ser positivo");
+        }
+        this.chunkWriter = new CouponChunkWriter(saveCouponPort);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Consome os itens sob demanda: só um bloco fica em memória por vez.
+     */
+    public Result execute(Iterator<Item> items) {
+        List<ItemError> errors = new ArrayList<>();
+        List<Pending> chunk = new ArrayList<>(chunkSize);
+        int created = 0;
+
+        while (items.hasNext()) {
+            Item item = items.next();
+            try {
+                chunk.add(new Pending(item.index(), Coupon.create(item.code(), item.description(),
+                        item.discountValue(), item.expirationDate(), item.published(), item.maxUses())));
+            } catch (BusinessException e) {
+                errors.add(new ItemError(item.index(), e.getMessage()));
+            }
+            if (chunk.size() == chunkSize) {
+                created += persist(chunk, errors);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += persist(chunk, errors);
+        }
+        return new Result(created, errors);
+    }
+
+    private int persist(List<Pending> chunk, List<ItemError> errors) {
+        int created = chunkWriter.write(chunk, (message, index) -> errors.add(new ItemError((int) index, message)));
+        chunk.clear();
+        return created;
+    }
+
+    /**
+     * Item de entrada; index é a posição no lote original, usada nos erros.
+     */
+    public record Item(int index, String code, String description, Double discountValue,
+                       LocalDate expirationDate, boolean published, Integer maxUses) {
+
+        public Item(int index, String code, String description, Double discountValue,
+                    LocalDate expirationDate, boolean published) {
+            this(index, code, description, discountValue, expirationDate, published, null);
+        }
+    }
+
+    public record ItemError(int index, String message) {
+    }
+
+    public record Result(int created, List<ItemError> errors) {
+    }
+}
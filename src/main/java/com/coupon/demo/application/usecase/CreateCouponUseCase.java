@@ -4,21 +4,41 @@ import com.coupon.demo.application.port.SaveCouponPort;
 import com.coupon.demo.domain.Coupon;
 import lombok.RequiredArgsConstructor;
 
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
 /**
- * Use case: criar cupom. Uma única intenção, um método público (execute).
+ * Use case: criar cupom. Uma única intenção, um método público (execute) e sua variante assíncrona.
  * Orquestra o fluxo; regras de negócio ficam no domínio (Coupon.create).
  */
 @RequiredArgsConstructor
 public class CreateCouponUseCase {
 
     private final SaveCouponPort saveCouponPort;
+    private final AsyncExecution async;
 
     /**
      * Cria um cupom válido e persiste. Validações são feitas no domínio.
      */
     public Coupon execute(String code, String description, Double discountValue,
-                          String expirationDate, boolean published) {
-        Coupon coupon = Coupon.create(code, description, discountValue, expirationDate, published);
+                          LocalDate expirationDate, boolean published) {
+        return execute(code, description, discountValue, expirationDate, published, null);
+    }
+
+    /**
+     * Variante com limite de usos (maxUses nulo: sem limite).
+     */
+    public Coupon execute(String code, String description, Double discountValue,
+                          LocalDate expirationDate, boolean published, Integer maxUses) {
+        Coupon coupon = Coupon.create(code, description, discountValue, expirationDate, published, maxUses);
         return saveCouponPort.save(coupon);
     }
+
+    /**
+     * Mesmo fluxo de execute, no executor e com o timeout deste use case; quem chama não fica bloqueado.
+     */
+    public CompletableFuture<Coupon> executeAsync(String code, String description, Double discountValue,
+                                                  LocalDate expirationDate, boolean published, Integer maxUses) {
+        return async.supply(() -> execute(code, description, discountValue, expirationDate, published, maxUses));
+    }
 }
@@ -1,37 +1,61 @@
 package com.coupon.demo.application.usecase;
 
+import com.coupon.demo.application.exception.PreconditionFailedException;
 import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.DeleteCouponPort;
 import com.coupon.demo.application.port.LoadCouponPort;
-import com.coupon.demo.application.port.SaveCouponPort;
 import com.coupon.demo.domain.BusinessException;
 import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
 import lombok.RequiredArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Use case: deletar cupom (soft delete). Uma única intenção, um método público (execute).
- * Orquestra: carregar → aplicar regra de domínio (não deletar duas vezes) → salvar.
+ * Use case: deletar cupom (soft delete). Uma única intenção, um método público (execute) e sua variante assíncrona.
+ * Orquestra: UPDATE condicional → cupom deletado, ou nenhuma linha alterada traduzida em erro.
  */
 @RequiredArgsConstructor
 public class DeleteCouponUseCase {
 
     private final LoadCouponPort loadCouponPort;
-    private final SaveCouponPort saveCouponPort;
+    private final DeleteCouponPort deleteCouponPort;
+    private final AsyncExecution async;
+
+    public Coupon execute(UUID id) {
+        return execute(id, null);
+    }
 
     /**
-     * Marca o cupom como deletado. Regra "não deletar duas vezes" está no domínio (Coupon.delete).
+     * Marca o cupom como deletado. A regra "não deletar duas vezes" (Coupon.delete) e a versão esperada
+     * (If-Match; nula = qualquer) vão no predicado do UPDATE, então de duas deleções concorrentes só uma
+     * altera a linha. A porta devolve o cupom deletado pela própria instrução; só quando nenhuma linha foi
+     * alterada há uma leitura, para distinguir "não existe", "versão mudou" e "já deletado".
      */
-    public Coupon execute(UUID id) {
-        Coupon coupon = loadCouponPort.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cupom não encontrado para deletar"));
+    public Coupon execute(UUID id, Long expectedVersion) {
+        return deleteCouponPort.markDeleted(id, expectedVersion, LocalDateTime.now())
+                .orElseThrow(() -> rejection(id, expectedVersion));
+    }
 
-        try {
-            coupon.delete();
-        } catch (IllegalStateException e) {
-            throw new BusinessException("Não é possível deletar um cupom que já está deletado.");
+    private RuntimeException rejection(UUID id, Long expectedVersion) {
+        Coupon current = loadCouponPort.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cupom não encontrado para deletar"));
+        if (expectedVersion != null && current.getVersion() != expectedVersion) {
+            return new PreconditionFailedException("O cupom foi alterado desde a versão informada.");
+        }
+        if (current.getStatus() == CouponStatus.DELETED) {
+            return new BusinessException("Não é possível deletar um cupom que já está deletado.");
         }
+        return new PreconditionFailedException("O cupom foi alterado durante a deleção.");
+    }
+
+    public CompletableFuture<Coupon> executeAsync(UUID id) {
+        return executeAsync(id, null);
+    }
 
-        return saveCouponPort.save(coupon);
+    public CompletableFuture<Coupon> executeAsync(UUID id, Long expectedVersion) {
+        return async.supply(() -> execute(id, expectedVersion));
     }
 }
@@ -0,0 +1,22 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.port.ListCouponsPort;
+import com.coupon.demo.application.port.ListCouponsPort.Filter;
+import com.coupon.demo.domain.Coupon;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Consumer;
+
+/**
+ * Use case: exportar todos os cupons do filtro. Uma única intenção, um método público (execute).
+ * Cada cupom é entregue ao consumer assim que lido; nada é acumulado em memória.
+ */
+@RequiredArgsConstructor
+public class ExportCouponsUseCase {
+
+    private final ListCouponsPort listCouponsPort;
+
+    public long execute(Filter filter, Consumer<Coupon> consumer) {
+        return listCouponsPort.forEach(filter, consumer);
+    }
+}
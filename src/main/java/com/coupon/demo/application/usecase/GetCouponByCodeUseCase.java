@@ -0,0 +1,32 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Use case: buscar cupom pelo código normalizado. Uma única intenção, um método público (execute) e sua variante assíncrona.
+ */
+@RequiredArgsConstructor
+public class GetCouponByCodeUseCase {
+
+    private final LoadCouponPort loadCouponPort;
+    private final AsyncExecution async;
+
+    public Coupon execute(String code) {
+        if (CouponCode.pack(code) == CouponCode.INVALID) {
+            throw new BusinessException("O código do cupom deve ter exatamente 6 caracteres alfanuméricos");
+        }
+        return loadCouponPort.findByCode(code)
+                .orElseThrow(() -> new ResourceNotFoundException("Cupom não encontrado"));
+    }
+
+    public CompletableFuture<Coupon> executeAsync(String code) {
+        return async.supply(() -> execute(code));
+    }
+}
@@ -6,17 +6,23 @@ import com.coupon.demo.domain.Coupon;
 import lombok.RequiredArgsConstructor;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Use case: buscar cupom por ID. Uma única intenção, um método público (execute).
+ * Use case: buscar cupom por ID. Uma única intenção, um método público (execute) e sua variante assíncrona.
  */
 @RequiredArgsConstructor
 public class GetCouponUseCase {
 
     private final LoadCouponPort loadCouponPort;
+    private final AsyncExecution async;
 
     public Coupon execute(UUID id) {
         return loadCouponPort.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cupom não encontrado"));
     }
+
+    public CompletableFuture<Coupon> executeAsync(UUID id) {
+        return async.supply(() -> execute(id));
+    }
 }
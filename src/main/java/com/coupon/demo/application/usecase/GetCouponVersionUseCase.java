@@ -0,0 +1,28 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.CouponVersionPort;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Use case: versão atual do cupom, sem carregá-lo, para responder GETs condicionais.
+ * Uma única intenção, um método público (execute) e sua variante assíncrona.
+ */
+@RequiredArgsConstructor
+public class GetCouponVersionUseCase {
+
+    private final CouponVersionPort couponVersionPort;
+    private final AsyncExecution async;
+
+    public CouponVersionPort.CouponVersion execute(UUID id) {
+        return couponVersionPort.findVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cupom não encontrado"));
+    }
+
+    public CompletableFuture<CouponVersionPort.CouponVersion> executeAsync(UUID id) {
+        return async.supply(() -> execute(id));
+    }
+}
@@ -0,0 +1,192 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.application.usecase.CouponChunkWriter.Pending;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Use case: importar cupons de uma fonte de qualquer tamanho com memória constante.
+ * Duas etapas ligadas por uma fila limitada de blocos: a thread chamadora lê e valida
+ * (Coupon.create) e monta blocos; o writer, no executor recebido, grava cada bloco (saveAll).
+ * Com a fila cheia a leitura bloqueia (backpressure): no máximo queueCapacity + 2 blocos em memória.
+ * Rejeições são contadas; só as primeiras maxReportedErrors são guardadas.
+ */
+public class ImportCouponsUseCase {
+
+    private static final List<Pending> END = List.of();
+
+    private final CouponChunkWriter chunkWriter;
+    private final Executor writerExecutor;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final int maxReportedErrors;
+
+    public ImportCouponsUseCase(SaveCouponPort saveCouponPort, Executor writerExecutor,
+                                int chunkSize, int queueCapacity, int maxReportedErrors) {
+        if (chunkSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Tamanho do bloco e capacidade da fila devem ser positivos");
+        }
+        this.chunkWriter = new CouponChunkWriter(saveCouponPort);
+        this.writerExecutor = writerExecutor;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Bloqueia até o fim da importação. progress recebe um retrato a cada bloco gravado
+     * (na thread do writer) e o retrato final (na thread chamadora).
+     */
+    public Report execute(Iterator<Line> lines, Consumer<Report> progress) {
+        State state = new State(maxReportedErrors);
+        BlockingQueue<List<Pending>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> drain(queue, state, progress), writerExecutor);
+
+        RuntimeException failure = null;
+        try {
+            produce(lines, queue, writer, state);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        try {
+            if (!writer.isDone()) {
+                handOff(queue, END, writer);
+            }
+            writer.join();
+        } catch (RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure instanceof CompletionException && failure.getCause() instanceof RuntimeException cause
+                    ? cause : failure;
+        }
+        Report report = state.snapshot(true);
+        progress.accept(report);
+        return report;
+    }
+
+    private void produce(Iterator<Line> lines, BlockingQueue<List<Pending>> queue,
+                         CompletableFuture<Void> writer, State state) {
+        List<Pending> chunk = new ArrayList<>(chunkSize);
+        while (lines.hasNext()) {
+            Line line = lines.next();
+            state.read.incrementAndGet();
+            if (line.rejection() != null) {
+                state.reject(line.rejection(), line.number());
+                continue;
+            }
+            try {
+                chunk.add(new Pending(line.number(), Coupon.create(line.code(), line.description(),
+                        line.discountValue(), line.expirationDate(), line.published(), line.maxUses())));
+            } catch (BusinessException e) {
+                state.reject(e.getMessage(), line.number());
+            }
+            if (chunk.size() == chunkSize) {
+                handOff(queue, chunk, writer);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            handOff(queue, chunk, writer);
+        }
+    }
+
+    /**
+     * Entrega o bloco ao writer, esperando vaga na fila. Se o writer morrer, propaga a falha dele.
+     */
+    private static void handOff(BlockingQueue<List<Pending>> queue, List<Pending> chunk, CompletableFuture<Void> writer) {
+        try {
+            while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    writer.join();
+                    throw new IllegalStateException("Writer da importação terminou antes do fim da leitura");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queue.clear();
+            queue.offer(END);
+            throw new IllegalStateException("Importação interrompida", e);
+        }
+    }
+
+    private void drain(BlockingQueue<List<Pending>> queue, State state, Consumer<Report> progress) {
+        try {
+            while (true) {
+                List<Pending> chunk = queue.take();
+                if (chunk == END) {
+                    return;
+                }
+                state.created.addAndGet(chunkWriter.write(chunk, state::reject));
+                progress.accept(state.snapshot(false));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importação interrompida", e);
+        }
+    }
+
+    /**
+     * Registro lido da fonte. number é a posição (ex.: linha do arquivo);
+     * maxUses nulo: sem limite de usos; rejection preenchido indica registro que nem chegou a ser convertido.
+     */
+    public record Line(long number, String code, String description, Double discountValue,
+                       LocalDate expirationDate, boolean published, Integer maxUses, String rejection) {
+
+        public static Line rejected(long number, String rejection) {
+            return new Line(number, null, null, null, null, false, null, rejection);
+        }
+    }
+
+    public record LineError(long number, String message) {
+    }
+
+    public record Report(long read, long created, long rejected, List<LineError> errors, boolean finished) {
+    }
+
+    private static final class State {
+
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<LineError> errors = new ArrayList<>();
+        private final int maxReportedErrors;
+
+        private State(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void reject(String message, long number) {
+            rejected.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new LineError(number, message));
+                }
+            }
+        }
+
+        private Report snapshot(boolean finished) {
+            List<LineError> reported;
+            synchronized (errors) {
+                reported = List.copyOf(errors);
+            }
+            return new Report(read.get(), created.get(), rejected.get(), reported, finished);
+        }
+    }
+}
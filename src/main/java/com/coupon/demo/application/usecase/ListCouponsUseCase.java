@@ -0,0 +1,40 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.port.ListCouponsPort;
+import com.coupon.demo.application.port.ListCouponsPort.Cursor;
+import com.coupon.demo.application.port.ListCouponsPort.Filter;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Use case: listar cupons com paginação por cursor (keyset). Uma única intenção, um método público (execute).
+ * Busca limit + 1 itens para saber se há próxima página sem contar o total.
+ */
+@RequiredArgsConstructor
+public class ListCouponsUseCase {
+
+    public static final int MAX_LIMIT = 500;
+
+    private final ListCouponsPort listCouponsPort;
+
+    public Page execute(Filter filter, Cursor after, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessException("O limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+        List<Coupon> found = listCouponsPort.findPage(filter, after, limit + 1);
+        if (found.size() <= limit) {
+            return new Page(found, null);
+        }
+        List<Coupon> items = found.subList(0, limit);
+        return new Page(items, Cursor.of(items.get(limit - 1)));
+    }
+
+    /**
+     * next nulo indica a última página.
+     */
+    public record Page(List<Coupon> items, Cursor next) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.CouponUsagePort;
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Use case: resgatar (usar) um cupom. Uma única intenção, um método público (execute).
+ * Orquestra: carregar → regra de domínio (ativo, publicado, não expirado) → consumir um uso.
+ */
+@RequiredArgsConstructor
+public class RedeemCouponUseCase {
+
+    private final LoadCouponPort loadCouponPort;
+    private final CouponUsagePort couponUsagePort;
+
+    /**
+     * Registra um uso do cupom. O limite de usos é garantido pela porta de contagem, sem lock na linha do cupom.
+     */
+    public Redemption execute(UUID id) {
+        Coupon coupon = loadCouponPort.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cupom não encontrado para resgatar"));
+        coupon.checkRedeemable(LocalDateTime.now());
+
+        long usedCount = couponUsagePort.tryRedeem(coupon)
+                .orElseThrow(() -> new BusinessException("O cupom atingiu o limite de usos."));
+        return new Redemption(coupon.getId(), coupon.getCode(), usedCount, coupon.getMaxUses());
+    }
+
+    public record Redemption(UUID couponId, String code, long usedCount, Integer maxUses) {
+    }
+}
@@ -23,27 +23,64 @@ public class Coupon {
     private final LocalDateTime expirationDate;
     private CouponStatus status;
     private final boolean published;
+    private final Integer maxUses;
+    private final long usedCount;
+    /**
+     * Versão da linha (lock otimista), incrementada a cada alteração; 0 em cupom novo.
+     */
+    private final long version;
+    /**
+     * Momento da última alteração; nulo até o cupom ser gravado.
+     */
+    private final LocalDateTime updatedAt;
 
     /**
      * Regra de domínio para criação de um cupom.
      * Centraliza: normalização do código, validação de desconto e data futura.
+     * Recebe a data já convertida (ex.: pelo deserializador da API), sem novo parse.
      */
     public static Coupon create(String code, String description, Double discountValue,
-                                String expirationDate, boolean published) {
+                                LocalDate expirationDate, boolean published) {
+        return create(code, description, discountValue, expirationDate, published, null);
+    }
+
+    /**
+     * Variante com limite de usos; maxUses nulo significa sem limite.
+     */
+    public static Coupon create(String code, String description, Double discountValue,
+                                LocalDate expirationDate, boolean published, Integer maxUses) {
         String normalizedCode = normalizeCode(code);
         validateDiscount(discountValue);
         LocalDateTime expiration = toFutureExpiration(expirationDate);
+        if (maxUses != null && maxUses < 1) {
+            throw new BusinessException("O limite de usos deve ser de no mínimo 1");
+        }
 
         return new Coupon(null, normalizedCode, description, discountValue,
-                expiration, CouponStatus.ACTIVE, published);
+                expiration, CouponStatus.ACTIVE, published, maxUses, 0, 0, null);
+    }
+
+    /**
+     * Variante com a data em texto ("yyyy-MM-dd" ou "dd-MM-yyyy"), convertida por ExpirationDateParser.
+     */
+    public static Coupon create(String code, String description, Double discountValue,
+                                String expirationDate, boolean published) {
+        if (expirationDate == null || expirationDate.isBlank()) {
+            throw new BusinessException("A data de expiração é obrigatória");
+        }
+        LocalDate date = ExpirationDateParser.parse(expirationDate);
+        if (date == null) {
+            throw new BusinessException("A data de expiração deve estar no formato yyyy-MM-dd");
+        }
+        return create(code, description, discountValue, date, published);
     }
 
     private static String normalizeCode(String code) {
         if (code == null || code.isBlank()) {
             throw new BusinessException("O código é obrigatório");
         }
-        String limpo = code.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
-        if (limpo.length() != 6) {
+        String limpo = CouponCode.normalize(code);
+        if (limpo == null) {
             throw new BusinessException("O código do cupom deve ter exatamente 6 caracteres alfanuméricos");
         }
         return limpo;
@@ -58,34 +95,57 @@ public class Coupon {
         }
     }
 
-    private static LocalDateTime toFutureExpiration(String expirationDate) {
-        if (expirationDate == null || expirationDate.isBlank()) {
+    private static LocalDateTime toFutureExpiration(LocalDate date) {
+        if (date == null) {
             throw new BusinessException("A data de expiração é obrigatória");
         }
-        LocalDate date;
-        try {
-            date = LocalDate.parse(expirationDate);
-        } catch (Exception e) {
-            throw new BusinessException("A data de expiração deve estar no formato yyyy-MM-dd");
-        }
         if (!date.isAfter(LocalDate.now())) {
             throw new BusinessException("A data de expiração não pode ser anterior ou igual ao momento atual");
         }
         return date.atStartOfDay();
     }
 
-    /**
-     * Regra de domínio: não deletar duas vezes.
-     */
     /**
      * Reconstitui um cupom a partir do banco (sem validações de criação).
      */
     public static Coupon reconstitute(UUID id, String code, String description, Double discountValue,
                                       LocalDateTime expirationDate, CouponStatus status, boolean published) {
-        Coupon c = new Coupon(id, code, description, discountValue, expirationDate, status, published);
-        return c;
+        return reconstitute(id, code, description, discountValue, expirationDate, status, published, null, 0);
+    }
+
+    public static Coupon reconstitute(UUID id, String code, String description, Double discountValue,
+                                      LocalDateTime expirationDate, CouponStatus status, boolean published,
+                                      Integer maxUses, long usedCount) {
+        return reconstitute(id, code, description, discountValue, expirationDate, status, published,
+                maxUses, usedCount, 0, null);
+    }
+
+    public static Coupon reconstitute(UUID id, String code, String description, Double discountValue,
+                                      LocalDateTime expirationDate, CouponStatus status, boolean published,
+                                      Integer maxUses, long usedCount, long version, LocalDateTime updatedAt) {
+        return new Coupon(id, code, description, discountValue, expirationDate, status, published,
+                maxUses, usedCount, version, updatedAt);
     }
 
+    /**
+     * Regra de domínio para resgate: só cupom ativo, publicado e ainda não expirado.
+     * O limite de usos (maxUses) é aplicado pelo contador de usos, fora do domínio.
+     */
+    public void checkRedeemable(LocalDateTime now) {
+        if (this.status != CouponStatus.ACTIVE) {
+            throw new BusinessException("Não é possível resgatar um cupom que não está ativo.");
+        }
+        if (!this.published) {
+            throw new BusinessException("Não é possível resgatar um cupom que não está publicado.");
+        }
+        if (this.expirationDate != null && !now.isBefore(this.expirationDate)) {
+            throw new BusinessException("Não é possível resgatar um cupom expirado.");
+        }
+    }
+
+    /**
+     * Regra de domínio: não deletar duas vezes.
+     */
     public void delete() {
         if (this.status == CouponStatus.DELETED) {
             throw new IllegalStateException("Cupom já está deletado");
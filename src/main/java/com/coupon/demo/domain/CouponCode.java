@@ -0,0 +1,100 @@
+package com.coupon.demo.domain;
+
+/**
+ * Representação compacta do código do cupom: os 6 caracteres alfanuméricos
+ * normalizados empacotados em base 36 num long (cabe com folga: 36^6 &lt; 2^32).
+ * Aplica a mesma normalização de Coupon.create (ignora não alfanuméricos, maiúsculas)
+ * sem criar String intermediária.
+ */
+public final class CouponCode {
+
+    public static final int LENGTH = 6;
+    public static final long INVALID = -1L;
+
+    private static final int RADIX = 36;
+
+    private CouponCode() {
+    }
+
+    /**
+     * Empacota o código bruto; devolve INVALID se, após a normalização,
+     * não restarem exatamente 6 caracteres alfanuméricos.
+     */
+    public static long pack(CharSequence code) {
+        if (code == null) {
+            return INVALID;
+        }
+        long packed = 0;
+        int count = 0;
+        for (int i = 0, n = code.length(); i < n; i++) {
+            int digit = digitOf(code.charAt(i));
+            if (digit < 0) {
+                continue;
+            }
+            if (++count > LENGTH) {
+                return INVALID;
+            }
+            packed = packed * RADIX + digit;
+        }
+        return count == LENGTH ? packed : INVALID;
+    }
+
+    /**
+     * Normaliza o código bruto como Coupon.create: remove o que não for alfanumérico ASCII e passa
+     * para maiúsculas. Devolve null se não restarem exatamente 6 caracteres. Sem regex nem buffer
+     * intermediário: código já normalizado volta como veio (sem alocar); os demais passam por uma
+     * única varredura (pack), que desiste ao passar de 6 caracteres.
+     */
+    public static String normalize(String code) {
+        if (code == null) {
+            return null;
+        }
+        if (isNormalized(code)) {
+            return code;
+        }
+        long packed = pack(code);
+        return packed == INVALID ? null : unpack(packed);
+    }
+
+    /**
+     * Converte o valor empacotado de volta para o código normalizado (ex.: "AB1234").
+     */
+    public static String unpack(long packed) {
+        if (packed < 0) {
+            throw new IllegalArgumentException("Código empacotado inválido: " + packed);
+        }
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            int digit = (int) (packed % RADIX);
+            chars[i] = (char) (digit < 10 ? '0' + digit : 'A' + digit - 10);
+            packed /= RADIX;
+        }
+        return new String(chars);
+    }
+
+    private static boolean isNormalized(String code) {
+        if (code.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = code.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'A' || c > 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digitOf(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,75 @@
+package com.coupon.demo.domain;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+/**
+ * Parser único da data de expiração: aceita "yyyy-MM-dd" ou "dd-MM-yyyy" (espaços nas pontas ignorados).
+ * Decide o formato pela posição dos hífens e valida dígitos, mês e dia sem lançar exceção:
+ * entrada inválida devolve null. Dia inexistente no mês (ex.: 31-02) é inválido nos dois formatos.
+ */
+public final class ExpirationDateParser {
+
+    private static final int LENGTH = 10;
+
+    private ExpirationDateParser() {
+    }
+
+    public static LocalDate parse(CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != LENGTH) {
+            return null;
+        }
+        int year;
+        int month;
+        int day;
+        if (value.charAt(start + 4) == '-' && value.charAt(start + 7) == '-') {
+            year = digits(value, start, 4);
+            month = digits(value, start + 5, 2);
+            day = digits(value, start + 8, 2);
+        } else if (value.charAt(start + 2) == '-' && value.charAt(start + 5) == '-') {
+            day = digits(value, start, 2);
+            month = digits(value, start + 3, 2);
+            year = digits(value, start + 6, 4);
+        } else {
+            return null;
+        }
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Valor dos count dígitos a partir de offset, ou -1 se algum não for dígito ASCII.
+     */
+    private static int digits(CharSequence value, int offset, int count) {
+        int result = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> Year.isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+}
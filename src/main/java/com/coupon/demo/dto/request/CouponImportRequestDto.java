@@ -0,0 +1,18 @@
+package com.coupon.demo.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de entrada para importação: nome de um arquivo NDJSON no diretório de importação.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponImportRequestDto {
+
+    @NotBlank(message = "O arquivo é obrigatório")
+    private String file;
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,7 +16,7 @@ import java.time.LocalDate;
 /**
  * DTO de entrada para criação de cupom.
  * Aceita expirationDate em "yyyy-MM-dd" ou "dd-MM-yyyy" (ex.: 31-12-2026);
- * o deserializador normaliza para yyyy-MM-dd antes desta validação.
+ * o deserializador converte para LocalDate uma única vez, antes desta validação.
  */
 @Data
 @NoArgsConstructor
@@ -33,24 +34,23 @@ public class CouponRequestDto {
     @DecimalMin(value = "0.5", message = "O valor do desconto deve ser de no mínimo 0,5")
     private Double discountValue;
 
-    @NotBlank(message = "A data de expiração é obrigatória")
+    @NotNull(message = "A data de expiração é obrigatória")
     @JsonDeserialize(using = ExpirationDateDeserializer.class)
-    private String expirationDate;
+    private LocalDate expirationDate;
 
     private boolean published;
 
     /**
-     * Valida se a data de expiração é futura. Usa expirationDate já normalizada (yyyy-MM-dd) pelo deserializador.
+     * Limite de usos (resgates); ausente significa sem limite.
+     */
+    @Positive(message = "O limite de usos deve ser de no mínimo 1")
+    private Integer maxUses;
+
+    /**
+     * Valida se a data de expiração é futura. Usa expirationDate já convertida pelo deserializador.
      */
     @AssertTrue(message = "A data de expiração não pode ser anterior ao momento atual")
     public boolean isDataFutura() {
-        if (expirationDate == null || expirationDate.isBlank()) {
-            return true;
-        }
-        try {
-            return LocalDate.parse(expirationDate).isAfter(LocalDate.now());
-        } catch (Exception e) {
-            return false;
-        }
+        return expirationDate == null || expirationDate.isAfter(LocalDate.now());
     }
 }
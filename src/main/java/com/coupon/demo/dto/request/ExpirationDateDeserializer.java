@@ -1,41 +1,32 @@
 package com.coupon.demo.dto.request;
 
+import com.coupon.demo.domain.ExpirationDateParser;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 /**
- * Aceita data em "yyyy-MM-dd" ou "dd-MM-yyyy" e normaliza para "yyyy-MM-dd".
+ * Aceita data em "yyyy-MM-dd" ou "dd-MM-yyyy" e entrega o LocalDate já convertido,
+ * que segue do DTO até o domínio sem novo parse. Vazio vira null (a obrigatoriedade é do DTO).
  */
-public class ExpirationDateDeserializer extends JsonDeserializer<String> {
+public class ExpirationDateDeserializer extends JsonDeserializer<LocalDate> {
 
-    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE;
-    private static final DateTimeFormatter DD_MM_YYYY = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    public static final String INVALID_DATE_MESSAGE =
+            "Data de expiração inválida. Use yyyy-MM-dd ou dd-MM-yyyy (ex.: 2026-12-31 ou 31-12-2026).";
 
     @Override
-    public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-        String value = p.getText();
-        if (value == null || value.isBlank()) {
-            return value;
+    public LocalDate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String text = p.getText();
+        if (text == null || text.isBlank()) {
+            return null;
         }
-        value = value.trim();
-        try {
-            LocalDate date = LocalDate.parse(value, DD_MM_YYYY);
-            return date.format(ISO);
-        } catch (DateTimeParseException e1) {
-            try {
-                LocalDate date = LocalDate.parse(value, ISO);
-                return date.format(ISO);
-            } catch (DateTimeParseException e2) {
-                throw new JsonProcessingException(
-                        "Data de expiração inválida. Use yyyy-MM-dd ou dd-MM-yyyy (ex.: 2026-12-31 ou 31-12-2026).") {};
-            }
+        LocalDate date = ExpirationDateParser.parse(text);
+        if (date == null) {
+            throw ctxt.weirdStringException(text, LocalDate.class, INVALID_DATE_MESSAGE);
         }
+        return date;
     }
 }
@@ -0,0 +1,34 @@
+package com.coupon.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resumo da criação em lote: contagens e erros por item (posição no corpo, a partir de 0).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponBatchResponseDto {
+
+    private int received;
+
+    private int created;
+
+    private int rejected;
+
+    private List<ItemError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemError {
+
+        private int index;
+
+        private String message;
+    }
+}
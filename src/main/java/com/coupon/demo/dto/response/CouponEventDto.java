@@ -0,0 +1,26 @@
+package com.coupon.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento de ciclo de vida de um cupom (CREATED ou DELETED), com a versão e a data do cupom após a alteração.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponEventDto {
+
+    private long sequence;
+
+    private String type;
+
+    private String couponId;
+
+    private String code;
+
+    private long version;
+
+    private String occurredAt;
+}
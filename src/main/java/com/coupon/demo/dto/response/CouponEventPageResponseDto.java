@@ -0,0 +1,23 @@
+package com.coupon.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página do feed de eventos. next é passado em after para buscar a seguinte; reset indica que eventos
+ * anteriores aos da página já foram descartados do feed e o cliente deve ressincronizar pela listagem.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponEventPageResponseDto {
+
+    private List<CouponEventDto> events;
+
+    private long next;
+
+    private boolean reset;
+}
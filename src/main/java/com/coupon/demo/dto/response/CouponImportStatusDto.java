@@ -0,0 +1,46 @@
+package com.coupon.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Progresso de uma importação: contagens até o momento e amostra dos erros (linha do arquivo).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponImportStatusDto {
+
+    private String id;
+
+    private String file;
+
+    private String status;
+
+    private long read;
+
+    private long created;
+
+    private long rejected;
+
+    private List<LineError> errors;
+
+    private String startedAt;
+
+    private String finishedAt;
+
+    private String failure;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+
+        private long line;
+
+        private String message;
+    }
+}
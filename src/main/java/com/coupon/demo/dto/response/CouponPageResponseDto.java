@@ -0,0 +1,20 @@
+package com.coupon.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página da listagem. nextCursor ausente indica a última página.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponPageResponseDto {
+
+    private List<CouponResponseDto> items;
+
+    private String nextCursor;
+}
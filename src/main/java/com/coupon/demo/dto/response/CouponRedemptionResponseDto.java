@@ -0,0 +1,23 @@
+package com.coupon.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um resgate. usedCount são os usos contados logo após este resgate;
+ * maxUses ausente indica cupom sem limite.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponRedemptionResponseDto {
+
+    private String couponId;
+
+    private String code;
+
+    private long usedCount;
+
+    private Integer maxUses;
+}
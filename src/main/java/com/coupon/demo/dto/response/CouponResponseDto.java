@@ -31,5 +31,7 @@ public class CouponResponseDto {
     private CouponStatus status;
 
     private boolean published;
+
+    private Integer maxUses;
 }
 
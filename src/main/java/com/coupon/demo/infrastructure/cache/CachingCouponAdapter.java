@@ -0,0 +1,228 @@
+package com.coupon.demo.infrastructure.cache;
+
+import com.coupon.demo.application.port.DeleteCouponPort;
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.domain.CouponStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Decorator read-through sobre as portas de cupom, com cache em memória (Caffeine).
+ * Leituras por id passam pelo cache; toda escrita invalida a entrada do id (ou, no soft delete,
+ * marca a cópia como DELETED), para que um cupom deletado nunca seja servido desatualizado.
+ * O cache guarda cópias: Coupon é mutável (delete()) e quem lê não pode alterar a entrada.
+ * Buscas por código resolvem o id pelo CouponCodeIndex e seguem pelo cache por id,
+ * sem ir ao banco quando o código já é conhecido. O índice acompanha o cache, entrada por entrada: o código
+ * entra junto com o cupom (carga por id ou por código e aquecimento), dentro da operação atômica do cache
+ * sobre o id, e sai com ele (codeEvictionListener no builder, para tamanho e expiração; invalidações
+ * explícitas aqui). Escritas não indexam: um lote ou importação de milhares de cupons não passa pelo índice
+ * nem tira dele os códigos quentes.
+ */
+public class CachingCouponAdapter implements LoadCouponPort, SaveCouponPort, DeleteCouponPort {
+
+    private final LoadCouponPort loadDelegate;
+    private final SaveCouponPort saveDelegate;
+    private final DeleteCouponPort deleteDelegate;
+    private final Cache<UUID, Coupon> cache;
+    private final CouponCodeIndex codeIndex;
+
+    public CachingCouponAdapter(LoadCouponPort loadDelegate, SaveCouponPort saveDelegate,
+                                DeleteCouponPort deleteDelegate,
+                                Cache<UUID, Coupon> cache, CouponCodeIndex codeIndex) {
+        this.loadDelegate = loadDelegate;
+        this.saveDelegate = saveDelegate;
+        this.deleteDelegate = deleteDelegate;
+        this.cache = cache;
+        this.codeIndex = codeIndex;
+    }
+
+    /**
+     * Carga via Cache.get: uma invalidação concorrente espera a carga em andamento
+     * terminar e então remove a entrada, evitando repovoar o cache com valor antigo.
+     * Ausência não é cacheada.
+     */
+    @Override
+    public Optional<Coupon> findById(UUID id) {
+        Coupon cached = cache.get(id, key -> loadDelegate.findById(key).map(this::indexedCopyOf).orElse(null));
+        return Optional.ofNullable(cached).map(CachingCouponAdapter::copyOf);
+    }
+
+    /**
+     * O código é imutável e único, então o mapeamento código → id só fica inválido
+     * se a linha sumir do banco; nesse caso a entrada é removida e a busca cai no delegate.
+     * O cupom achado pelo delegate entra no cache (e o código no índice), como numa carga por id.
+     */
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        long packed = CouponCode.pack(code);
+        if (packed == CouponCode.INVALID) {
+            return Optional.empty();
+        }
+        UUID id = codeIndex.get(packed);
+        if (id != null) {
+            Optional<Coupon> coupon = findById(id);
+            if (coupon.isPresent()) {
+                return coupon;
+            }
+            codeIndex.remove(packed);
+        }
+        Optional<Coupon> loaded = loadDelegate.findByCode(code);
+        loaded.ifPresent(this::cacheIfAbsent);
+        return loaded;
+    }
+
+    @Override
+    public Coupon save(Coupon coupon) {
+        try {
+            return saveDelegate.save(coupon);
+        } finally {
+            if (coupon.getId() != null) {
+                invalidate(coupon.getId());
+            }
+        }
+    }
+
+    /**
+     * Cupons novos: nada a invalidar, e nada entra no cache nem no índice até ser lido.
+     */
+    @Override
+    public List<Coupon> saveAll(List<Coupon> coupons) {
+        return saveDelegate.saveAll(coupons);
+    }
+
+    /**
+     * Deleção confirmada troca a cópia em cache pelo cupom que o delegate devolveu da própria instrução
+     * (DELETED, versão + 1 e deletedAt) em vez de removê-la, e as leituras seguintes não voltam ao banco.
+     * computeIfPresent espera uma carga em andamento do mesmo id, então uma carga anterior ao UPDATE
+     * não sobrescreve o status. Sem linha alterada ou com falha, a entrada é descartada.
+     */
+    @Override
+    public Optional<Coupon> markDeleted(UUID id, Long expectedVersion, LocalDateTime deletedAt) {
+        Optional<Coupon> deleted = Optional.empty();
+        try {
+            deleted = deleteDelegate.markDeleted(id, expectedVersion, deletedAt);
+            deleted.ifPresent(coupon -> cache.asMap().computeIfPresent(id, (key, cached) -> copyOf(coupon)));
+            return deleted;
+        } finally {
+            if (deleted.isEmpty()) {
+                invalidate(id);
+            }
+        }
+    }
+
+    /**
+     * Remove a entrada e o código dela do índice na mesma operação atômica sobre o id.
+     */
+    public void invalidate(UUID id) {
+        cache.asMap().computeIfPresent(id, (key, coupon) -> {
+            unindex(coupon);
+            return null;
+        });
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        codeIndex.clear();
+    }
+
+    /**
+     * Ids das entradas mais quentes, até limit: na ordem de retenção da política de eviction do Caffeine
+     * (frequência e recência), da que seria a última a sair para a primeira.
+     */
+    public List<UUID> hottest(int limit) {
+        return cache.policy().eviction()
+                .map(eviction -> List.copyOf(eviction.hottest(limit).keySet()))
+                .orElseGet(() -> cache.asMap().keySet().stream().limit(limit).toList());
+    }
+
+    /**
+     * Aquecimento com cupons lidos do banco: guarda cópias sem sobrescrever uma entrada já carregada e indexa
+     * os códigos. Feito na subida, antes das requisições; uma escrita concorrente poderia ser encoberta.
+     */
+    public void warm(List<Coupon> coupons) {
+        coupons.forEach(this::cacheIfAbsent);
+    }
+
+    /**
+     * Contadores de acerto, falta e remoção (requer recordStats() no builder).
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Listener para Caffeine.evictionListener: retira do índice o código do cupom que saiu do cache por
+     * tamanho, peso ou expiração. Roda na thread que provocou a eviction, dentro da operação do cache.
+     */
+    public static RemovalListener<UUID, Coupon> codeEvictionListener(CouponCodeIndex codeIndex) {
+        return (id, coupon, cause) -> {
+            if (coupon != null) {
+                unindex(codeIndex, coupon);
+            }
+        };
+    }
+
+    /**
+     * Peso aproximado da entrada em bytes, para eviction por peso.
+     */
+    public static int weigh(UUID id, Coupon coupon) {
+        int description = coupon.getDescription() != null ? coupon.getDescription().length() : 0;
+        return 160 + 2 * description;
+    }
+
+    /**
+     * Guarda o cupom sem sobrescrever uma entrada já carregada. Por compute, e não computeIfAbsent, para não
+     * contar como acerto ou falta de leitura nas estatísticas do cache.
+     */
+    private void cacheIfAbsent(Coupon coupon) {
+        cache.asMap().compute(coupon.getId(), (id, cached) -> cached != null ? cached : indexedCopyOf(coupon));
+    }
+
+    /**
+     * Cópia para o cache, com o código indexado; chamado dentro da operação do cache sobre o id, para que
+     * uma eviction do mesmo id só aconteça depois e retire o código que entrou aqui.
+     */
+    private Coupon indexedCopyOf(Coupon coupon) {
+        long packed = CouponCode.pack(coupon.getCode());
+        if (packed != CouponCode.INVALID) {
+            codeIndex.put(packed, coupon.getId());
+        }
+        return copyOf(coupon);
+    }
+
+    private void unindex(Coupon coupon) {
+        unindex(codeIndex, coupon);
+    }
+
+    private static void unindex(CouponCodeIndex codeIndex, Coupon coupon) {
+        long packed = CouponCode.pack(coupon.getCode());
+        if (packed != CouponCode.INVALID) {
+            codeIndex.remove(packed);
+        }
+    }
+
+    private static Coupon copyOf(Coupon coupon) {
+        return Coupon.reconstitute(
+                coupon.getId(),
+                coupon.getCode(),
+                coupon.getDescription(),
+                coupon.getDiscountValue(),
+                coupon.getExpirationDate(),
+                coupon.getStatus(),
+                coupon.isPublished(),
+                coupon.getMaxUses(),
+                coupon.getUsedCount(),
+                coupon.getVersion(),
+                coupon.getUpdatedAt()
+        );
+    }
+}
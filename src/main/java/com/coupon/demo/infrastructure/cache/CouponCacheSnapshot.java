@@ -0,0 +1,118 @@
+package com.coupon.demo.infrastructure.cache;
+
+import com.coupon.demo.domain.Coupon;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Snapshot do cache de leitura para um reinício aquecido: no desligamento grava os ids das maxEntries entradas
+ * mais quentes (só os ids, 16 bytes cada, num arquivo temporário renomeado por cima do anterior); na subida
+ * relê os cupons desses ids do banco, em blocos de LOAD_CHUNK, e aquece o cache. Os valores vêm do banco, não
+ * do arquivo, então um cupom alterado ou deletado enquanto a aplicação estava parada não volta desatualizado.
+ * Arquivo ausente, ilegível ou de outra versão: o cache começa vazio, como antes.
+ * Sem arquivo configurado (file null), restore e save não fazem nada.
+ */
+@Slf4j
+public class CouponCacheSnapshot {
+
+    static final int FORMAT = 1;
+    static final int LOAD_CHUNK = 500;
+
+    private final CachingCouponAdapter cache;
+    private final Function<List<UUID>, List<Coupon>> loader;
+    private final Path file;
+    private final int maxEntries;
+
+    public CouponCacheSnapshot(CachingCouponAdapter cache, Function<List<UUID>, List<Coupon>> loader,
+                               Path file, int maxEntries) {
+        this.cache = cache;
+        this.loader = loader;
+        this.file = file;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Aquece o cache com os cupons do último snapshot que ainda existem no banco; retorna quantos.
+     */
+    public int restore() {
+        if (file == null || !Files.exists(file)) {
+            return 0;
+        }
+        List<UUID> ids;
+        try {
+            ids = read();
+        } catch (IOException e) {
+            log.warn("Snapshot do cache ilegível em {}; o cache começa vazio", file, e);
+            return 0;
+        }
+        long start = System.nanoTime();
+        int restored = 0;
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+            List<Coupon> coupons = loader.apply(ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size())));
+            cache.warm(coupons);
+            restored += coupons.size();
+        }
+        log.info("Cache aquecido com {} de {} cupons do snapshot em {} ms", restored, ids.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return restored;
+    }
+
+    /**
+     * Grava os ids das entradas mais quentes; retorna quantos.
+     */
+    public int save() throws IOException {
+        if (file == null) {
+            return 0;
+        }
+        List<UUID> ids = cache.hottest(maxEntries);
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FORMAT);
+                out.writeInt(ids.size());
+                for (UUID id : ids) {
+                    out.writeLong(id.getMostSignificantBits());
+                    out.writeLong(id.getLeastSignificantBits());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.info("Snapshot do cache gravado com {} cupons em {}", ids.size(), file);
+        return ids.size();
+    }
+
+    private List<UUID> read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int format = in.readInt();
+            if (format != FORMAT) {
+                throw new IOException("Formato de snapshot desconhecido: " + format);
+            }
+            int size = in.readInt();
+            if (size < 0 || size > (Files.size(file) - 8) / 16) {
+                throw new IOException("Snapshot truncado: " + size + " ids declarados");
+            }
+            int count = Math.min(size, maxEntries);
+            List<UUID> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ids.add(new UUID(in.readLong(), in.readLong()));
+            }
+            return ids;
+        }
+    }
+}
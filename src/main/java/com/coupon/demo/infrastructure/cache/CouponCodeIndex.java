@@ -0,0 +1,191 @@
+package com.coupon.demo.infrastructure.cache;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Índice em memória código empacotado (CouponCode.pack) → id do cupom.
+ * Tabela de endereçamento aberto com sondagem linear sobre arrays primitivos:
+ * sem boxing de chave e sem objetos por entrada. Leituras usam leitura otimista
+ * do StampedLock; escritas são exclusivas.
+ * O tamanho acompanha o de quem insere e remove: no CachingCouponAdapter, o do cache de leitura.
+ */
+public class CouponCodeIndex {
+
+    private static final long EMPTY = -1L;
+    private static final int MIN_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] keys;
+    private long[] mostSigBits;
+    private long[] leastSigBits;
+    private int size;
+
+    public CouponCodeIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Devolve o id mapeado para o código empacotado, ou null se ausente.
+     */
+    public UUID get(long code) {
+        long stamp = lock.tryOptimisticRead();
+        UUID id = probe(code);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                id = probe(code);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return id;
+    }
+
+    public void put(long code, UUID id) {
+        if (code < 0) {
+            throw new IllegalArgumentException("Código empacotado inválido: " + code);
+        }
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int slot = slotOf(keys, code);
+            if (keys[slot] == EMPTY) {
+                size++;
+            }
+            keys[slot] = code;
+            mostSigBits[slot] = id.getMostSignificantBits();
+            leastSigBits[slot] = id.getLeastSignificantBits();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove com deslocamento para trás (backward shift), sem lápides.
+     */
+    public void remove(long code) {
+        long stamp = lock.writeLock();
+        try {
+            int mask = keys.length - 1;
+            int slot = slotOf(keys, code);
+            if (keys[slot] == EMPTY) {
+                return;
+            }
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                if (keys[next] == EMPTY) {
+                    break;
+                }
+                int home = hash(keys[next]) & mask;
+                boolean movable = slot <= next ? (home <= slot || home > next) : (home <= slot && home > next);
+                if (movable) {
+                    keys[slot] = keys[next];
+                    mostSigBits[slot] = mostSigBits[next];
+                    leastSigBits[slot] = leastSigBits[next];
+                    slot = next;
+                }
+            }
+            keys[slot] = EMPTY;
+            size--;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            allocate(MIN_CAPACITY);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Sondagem tolerante a escrita concorrente: trabalha sobre cópias locais dos arrays
+     * e limita o número de passos; o resultado só é usado se o stamp for validado.
+     */
+    private UUID probe(long code) {
+        long[] k = keys;
+        long[] msb = mostSigBits;
+        long[] lsb = leastSigBits;
+        if (msb.length != k.length || lsb.length != k.length) {
+            return null;
+        }
+        int mask = k.length - 1;
+        int slot = hash(code) & mask;
+        for (int i = 0; i < k.length; i++) {
+            long key = k[slot];
+            if (key == EMPTY) {
+                return null;
+            }
+            if (key == code) {
+                return new UUID(msb[slot], lsb[slot]);
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldMsb = mostSigBits;
+        long[] oldLsb = leastSigBits;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                mostSigBits[slot] = oldMsb[i];
+                leastSigBits[slot] = oldLsb[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        long[] newKeys = new long[capacity];
+        Arrays.fill(newKeys, EMPTY);
+        mostSigBits = new long[capacity];
+        leastSigBits = new long[capacity];
+        keys = newKeys;
+        size = 0;
+    }
+
+    private static int slotOf(long[] keys, long code) {
+        int mask = keys.length - 1;
+        int slot = hash(code) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != code) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long code) {
+        long h = code * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,41 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.threads.Bulkhead;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Bulkheads das variantes assíncronas: criação, leituras (por id e por código) e remoção
+ * em compartimentos separados, cada um com seus limites e sua fila.
+ * Seguem o modo de execução: com spring.threads.virtual.enabled=true, as tarefas rodam em virtual threads
+ * (limites por semáforo, espera por vaga até o timeout do use case); senão, em pools de platform threads.
+ * O close no desligamento termina as tarefas aceitas antes do pool de conexões fechar.
+ */
+@Configuration
+@EnableConfigurationProperties(CouponAsyncProperties.class)
+public class CouponAsyncConfig {
+
+    @Bean(destroyMethod = "close")
+    public Bulkhead createBulkhead(CouponAsyncProperties properties, Environment environment) {
+        return bulkhead("create", properties.create(), environment);
+    }
+
+    @Bean(destroyMethod = "close")
+    public Bulkhead readBulkhead(CouponAsyncProperties properties, Environment environment) {
+        return bulkhead("read", properties.read(), environment);
+    }
+
+    @Bean(destroyMethod = "close")
+    public Bulkhead deleteBulkhead(CouponAsyncProperties properties, Environment environment) {
+        return bulkhead("delete", properties.delete(), environment);
+    }
+
+    private static Bulkhead bulkhead(String name, CouponAsyncProperties.Pool pool, Environment environment) {
+        return Threading.VIRTUAL.isActive(environment)
+                ? Bulkhead.virtual(name, pool.maxConcurrent(), pool.queueCapacity(), pool.timeout())
+                : new Bulkhead(name, pool.maxConcurrent(), pool.queueCapacity());
+    }
+}
@@ -0,0 +1,28 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Variantes assíncronas dos use cases (prefixo coupon.async): um bulkhead por use case.
+ * maxConcurrent: tarefas rodando ao mesmo tempo; queueCapacity: tarefas esperando (acima disso, 503);
+ * timeout: prazo total da tarefa, fila incluída (estourado, 503).
+ * Criação + remoção ficam abaixo do pool de conexões para que sempre sobrem conexões para as leituras.
+ */
+@ConfigurationProperties(prefix = "coupon.async")
+public record CouponAsyncProperties(
+        Pool create,
+        Pool read,
+        Pool delete
+) {
+
+    public CouponAsyncProperties {
+        create = create != null ? create : new Pool(4, 200, Duration.ofSeconds(2));
+        read = read != null ? read : new Pool(8, 1000, Duration.ofSeconds(1));
+        delete = delete != null ? delete : new Pool(2, 100, Duration.ofSeconds(2));
+    }
+
+    public record Pool(int maxConcurrent, int queueCapacity, Duration timeout) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da criação em lote (prefixo coupon.batch).
+ * chunkSize é o número de cupons por transação; o lote JDBC é hibernate.jdbc.batch_size.
+ */
+@ConfigurationProperties(prefix = "coupon.batch")
+public record CouponBatchProperties(
+        @DefaultValue("500") int chunkSize
+) {
+}
@@ -0,0 +1,24 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuração do cache de leitura de cupons (prefixo coupon.cache).
+ * Com maximumWeight maior que zero a eviction é por peso; senão, por quantidade (maximumSize).
+ * snapshotFile: arquivo com os ids das snapshotMaxEntries entradas mais quentes, gravado no desligamento
+ * e relido na subida (CouponCacheSnapshot); sem arquivo, o cache começa vazio.
+ */
+@ConfigurationProperties(prefix = "coupon.cache")
+public record CouponCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("0") long maximumWeight,
+        @DefaultValue("10m") Duration expireAfterWrite,
+        Path snapshotFile,
+        @DefaultValue("10000") int snapshotMaxEntries
+) {
+}
@@ -0,0 +1,27 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.cache.CachingCouponAdapter;
+import com.coupon.demo.infrastructure.cache.CouponCacheSnapshot;
+import com.coupon.demo.infrastructure.persistence.CouponPersistenceAdapter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Snapshot do cache de leitura (coupon.cache.snapshot-file): restaurado na criação do bean, depois das
+ * migrações e antes de o servidor aceitar requisições, e gravado no desligamento. Existe sempre que o cache
+ * está ligado e, sem arquivo configurado, não faz nada: a decisão fica em tempo de execução, e o perfil
+ * durable também vale numa imagem AOT (em que as condições são fixadas no build, com o perfil prod).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "coupon.cache", name = "enabled", havingValue = "true")
+public class CouponCacheSnapshotConfig {
+
+    @Bean(initMethod = "restore", destroyMethod = "save")
+    public CouponCacheSnapshot couponCacheSnapshot(CachingCouponAdapter cachingAdapter,
+                                                   CouponPersistenceAdapter persistenceAdapter,
+                                                   CouponCacheProperties properties) {
+        return new CouponCacheSnapshot(cachingAdapter, persistenceAdapter::findAllById,
+                properties.snapshotFile(), properties.snapshotMaxEntries());
+    }
+}
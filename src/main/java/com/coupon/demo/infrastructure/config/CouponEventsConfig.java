@@ -0,0 +1,50 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.events.CouponEventFeed;
+import com.coupon.demo.infrastructure.events.CouponEventSink;
+import com.coupon.demo.infrastructure.events.CouponOutboxRelay;
+import com.coupon.demo.infrastructure.events.NdjsonFileCouponEventSink;
+import com.coupon.demo.infrastructure.persistence.CouponPersistenceAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Eventos de ciclo de vida: o feed em memória existe sempre (no armazenamento off-heap, que não tem outbox,
+ * fica vazio); o relay drena o outbox do adapter JPA para o feed e, com coupon.events.file, também para o
+ * arquivo NDJSON. O arquivo é decidido em tempo de execução, como o snapshot do cache, para valer também
+ * numa imagem AOT. O close no desligamento entrega o bloco em andamento antes do pool de conexões fechar.
+ * A sequence do feed começa do relógio (milissegundos x 1000): depois de um restart, continua maior que a
+ * de antes, e o cliente que retoma de uma sequence antiga recebe reset em vez de pular eventos.
+ */
+@Configuration
+@EnableConfigurationProperties(CouponEventsProperties.class)
+public class CouponEventsConfig {
+
+    @Bean
+    public CouponEventFeed couponEventFeed(CouponEventsProperties properties) {
+        return new CouponEventFeed(properties.feedCapacity(), System.currentTimeMillis() * 1000);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "coupon.store", name = "type", havingValue = "jpa", matchIfMissing = true)
+    public CouponOutboxRelay couponOutboxRelay(CouponPersistenceAdapter persistenceAdapter,
+                                               CouponEventFeed feed,
+                                               ObjectMapper objectMapper,
+                                               CouponEventsProperties properties,
+                                               MeterRegistry meterRegistry) throws IOException {
+        List<CouponEventSink> sinks = new ArrayList<>(List.of(feed));
+        if (properties.file() != null) {
+            sinks.add(new NdjsonFileCouponEventSink(properties.file(), objectMapper));
+        }
+        return new CouponOutboxRelay(persistenceAdapter::drainOutbox, sinks, properties.batchSize(),
+                properties.relayInterval(), meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Eventos de ciclo de vida dos cupons (prefixo coupon.events).
+ * batchSize: eventos por bloco do relay (uma transação); relayInterval: intervalo entre execuções do relay;
+ * feedCapacity: eventos retidos em memória para GET /coupon/events; file: NDJSON em que os eventos também
+ * são acrescentados (vazio: nenhum); maxWait: espera máxima de um long-poll; sseTimeout: duração máxima de
+ * uma conexão SSE, depois da qual o cliente reconecta com Last-Event-ID.
+ */
+@ConfigurationProperties(prefix = "coupon.events")
+public record CouponEventsProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration relayInterval,
+        @DefaultValue("10000") int feedCapacity,
+        Path file,
+        @DefaultValue("25s") Duration maxWait,
+        @DefaultValue("5m") Duration sseTimeout
+) {
+}
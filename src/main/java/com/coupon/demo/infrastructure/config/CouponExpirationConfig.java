@@ -0,0 +1,50 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.cache.CachingCouponAdapter;
+import com.coupon.demo.infrastructure.expiration.CouponExpirationSweeper;
+import com.coupon.demo.infrastructure.persistence.CouponPersistenceAdapter;
+import com.coupon.demo.infrastructure.singleflight.SingleFlightCouponLoader;
+import com.coupon.demo.infrastructure.web.CouponJsonCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Expiração dos cupons (coupon.expiration.enabled=true): blocos gravados pelo adapter JPA e, para cada
+ * cupom alterado, invalidação do single-flight, do cache de leitura e do corpo JSON, nessa ordem
+ * (de dentro para fora), para que nenhuma camada seja repovoada a partir de uma mais interna ainda antiga.
+ * O close no desligamento termina o bloco em andamento antes do pool de conexões fechar.
+ */
+@Configuration
+@EnableConfigurationProperties(CouponExpirationProperties.class)
+@ConditionalOnProperty(prefix = "coupon.expiration", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CouponExpirationConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public CouponExpirationSweeper couponExpirationSweeper(CouponPersistenceAdapter persistenceAdapter,
+                                                           ObjectProvider<SingleFlightCouponLoader> singleFlightLoader,
+                                                           ObjectProvider<CachingCouponAdapter> cachingAdapter,
+                                                           CouponJsonCache jsonCache,
+                                                           CouponExpirationProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        SingleFlightCouponLoader singleFlight = singleFlightLoader.getIfAvailable();
+        CachingCouponAdapter caching = cachingAdapter.getIfAvailable();
+        Consumer<UUID> onExpired = id -> {
+            if (singleFlight != null) {
+                singleFlight.detach(id);
+            }
+            if (caching != null) {
+                caching.invalidate(id);
+            }
+            jsonCache.invalidate(id);
+        };
+        return new CouponExpirationSweeper(persistenceAdapter::expire, onExpired, properties.chunkSize(),
+                properties.maxChunksPerRun(), properties.pause(), properties.interval(), meterRegistry);
+    }
+}
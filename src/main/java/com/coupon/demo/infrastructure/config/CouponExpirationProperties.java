@@ -0,0 +1,20 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Expiração em segundo plano (prefixo coupon.expiration).
+ * interval: intervalo entre execuções; chunkSize: cupons por bloco (uma transação);
+ * maxChunksPerRun: blocos por execução; pause: espera entre blocos, para ceder o banco às requisições.
+ */
+@ConfigurationProperties(prefix = "coupon.expiration")
+public record CouponExpirationProperties(
+        @DefaultValue("1m") Duration interval,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("100") int maxChunksPerRun,
+        @DefaultValue("50ms") Duration pause
+) {
+}
@@ -0,0 +1,56 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.application.usecase.ImportCouponsUseCase;
+import com.coupon.demo.infrastructure.importer.CouponImportJobs;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composição da importação de arquivos: use case, executores e registro de jobs.
+ * Jobs e writers ficam em executores separados e de mesmo tamanho; como cada job
+ * só cria um writer, um job nunca espera por um writer preso atrás de outro job.
+ * No desligamento, a ordem das dependências fecha primeiro os jobs (CouponImportJobs.close espera os
+ * em andamento) e depois os writers (close espera o bloco em gravação), antes do pool de conexões.
+ */
+@Configuration
+@EnableConfigurationProperties(CouponImportProperties.class)
+public class CouponImportConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService couponImportWriters(CouponImportProperties properties) {
+        return Executors.newFixedThreadPool(properties.maxConcurrentJobs(), daemonThreads("coupon-import-writer"));
+    }
+
+    @Bean
+    public ImportCouponsUseCase importCouponsUseCase(SaveCouponPort saveCouponPort,
+                                                     @Qualifier("couponImportWriters") ExecutorService writers,
+                                                     CouponImportProperties properties) {
+        return new ImportCouponsUseCase(saveCouponPort, writers, properties.chunkSize(),
+                properties.queueCapacity(), properties.maxReportedErrors());
+    }
+
+    @Bean(destroyMethod = "close")
+    public CouponImportJobs couponImportJobs(ImportCouponsUseCase importCouponsUseCase, ObjectMapper objectMapper,
+                                             CouponImportProperties properties) {
+        ExecutorService jobs = new ThreadPoolExecutor(properties.maxConcurrentJobs(), properties.maxConcurrentJobs(),
+                0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), daemonThreads("coupon-import"));
+        return new CouponImportJobs(importCouponsUseCase, objectMapper.getFactory(), jobs,
+                Path.of(properties.directory()), properties.logEvery());
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return Thread.ofPlatform().name(name + "-", 1).daemon(true).factory();
+    }
+}
@@ -0,0 +1,19 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da importação de arquivos NDJSON (prefixo coupon.import).
+ * Memória por importação fica em torno de (queueCapacity + 2) × chunkSize cupons.
+ */
+@ConfigurationProperties(prefix = "coupon.import")
+public record CouponImportProperties(
+        @DefaultValue("imports") String directory,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("4") int queueCapacity,
+        @DefaultValue("1") int maxConcurrentJobs,
+        @DefaultValue("100") int maxReportedErrors,
+        @DefaultValue("100000") long logEvery
+) {
+}
@@ -0,0 +1,29 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.persistence.CouponPersistenceAdapter;
+import com.coupon.demo.infrastructure.redemption.CouponUsageCounters;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Composição dos resgates: contadores de uso em memória, gravados em lote pelo adapter JPA, que também
+ * reserva as permissões dos cupons com limite (reserved_uses).
+ * O close no desligamento devolve as permissões não usadas e grava os usos pendentes antes do adapter e do pool
+ * de conexões fecharem. Um contador novo (primeiro resgate, ou depois de sair por ociosidade) começa do
+ * used_count do banco.
+ * Com coupon.store.type=off-heap, o próprio OffHeapCouponAdapter conta os usos (OffHeapStoreConfig).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "coupon.store", name = "type", havingValue = "jpa", matchIfMissing = true)
+@EnableConfigurationProperties(CouponRedemptionProperties.class)
+public class CouponRedemptionConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public CouponUsageCounters couponUsageCounters(CouponPersistenceAdapter persistenceAdapter,
+                                                   CouponRedemptionProperties properties) {
+        return new CouponUsageCounters(persistenceAdapter, properties.stripes(), properties.leaseSize(),
+                properties.flushInterval(), properties.idleTimeout());
+    }
+}
@@ -0,0 +1,23 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Contadores de uso dos resgates (prefixo coupon.redemption).
+ * stripes: faixas de permissões por cupom com limite (0 = número de processadores);
+ * leaseSize: permissões reservadas no banco de cada vez, por cupom com limite (o máximo que uma queda perde
+ * por cupom e instância);
+ * flushInterval: intervalo entre gravações em lote dos usos no banco;
+ * idleTimeout: tempo sem resgates após o qual o contador de um cupom sai da memória.
+ */
+@ConfigurationProperties(prefix = "coupon.redemption")
+public record CouponRedemptionProperties(
+        @DefaultValue("0") int stripes,
+        @DefaultValue("100") long leaseSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("5m") Duration idleTimeout
+) {
+}
@@ -0,0 +1,36 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.cache.CouponCodeIndex;
+import com.coupon.demo.infrastructure.web.CouponJsonCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+
+/**
+ * Cache dos corpos JSON (com ETag) servidos pelo GET /coupon/{id} e pelo GET /coupon/code/{code}
+ * e Cache-Control das respostas de cupom.
+ */
+@Configuration
+@EnableConfigurationProperties(CouponResponseCacheProperties.class)
+public class CouponResponseCacheConfig {
+
+    @Bean
+    public CouponJsonCache couponJsonCache(CouponResponseCacheProperties properties) {
+        CouponCodeIndex codeIndex = new CouponCodeIndex(0);
+        return new CouponJsonCache(Caffeine.newBuilder()
+                .maximumWeight(properties.maximumWeight())
+                .weigher(CouponJsonCache.Entry::weigh)
+                .expireAfterWrite(properties.expireAfterWrite())
+                .evictionListener(CouponJsonCache.codeEvictionListener(codeIndex))
+                .build(), codeIndex, cacheControl(properties));
+    }
+
+    private static CacheControl cacheControl(CouponResponseCacheProperties properties) {
+        CacheControl cacheControl = properties.maxAge().isZero()
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(properties.maxAge());
+        return cacheControl.cachePublic();
+    }
+}
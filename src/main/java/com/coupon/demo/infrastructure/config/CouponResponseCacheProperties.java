@@ -0,0 +1,20 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Corpos JSON pré-serializados do GET /coupon/{id} e /coupon/code/{code} (prefixo coupon.response-cache).
+ * maximumWeight: bytes aproximados guardados; expireAfterWrite: limita quanto tempo uma deleção feita
+ * fora desta instância pode ficar sem aparecer; maxAge: Cache-Control das respostas (0 = no-cache,
+ * caches intermediários guardam mas revalidam a cada uso com um GET condicional).
+ */
+@ConfigurationProperties(prefix = "coupon.response-cache")
+public record CouponResponseCacheProperties(
+        @DefaultValue("33554432") long maximumWeight,
+        @DefaultValue("10m") Duration expireAfterWrite,
+        @DefaultValue("0s") Duration maxAge
+) {
+}
@@ -0,0 +1,52 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.persistence.CouponPersistenceAdapter;
+import com.coupon.demo.infrastructure.singleflight.SingleFlightCouponLoader;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Single-flight das leituras (coupon.single-flight.enabled=true), na frente do adapter JPA.
+ * Sem cache, é a LoadCouponPort e a DeleteCouponPort injetadas nos use cases (@Primary); com cache, fica
+ * atrás do CachingCouponAdapter como delegate de leitura e de deleção (a carga por id do Caffeine já se
+ * junta por chave, então ali o ganho fica nas buscas por código). Métrica: coupon.load.coalesced, tag by=id|code.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "coupon.single-flight", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CouponSingleFlightConfig {
+
+    static final String COALESCED_COUNTER = "coupon.load.coalesced";
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "coupon.cache", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public SingleFlightCouponLoader singleFlightCouponLoader(CouponPersistenceAdapter persistenceAdapter,
+                                                             MeterRegistry meterRegistry) {
+        return create(persistenceAdapter, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "coupon.cache", name = "enabled", havingValue = "true")
+    public SingleFlightCouponLoader cachedSingleFlightCouponLoader(CouponPersistenceAdapter persistenceAdapter,
+                                                                   MeterRegistry meterRegistry) {
+        return create(persistenceAdapter, meterRegistry);
+    }
+
+    private static SingleFlightCouponLoader create(CouponPersistenceAdapter persistenceAdapter,
+                                                   MeterRegistry meterRegistry) {
+        SingleFlightCouponLoader loader = new SingleFlightCouponLoader(persistenceAdapter, persistenceAdapter);
+        FunctionCounter.builder(COALESCED_COUNTER, loader, SingleFlightCouponLoader::coalescedById)
+                .tag("by", "id")
+                .description("Buscas que aproveitaram uma consulta em andamento da mesma chave")
+                .register(meterRegistry);
+        FunctionCounter.builder(COALESCED_COUNTER, loader, SingleFlightCouponLoader::coalescedByCode)
+                .tag("by", "code")
+                .description("Buscas que aproveitaram uma consulta em andamento da mesma chave")
+                .register(meterRegistry);
+        return loader;
+    }
+}
@@ -0,0 +1,16 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Armazenamento dos cupons (prefixo coupon.store).
+ * type: jpa (banco, padrão) ou off-heap (só em memória, OffHeapCouponAdapter; perfil memory);
+ * expectedSize: cupons esperados no off-heap, para dimensionar os índices.
+ */
+@ConfigurationProperties(prefix = "coupon.store")
+public record CouponStoreProperties(
+        @DefaultValue("jpa") String type,
+        @DefaultValue("100000") int expectedSize
+) {
+}
@@ -0,0 +1,41 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.persistence.CouponPersistenceAdapter;
+import com.coupon.demo.infrastructure.writebehind.GroupCommitCouponAdapter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Write-behind dos cupons (coupon.write-behind.enabled=true), na frente do adapter JPA.
+ * Sem cache, é a SaveCouponPort injetada nos use cases (@Primary); com cache, fica atrás do
+ * CachingCouponAdapter, que já é o @Primary e o usa como delegate de escrita.
+ */
+@Configuration
+@EnableConfigurationProperties(CouponWriteBehindProperties.class)
+@ConditionalOnProperty(prefix = "coupon.write-behind", name = "enabled", havingValue = "true")
+public class CouponWriteBehindConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @Primary
+    @ConditionalOnProperty(prefix = "coupon.cache", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public GroupCommitCouponAdapter groupCommitCouponAdapter(CouponPersistenceAdapter persistenceAdapter,
+                                                             CouponWriteBehindProperties properties) {
+        return create(persistenceAdapter, properties);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "coupon.cache", name = "enabled", havingValue = "true")
+    public GroupCommitCouponAdapter cachedGroupCommitCouponAdapter(CouponPersistenceAdapter persistenceAdapter,
+                                                                   CouponWriteBehindProperties properties) {
+        return create(persistenceAdapter, properties);
+    }
+
+    private static GroupCommitCouponAdapter create(CouponPersistenceAdapter persistenceAdapter,
+                                                   CouponWriteBehindProperties properties) {
+        return new GroupCommitCouponAdapter(persistenceAdapter, properties.maxBatchSize(), properties.maxWait(),
+                properties.queueCapacity());
+    }
+}
@@ -0,0 +1,20 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Write-behind (group commit) dos cupons criados um a um (prefixo coupon.write-behind).
+ * Um grupo fecha com maxBatchSize cupons ou maxWait após o primeiro; queueCapacity limita
+ * quantos cupons esperam gravação antes de os chamadores bloquearem.
+ */
+@ConfigurationProperties(prefix = "coupon.write-behind")
+public record CouponWriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100") int maxBatchSize,
+        @DefaultValue("2ms") Duration maxWait,
+        @DefaultValue("10000") int queueCapacity
+) {
+}
@@ -0,0 +1,23 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Montagem do EntityManagerFactory (Hibernate) numa thread própria, em paralelo com o restante do contexto,
+ * quando os repositórios são criados só no fim da subida (spring.data.jpa.repositories.bootstrap-mode=deferred,
+ * perfil prod). O Spring Boot faria isso no applicationTaskExecutor, mas ele não é criado quando a aplicação
+ * já tem executores (os bulkheads). Quem usar JPA antes de a montagem terminar espera por ela.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.data.jpa.repositories", name = "bootstrap-mode", havingValue = "deferred")
+public class JpaBootstrapConfig {
+
+    @Bean
+    public EntityManagerFactoryBuilderCustomizer backgroundEntityManagerFactoryBootstrap() {
+        return builder -> builder.setBootstrapExecutor(new SimpleAsyncTaskExecutor("jpa-bootstrap-"));
+    }
+}
@@ -0,0 +1,19 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.metrics.CouponMetricsAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Instrumentação dos use cases e do adapter JPA (métricas coupon.usecase e coupon.persistence).
+ * Hikari, Hibernate e HTTP são instrumentados pelo Actuator; tudo sai em /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public CouponMetricsAspect couponMetricsAspect(MeterRegistry meterRegistry) {
+        return new CouponMetricsAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.memory.OffHeapCouponAdapter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Armazenamento só em memória (coupon.store.type=off-heap): um único adapter implementa todas as portas,
+ * inclusive a de contagem de usos, no lugar de CouponPersistenceAdapter e CouponUsageCounters.
+ * Cache, single-flight, write-behind, snapshot e expiração são montados sobre o adapter JPA; o perfil
+ * memory os desliga.
+ */
+@Configuration
+@EnableConfigurationProperties(CouponStoreProperties.class)
+@ConditionalOnProperty(prefix = "coupon.store", name = "type", havingValue = "off-heap")
+public class OffHeapStoreConfig {
+
+    @Bean
+    public OffHeapCouponAdapter offHeapCouponAdapter(CouponStoreProperties properties) {
+        return new OffHeapCouponAdapter(properties.expectedSize());
+    }
+}
@@ -1,32 +1,133 @@
 package com.coupon.demo.infrastructure.config;
 
+import com.coupon.demo.application.port.CouponUsagePort;
+import com.coupon.demo.application.port.CouponVersionPort;
+import com.coupon.demo.application.port.DeleteCouponPort;
+import com.coupon.demo.application.port.ListCouponsPort;
 import com.coupon.demo.application.port.LoadCouponPort;
 import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.application.usecase.CreateCouponBatchUseCase;
 import com.coupon.demo.application.usecase.CreateCouponUseCase;
 import com.coupon.demo.application.usecase.DeleteCouponUseCase;
+import com.coupon.demo.application.usecase.ExportCouponsUseCase;
+import com.coupon.demo.application.usecase.GetCouponByCodeUseCase;
 import com.coupon.demo.application.usecase.GetCouponUseCase;
+import com.coupon.demo.application.usecase.GetCouponVersionUseCase;
+import com.coupon.demo.application.usecase.ListCouponsUseCase;
+import com.coupon.demo.application.usecase.RedeemCouponUseCase;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.infrastructure.cache.CachingCouponAdapter;
+import com.coupon.demo.infrastructure.cache.CouponCodeIndex;
+import com.coupon.demo.infrastructure.persistence.CouponPersistenceAdapter;
+import com.coupon.demo.infrastructure.singleflight.SingleFlightCouponLoader;
+import com.coupon.demo.infrastructure.threads.Bulkhead;
+import com.coupon.demo.infrastructure.writebehind.GroupCommitCouponAdapter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.UUID;
 
 /**
  * Registra os use cases como beans. Application não usa Spring;
  * a composição fica na infra.
  */
 @Configuration
+@EnableConfigurationProperties({CouponCacheProperties.class, CouponBatchProperties.class})
 public class UseCaseConfig {
 
     @Bean
-    public CreateCouponUseCase createCouponUseCase(SaveCouponPort saveCouponPort) {
-        return new CreateCouponUseCase(saveCouponPort);
+    public CreateCouponUseCase createCouponUseCase(SaveCouponPort saveCouponPort,
+                                                   @Qualifier("createBulkhead") Bulkhead bulkhead,
+                                                   CouponAsyncProperties asyncProperties) {
+        return new CreateCouponUseCase(saveCouponPort, bulkhead.execution(asyncProperties.create().timeout()));
+    }
+
+    @Bean
+    public CreateCouponBatchUseCase createCouponBatchUseCase(SaveCouponPort saveCouponPort,
+                                                             CouponBatchProperties properties) {
+        return new CreateCouponBatchUseCase(saveCouponPort, properties.chunkSize());
+    }
+
+    @Bean
+    public DeleteCouponUseCase deleteCouponUseCase(LoadCouponPort loadCouponPort, DeleteCouponPort deleteCouponPort,
+                                                   @Qualifier("deleteBulkhead") Bulkhead bulkhead,
+                                                   CouponAsyncProperties asyncProperties) {
+        return new DeleteCouponUseCase(loadCouponPort, deleteCouponPort,
+                bulkhead.execution(asyncProperties.delete().timeout()));
+    }
+
+    @Bean
+    public GetCouponUseCase getCouponUseCase(LoadCouponPort loadCouponPort,
+                                             @Qualifier("readBulkhead") Bulkhead bulkhead,
+                                             CouponAsyncProperties asyncProperties) {
+        return new GetCouponUseCase(loadCouponPort, bulkhead.execution(asyncProperties.read().timeout()));
+    }
+
+    @Bean
+    public GetCouponByCodeUseCase getCouponByCodeUseCase(LoadCouponPort loadCouponPort,
+                                                         @Qualifier("readBulkhead") Bulkhead bulkhead,
+                                                         CouponAsyncProperties asyncProperties) {
+        return new GetCouponByCodeUseCase(loadCouponPort, bulkhead.execution(asyncProperties.read().timeout()));
+    }
+
+    @Bean
+    public GetCouponVersionUseCase getCouponVersionUseCase(CouponVersionPort couponVersionPort,
+                                                           @Qualifier("readBulkhead") Bulkhead bulkhead,
+                                                           CouponAsyncProperties asyncProperties) {
+        return new GetCouponVersionUseCase(couponVersionPort, bulkhead.execution(asyncProperties.read().timeout()));
+    }
+
+    @Bean
+    public ListCouponsUseCase listCouponsUseCase(ListCouponsPort listCouponsPort) {
+        return new ListCouponsUseCase(listCouponsPort);
+    }
+
+    @Bean
+    public ExportCouponsUseCase exportCouponsUseCase(ListCouponsPort listCouponsPort) {
+        return new ExportCouponsUseCase(listCouponsPort);
     }
 
     @Bean
-    public DeleteCouponUseCase deleteCouponUseCase(LoadCouponPort loadCouponPort, SaveCouponPort saveCouponPort) {
-        return new DeleteCouponUseCase(loadCouponPort, saveCouponPort);
+    public RedeemCouponUseCase redeemCouponUseCase(LoadCouponPort loadCouponPort, CouponUsagePort couponUsagePort) {
+        return new RedeemCouponUseCase(loadCouponPort, couponUsagePort);
     }
 
+    /**
+     * Cache de leitura na frente do adapter JPA (coupon.cache.enabled=true).
+     * Como @Primary, passa a ser a implementação das portas injetada nos use cases.
+     * Com o write-behind ligado, as escritas seguem por ele (CouponWriteBehindConfig);
+     * com o single-flight ligado, as leituras que faltam no cache e as deleções seguem por ele
+     * (CouponSingleFlightConfig).
+     */
     @Bean
-    public GetCouponUseCase getCouponUseCase(LoadCouponPort loadCouponPort) {
-        return new GetCouponUseCase(loadCouponPort);
+    @Primary
+    @ConditionalOnProperty(prefix = "coupon.cache", name = "enabled", havingValue = "true")
+    public CachingCouponAdapter cachingCouponAdapter(CouponPersistenceAdapter persistenceAdapter,
+                                                     ObjectProvider<GroupCommitCouponAdapter> groupCommitAdapter,
+                                                     ObjectProvider<SingleFlightCouponLoader> singleFlightLoader,
+                                                     CouponCacheProperties properties) {
+        CouponCodeIndex codeIndex = new CouponCodeIndex((int) Math.min(properties.maximumSize(), Integer.MAX_VALUE));
+        Caffeine<UUID, Coupon> builder = Caffeine.newBuilder()
+                .expireAfterWrite(properties.expireAfterWrite())
+                .evictionListener(CachingCouponAdapter.codeEvictionListener(codeIndex))
+                .recordStats();
+        if (properties.maximumWeight() > 0) {
+            builder.maximumWeight(properties.maximumWeight())
+                    .weigher(CachingCouponAdapter::weigh);
+        } else {
+            builder.maximumSize(properties.maximumSize());
+        }
+        GroupCommitCouponAdapter groupCommit = groupCommitAdapter.getIfAvailable();
+        SaveCouponPort saveDelegate = groupCommit != null ? groupCommit : persistenceAdapter;
+        SingleFlightCouponLoader singleFlight = singleFlightLoader.getIfAvailable();
+        LoadCouponPort loadDelegate = singleFlight != null ? singleFlight : persistenceAdapter;
+        DeleteCouponPort deleteDelegate = singleFlight != null ? singleFlight : persistenceAdapter;
+        return new CachingCouponAdapter(loadDelegate, saveDelegate, deleteDelegate, builder.build(), codeIndex);
     }
 }
@@ -0,0 +1,27 @@
+package com.coupon.demo.infrastructure.config;
+
+import com.coupon.demo.infrastructure.threads.VirtualThreadPinningMonitor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modo de execução em virtual threads (spring.threads.virtual.enabled=true): o Spring Boot passa
+ * o Tomcat e os executores de tarefas para virtual threads, e cada requisição (controller e use case)
+ * roda numa virtual thread própria. Aqui só entra o que o Boot não traz: o monitor de pinning.
+ */
+@Configuration
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(prefix = "coupon.virtual-threads", name = "pinning-monitor", havingValue = "true",
+            matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(VirtualThreadProperties properties) {
+        return new VirtualThreadPinningMonitor(properties.pinningThreshold());
+    }
+}
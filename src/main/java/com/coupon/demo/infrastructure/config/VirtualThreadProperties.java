@@ -0,0 +1,17 @@
+package com.coupon.demo.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Monitor de pinning do modo virtual threads (prefixo coupon.virtual-threads).
+ * Só vale com spring.threads.virtual.enabled=true; pinning mais curto que pinningThreshold é ignorado.
+ */
+@ConfigurationProperties(prefix = "coupon.virtual-threads")
+public record VirtualThreadProperties(
+        @DefaultValue("true") boolean pinningMonitor,
+        @DefaultValue("20ms") Duration pinningThreshold
+) {
+}
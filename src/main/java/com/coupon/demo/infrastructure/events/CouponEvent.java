@@ -0,0 +1,24 @@
+package com.coupon.demo.infrastructure.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Um evento do ciclo de vida de um cupom, como gravado no outbox.
+ * Vindo do outbox, sequence é o id da linha: único, mas atribuído no INSERT, e não na ordem em que as
+ * transações confirmam. No CouponEventFeed, é a sequence atribuída pelo feed ao publicar, que identifica o
+ * evento no feed (parâmetro after, Last-Event-ID). version e occurredAt são os do cupom após a alteração;
+ * como a entrega é ao menos uma vez, consumidores descartam repetidos por (couponId, type, version).
+ */
+public record CouponEvent(long sequence, Type type, UUID couponId, String code, long version,
+                          LocalDateTime occurredAt) {
+
+    public CouponEvent withSequence(long sequence) {
+        return new CouponEvent(sequence, type, couponId, code, version, occurredAt);
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,161 @@
+package com.coupon.demo.infrastructure.events;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sink em processo: guarda os últimos capacity eventos num buffer circular, para o feed HTTP
+ * (GET /coupon/events) ler a partir de uma sequence, com espera (long-poll e SSE) por eventos novos.
+ * A sequence do feed é atribuída aqui, na ordem de publish: o id do outbox é dado no INSERT, não no commit,
+ * e uma transação longa pode confirmar um id menor depois de um maior já entregue. Repetidos pelo relay são
+ * reconhecidos pelo id do outbox dos eventos retidos e ignorados. Quem pede a partir de uma sequence que já
+ * saiu do buffer (ou que o feed não emitiu, como a de um processo anterior) recebe reset=true e os eventos a
+ * partir do mais antigo retido: perdeu eventos e deve ressincronizar pela listagem.
+ */
+public class CouponEventFeed implements CouponEventSink {
+
+    private final CouponEvent[] ring;
+    private final long[] outboxIds;
+    private final Set<Long> retained = new HashSet<>();
+    private final Set<Waiter> waiters = new HashSet<>();
+    private int head;
+    private int size;
+    private long lastSequence;
+    private long evictedSequence;
+
+    public CouponEventFeed(int capacity) {
+        this(capacity, 1);
+    }
+
+    /**
+     * firstSequence é a sequence do primeiro evento publicado; começar de um valor maior que o de um processo
+     * anterior (como o relógio) faz clientes daquele processo receberem reset em vez de pular eventos.
+     */
+    public CouponEventFeed(int capacity, long firstSequence) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity deve ser positiva");
+        }
+        this.ring = new CouponEvent[capacity];
+        this.outboxIds = new long[capacity];
+        this.lastSequence = firstSequence - 1;
+        this.evictedSequence = firstSequence - 1;
+    }
+
+    @Override
+    public void publish(List<CouponEvent> events) {
+        List<Waiter> ready;
+        synchronized (this) {
+            boolean added = false;
+            for (CouponEvent event : events) {
+                if (!retained.add(event.sequence())) {
+                    continue;
+                }
+                if (size == ring.length) {
+                    evictedSequence = ring[head].sequence();
+                    retained.remove(outboxIds[head]);
+                    head = (head + 1) % ring.length;
+                    size--;
+                }
+                int tail = (head + size) % ring.length;
+                ring[tail] = event.withSequence(++lastSequence);
+                outboxIds[tail] = event.sequence();
+                size++;
+                added = true;
+            }
+            if (!added || waiters.isEmpty()) {
+                return;
+            }
+            ready = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        ready.forEach(waiter -> waiter.future().complete(read(waiter.after(), waiter.limit())));
+    }
+
+    /**
+     * Até limit eventos com sequence maior que after, na ordem; sem after, a partir do mais antigo retido.
+     * next é a sequence a passar como after na leitura seguinte.
+     */
+    public synchronized Page read(Long after, int limit) {
+        boolean reset = after != null && (after < evictedSequence || after > lastSequence);
+        long from = after == null || reset ? Long.MIN_VALUE : after;
+        int index = firstAfter(from);
+        List<CouponEvent> events = new ArrayList<>(Math.min(limit, size - index));
+        for (int i = index; i < size && events.size() < limit; i++) {
+            events.add(at(i));
+        }
+        long next = !events.isEmpty() ? events.getLast().sequence()
+                : after != null && !reset ? after
+                : evictedSequence;
+        return new Page(events, next, reset);
+    }
+
+    /**
+     * Como read, mas sem eventos novos espera até timeout pelo próximo publish; vencido o prazo,
+     * completa com a página vazia.
+     */
+    public CompletableFuture<Page> await(Long after, int limit, Duration timeout) {
+        Waiter waiter;
+        synchronized (this) {
+            Page page = read(after, limit);
+            if (!page.events().isEmpty() || page.reset()) {
+                return CompletableFuture.completedFuture(page);
+            }
+            waiter = new Waiter(page.next(), limit, new CompletableFuture<>());
+            waiters.add(waiter);
+        }
+        Page empty = new Page(List.of(), waiter.after(), false);
+        return waiter.future()
+                .completeOnTimeout(empty, timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((page, error) -> {
+                    synchronized (this) {
+                        waiters.remove(waiter);
+                    }
+                });
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Posição lógica (0 = mais antigo) do primeiro evento com sequence maior que after, por busca binária.
+     */
+    private int firstAfter(long after) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (at(mid).sequence() <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private CouponEvent at(int index) {
+        return ring[(head + index) % ring.length];
+    }
+
+    public record Page(List<CouponEvent> events, long next, boolean reset) {
+    }
+
+    private record Waiter(long after, int limit, CompletableFuture<Page> future) {
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.coupon.demo.infrastructure.events;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos drenados do outbox pelo CouponOutboxRelay, um bloco por vez, na ordem do id do
+ * outbox (que não é, necessariamente, a ordem dos commits).
+ * Lançar exceção desfaz o bloco inteiro, que volta a ser entregue (a todos os sinks) na próxima execução.
+ */
+@FunctionalInterface
+public interface CouponEventSink {
+
+    void publish(List<CouponEvent> events);
+}
@@ -0,0 +1,141 @@
+package com.coupon.demo.infrastructure.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Relay do outbox em segundo plano: a cada interval, drena coupon_outbox em blocos de batchSize (cada bloco
+ * uma transação) e entrega cada bloco a todos os sinks, na ordem. Uma execução segue enquanto os blocos
+ * vierem cheios.
+ * Não guarda estado: o que falta entregar é o que ainda está no outbox. Um bloco só sai do outbox depois de
+ * aceito por todos os sinks; se algum falhar, o bloco volta inteiro na próxima execução, inclusive para os
+ * sinks que já o tinham recebido (entrega ao menos uma vez).
+ * Métricas: coupon.events.relay (duração de cada execução, tag outcome) e coupon.events.relayed
+ * (eventos entregues).
+ */
+@Slf4j
+public class CouponOutboxRelay implements AutoCloseable {
+
+    static final String RUN_TIMER = "coupon.events.relay";
+    static final String RELAYED_COUNTER = "coupon.events.relayed";
+
+    private final Drainer drainer;
+    private final List<CouponEventSink> sinks;
+    private final int batchSize;
+    private final Duration interval;
+    private final MeterRegistry meterRegistry;
+    private final Counter relayed;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+
+    public CouponOutboxRelay(Drainer drainer, List<CouponEventSink> sinks, int batchSize, Duration interval,
+                             MeterRegistry meterRegistry) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize deve ser positivo");
+        }
+        this.drainer = drainer;
+        this.sinks = List.copyOf(sinks);
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.meterRegistry = meterRegistry;
+        this.relayed = Counter.builder(RELAYED_COUNTER)
+                .baseUnit("events")
+                .description("Eventos de cupom entregues pelo relay do outbox")
+                .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        if (scheduler != null || closed) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("coupon-outbox-relay").daemon(true).factory());
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::relayQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para de agendar, espera a execução em andamento terminar o bloco atual (não inicia outro) e fecha os
+     * sinks que são AutoCloseable.
+     */
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = scheduler;
+            scheduler = null;
+        }
+        if (current != null) {
+            current.shutdown();
+            current.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        for (CouponEventSink sink : sinks) {
+            if (sink instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Uma execução: blocos até o outbox esvaziar (um bloco incompleto) ou até o close. Retorna quantos eventos
+     * foram entregues. Se um bloco falhar, os anteriores continuam entregues e a exceção é repassada.
+     */
+    public synchronized int relay() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int total = 0;
+        String outcome = "success";
+        try {
+            while (!closed) {
+                int drained = drainer.drain(batchSize, this::publish);
+                total += drained;
+                relayed.increment(drained);
+                if (drained < batchSize) {
+                    break;
+                }
+            }
+            return total;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(RUN_TIMER)
+                    .description("Duração de cada execução do relay do outbox de cupons")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void publish(List<CouponEvent> events) {
+        for (CouponEventSink sink : sinks) {
+            sink.publish(events);
+        }
+    }
+
+    private void relayQuietly() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao entregar eventos do outbox de cupons; nova tentativa na próxima execução", e);
+        }
+    }
+
+    /**
+     * Um bloco numa transação: passa até limit eventos do outbox, na ordem, ao consumer e os remove se ele
+     * retornar normalmente. Retorna quantos eventos foram passados.
+     */
+    @FunctionalInterface
+    public interface Drainer {
+
+        int drain(int limit, Consumer<List<CouponEvent>> consumer);
+    }
+}
@@ -0,0 +1,57 @@
+package com.coupon.demo.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink em arquivo para uso local: acrescenta cada evento como uma linha JSON (NDJSON) ao final do arquivo e
+ * força o bloco para o disco antes de o relay removê-lo do outbox. Uma falha de escrita desfaz o bloco, que
+ * é reescrito na próxima execução: o arquivo pode ter linhas repetidas, nunca lacunas.
+ */
+public class NdjsonFileCouponEventSink implements CouponEventSink, AutoCloseable {
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+
+    public NdjsonFileCouponEventSink(Path file, ObjectMapper objectMapper) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.objectMapper = objectMapper;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<CouponEvent> events) {
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream(events.size() * 160);
+            for (CouponEvent event : events) {
+                objectMapper.writeValue(lines, event);
+                lines.write('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,157 @@
+package com.coupon.demo.infrastructure.expiration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Expiração em segundo plano: a cada interval, passa para INACTIVE os cupons ACTIVE cuja expirationDate
+ * já passou, em blocos de chunkSize (cada bloco uma transação curta), com uma pausa entre blocos para não
+ * disputar conexões e locks com as requisições. Uma execução para em maxChunksPerRun blocos; o que sobrar
+ * fica para a próxima.
+ * Não guarda estado: o que falta expirar é o que ainda está ACTIVE e vencido no banco, então uma execução
+ * interrompida (falha, desligamento) é retomada pela seguinte sem repetir nem perder cupons.
+ * Cada id alterado é passado a onExpired, para os caches descartarem a versão anterior.
+ * Métricas: coupon.expiration.run (duração de cada execução, tag outcome) e coupon.expiration.transitioned
+ * (cupons alterados por execução).
+ */
+@Slf4j
+public class CouponExpirationSweeper implements AutoCloseable {
+
+    static final String RUN_TIMER = "coupon.expiration.run";
+    static final String TRANSITIONED_SUMMARY = "coupon.expiration.transitioned";
+
+    private final Expirer expirer;
+    private final Consumer<UUID> onExpired;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Duration pause;
+    private final Duration interval;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary transitioned;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+
+    public CouponExpirationSweeper(Expirer expirer, Consumer<UUID> onExpired, int chunkSize, int maxChunksPerRun,
+                                   Duration pause, Duration interval, MeterRegistry meterRegistry) {
+        if (chunkSize <= 0 || maxChunksPerRun <= 0) {
+            throw new IllegalArgumentException("chunkSize e maxChunksPerRun devem ser positivos");
+        }
+        this.expirer = expirer;
+        this.onExpired = onExpired;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.pause = pause;
+        this.interval = interval;
+        this.meterRegistry = meterRegistry;
+        this.transitioned = DistributionSummary.builder(TRANSITIONED_SUMMARY)
+                .baseUnit("coupons")
+                .description("Cupons passados para INACTIVE por execução da expiração")
+                .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        if (scheduler != null || closed) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("coupon-expiration").daemon(true).factory());
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::sweepQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para de agendar e espera a execução em andamento terminar o bloco atual (não inicia outro).
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = scheduler;
+            scheduler = null;
+        }
+        if (current != null) {
+            current.shutdown();
+            current.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Uma execução: blocos até não restar cupom vencido em now (início da execução), até maxChunksPerRun
+     * ou até o close. Retorna quantos cupons foram alterados. Se um bloco falhar, os anteriores continuam
+     * gravados e a exceção é repassada.
+     */
+    public synchronized int sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int total = 0;
+        String outcome = "success";
+        try {
+            for (int chunk = 0; chunk < maxChunksPerRun && !closed; chunk++) {
+                if (chunk > 0 && !sleep(pause)) {
+                    break;
+                }
+                List<UUID> ids = expirer.expire(now, chunkSize);
+                ids.forEach(onExpired);
+                total += ids.size();
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+            }
+            return total;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            transitioned.record(total);
+            sample.stop(Timer.builder(RUN_TIMER)
+                    .description("Duração de cada execução da expiração de cupons")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void sweepQuietly() {
+        try {
+            int expired = sweep();
+            if (expired > 0) {
+                log.info("{} cupons expirados passados para INACTIVE", expired);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha na expiração de cupons; nova tentativa na próxima execução", e);
+        }
+    }
+
+    private static boolean sleep(Duration pause) {
+        if (pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Um bloco numa transação: altera até limit cupons vencidos em now e retorna os ids alterados.
+     */
+    @FunctionalInterface
+    public interface Expirer {
+
+        List<UUID> expire(LocalDateTime now, int limit);
+    }
+}
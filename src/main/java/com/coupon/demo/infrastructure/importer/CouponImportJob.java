@@ -0,0 +1,48 @@
+package com.coupon.demo.infrastructure.importer;
+
+import com.coupon.demo.application.usecase.ImportCouponsUseCase.Report;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Estado de uma importação em andamento ou concluída. Atualizado pela thread do job
+ * e pelo writer; lido pelas requisições de acompanhamento.
+ */
+@Getter
+public class CouponImportJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private final UUID id;
+    private final String file;
+    private final LocalDateTime startedAt;
+    private volatile Status status = Status.RUNNING;
+    private volatile Report report = new Report(0, 0, 0, List.of(), false);
+    private volatile LocalDateTime finishedAt;
+    private volatile String failure;
+
+    CouponImportJob(String file) {
+        this.id = UUID.randomUUID();
+        this.file = file;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    void progress(Report report) {
+        this.report = report;
+    }
+
+    void complete(Report report) {
+        this.report = report;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void fail(String failure) {
+        this.failure = failure;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+}
@@ -0,0 +1,135 @@
+package com.coupon.demo.infrastructure.importer;
+
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.usecase.ImportCouponsUseCase;
+import com.coupon.demo.application.usecase.ImportCouponsUseCase.Report;
+import com.coupon.demo.domain.BusinessException;
+import com.fasterxml.jackson.core.JsonFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispara e acompanha importações de arquivos NDJSON do diretório configurado.
+ * Só aceita nomes de arquivo dentro desse diretório. Cada job roda numa thread do executor
+ * de jobs (sem fila: acima do limite de concorrência a importação é recusada) e guarda o
+ * último retrato do use case. Mantém apenas os jobs mais recentes.
+ * O close para de aceitar jobs e espera os em andamento por até SHUTDOWN_WAIT; depois disso, interrompe-os
+ * (o use case entrega o fim ao writer, que termina o bloco em gravação, e o job fica como falho).
+ */
+@Slf4j
+public class CouponImportJobs implements AutoCloseable {
+
+    private static final int MAX_TRACKED_JOBS = 50;
+    private static final Duration SHUTDOWN_WAIT = Duration.ofSeconds(30);
+
+    private final ImportCouponsUseCase importCouponsUseCase;
+    private final JsonFactory jsonFactory;
+    private final ExecutorService jobExecutor;
+    private final Path directory;
+    private final long logEvery;
+    private final Map<UUID, CouponImportJob> jobs = new LinkedHashMap<>();
+
+    public CouponImportJobs(ImportCouponsUseCase importCouponsUseCase, JsonFactory jsonFactory,
+                            ExecutorService jobExecutor, Path directory, long logEvery) {
+        this.importCouponsUseCase = importCouponsUseCase;
+        this.jsonFactory = jsonFactory;
+        this.jobExecutor = jobExecutor;
+        this.directory = directory.toAbsolutePath().normalize();
+        this.logEvery = logEvery;
+    }
+
+    public CouponImportJob start(String fileName) {
+        Path file = resolve(fileName);
+        CouponImportJob job = new CouponImportJob(fileName);
+        try {
+            jobExecutor.execute(() -> run(job, file));
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException("Limite de importações simultâneas atingido; tente novamente após a atual terminar");
+        }
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            if (jobs.size() > MAX_TRACKED_JOBS) {
+                jobs.remove(jobs.keySet().iterator().next());
+            }
+        }
+        return job;
+    }
+
+    public Optional<CouponImportJob> find(UUID id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    @Override
+    public void close() {
+        jobExecutor.shutdown();
+        try {
+            if (!jobExecutor.awaitTermination(SHUTDOWN_WAIT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Importações ainda em andamento após {} s; interrompendo", SHUTDOWN_WAIT.toSeconds());
+                jobExecutor.shutdownNow();
+                jobExecutor.awaitTermination(SHUTDOWN_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            jobExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Path resolve(String fileName) {
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || file.equals(directory)) {
+            throw new BusinessException("Arquivo fora do diretório de importação: " + fileName);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Arquivo de importação não encontrado: " + fileName);
+        }
+        return file;
+    }
+
+    private void run(CouponImportJob job, Path file) {
+        log.info("Importação {} iniciada: {}", job.getId(), file);
+        ProgressLog progressLog = new ProgressLog(job);
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+             NdjsonCouponReader reader = new NdjsonCouponReader(jsonFactory, input)) {
+            Report report = importCouponsUseCase.execute(reader, progressLog::update);
+            job.complete(report);
+            log.info("Importação {} concluída: {} lidos, {} criados, {} rejeitados",
+                    job.getId(), report.read(), report.created(), report.rejected());
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            log.error("Importação {} falhou", job.getId(), e);
+        }
+    }
+
+    private final class ProgressLog {
+
+        private final CouponImportJob job;
+        private long nextLog = logEvery;
+
+        private ProgressLog(CouponImportJob job) {
+            this.job = job;
+        }
+
+        private void update(Report report) {
+            job.progress(report);
+            if (report.read() >= nextLog) {
+                nextLog = report.read() + logEvery;
+                log.info("Importação {}: {} lidos, {} criados, {} rejeitados",
+                        job.getId(), report.read(), report.created(), report.rejected());
+            }
+        }
+    }
+}
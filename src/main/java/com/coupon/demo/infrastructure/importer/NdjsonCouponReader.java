@@ -0,0 +1,165 @@
+package com.coupon.demo.infrastructure.importer;
+
+import com.coupon.demo.application.usecase.ImportCouponsUseCase.Line;
+import com.coupon.demo.domain.ExpirationDateParser;
+import com.coupon.demo.dto.request.ExpirationDateDeserializer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê NDJSON (um objeto por linha) com o JsonParser de streaming, sem montar árvore nem DTO:
+ * memória constante qualquer que seja o tamanho do arquivo. Campos desconhecidos são ignorados;
+ * valor com tipo ou data inválidos (inclusive objeto ou array onde se espera valor simples, que é pulado
+ * inteiro) vira Line rejeitada (com o número da linha) e a leitura segue.
+ * JSON estruturalmente inválido interrompe a leitura com IllegalArgumentException.
+ */
+public class NdjsonCouponReader implements Iterator<Line>, Closeable {
+
+    private final JsonParser parser;
+    private Line next;
+    private boolean finished;
+
+    public NdjsonCouponReader(JsonFactory jsonFactory, InputStream input) throws IOException {
+        this.parser = jsonFactory.createParser(input);
+    }
+
+    @Override
+    public boolean hasNext() {
+        advance();
+        return next != null;
+    }
+
+    @Override
+    public Line next() {
+        advance();
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        Line line = next;
+        next = null;
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private void advance() {
+        if (next != null || finished) {
+            return;
+        }
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                finished = true;
+                return;
+            }
+            long number = parser.currentTokenLocation().getLineNr();
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                next = Line.rejected(number, "Registro deve ser um objeto JSON");
+                return;
+            }
+            next = readObject(number);
+        } catch (IOException e) {
+            finished = true;
+            throw new IllegalArgumentException("Arquivo inválido na linha "
+                    + parser.currentLocation().getLineNr() + ": " + e.getMessage());
+        }
+    }
+
+    private Line readObject(long number) throws IOException {
+        String code = null;
+        String description = null;
+        Double discountValue = null;
+        LocalDate expirationDate = null;
+        boolean published = false;
+        Integer maxUses = null;
+        String rejection = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "code" -> code = text(value);
+                case "description" -> description = text(value);
+                case "discountValue" -> {
+                    if (value.isNumeric()) {
+                        discountValue = parser.getDoubleValue();
+                    } else if (value == JsonToken.VALUE_STRING) {
+                        try {
+                            discountValue = Double.valueOf(parser.getText().trim());
+                        } catch (NumberFormatException e) {
+                            rejection = "discountValue: valor numérico inválido";
+                        }
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        skipStruct(value);
+                        rejection = "discountValue: valor numérico inválido";
+                    }
+                }
+                case "expirationDate" -> {
+                    String text = text(value);
+                    if (text != null && !text.isBlank()) {
+                        expirationDate = ExpirationDateParser.parse(text);
+                        if (expirationDate == null) {
+                            rejection = ExpirationDateDeserializer.INVALID_DATE_MESSAGE;
+                        }
+                    }
+                }
+                case "published" -> {
+                    if (value == JsonToken.VALUE_TRUE || value == JsonToken.VALUE_FALSE) {
+                        published = parser.getBooleanValue();
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        skipStruct(value);
+                        rejection = "published: valor booleano inválido";
+                    }
+                }
+                case "maxUses" -> {
+                    if (value == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT) {
+                        maxUses = parser.getIntValue();
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        skipStruct(value);
+                        rejection = "maxUses: valor inteiro inválido";
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (rejection == null && (description == null || description.isBlank())) {
+            rejection = "A descrição é obrigatória";
+        }
+        return rejection != null
+                ? Line.rejected(number, rejection)
+                : new Line(number, code, description, discountValue, expirationDate, published, maxUses, null);
+    }
+
+    private String text(JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (skipStruct(value)) {
+            return null;
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Valor objeto ou array: pula até o fim dele, para os campos internos não serem lidos como do registro.
+     */
+    private boolean skipStruct(JsonToken value) throws IOException {
+        if (!value.isStructStart()) {
+            return false;
+        }
+        parser.skipChildren();
+        return true;
+    }
+}
@@ -0,0 +1,125 @@
+package com.coupon.demo.infrastructure.memory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Campos que a maioria dos cupons de uma réplica tem no valor inicial (versão 0, sem alteração, sem limite,
+ * sem usos), fora do registro principal: uma entrada de ENTRY_BYTES fora do heap só para o cupom que
+ * precisa, achada pelo slot num SlotIndex próprio. CouponRecords marca os slots que têm entrada.
+ * Layout, em bytes: 0 slot, 4 versão, 8 updatedAt (segundos desde a época), 12 maxUses (NULL_INT = sem limite),
+ * 16 usos. Versão, updatedAt e usos são lidos sem sinal. Entradas não são liberadas.
+ * Sem sincronização própria, como CouponRecords.
+ */
+final class CouponExtras {
+
+    static final int ENTRY_BYTES = 20;
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_ENTRIES = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_ENTRIES - 1;
+
+    private static final int SLOT = 0;
+    private static final int VERSION = 4;
+    private static final int UPDATED_AT = 8;
+    private static final int MAX_USES = 12;
+    private static final int USED_COUNT = 16;
+
+    private final SlotIndex bySlot = new SlotIndex(0, entry -> hash(slot(entry)));
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private int size;
+
+    /**
+     * Entrada do slot, ou -1.
+     */
+    int find(int slot) {
+        return bySlot.find(hash(slot), entry -> slot(entry) == slot);
+    }
+
+    /**
+     * Cria a entrada do slot com os valores iniciais; quem chama garante que ela ainda não existe.
+     */
+    int add(int slot, long updatedAt) {
+        if (size >> CHUNK_SHIFT == chunks.length) {
+            ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[chunks.length] = ByteBuffer.allocateDirect(CHUNK_ENTRIES * ENTRY_BYTES);
+            chunks = grown;
+        }
+        int entry = size++;
+        chunk(entry).putInt(offset(entry) + SLOT, slot);
+        setVersion(entry, 0);
+        setUpdatedAt(entry, updatedAt);
+        setMaxUses(entry, CouponRecords.NULL_INT);
+        setUsedCount(entry, 0);
+        bySlot.add(hash(slot), entry);
+        return entry;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long bytes() {
+        return chunks.length * (long) CHUNK_ENTRIES * ENTRY_BYTES;
+    }
+
+    long indexBytes() {
+        return bySlot.bytes();
+    }
+
+    long version(int entry) {
+        return Integer.toUnsignedLong(chunk(entry).getInt(offset(entry) + VERSION));
+    }
+
+    long updatedAt(int entry) {
+        return Integer.toUnsignedLong(chunk(entry).getInt(offset(entry) + UPDATED_AT));
+    }
+
+    int maxUses(int entry) {
+        return chunk(entry).getInt(offset(entry) + MAX_USES);
+    }
+
+    long usedCount(int entry) {
+        return Integer.toUnsignedLong(chunk(entry).getInt(offset(entry) + USED_COUNT));
+    }
+
+    void setVersion(int entry, long version) {
+        chunk(entry).putInt(offset(entry) + VERSION, unsigned(version, "Versão"));
+    }
+
+    void setUpdatedAt(int entry, long epochSecond) {
+        chunk(entry).putInt(offset(entry) + UPDATED_AT, unsigned(epochSecond, "Data de alteração"));
+    }
+
+    void setMaxUses(int entry, int maxUses) {
+        chunk(entry).putInt(offset(entry) + MAX_USES, maxUses);
+    }
+
+    void setUsedCount(int entry, long usedCount) {
+        chunk(entry).putInt(offset(entry) + USED_COUNT, unsigned(usedCount, "Contagem de usos"));
+    }
+
+    private int slot(int entry) {
+        return chunk(entry).getInt(offset(entry) + SLOT);
+    }
+
+    private ByteBuffer chunk(int entry) {
+        return chunks[entry >>> CHUNK_SHIFT];
+    }
+
+    private static int offset(int entry) {
+        return (entry & CHUNK_MASK) * ENTRY_BYTES;
+    }
+
+    private static int unsigned(long value, String field) {
+        if (value < 0 || value > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException(field + " fora do que o armazenamento em memória guarda: " + value);
+        }
+        return (int) value;
+    }
+
+    private static int hash(int slot) {
+        long h = slot * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
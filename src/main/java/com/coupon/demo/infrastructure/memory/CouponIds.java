@@ -0,0 +1,72 @@
+package com.coupon.demo.infrastructure.memory;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Ids dos cupons do armazenamento em memória, calculados a partir do slot em vez de guardados no registro.
+ * Todos os ids de uma instância têm os mesmos 64 bits mais significativos (sorteados, com a versão 4); os menos
+ * significativos têm a variante do UUID e o slot embaralhado por uma permutação de Feistel de 62 bits com chaves
+ * sorteadas. Decodificar o id devolve o slot, sem índice por id; sem as chaves, os ids de outros slots não se
+ * deduzem dos conhecidos. Os ids não valem entre instâncias, como os UUID.randomUUID de antes.
+ */
+final class CouponIds {
+
+    private static final int ROUNDS = 4;
+    private static final int HALF_BITS = 31;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final long VARIANT_MASK = 0xC000000000000000L;
+    private static final long VARIANT = 0x8000000000000000L;
+
+    private final long msb;
+    private final long[] keys = new long[ROUNDS];
+
+    CouponIds() {
+        this(new SecureRandom());
+    }
+
+    CouponIds(RandomGenerator random) {
+        this.msb = random.nextLong() & ~0xF000L | 0x4000L;
+        for (int i = 0; i < ROUNDS; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    long msb() {
+        return msb;
+    }
+
+    long lsb(int slot) {
+        long left = slot >>> HALF_BITS;
+        long right = slot & HALF_MASK;
+        for (long key : keys) {
+            long next = left ^ round(right, key);
+            left = right;
+            right = next;
+        }
+        return VARIANT | left << HALF_BITS | right;
+    }
+
+    /**
+     * Slot do id, ou -1 se o id não foi gerado por esta instância (o limite de slots fica com quem chama).
+     */
+    int slot(long msb, long lsb) {
+        if (msb != this.msb || (lsb & VARIANT_MASK) != VARIANT) {
+            return -1;
+        }
+        long left = lsb >>> HALF_BITS & HALF_MASK;
+        long right = lsb & HALF_MASK;
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            long previous = right ^ round(left, keys[i]);
+            right = left;
+            left = previous;
+        }
+        long slot = left << HALF_BITS | right;
+        return slot <= Integer.MAX_VALUE ? (int) slot : -1;
+    }
+
+    private static long round(long half, long key) {
+        long h = (half ^ key) * 0x9E3779B97F4A7C15L;
+        return (h ^ h >>> 29) & HALF_MASK;
+    }
+}
@@ -0,0 +1,143 @@
+package com.coupon.demo.infrastructure.memory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Cupons em registros de largura fixa fora do heap: RECORD_BYTES por cupom, em blocos de ByteBuffer direto
+ * com CHUNK_RECORDS registros cada, alocados sob demanda. Um slot é a posição do registro; registros não são
+ * liberados (o soft delete só muda o status). O registro guarda só o que toda leitura usa; o id sai do slot
+ * (CouponIds) e versão, alteração, limite e usos ficam em CouponExtras, só para os cupons que os têm.
+ * Layout, em bytes:
+ * 0 desconto (double, NaN = nulo), 8 código (CouponCode.pack, cabe num int),
+ * 12 descrição (referência em CouponTextArena), 16 expiração (dias desde a época sem sinal, NULL_DAY = nulo),
+ * 18 flags (bits 0-1 status, 2 publicado, 3 tem extras), 19 livre.
+ * Sem sincronização própria: OffHeapCouponAdapter controla o acesso. Só usa os métodos absolutos do
+ * ByteBuffer, que não mexem na posição e podem ser chamados de várias threads ao mesmo tempo.
+ */
+final class CouponRecords {
+
+    static final int RECORD_BYTES = 20;
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final int MAX_DAY = 0xFFFE;
+
+    private static final int NULL_DAY = 0xFFFF;
+    private static final int STATUS_MASK = 0b11;
+    private static final int PUBLISHED_BIT = 0b100;
+    private static final int EXTRAS_BIT = 0b1000;
+
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_RECORDS - 1;
+
+    private static final int DISCOUNT = 0;
+    private static final int CODE = 8;
+    private static final int DESCRIPTION = 12;
+    private static final int EXPIRATION = 16;
+    private static final int FLAGS = 18;
+
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private int size;
+
+    /**
+     * Reserva o próximo slot (zerado), alocando um bloco novo quando o atual enche.
+     */
+    int allocate() {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Armazenamento em memória cheio: " + size + " registros");
+        }
+        if (size >> CHUNK_SHIFT == chunks.length) {
+            ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[chunks.length] = ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_BYTES);
+            chunks = grown;
+        }
+        return size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long bytes() {
+        return chunks.length * (long) CHUNK_RECORDS * RECORD_BYTES;
+    }
+
+    double discount(int slot) {
+        return chunk(slot).getDouble(offset(slot) + DISCOUNT);
+    }
+
+    int code(int slot) {
+        return chunk(slot).getInt(offset(slot) + CODE);
+    }
+
+    int description(int slot) {
+        return chunk(slot).getInt(offset(slot) + DESCRIPTION);
+    }
+
+    /**
+     * Dias desde a época, ou NULL_INT.
+     */
+    int expiration(int slot) {
+        int day = chunk(slot).getChar(offset(slot) + EXPIRATION);
+        return day == NULL_DAY ? NULL_INT : day;
+    }
+
+    int status(int slot) {
+        return flags(slot) & STATUS_MASK;
+    }
+
+    boolean published(int slot) {
+        return (flags(slot) & PUBLISHED_BIT) != 0;
+    }
+
+    boolean hasExtras(int slot) {
+        return (flags(slot) & EXTRAS_BIT) != 0;
+    }
+
+    void setDiscount(int slot, double discount) {
+        chunk(slot).putDouble(offset(slot) + DISCOUNT, discount);
+    }
+
+    void setCode(int slot, int code) {
+        chunk(slot).putInt(offset(slot) + CODE, code);
+    }
+
+    void setDescription(int slot, int reference) {
+        chunk(slot).putInt(offset(slot) + DESCRIPTION, reference);
+    }
+
+    /**
+     * epochDay entre 0 e MAX_DAY, ou NULL_INT; quem chama confere a faixa.
+     */
+    void setExpiration(int slot, int epochDay) {
+        chunk(slot).putChar(offset(slot) + EXPIRATION, (char) (epochDay == NULL_INT ? NULL_DAY : epochDay));
+    }
+
+    void setStatus(int slot, int status) {
+        setFlags(slot, flags(slot) & ~STATUS_MASK | status);
+    }
+
+    void setPublished(int slot, boolean published) {
+        setFlags(slot, published ? flags(slot) | PUBLISHED_BIT : flags(slot) & ~PUBLISHED_BIT);
+    }
+
+    void markExtras(int slot) {
+        setFlags(slot, flags(slot) | EXTRAS_BIT);
+    }
+
+    private int flags(int slot) {
+        return chunk(slot).get(offset(slot) + FLAGS);
+    }
+
+    private void setFlags(int slot, int flags) {
+        chunk(slot).put(offset(slot) + FLAGS, (byte) flags);
+    }
+
+    private ByteBuffer chunk(int slot) {
+        return chunks[slot >>> CHUNK_SHIFT];
+    }
+
+    private static int offset(int slot) {
+        return (slot & CHUNK_MASK) * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,108 @@
+package com.coupon.demo.infrastructure.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Textos de tamanho variável (as descrições) fora do heap: só acrescenta, em blocos de ByteBuffer direto de
+ * CHUNK_BYTES; cada texto é o tamanho em varint (1 byte até 127 bytes de texto) seguido dos bytes em UTF-8.
+ * A referência (int) guarda o bloco e a posição; NULL representa texto nulo. Cabem MAX_CHUNKS blocos (4 GB).
+ * Um texto substituído numa alteração não é reaproveitado.
+ * Sem sincronização própria, como CouponRecords.
+ */
+final class CouponTextArena {
+
+    static final int NULL = -1;
+
+    private static final int CHUNK_SHIFT = 20;
+    private static final int CHUNK_BYTES = 1 << CHUNK_SHIFT;
+    private static final int MAX_LENGTH_BYTES = 3;
+    private static final int MAX_CHUNKS = (1 << (Integer.SIZE - CHUNK_SHIFT)) - 1;
+    static final int MAX_TEXT_BYTES = CHUNK_BYTES - MAX_LENGTH_BYTES;
+
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private int position = CHUNK_BYTES;
+
+    /**
+     * Grava o texto e devolve a referência; texto com mais de MAX_TEXT_BYTES bytes: IllegalArgumentException.
+     */
+    int append(String text) {
+        if (text == null) {
+            return NULL;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        checkSize(bytes.length);
+        if (position + MAX_LENGTH_BYTES + bytes.length > CHUNK_BYTES) {
+            if (chunks.length == MAX_CHUNKS) {
+                throw new IllegalStateException("Arena de textos em memória cheia: " + chunks.length + " blocos");
+            }
+            ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[chunks.length] = ByteBuffer.allocateDirect(CHUNK_BYTES);
+            chunks = grown;
+            position = 0;
+        }
+        ByteBuffer chunk = chunks[chunks.length - 1];
+        int reference = (chunks.length - 1) << CHUNK_SHIFT | position;
+        int offset = position;
+        for (int length = bytes.length; ; length >>>= 7) {
+            if (length < 0x80) {
+                chunk.put(offset++, (byte) length);
+                break;
+            }
+            chunk.put(offset++, (byte) (length & 0x7F | 0x80));
+        }
+        chunk.put(offset, bytes);
+        position = offset + bytes.length;
+        return reference;
+    }
+
+    /**
+     * Lê o texto da referência. Confere os limites antes de alocar, para que uma leitura otimista sobre uma
+     * referência inconsistente falhe com exceção em vez de alocar um array do tamanho de um valor qualquer.
+     */
+    String read(int reference) {
+        if (reference == NULL) {
+            return null;
+        }
+        ByteBuffer chunk = chunks[reference >>> CHUNK_SHIFT];
+        int offset = reference & (CHUNK_BYTES - 1);
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (shift == 7 * MAX_LENGTH_BYTES || offset == CHUNK_BYTES) {
+                throw new IllegalStateException("Referência de texto inválida: " + reference);
+            }
+            byte next = chunk.get(offset++);
+            length |= (next & 0x7F) << shift;
+            if (next >= 0) {
+                break;
+            }
+        }
+        if (offset + length > CHUNK_BYTES) {
+            throw new IllegalStateException("Referência de texto inválida: " + reference);
+        }
+        byte[] bytes = new byte[length];
+        chunk.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Mesma verificação de append, para validar um bloco inteiro antes de gravar qualquer item.
+     */
+    static void checkSize(String text) {
+        if (text != null && text.length() > MAX_TEXT_BYTES / 3) {
+            checkSize(text.getBytes(StandardCharsets.UTF_8).length);
+        }
+    }
+
+    long bytes() {
+        return chunks.length * (long) CHUNK_BYTES;
+    }
+
+    private static void checkSize(int length) {
+        if (length > MAX_TEXT_BYTES) {
+            throw new IllegalArgumentException("Descrição longa demais para o armazenamento em memória: "
+                    + length + " bytes (máximo " + MAX_TEXT_BYTES + ")");
+        }
+    }
+}
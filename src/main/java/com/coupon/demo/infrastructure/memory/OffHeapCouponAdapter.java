@@ -0,0 +1,516 @@
+package com.coupon.demo.infrastructure.memory;
+
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.CouponUsagePort;
+import com.coupon.demo.application.port.CouponVersionPort;
+import com.coupon.demo.application.port.DeleteCouponPort;
+import com.coupon.demo.application.port.ListCouponsPort;
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.domain.CouponStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Adapter em memória para as réplicas de leitura na borda (coupon.store.type=off-heap, perfil memory):
+ * implementa as mesmas portas do adapter JPA sem banco. Os cupons ficam fora do heap em registros de
+ * largura fixa (CouponRecords) com só o que toda leitura usa; versão, alteração, limite e usos ficam à parte
+ * (CouponExtras) e só existem para os cupons que saíram dos valores iniciais, e as descrições ficam numa arena
+ * (CouponTextArena). O id é calculado do slot (CouponIds), sem ocupar o registro nem índice; o índice por código
+ * é um int[] de endereçamento aberto (SlotIndex). No heap ficam só arrays, sem objeto por cupom, então o GC não
+ * percorre nem copia os cupons guardados. Nada sobrevive ao reinício.
+ * Leituras pontuais usam leitura otimista do StampedLock (refeita sob o lock de leitura se uma escrita
+ * interferir); escritas são exclusivas. A expiração é guardada em dias: só aceita cupons que expiram à
+ * meia-noite, como os criados por Coupon.create, até CouponRecords.MAX_DAY; updatedAt, em segundos, a precisão
+ * do Last-Modified.
+ */
+public class OffHeapCouponAdapter implements SaveCouponPort, LoadCouponPort, ListCouponsPort, DeleteCouponPort,
+        CouponVersionPort, CouponUsagePort {
+
+    private static final CouponStatus[] STATUSES = CouponStatus.values();
+    private static final int FOR_EACH_BLOCK = 1000;
+
+    private final StampedLock lock = new StampedLock();
+    private final CouponRecords records = new CouponRecords();
+    private final CouponExtras extras = new CouponExtras();
+    private final CouponTextArena texts = new CouponTextArena();
+    private final SlotTimeline created = new SlotTimeline();
+    private final CouponIds ids = new CouponIds();
+    private final SlotIndex byCode;
+
+    /**
+     * expectedSize dimensiona o índice de códigos para não crescer durante a carga (crescer copia a tabela inteira).
+     */
+    public OffHeapCouponAdapter(int expectedSize) {
+        this.byCode = new SlotIndex(expectedSize, slot -> codeHash(records.code(slot)));
+    }
+
+    @Override
+    public Coupon save(Coupon coupon) {
+        long stamp = lock.writeLock();
+        try {
+            return coupon.getId() == null ? insert(coupon, check(coupon)) : update(coupon);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Valida o bloco inteiro (códigos únicos entre si e no armazenamento, expiração e descrição) antes de
+     * gravar o primeiro: falha de qualquer item não deixa nenhum gravado, como a transação do adapter JPA.
+     */
+    @Override
+    public List<Coupon> saveAll(List<Coupon> coupons) {
+        long stamp = lock.writeLock();
+        try {
+            int[] codes = new int[coupons.size()];
+            Set<Integer> block = new HashSet<>();
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = check(coupons.get(i));
+                if (!block.add(codes[i])) {
+                    throw duplicated(coupons.get(i).getCode());
+                }
+            }
+            List<Coupon> saved = new ArrayList<>(codes.length);
+            for (int i = 0; i < codes.length; i++) {
+                saved.add(insert(coupons.get(i), codes[i]));
+            }
+            return saved;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<Coupon> findById(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        return read(() -> {
+            int slot = slotOf(msb, lsb);
+            return slot < 0 ? Optional.empty() : Optional.of(toDomain(slot));
+        });
+    }
+
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        long packed = CouponCode.pack(code);
+        if (packed == CouponCode.INVALID) {
+            return Optional.empty();
+        }
+        return read(() -> {
+            int slot = slotOfCode((int) packed);
+            return slot < 0 ? Optional.empty() : Optional.of(toDomain(slot));
+        });
+    }
+
+    @Override
+    public Optional<CouponVersion> findVersion(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        return read(() -> {
+            int slot = slotOf(msb, lsb);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            int entry = extrasOf(slot);
+            return Optional.of(entry < 0
+                    ? new CouponVersion(0, toDateTime(created.at(slot)))
+                    : new CouponVersion(extras.version(entry), toDateTime(extras.updatedAt(entry))));
+        });
+    }
+
+    @Override
+    public Optional<Coupon> markDeleted(UUID id, Long expectedVersion, LocalDateTime deletedAt) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot < 0 || records.status(slot) == CouponStatus.DELETED.ordinal()
+                    || (expectedVersion != null && version(slot) != expectedVersion)) {
+                return Optional.empty();
+            }
+            int entry = extrasFor(slot);
+            extras.setVersion(entry, extras.version(entry) + 1);
+            extras.setUpdatedAt(entry, toSeconds(deletedAt));
+            records.setStatus(slot, CouponStatus.DELETED.ordinal());
+            return Optional.of(toDomain(slot));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Conta o uso na entrada de CouponExtras, sob o lock de escrita; não altera a versão, como os UPDATEs relativos
+     * de CouponPersistenceAdapter.addUses.
+     */
+    @Override
+    public OptionalLong tryRedeem(Coupon coupon) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(coupon.getId().getMostSignificantBits(), coupon.getId().getLeastSignificantBits());
+            if (slot < 0) {
+                return OptionalLong.empty();
+            }
+            int entry = extrasFor(slot);
+            long used = extras.usedCount(entry);
+            int maxUses = extras.maxUses(entry);
+            if (maxUses != CouponRecords.NULL_INT && used >= maxUses) {
+                return OptionalLong.empty();
+            }
+            extras.setUsedCount(entry, used + 1);
+            return OptionalLong.of(used + 1);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sem índice ordenado: percorre todos os registros sob o lock de leitura, mantendo os limit menores
+     * (expirationDate, id) depois do cursor num heap. Custo proporcional ao total de cupons, por página.
+     */
+    @Override
+    public List<Coupon> findPage(Filter filter, Cursor after, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        long stamp = lock.readLock();
+        try {
+            Comparator<Integer> order = this::compare;
+            PriorityQueue<Integer> page = new PriorityQueue<>(limit, order.reversed());
+            for (int slot = 0, n = records.size(); slot < n; slot++) {
+                if (!matches(filter, slot) || (after != null && !isAfter(slot, after))) {
+                    continue;
+                }
+                if (page.size() < limit) {
+                    page.add(slot);
+                } else if (compare(slot, page.peek()) < 0) {
+                    page.poll();
+                    page.add(slot);
+                }
+            }
+            List<Integer> slots = new ArrayList<>(page);
+            slots.sort(order);
+            return slots.stream().map(this::toDomain).toList();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Na ordem de inserção, em blocos de FOR_EACH_BLOCK cupons: o lock de leitura é solto antes de entregar
+     * cada bloco, para um consumidor lento (a exportação escrevendo na resposta) não segurar as escritas.
+     */
+    @Override
+    public long forEach(Filter filter, Consumer<Coupon> consumer) {
+        long count = 0;
+        int next = 0;
+        while (true) {
+            List<Coupon> block = new ArrayList<>(FOR_EACH_BLOCK);
+            long stamp = lock.readLock();
+            try {
+                for (int n = records.size(); next < n && block.size() < FOR_EACH_BLOCK; next++) {
+                    if (matches(filter, next)) {
+                        block.add(toDomain(next));
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            if (block.isEmpty()) {
+                return count;
+            }
+            block.forEach(consumer);
+            count += block.size();
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return records.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Bytes alocados fora do heap (registros, campos à parte e textos).
+     */
+    public long offHeapBytes() {
+        long stamp = lock.readLock();
+        try {
+            return records.bytes() + extras.bytes() + texts.bytes();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Bytes dos arrays no heap: índice de códigos, índice dos campos à parte e datas de criação.
+     */
+    public long indexBytes() {
+        long stamp = lock.readLock();
+        try {
+            return byCode.bytes() + extras.indexBytes() + created.bytes();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Versão, usos e limite diferentes dos iniciais já criam a entrada em CouponExtras.
+     */
+    private Coupon insert(Coupon coupon, int code) {
+        int slot = records.allocate();
+        created.mark(slot, toSeconds(LocalDateTime.now()));
+        write(slot, coupon, code, texts.append(coupon.getDescription()));
+        if (coupon.getMaxUses() != null || coupon.getUsedCount() != 0) {
+            int entry = extrasFor(slot);
+            extras.setMaxUses(entry, coupon.getMaxUses() != null ? coupon.getMaxUses() : CouponRecords.NULL_INT);
+            extras.setUsedCount(entry, coupon.getUsedCount());
+        }
+        byCode.add(codeHash(code), slot);
+        return toDomain(slot);
+    }
+
+    /**
+     * Confere e incrementa a versão, como o UPDATE versionado do adapter JPA. Troca de código atualiza o
+     * índice de códigos; a descrição só é regravada na arena se mudou. Os usos gravados ficam, como no
+     * used_count que o adapter JPA não altera no UPDATE (updatable = false).
+     */
+    private Coupon update(Coupon coupon) {
+        int slot = slotOf(coupon.getId().getMostSignificantBits(), coupon.getId().getLeastSignificantBits());
+        if (slot < 0 || version(slot) != coupon.getVersion()) {
+            throw new ResourceNotFoundException("Cupom não encontrado (ou alterado) para atualizar");
+        }
+        int code = packCode(coupon);
+        checkExpiration(coupon.getExpirationDate());
+        CouponTextArena.checkSize(coupon.getDescription());
+        int previous = records.code(slot);
+        if (code != previous) {
+            if (slotOfCode(code) >= 0) {
+                throw duplicated(coupon.getCode());
+            }
+            byCode.remove(codeHash(previous), slot);
+        }
+        int description = records.description(slot);
+        if (!Objects.equals(texts.read(description), coupon.getDescription())) {
+            description = texts.append(coupon.getDescription());
+        }
+        int entry = extrasFor(slot);
+        extras.setVersion(entry, coupon.getVersion() + 1);
+        extras.setUpdatedAt(entry, toSeconds(LocalDateTime.now()));
+        extras.setMaxUses(entry, coupon.getMaxUses() != null ? coupon.getMaxUses() : CouponRecords.NULL_INT);
+        write(slot, coupon, code, description);
+        if (code != previous) {
+            byCode.add(codeHash(code), slot);
+        }
+        return toDomain(slot);
+    }
+
+    /**
+     * Grava os campos do registro principal; a descrição já gravada na arena.
+     */
+    private void write(int slot, Coupon coupon, int code, int description) {
+        records.setCode(slot, code);
+        records.setDescription(slot, description);
+        records.setDiscount(slot, coupon.getDiscountValue() != null ? coupon.getDiscountValue() : Double.NaN);
+        records.setExpiration(slot, coupon.getExpirationDate() != null
+                ? (int) coupon.getExpirationDate().toLocalDate().toEpochDay() : CouponRecords.NULL_INT);
+        records.setStatus(slot, coupon.getStatus().ordinal());
+        records.setPublished(slot, coupon.isPublished());
+    }
+
+    /**
+     * Entrada de CouponExtras do slot, ou -1 se o cupom ainda tem os valores iniciais.
+     */
+    private int extrasOf(int slot) {
+        return records.hasExtras(slot) ? extras.find(slot) : -1;
+    }
+
+    /**
+     * Entrada de CouponExtras do slot, criada com os valores iniciais se ainda não existe. Só sob o lock de escrita.
+     */
+    private int extrasFor(int slot) {
+        int entry = extrasOf(slot);
+        if (entry < 0) {
+            entry = extras.add(slot, created.at(slot));
+            records.markExtras(slot);
+        }
+        return entry;
+    }
+
+    private long version(int slot) {
+        int entry = extrasOf(slot);
+        return entry < 0 ? 0 : extras.version(entry);
+    }
+
+    /**
+     * Validações de um cupom novo; devolve o código empacotado.
+     */
+    private int check(Coupon coupon) {
+        int code = packCode(coupon);
+        if (slotOfCode(code) >= 0) {
+            throw duplicated(coupon.getCode());
+        }
+        checkExpiration(coupon.getExpirationDate());
+        CouponTextArena.checkSize(coupon.getDescription());
+        return code;
+    }
+
+    private Coupon toDomain(int slot) {
+        double discount = records.discount(slot);
+        int expiration = records.expiration(slot);
+        int entry = extrasOf(slot);
+        int maxUses = entry < 0 ? CouponRecords.NULL_INT : extras.maxUses(entry);
+        return Coupon.reconstitute(
+                new UUID(ids.msb(), ids.lsb(slot)),
+                CouponCode.unpack(records.code(slot)),
+                texts.read(records.description(slot)),
+                Double.isNaN(discount) ? null : discount,
+                expiration != CouponRecords.NULL_INT ? LocalDate.ofEpochDay(expiration).atStartOfDay() : null,
+                STATUSES[records.status(slot)],
+                records.published(slot),
+                maxUses != CouponRecords.NULL_INT ? maxUses : null,
+                entry < 0 ? 0 : extras.usedCount(entry),
+                entry < 0 ? 0 : extras.version(entry),
+                toDateTime(entry < 0 ? created.at(slot) : extras.updatedAt(entry))
+        );
+    }
+
+    /**
+     * Leitura otimista; se uma escrita interferir (stamp inválido, ou exceção ao ler um estado pela metade),
+     * refaz sob o lock de leitura.
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int slotOf(long msb, long lsb) {
+        int slot = ids.slot(msb, lsb);
+        return slot < records.size() ? slot : -1;
+    }
+
+    private int slotOfCode(int code) {
+        return byCode.find(codeHash(code), slot -> records.code(slot) == code);
+    }
+
+    private boolean matches(Filter filter, int slot) {
+        return (filter.status() == null || records.status(slot) == filter.status().ordinal())
+                && (filter.published() == null || records.published(slot) == filter.published());
+    }
+
+    /**
+     * Ordem (expirationDate, id) do adapter JPA: expiração nula por último, id como UUID sem sinal (a ordem do H2).
+     * Os ids da instância só diferem nos bits menos significativos.
+     */
+    private int compare(int left, int right) {
+        int byExpiration = Integer.compare(expirationKey(left), expirationKey(right));
+        if (byExpiration != 0) {
+            return byExpiration;
+        }
+        return Long.compareUnsigned(ids.lsb(left), ids.lsb(right));
+    }
+
+    /**
+     * Se o registro vem depois do cursor. Os registros expiram à meia-noite; um cursor com hora passa a
+     * valer do dia seguinte em diante.
+     */
+    private boolean isAfter(int slot, Cursor after) {
+        if (after.expirationDate() == null) {
+            return records.expiration(slot) == CouponRecords.NULL_INT && compareId(slot, after.id()) > 0;
+        }
+        int expiration = expirationKey(slot);
+        long day = after.expirationDate().toLocalDate().toEpochDay();
+        if (expiration != day) {
+            return expiration > day;
+        }
+        return after.expirationDate().toLocalTime().equals(LocalTime.MIDNIGHT) && compareId(slot, after.id()) > 0;
+    }
+
+    private int compareId(int slot, UUID id) {
+        int byMsb = Long.compareUnsigned(ids.msb(), id.getMostSignificantBits());
+        return byMsb != 0 ? byMsb : Long.compareUnsigned(ids.lsb(slot), id.getLeastSignificantBits());
+    }
+
+    private int expirationKey(int slot) {
+        int expiration = records.expiration(slot);
+        return expiration == CouponRecords.NULL_INT ? Integer.MAX_VALUE : expiration;
+    }
+
+    private static int packCode(Coupon coupon) {
+        long packed = CouponCode.pack(coupon.getCode());
+        if (packed == CouponCode.INVALID) {
+            throw new IllegalArgumentException("Código de cupom inválido: " + coupon.getCode());
+        }
+        return (int) packed;
+    }
+
+    private static void checkExpiration(LocalDateTime expirationDate) {
+        if (expirationDate == null) {
+            return;
+        }
+        if (!expirationDate.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            throw new IllegalArgumentException("O armazenamento em memória guarda a expiração em dias: "
+                    + expirationDate + " não é meia-noite");
+        }
+        long day = expirationDate.toLocalDate().toEpochDay();
+        if (day < 0 || day > CouponRecords.MAX_DAY) {
+            throw new IllegalArgumentException("Expiração fora da faixa do armazenamento em memória: "
+                    + expirationDate);
+        }
+    }
+
+    private static BusinessException duplicated(String code) {
+        return new BusinessException("Já existe um cupom com o código " + code);
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static int codeHash(int code) {
+        long h = code * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
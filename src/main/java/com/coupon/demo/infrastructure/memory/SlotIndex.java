@@ -0,0 +1,132 @@
+package com.coupon.demo.infrastructure.memory;
+
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Índice de endereçamento aberto com sondagem linear sobre um único int[]: cada posição guarda slot + 1 de
+ * um registro de CouponRecords (0 = vazia). A chave não fica no índice; quem busca passa o hash e um teste
+ * que compara a chave com a do registro. São 4 bytes por posição, sem boxing e sem objeto por entrada.
+ * Ocupação máxima de 3/4. Não é thread-safe: OffHeapCouponAdapter serializa as escritas, e as leituras
+ * otimistas trabalham sobre a referência atual do array e só usam o resultado se o stamp for validado.
+ */
+final class SlotIndex {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final IntUnaryOperator hashOfSlot;
+
+    private int[] table;
+    private int size;
+
+    /**
+     * hashOfSlot recalcula o hash da chave de um registro, para o crescimento e a remoção.
+     */
+    SlotIndex(int expectedSize, IntUnaryOperator hashOfSlot) {
+        this.hashOfSlot = hashOfSlot;
+        this.table = new int[tableSizeFor(expectedSize)];
+    }
+
+    /**
+     * Slot do registro cuja chave satisfaz matches, ou -1. Limita os passos ao tamanho da tabela, para
+     * terminar mesmo sobre uma tabela alterada por uma escrita concorrente.
+     */
+    int find(int hash, IntPredicate matches) {
+        int[] t = table;
+        int mask = t.length - 1;
+        int position = hash & mask;
+        for (int i = 0; i < t.length; i++) {
+            int entry = t[position];
+            if (entry == 0) {
+                return -1;
+            }
+            if (matches.test(entry - 1)) {
+                return entry - 1;
+            }
+            position = (position + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Inclui o slot; quem chama garante que a chave ainda não está no índice.
+     */
+    void add(int hash, int slot) {
+        if ((size + 1) * 4L > table.length * 3L) {
+            if (table.length == MAX_CAPACITY) {
+                throw new IllegalStateException("Índice em memória cheio: " + size + " registros");
+            }
+            resize(table.length * 2);
+        }
+        insert(table, hash, slot);
+        size++;
+    }
+
+    /**
+     * Remove o slot com deslocamento para trás (backward shift), sem lápides.
+     */
+    void remove(int hash, int slot) {
+        int mask = table.length - 1;
+        int position = hash & mask;
+        while (table[position] != slot + 1) {
+            if (table[position] == 0) {
+                return;
+            }
+            position = (position + 1) & mask;
+        }
+        int next = position;
+        while (true) {
+            next = (next + 1) & mask;
+            if (table[next] == 0) {
+                break;
+            }
+            int home = hashOfSlot.applyAsInt(table[next] - 1) & mask;
+            boolean movable = position <= next ? (home <= position || home > next) : (home <= position && home > next);
+            if (movable) {
+                table[position] = table[next];
+                position = next;
+            }
+        }
+        table[position] = 0;
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long bytes() {
+        return table.length * (long) Integer.BYTES;
+    }
+
+    /**
+     * A tabela nova é preenchida antes de substituir a atual: uma leitura otimista vê uma ou outra, inteira.
+     */
+    private void resize(int capacity) {
+        int[] resized = new int[capacity];
+        for (int entry : table) {
+            if (entry != 0) {
+                insert(resized, hashOfSlot.applyAsInt(entry - 1), entry - 1);
+            }
+        }
+        table = resized;
+    }
+
+    private static void insert(int[] table, int hash, int slot) {
+        int mask = table.length - 1;
+        int position = hash & mask;
+        while (table[position] != 0) {
+            position = (position + 1) & mask;
+        }
+        table[position] = slot + 1;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3L < expectedSize * 4L && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
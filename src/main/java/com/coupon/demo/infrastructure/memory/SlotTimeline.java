@@ -0,0 +1,42 @@
+package com.coupon.demo.infrastructure.memory;
+
+import java.util.Arrays;
+
+/**
+ * Data de criação (segundos desde a época) por faixa de slots: os slots são alocados em ordem, então cupons
+ * criados no mesmo segundo ficam numa faixa contínua e basta um par (primeiro slot, segundo) por faixa. Uma
+ * carga em lote de milhões de cupons ocupa algumas dezenas de pares. Leitura por busca binária.
+ * Sem sincronização própria, como CouponRecords; o par novo é escrito antes do tamanho, e o array só é trocado
+ * depois de copiado, para uma leitura otimista ver um estado inteiro ou falhar na validação.
+ */
+final class SlotTimeline {
+
+    private int[] firstSlots = new int[16];
+    private long[] seconds = new long[16];
+    private int size;
+
+    /**
+     * Registra a criação de slot, que precisa ser maior que os já registrados.
+     */
+    void mark(int slot, long epochSecond) {
+        if (size > 0 && seconds[size - 1] == epochSecond) {
+            return;
+        }
+        if (size == firstSlots.length) {
+            firstSlots = Arrays.copyOf(firstSlots, size * 2);
+            seconds = Arrays.copyOf(seconds, size * 2);
+        }
+        firstSlots[size] = slot;
+        seconds[size] = epochSecond;
+        size++;
+    }
+
+    long at(int slot) {
+        int position = Arrays.binarySearch(firstSlots, 0, size, slot);
+        return seconds[position >= 0 ? position : -position - 2];
+    }
+
+    long bytes() {
+        return firstSlots.length * (long) (Integer.BYTES + Long.BYTES);
+    }
+}
@@ -0,0 +1,104 @@
+package com.coupon.demo.infrastructure.metrics;
+
+import com.coupon.demo.application.exception.PreconditionFailedException;
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.domain.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Mede os use cases (execute e executeAsync) e as operações do adapter JPA sem que application saiba de Micrometer.
+ * Um Timer por operação e resultado: a contagem do Timer é o contador de chamadas por resultado,
+ * e o histograma de latência vem de management.metrics.distribution.percentiles-histogram.
+ * Resultados: success, business_error (BusinessException), not_found (ResourceNotFoundException),
+ * precondition_failed (PreconditionFailedException), rejected (bulkhead cheio), timeout, error.
+ * Na variante assíncrona o tempo vai até o future completar (fila do bulkhead incluída); o execute
+ * que ela chama por dentro não passa pelo proxy e não é contado de novo.
+ */
+@Aspect
+public class CouponMetricsAspect {
+
+    static final String USE_CASE_TIMER = "coupon.usecase";
+    static final String PERSISTENCE_TIMER = "coupon.persistence";
+
+    private final MeterRegistry registry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public CouponMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.coupon.demo.application.usecase.*UseCase.execute*(..))")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(USE_CASE_TIMER, "usecase", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("execution(public * com.coupon.demo.infrastructure.persistence.CouponPersistenceAdapter.*(..))")
+    public Object timePersistence(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(PERSISTENCE_TIMER, "operation", joinPoint.getSignature().getName(), joinPoint);
+    }
+
+    private Object time(String name, String tag, String value, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(name, tag, value, outcomeOf(e), start);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((ignored, e) -> record(name, tag, value, e == null ? "success" : outcomeOf(e), start));
+        } else {
+            record(name, tag, value, "success", start);
+        }
+        return result;
+    }
+
+    private void record(String name, String tag, String value, String outcome, long start) {
+        timer(new TimerKey(name, tag, value, outcome)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(TimerKey key) {
+        return timers.computeIfAbsent(key, k -> Timer.builder(k.name())
+                .tag(k.tag(), k.value())
+                .tag("outcome", k.outcome())
+                .register(registry));
+    }
+
+    private static String outcomeOf(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        if (e instanceof BusinessException) {
+            return "business_error";
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof PreconditionFailedException) {
+            return "precondition_failed";
+        }
+        if (e instanceof RejectedExecutionException) {
+            return "rejected";
+        }
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        return "error";
+    }
+
+    private record TimerKey(String name, String tag, String value, String outcome) {
+    }
+}
@@ -12,6 +12,7 @@ import java.util.UUID;
 /**
  * Modelo de persistência do cupom (JPA). Sem regras de negócio;
  * apenas estrutura para o banco. Regras ficam em domain.Coupon.
+ * Tabela e índices vêm das migrações Flyway (db/migration); o Hibernate só valida o mapeamento.
  */
 @Entity
 @Table(name = "coupons")
@@ -33,7 +34,7 @@ public class CouponEntity {
     @Column(nullable = false)
     private Double discountValue;
 
-    @Column(name = "expiration_date")
+    @Column(name = "expiration_date", nullable = false)
     private LocalDateTime expirationDate;
 
     @Enumerated(EnumType.STRING)
@@ -41,4 +42,25 @@ public class CouponEntity {
     private CouponStatus status = CouponStatus.ACTIVE;
 
     private boolean published;
+
+    @Column(name = "max_uses")
+    private Integer maxUses;
+
+    /**
+     * Gravado só pelo flush dos contadores de uso (incremento relativo); o UPDATE da entidade
+     * não o sobrescreve com um valor lido antes.
+     */
+    @Column(name = "used_count", nullable = false, updatable = false)
+    private long usedCount;
+
+    /**
+     * Lock otimista: o UPDATE da entidade confere e incrementa; o soft delete incrementa no próprio UPDATE.
+     * O incremento de usos não mexe na versão (usos não fazem parte da representação do cupom).
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
 }
@@ -1,31 +1,375 @@
 package com.coupon.demo.infrastructure.persistence;
 
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.CouponVersionPort;
+import com.coupon.demo.application.port.DeleteCouponPort;
+import com.coupon.demo.application.port.ListCouponsPort;
 import com.coupon.demo.application.port.LoadCouponPort;
 import com.coupon.demo.application.port.SaveCouponPort;
 import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.domain.CouponStatus;
+import com.coupon.demo.infrastructure.events.CouponEvent;
+import com.coupon.demo.infrastructure.redemption.UsageStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Adapter de persistência: implementa as portas usando JPA.
  * Converte entre domain.Coupon e CouponEntity; application não vê JPA.
+ * É o armazenamento padrão (coupon.store.type=jpa); o alternativo só em memória é OffHeapCouponAdapter.
+ * Criação e deleção gravam também o evento correspondente na tabela coupon_outbox, na mesma transação
+ * (V3__create_coupon_outbox.sql): o evento existe se e somente se a alteração foi confirmada.
+ * Também é o UsageStore dos contadores de resgate: usos gravados e reserva de permissões (V4__add_reserved_uses.sql).
  */
 @Component
-public class CouponPersistenceAdapter implements SaveCouponPort, LoadCouponPort {
+@ConditionalOnProperty(prefix = "coupon.store", name = "type", havingValue = "jpa", matchIfMissing = true)
+public class CouponPersistenceAdapter implements SaveCouponPort, LoadCouponPort, ListCouponsPort, DeleteCouponPort,
+        CouponVersionPort, UsageStore {
+
+    private static final String INSERT_COUPON = """
+            insert into coupons (id, code, description, discount_value, expiration_date, status, published, max_uses,
+                                 used_count, version, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_EVENT = """
+            insert into coupon_outbox (type, coupon_id, code, version, occurred_at) values (?, ?, ?, ?, ?)""";
+    private static final String MARK_DELETED = """
+            update coupons set status = 'DELETED', version = version + 1, updated_at = ?
+            where id = ? and status <> 'DELETED'""";
+    private static final String[] COUPON_COLUMNS = {"id", "code", "description", "discount_value",
+            "expiration_date", "status", "published", "max_uses", "used_count", "version", "updated_at"};
+    private static final String RESERVE_USES = """
+            update coupons set reserved_uses = greatest(reserved_uses, used_count) + ?
+            where id = ? and greatest(reserved_uses, used_count) + ? <= max_uses""";
+    private static final String AVAILABLE_USES = """
+            select max_uses - greatest(reserved_uses, used_count) from coupons where id = ? and max_uses is not null""";
+    private static final String SELECT_EVENTS = """
+            select id, type, coupon_id, code, version, occurred_at from coupon_outbox
+            order by id fetch first ? rows only for update""";
 
     private final CouponRepository couponRepository;
+    private final EntityManager entityManager;
 
-    public CouponPersistenceAdapter(CouponRepository couponRepository) {
+    public CouponPersistenceAdapter(CouponRepository couponRepository, EntityManager entityManager) {
         this.couponRepository = couponRepository;
+        this.entityManager = entityManager;
     }
 
+    /**
+     * Insert e update por caminhos separados, em vez de deixar JpaRepository.save decidir
+     * entre persist e merge: cupom sem id é novo e vira um único INSERT (persist);
+     * cupom com id já existe e vira um único UPDATE, sem o SELECT que o merge de uma
+     * entidade desanexada faria antes.
+     */
     @Override
+    @Transactional
     public Coupon save(Coupon coupon) {
+        return coupon.getId() == null ? insert(coupon) : update(coupon);
+    }
+
+    private Coupon insert(Coupon coupon) {
+        CouponEntity entity = toNewEntity(coupon);
+        entityManager.persist(entity);
+        Coupon saved = toDomain(entity);
+        entityManager.unwrap(Session.class).doWork(connection -> insertEvents(connection, CouponEvent.Type.CREATED, List.of(saved)));
+        return saved;
+    }
+
+    /**
+     * UPDATE de todas as colunas por uma StatelessSession sobre a mesma conexão, conferindo e
+     * incrementando a versão. Nenhuma linha com o id e a versão: ResourceNotFoundException
+     * (o merge inseriria um cupom novo).
+     */
+    private Coupon update(Coupon coupon) {
         CouponEntity entity = toEntity(coupon);
-        CouponEntity saved = couponRepository.save(entity);
-        return toDomain(saved);
+        entity.setUpdatedAt(LocalDateTime.now());
+        Session session = entityManager.unwrap(Session.class);
+        SessionFactoryImplementor sessionFactory = session.getSessionFactory().unwrap(SessionFactoryImplementor.class);
+        try {
+            session.doWork(connection -> {
+                try (StatelessSession stateless = sessionFactory.withStatelessOptions()
+                        .connection(connection)
+                        .openStatelessSession()) {
+                    stateless.update(entity);
+                }
+            });
+        } catch (StaleStateException e) {
+            throw new ResourceNotFoundException("Cupom não encontrado (ou alterado) para atualizar");
+        }
+        return toDomain(entity);
+    }
+
+    /**
+     * Insere o bloco numa única transação com um PreparedStatement em lotes JDBC de hibernate.jdbc.batch_size,
+     * na conexão da transação. A StatelessSession do Hibernate 6.4 ignora o tamanho de lote e executa um INSERT
+     * por vez; aqui não há contexto de persistência nem decomposição por entidade. O id UUID é gerado em memória,
+     * como no GenerationType.UUID. Os eventos CREATED do bloco vão num único lote JDBC, na mesma conexão.
+     */
+    @Override
+    @Transactional
+    public List<Coupon> saveAll(List<Coupon> coupons) {
+        List<CouponEntity> entities = new ArrayList<>(coupons.size());
+        coupons.forEach(coupon -> {
+            CouponEntity entity = toNewEntity(coupon);
+            entity.setId(UUID.randomUUID());
+            entity.setVersion(0L);
+            entities.add(entity);
+        });
+        Session session = entityManager.unwrap(Session.class);
+        int batchSize = Math.max(1, session.getSessionFactory().unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions().getJdbcBatchSize());
+        List<Coupon> saved = new ArrayList<>(entities.size());
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_COUPON)) {
+                int pending = 0;
+                for (CouponEntity entity : entities) {
+                    bindInsert(statement, entity);
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+            entities.forEach(entity -> saved.add(toDomain(entity)));
+            insertEvents(connection, CouponEvent.Type.CREATED, saved);
+        });
+        return saved;
+    }
+
+    private static void bindInsert(PreparedStatement statement, CouponEntity entity) throws SQLException {
+        statement.setObject(1, entity.getId());
+        statement.setString(2, entity.getCode());
+        statement.setString(3, entity.getDescription());
+        statement.setDouble(4, entity.getDiscountValue());
+        statement.setTimestamp(5, Timestamp.valueOf(entity.getExpirationDate()));
+        statement.setString(6, entity.getStatus().name());
+        statement.setBoolean(7, entity.isPublished());
+        statement.setObject(8, entity.getMaxUses(), Types.INTEGER);
+        statement.setLong(9, entity.getUsedCount());
+        statement.setLong(10, entity.getVersion());
+        statement.setTimestamp(11, Timestamp.valueOf(entity.getUpdatedAt()));
+    }
+
+    /**
+     * Soft delete condicional numa única instrução, que devolve a linha como ficou: as colunas pedidas em
+     * prepareStatement(sql, colunas) voltam por getGeneratedKeys (UPDATE ... RETURNING no PostgreSQL; no H2,
+     * a linha atualizada), sem SELECT depois. Com a linha alterada, o evento DELETED leva a versão e a data
+     * gravadas, na mesma transação.
+     */
+    @Override
+    @Transactional
+    public Optional<Coupon> markDeleted(UUID id, Long expectedVersion, LocalDateTime deletedAt) {
+        String sql = expectedVersion == null ? MARK_DELETED : MARK_DELETED + " and version = ?";
+        List<Coupon> deleted = new ArrayList<>(1);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql, COUPON_COLUMNS)) {
+                statement.setTimestamp(1, Timestamp.valueOf(deletedAt));
+                statement.setObject(2, id);
+                if (expectedVersion != null) {
+                    statement.setLong(3, expectedVersion);
+                }
+                if (statement.executeUpdate() == 1) {
+                    try (ResultSet row = statement.getGeneratedKeys()) {
+                        if (row.next()) {
+                            deleted.add(readCoupon(row));
+                        }
+                    }
+                }
+            }
+            if (!deleted.isEmpty()) {
+                insertEvents(connection, CouponEvent.Type.DELETED, deleted);
+            }
+        });
+        return deleted.stream().findFirst();
+    }
+
+    private static Coupon readCoupon(ResultSet row) throws SQLException {
+        return Coupon.reconstitute(
+                row.getObject("id", UUID.class),
+                row.getString("code"),
+                row.getString("description"),
+                row.getDouble("discount_value"),
+                row.getTimestamp("expiration_date").toLocalDateTime(),
+                CouponStatus.valueOf(row.getString("status")),
+                row.getBoolean("published"),
+                row.getObject("max_uses", Integer.class),
+                row.getLong("used_count"),
+                row.getLong("version"),
+                row.getTimestamp("updated_at").toLocalDateTime());
+    }
+
+    /**
+     * Um bloco do relay (CouponOutboxRelay): trava os próximos limit eventos na ordem do id, entrega ao sink
+     * e apaga exatamente os entregues, tudo numa transação. Se o sink falhar, o rollback devolve os eventos
+     * ao outbox para a próxima tentativa (entrega ao menos uma vez). Retorna quantos eventos foram entregues.
+     */
+    @Transactional
+    public int drainOutbox(int limit, Consumer<List<CouponEvent>> sink) {
+        List<CouponEvent> events = new ArrayList<>();
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_EVENTS)) {
+                statement.setInt(1, limit);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        events.add(new CouponEvent(
+                                rows.getLong(1),
+                                CouponEvent.Type.valueOf(rows.getString(2)),
+                                rows.getObject(3, UUID.class),
+                                rows.getString(4),
+                                rows.getLong(5),
+                                rows.getTimestamp(6).toLocalDateTime()));
+                    }
+                }
+            }
+        });
+        if (events.isEmpty()) {
+            return 0;
+        }
+        sink.accept(events);
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "delete from coupon_outbox where id = ?")) {
+                for (CouponEvent event : events) {
+                    statement.setLong(1, event.sequence());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+        return events.size();
+    }
+
+    private static void insertEvents(Connection connection, CouponEvent.Type type, List<Coupon> coupons)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_EVENT)) {
+            for (Coupon coupon : coupons) {
+                statement.setString(1, type.name());
+                statement.setObject(2, coupon.getId());
+                statement.setString(3, coupon.getCode());
+                statement.setLong(4, coupon.getVersion());
+                statement.setTimestamp(5, Timestamp.valueOf(coupon.getUpdatedAt()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Um bloco da expiração: trava até limit cupons ACTIVE com expirationDate <= now e os marca INACTIVE
+     * numa única transação (um SELECT pelo índice e um UPDATE set-based). Retorna os ids alterados;
+     * lista vazia quando não resta nada a expirar.
+     */
+    @Transactional
+    public List<UUID> expire(LocalDateTime now, int limit) {
+        List<UUID> ids = couponRepository.findExpiredIds(now, Limit.of(limit));
+        if (!ids.isEmpty()) {
+            couponRepository.markExpired(ids, CouponStatus.ACTIVE, CouponStatus.INACTIVE, now);
+        }
+        return ids;
+    }
+
+    @Override
+    public Optional<CouponVersion> findVersion(UUID id) {
+        return couponRepository.findVersionById(id)
+                .map(view -> new CouponVersion(view.getVersion(), view.getUpdatedAt()));
+    }
+
+    /**
+     * Usos gravados do cupom (used_count), sem carregar a entidade; os do Coupon recebido se ele não existe.
+     */
+    @Override
+    public long usedCount(Coupon coupon) {
+        return couponRepository.findUsedCountById(coupon.getId()).orElse(coupon.getUsedCount());
+    }
+
+    /**
+     * Soma os usos contados em memória (CouponUsageCounters) num lote JDBC de UPDATEs relativos,
+     * sem ler a linha: used_count = used_count + ?.
+     */
+    @Override
+    @Transactional
+    public void addUses(Map<UUID, Long> uses) {
+        updateEach("update coupons set used_count = used_count + ? where id = ?", uses);
+    }
+
+    /**
+     * Um UPDATE condicional reserva o bloco inteiro se ele cabe em max_uses; se não cabe, lê quanto sobra e
+     * tenta reservar só isso (outra instância pode ter reservado no meio, daí o laço). reserved_uses parte de
+     * used_count quando é menor (cupom que ganhou limite depois de resgatado, linhas anteriores ao V4).
+     */
+    @Override
+    @Transactional
+    public long reserve(UUID id, long permits) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement reserve = connection.prepareStatement(RESERVE_USES);
+                 PreparedStatement available = connection.prepareStatement(AVAILABLE_USES)) {
+                long requested = permits;
+                while (requested > 0) {
+                    reserve.setLong(1, requested);
+                    reserve.setObject(2, id);
+                    reserve.setLong(3, requested);
+                    if (reserve.executeUpdate() == 1) {
+                        return requested;
+                    }
+                    available.setObject(1, id);
+                    try (ResultSet row = available.executeQuery()) {
+                        requested = row.next() ? Math.min(requested, row.getLong(1)) : 0;
+                    }
+                }
+                return 0L;
+            }
+        });
+    }
+
+    /**
+     * Devolve permissões reservadas e não usadas num lote de UPDATEs relativos: reserved_uses = reserved_uses - ?.
+     */
+    @Override
+    @Transactional
+    public void release(Map<UUID, Long> permits) {
+        updateEach("update coupons set reserved_uses = reserved_uses - ? where id = ?", permits);
+    }
+
+    private void updateEach(String sql, Map<UUID, Long> amounts) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (Map.Entry<UUID, Long> entry : amounts.entrySet()) {
+                    statement.setLong(1, entry.getValue());
+                    statement.setObject(2, entry.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
     }
 
     @Override
@@ -33,7 +377,88 @@ public class CouponPersistenceAdapter implements SaveCouponPort, LoadCouponPort
         return couponRepository.findById(id).map(this::toDomain);
     }
 
-    private CouponEntity toEntity(Coupon coupon) {
+    /**
+     * Cupons dos ids informados que existem, em qualquer ordem, numa única consulta (id in (...)).
+     */
+    public List<Coupon> findAllById(Collection<UUID> ids) {
+        return couponRepository.findAllById(ids).stream().map(this::toDomain).toList();
+    }
+
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        long packed = CouponCode.pack(code);
+        if (packed == CouponCode.INVALID) {
+            return Optional.empty();
+        }
+        return couponRepository.findByCode(CouponCode.unpack(packed)).map(this::toDomain);
+    }
+
+    /**
+     * Página na ordem (expirationDate, id): a primeira a partir do início, as seguintes por seek a partir
+     * do último (expirationDate, id) visto, sem OFFSET. A comparação de tupla vira uma faixa do índice
+     * que começa no cursor; a forma "a > x or (a = x and b > y)" percorreria o índice desde o início.
+     */
+    @Override
+    public List<Coupon> findPage(Filter filter, Cursor after, int limit) {
+        String seek = after == null
+                ? "1 = 1"
+                : "(c.expirationDate, c.id) > (:expirationDate, :id)";
+        TypedQuery<CouponEntity> query = filtered(seek, filter);
+        if (after != null) {
+            query.setParameter("expirationDate", after.expirationDate());
+            query.setParameter("id", after.id());
+        }
+        return query.setMaxResults(limit).getResultList().stream().map(this::toDomain).toList();
+    }
+
+    /**
+     * Lê por um Stream (cursor JDBC em blocos de fetch size, somente leitura) e desanexa cada entidade
+     * após convertê-la, para o contexto de persistência não crescer com o resultado.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long forEach(Filter filter, Consumer<Coupon> consumer) {
+        long count = 0;
+        TypedQuery<CouponEntity> query = filtered("1 = 1", filter)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        try (Stream<CouponEntity> entities = query.getResultStream()) {
+            for (CouponEntity entity : (Iterable<CouponEntity>) entities::iterator) {
+                Coupon coupon = toDomain(entity);
+                entityManager.detach(entity);
+                consumer.accept(coupon);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Só os filtros informados entram no WHERE, em vez de (:status is null or c.status = :status):
+     * com o predicado fixo, o banco pode usar os índices de status e published (V1__create_coupons.sql);
+     * o "is null or" impede o uso de índice em qualquer banco. No máximo quatro textos de consulta por
+     * condição, todos no cache de planos do Hibernate.
+     */
+    private TypedQuery<CouponEntity> filtered(String condition, Filter filter) {
+        StringBuilder jpql = new StringBuilder("select c from CouponEntity c where ").append(condition);
+        if (filter.status() != null) {
+            jpql.append(" and c.status = :status");
+        }
+        if (filter.published() != null) {
+            jpql.append(" and c.published = :published");
+        }
+        jpql.append(" order by c.expirationDate, c.id");
+        TypedQuery<CouponEntity> query = entityManager.createQuery(jpql.toString(), CouponEntity.class);
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status());
+        }
+        if (filter.published() != null) {
+            query.setParameter("published", filter.published());
+        }
+        return query;
+    }
+
+    CouponEntity toEntity(Coupon coupon) {
         CouponEntity entity = new CouponEntity();
         entity.setId(coupon.getId());
         entity.setCode(coupon.getCode());
@@ -42,10 +467,24 @@ public class CouponPersistenceAdapter implements SaveCouponPort, LoadCouponPort
         entity.setExpirationDate(coupon.getExpirationDate());
         entity.setStatus(coupon.getStatus());
         entity.setPublished(coupon.isPublished());
+        entity.setMaxUses(coupon.getMaxUses());
+        entity.setUsedCount(coupon.getUsedCount());
+        entity.setVersion(coupon.getVersion());
+        entity.setUpdatedAt(coupon.getUpdatedAt());
+        return entity;
+    }
+
+    /**
+     * Entidade de um cupom novo: versão inicial e data de alteração no momento da gravação.
+     */
+    private CouponEntity toNewEntity(Coupon coupon) {
+        CouponEntity entity = toEntity(coupon);
+        entity.setVersion(null);
+        entity.setUpdatedAt(LocalDateTime.now());
         return entity;
     }
 
-    private Coupon toDomain(CouponEntity entity) {
+    Coupon toDomain(CouponEntity entity) {
         return Coupon.reconstitute(
                 entity.getId(),
                 entity.getCode(),
@@ -53,7 +492,11 @@ public class CouponPersistenceAdapter implements SaveCouponPort, LoadCouponPort
                 entity.getDiscountValue(),
                 entity.getExpirationDate(),
                 entity.getStatus(),
-                entity.isPublished()
+                entity.isPublished(),
+                entity.getMaxUses(),
+                entity.getUsedCount(),
+                entity.getVersion() != null ? entity.getVersion() : 0,
+                entity.getUpdatedAt()
         );
     }
 }
@@ -1,10 +1,65 @@
 package com.coupon.demo.infrastructure.persistence;
 
+import com.coupon.demo.domain.CouponStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CouponRepository extends JpaRepository<CouponEntity, UUID> {
+
+    Optional<CouponEntity> findByCode(String code);
+
+    /**
+     * Só versão e data de alteração, pela chave primária, para as requisições condicionais.
+     */
+    @Query("select c.version as version, c.updatedAt as updatedAt from CouponEntity c where c.id = :id")
+    Optional<CouponVersionView> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Só os usos gravados, pela chave primária, para os contadores de resgate recomeçarem do banco.
+     */
+    @Query("select c.usedCount from CouponEntity c where c.id = :id")
+    Optional<Long> findUsedCountById(@Param("id") UUID id);
+
+    interface CouponVersionView {
+
+        Long getVersion();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Próximos cupons ACTIVE já expirados em now, pela faixa do índice de cupons ativos
+     * (idx_coupons_status_expiration no H2, parcial idx_coupons_active_expiration no PostgreSQL),
+     * com as linhas travadas até o fim da transação (a deleção concorrente espera o bloco).
+     * O status vai como literal: com parâmetro, o PostgreSQL não pode escolher o índice parcial.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select c.id from CouponEntity c
+            where c.status = com.coupon.demo.domain.CouponStatus.ACTIVE and c.expirationDate <= :now
+            order by c.expirationDate""")
+    List<UUID> findExpiredIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Transição set-based dos ids travados por findExpiredIds; incrementa a versão como o soft delete.
+     */
+    @Modifying
+    @Query("""
+            update CouponEntity c
+            set c.status = :expired, c.version = c.version + 1, c.updatedAt = :now
+            where c.id in :ids and c.status = :status""")
+    int markExpired(@Param("ids") List<UUID> ids, @Param("status") CouponStatus status,
+                    @Param("expired") CouponStatus expired, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,250 @@
+package com.coupon.demo.infrastructure.redemption;
+
+import com.coupon.demo.application.port.CouponUsagePort;
+import com.coupon.demo.domain.Coupon;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contagem de usos em memória, um UsageCounter por cupom, sem lock na linha do cupom no banco.
+ * O contador nasce dos usos já gravados (UsageStore.usedCount); daí em diante é a fonte da verdade
+ * no processo, e os usos novos são gravados em lote a cada flushInterval, por incremento relativo.
+ * Cupom com limite só resgata com permissão reservada antes no banco, em blocos de leaseSize
+ * (UsageStore.reserve): a gravação dos usos pode atrasar, a reserva não. Numa queda sem desligamento, os usos
+ * do último intervalo não chegam ao banco e as permissões reservadas e não usadas se perdem, mas nenhum
+ * resgate passa de maxUses, nem somando instâncias. No close (desligamento da aplicação) os usos pendentes são
+ * gravados e as permissões que sobraram voltam ao banco.
+ * Contador sem usos por idleTimeout (já todo gravado) sai do mapa, para o mapa não crescer com todos os cupons
+ * já resgatados; as permissões que sobraram voltam ao banco antes, e o próximo resgate do cupom cria outro
+ * contador a partir dos usos gravados.
+ */
+@Slf4j
+public class CouponUsageCounters implements CouponUsagePort, AutoCloseable {
+
+    private final Map<UUID, UsageCounter> counters = new ConcurrentHashMap<>();
+    private final UsageStore store;
+    private final int stripes;
+    private final long leaseSize;
+    private final Duration flushInterval;
+    private final int idleFlushes;
+    private volatile long retirements;
+    private volatile boolean closed;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * stripes menor ou igual a 0 usa o número de processadores; o valor é arredondado para potência de 2.
+     * idleTimeout é arredondado para cima em flushes (no mínimo um).
+     */
+    public CouponUsageCounters(UsageStore store, int stripes, long leaseSize, Duration flushInterval,
+                               Duration idleTimeout) {
+        if (leaseSize < 1) {
+            throw new IllegalArgumentException("leaseSize deve ser positivo: " + leaseSize);
+        }
+        this.store = store;
+        int requested = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.stripes = Integer.highestOneBit(requested * 2 - 1);
+        this.leaseSize = leaseSize;
+        this.flushInterval = flushInterval;
+        long interval = Math.max(1, flushInterval.toMillis());
+        this.idleFlushes = Math.clamp((idleTimeout.toMillis() + interval - 1) / interval, 1, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public OptionalLong tryRedeem(Coupon coupon) {
+        UUID id = coupon.getId();
+        UsageCounter counter = counter(coupon);
+        while (true) {
+            UsageCounter.Permit permit = counter.acquire(() -> store.reserve(id, leaseSize));
+            if (permit == UsageCounter.Permit.GRANTED) {
+                break;
+            }
+            if (permit == UsageCounter.Permit.EXHAUSTED || closed) {
+                return OptionalLong.empty();
+            }
+            counter = replacement(coupon, counter);
+        }
+        while (true) {
+            long used = counter.record();
+            if (!counter.retired()) {
+                return OptionalLong.of(used);
+            }
+            counter.unrecord();
+            counter = replacement(coupon, counter);
+        }
+    }
+
+    /**
+     * Contador do cupom, criando-o se preciso. Os usos gravados são lidos fora do computeIfAbsent, para a
+     * consulta ao banco não segurar a entrada do mapa; se algum contador foi aposentado entre a leitura e a
+     * criação (retirements mudou), a leitura pode ser anterior aos usos dele e é refeita.
+     */
+    private UsageCounter counter(Coupon coupon) {
+        while (true) {
+            UsageCounter counter = counters.get(coupon.getId());
+            if (counter != null) {
+                return counter;
+            }
+            long seen = retirements;
+            long persisted = store.usedCount(coupon);
+            counter = counters.computeIfAbsent(coupon.getId(), id -> retirements == seen
+                    ? new UsageCounter(coupon.getMaxUses() != null, persisted, stripes)
+                    : null);
+            if (counter != null) {
+                return counter;
+            }
+        }
+    }
+
+    /**
+     * Contador que substitui um aposentado. Se o aposentado já saiu de vez e continua no mapa, espera ele sair
+     * (as permissões que sobraram voltarem ao banco); se a aposentadoria ainda está sendo decidida, tenta de novo.
+     */
+    private UsageCounter replacement(Coupon coupon, UsageCounter stale) {
+        if (stale.leaving() && counters.get(coupon.getId()) == stale) {
+            stale.awaitRemoval();
+        } else {
+            Thread.onSpinWait();
+        }
+        return counter(coupon);
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("coupon-usage-flush").daemon(true).factory());
+        long millis = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para o flush agendado, fecha as faixas dos contadores e devolve ao banco as permissões que sobraram,
+     * e grava os usos pendentes. Resgates de cupom com limite depois disso são recusados.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (scheduler != null) {
+                scheduler.shutdown();
+                scheduler = null;
+            }
+        }
+        Map<UUID, Long> unused = new HashMap<>();
+        counters.forEach((id, counter) -> {
+            long left = counter.closePermits();
+            if (left > 0) {
+                unused.put(id, left);
+            }
+        });
+        releaseQuietly(unused);
+        flushQuietly();
+    }
+
+    /**
+     * Grava os usos pendentes de todos os cupons num único lote; retorna quantos cupons foram gravados.
+     * Se a gravação falhar, os usos voltam aos contadores e seguem no próximo flush. Depois de gravar,
+     * aposenta os contadores sem usos há idleTimeout. Eles só saem do mapa depois que as permissões que sobraram
+     * voltam ao banco, para um contador novo do mesmo cupom não reservar antes e ver o limite atingido sem estar.
+     */
+    public synchronized int flush() {
+        Map<UUID, Long> uses = new HashMap<>();
+        List<UUID> idle = new ArrayList<>();
+        counters.forEach((id, counter) -> {
+            long pending = counter.drain();
+            if (pending != 0) {
+                uses.put(id, pending);
+            } else if (counter.idleFor(idleFlushes)) {
+                idle.add(id);
+            }
+        });
+        if (!uses.isEmpty()) {
+            try {
+                store.addUses(uses);
+            } catch (RuntimeException e) {
+                uses.forEach((id, pending) -> counters.get(id).restore(pending));
+                throw e;
+            }
+        }
+        retireIdle(idle);
+        return uses.size();
+    }
+
+    private void retireIdle(List<UUID> idle) {
+        Map<UUID, UsageCounter> retired = new HashMap<>();
+        Map<UUID, Long> unused = new HashMap<>();
+        for (UUID id : idle) {
+            UsageCounter counter = counters.get(id);
+            long left = counter.retire();
+            if (left >= 0) {
+                retired.put(id, counter);
+                if (left > 0) {
+                    unused.put(id, left);
+                }
+            }
+        }
+        if (retired.isEmpty()) {
+            return;
+        }
+        retirements++;
+        try {
+            releaseQuietly(unused);
+        } finally {
+            retired.forEach((id, counter) -> {
+                counters.remove(id, counter);
+                counter.markRemoved();
+            });
+        }
+    }
+
+    /**
+     * Usos contados no processo (gravados ou não); 0 para cupom ainda não resgatado aqui ou cujo contador
+     * saiu por ociosidade.
+     */
+    public long usedCount(UUID id) {
+        UsageCounter counter = counters.get(id);
+        return counter == null ? 0 : counter.used();
+    }
+
+    int stripes() {
+        return stripes;
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    /**
+     * Permissões que não voltam ao banco ficam só perdidas: o limite continua valendo, com menos resgates.
+     */
+    private void releaseQuietly(Map<UUID, Long> unused) {
+        if (unused.isEmpty()) {
+            return;
+        }
+        try {
+            store.release(unused);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao devolver as permissões de uso reservadas de {} cupons; ficam perdidas", unused.size(), e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar usos de cupons; nova tentativa no próximo flush", e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.coupon.demo.infrastructure.redemption;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Contador de usos de um cupom, sem locks no caminho do resgate.
+ * Sem limite, são só LongAdders. Com limite, o contador só entrega permissões já reservadas no banco
+ * (UsageStore.reserve), em blocos: as do bloco atual ficam repartidas em faixas de um AtomicLongArray,
+ * espaçadas em 64 bytes para não dividirem linha de cache, e cada resgate decrementa por CAS a faixa da thread
+ * e, se ela estiver vazia, tenta as seguintes. Com as faixas vazias, uma thread por vez reserva o próximo bloco
+ * (leaseLock); reserva vazia marca o limite como atingido.
+ * O resgate tem dois passos: a permissão (acquire) e o registro do uso (record). A permissão vale no cupom,
+ * não no contador, então quem a pegou num contador aposentado registra o uso no contador que o substituiu.
+ * Um contador ocioso pode ser aposentado (retire) para sair do mapa: as faixas fecham e as permissões que
+ * sobraram voltam ao banco; quem registrou antes disso vê retired depois de contar e desfaz o registro (unrecord).
+ */
+final class UsageCounter {
+
+    enum Permit { GRANTED, EXHAUSTED, CLOSED }
+
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray permits;
+    private final int mask;
+    private final LongAdder used = new LongAdder();
+    private final LongAdder pending = new LongAdder();
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private final CountDownLatch removed = new CountDownLatch(1);
+    private volatile boolean retired;
+    private volatile boolean closed;
+    private volatile boolean leaving;
+    private boolean exhausted;
+    private int idleFlushes;
+
+    /**
+     * stripes precisa ser potência de 2. Com limite, o contador começa sem permissões.
+     */
+    UsageCounter(boolean limited, long persistedUses, int stripes) {
+        used.add(persistedUses);
+        this.permits = limited ? new AtomicLongArray(stripes * PADDING) : null;
+        this.mask = stripes - 1;
+    }
+
+    /**
+     * Pega uma permissão; com as faixas vazias, reserva o próximo bloco por lease. CLOSED quando o contador
+     * foi fechado: a permissão deve ser pedida ao contador que o substitui.
+     */
+    Permit acquire(LongSupplier lease) {
+        if (permits == null || takePermit()) {
+            return Permit.GRANTED;
+        }
+        leaseLock.lock();
+        try {
+            if (closed) {
+                return Permit.CLOSED;
+            }
+            if (takePermit()) {
+                return Permit.GRANTED;
+            }
+            if (exhausted) {
+                return Permit.EXHAUSTED;
+            }
+            long leased = lease.getAsLong();
+            if (leased <= 0) {
+                exhausted = true;
+                return Permit.EXHAUSTED;
+            }
+            spread(leased - 1);
+            return Permit.GRANTED;
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    /**
+     * Registra um uso já permitido; devolve os usos contados após ele.
+     */
+    long record() {
+        used.increment();
+        pending.increment();
+        return used.sum();
+    }
+
+    /**
+     * Desfaz um record feito num contador aposentado.
+     */
+    void unrecord() {
+        used.decrement();
+        pending.decrement();
+    }
+
+    /**
+     * Usos ainda não gravados, zerando-os. sumThenReset zera cada célula com getAndSet,
+     * então um incremento concorrente entra nesta drenagem ou na próxima, nunca se perde.
+     */
+    long drain() {
+        long drained = pending.sumThenReset();
+        if (drained != 0) {
+            idleFlushes = 0;
+        }
+        return drained;
+    }
+
+    /**
+     * Conta mais um flush sem usos; true a partir do flushes-ésimo seguido. Só o flush chama.
+     */
+    boolean idleFor(int flushes) {
+        return ++idleFlushes >= flushes;
+    }
+
+    /**
+     * Aposenta o contador se não houver uso pendente nem reserva em andamento e fecha as faixas; devolve as
+     * permissões que sobraram (a devolver ao banco), ou -1 se o contador continua em uso. Um registro
+     * concorrente ou entra em pending antes da conferência (e a aposentadoria é desfeita) ou vê retired depois
+     * de contar (e é desfeito com unrecord): nenhum uso fica num contador fora do mapa.
+     */
+    long retire() {
+        if (!leaseLock.tryLock()) {
+            return -1;
+        }
+        try {
+            retired = true;
+            if (pending.sum() != 0) {
+                retired = false;
+                return -1;
+            }
+            long left = close();
+            leaving = true;
+            return left;
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    /**
+     * Fecha as faixas sem aposentar o contador (desligamento): os usos continuam sendo registrados e gravados,
+     * mas nenhuma permissão nova é entregue. Devolve as permissões que sobraram.
+     */
+    long closePermits() {
+        leaseLock.lock();
+        try {
+            return close();
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    boolean retired() {
+        return retired;
+    }
+
+    /**
+     * true depois que retire aposentou o contador de vez: ele sai do mapa assim que as permissões que sobraram
+     * voltam ao banco (markRemoved).
+     */
+    boolean leaving() {
+        return leaving;
+    }
+
+    /**
+     * Avisa quem espera (awaitRemoval) que o contador aposentado já saiu do mapa.
+     */
+    void markRemoved() {
+        removed.countDown();
+    }
+
+    /**
+     * Espera o contador aposentado sair do mapa, o que acontece depois que as permissões que sobraram
+     * voltam ao banco.
+     */
+    void awaitRemoval() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                removed.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Devolve usos drenados cuja gravação falhou, para a próxima tentativa.
+     */
+    void restore(long uses) {
+        pending.add(uses);
+    }
+
+    long used() {
+        return used.sum();
+    }
+
+    /**
+     * Permissões reservadas e ainda não entregues; Long.MAX_VALUE quando o cupom não tem limite.
+     */
+    long remaining() {
+        if (permits == null) {
+            return Long.MAX_VALUE;
+        }
+        long remaining = 0;
+        for (int i = 0; i <= mask; i++) {
+            remaining += permits.get(i * PADDING);
+        }
+        return remaining;
+    }
+
+    private long close() {
+        closed = true;
+        if (permits == null) {
+            return 0;
+        }
+        long left = 0;
+        for (int i = 0; i <= mask; i++) {
+            left += permits.getAndSet(i * PADDING, 0);
+        }
+        return left;
+    }
+
+    private void spread(long count) {
+        int stripes = mask + 1;
+        for (int i = 0; i < stripes; i++) {
+            long share = count / stripes + (i < count % stripes ? 1 : 0);
+            if (share != 0) {
+                permits.addAndGet(i * PADDING, share);
+            }
+        }
+    }
+
+    private boolean takePermit() {
+        int start = Long.hashCode(Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L);
+        for (int i = 0; i <= mask; i++) {
+            int slot = ((start + i) & mask) * PADDING;
+            long current;
+            while ((current = permits.get(slot)) > 0) {
+                if (permits.compareAndSet(slot, current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package com.coupon.demo.infrastructure.redemption;
+
+import com.coupon.demo.domain.Coupon;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Onde os contadores de uso (CouponUsageCounters) leem e gravam: os usos gravados e as permissões reservadas
+ * dos cupons com limite. Implementado sobre o banco por CouponPersistenceAdapter.
+ */
+public interface UsageStore {
+
+    /**
+     * Usos gravados do cupom; o Coupon recebido pode vir de um cache anterior a eles.
+     */
+    long usedCount(Coupon coupon);
+
+    /**
+     * Soma os usos informados aos gravados, por cupom.
+     */
+    void addUses(Map<UUID, Long> uses);
+
+    /**
+     * Reserva até permits permissões de uso do cupom, sem passar de maxUses somando as já reservadas;
+     * devolve quantas reservou (0 quando o limite já está todo reservado). A reserva precisa estar gravada
+     * quando o método retorna: as permissões são entregues em seguida.
+     */
+    long reserve(UUID id, long permits);
+
+    /**
+     * Devolve permissões reservadas e não usadas, por cupom.
+     */
+    void release(Map<UUID, Long> permits);
+}
@@ -0,0 +1,138 @@
+package com.coupon.demo.infrastructure.singleflight;
+
+import com.coupon.demo.application.port.DeleteCouponPort;
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight sobre LoadCouponPort: enquanto uma busca de um id (ou código) está em andamento,
+ * as buscas concorrentes da mesma chave esperam o mesmo resultado em vez de abrir outra consulta.
+ * Não guarda nada: terminada a consulta, a chave sai do mapa e a próxima busca vai ao banco de novo.
+ * Quem esperou recebe uma cópia (Coupon é mutável) e, se a consulta falhou, a mesma exceção.
+ * O soft delete passa por aqui: depois do UPDATE, as consultas em andamento deixam de aceitar
+ * novos participantes, e quem lê depois da deleção (inclusive o próprio DeleteCouponUseCase)
+ * abre uma consulta nova em vez de receber o status anterior.
+ */
+public class SingleFlightCouponLoader implements LoadCouponPort, DeleteCouponPort {
+
+    private final LoadCouponPort delegate;
+    private final DeleteCouponPort deleteDelegate;
+    private final ConcurrentMap<UUID, CompletableFuture<Optional<Coupon>>> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, CompletableFuture<Optional<Coupon>>> byCode = new ConcurrentHashMap<>();
+    private final LongAdder coalescedById = new LongAdder();
+    private final LongAdder coalescedByCode = new LongAdder();
+
+    public SingleFlightCouponLoader(LoadCouponPort delegate, DeleteCouponPort deleteDelegate) {
+        this.delegate = delegate;
+        this.deleteDelegate = deleteDelegate;
+    }
+
+    @Override
+    public Optional<Coupon> findById(UUID id) {
+        return load(byId, id, coalescedById, () -> delegate.findById(id));
+    }
+
+    /**
+     * A chave é o código normalizado (CouponCode.pack), então grafias diferentes do mesmo código
+     * também se juntam. Código inválido não chega ao banco.
+     */
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        long packed = CouponCode.pack(code);
+        if (packed == CouponCode.INVALID) {
+            return delegate.findByCode(code);
+        }
+        return load(byCode, packed, coalescedByCode, () -> delegate.findByCode(code));
+    }
+
+    @Override
+    public Optional<Coupon> markDeleted(UUID id, Long expectedVersion, LocalDateTime deletedAt) {
+        try {
+            return deleteDelegate.markDeleted(id, expectedVersion, deletedAt);
+        } finally {
+            detach(id);
+        }
+    }
+
+    /**
+     * Para alterações feitas fora daqui (expiração): as buscas novas do id não aproveitam uma consulta
+     * iniciada antes. O código do id não é conhecido aqui, então todas as consultas por código em andamento
+     * são desligadas do mapa; quem já esperava nelas continua esperando, só as buscas novas consultam de novo.
+     */
+    public void detach(UUID id) {
+        byId.remove(id);
+        byCode.clear();
+    }
+
+    /**
+     * Buscas por id que aproveitaram uma consulta em andamento em vez de abrir a própria.
+     */
+    public long coalescedById() {
+        return coalescedById.sum();
+    }
+
+    public long coalescedByCode() {
+        return coalescedByCode.sum();
+    }
+
+    private <K> Optional<Coupon> load(ConcurrentMap<K, CompletableFuture<Optional<Coupon>>> inFlight, K key,
+                                      LongAdder coalesced, Supplier<Optional<Coupon>> query) {
+        CompletableFuture<Optional<Coupon>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Coupon>> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            return await(running).map(SingleFlightCouponLoader::copyOf);
+        }
+        try {
+            Optional<Coupon> result = query.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Optional<Coupon> await(CompletableFuture<Optional<Coupon>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Coupon copyOf(Coupon coupon) {
+        return Coupon.reconstitute(
+                coupon.getId(),
+                coupon.getCode(),
+                coupon.getDescription(),
+                coupon.getDiscountValue(),
+                coupon.getExpirationDate(),
+                coupon.getStatus(),
+                coupon.isPublished(),
+                coupon.getMaxUses(),
+                coupon.getUsedCount(),
+                coupon.getVersion(),
+                coupon.getUpdatedAt()
+        );
+    }
+}
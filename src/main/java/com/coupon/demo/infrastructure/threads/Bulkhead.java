@@ -0,0 +1,160 @@
+package com.coupon.demo.infrastructure.threads;
+
+import com.coupon.demo.application.usecase.AsyncExecution;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compartimento de execução de um use case: no máximo maxConcurrent tarefas rodando e queueCapacity
+ * esperando. Cheio, recusa na hora com RejectedExecutionException em vez de enfileirar sem limite,
+ * e um use case lento (ex.: criação segurando conexão) não ocupa as threads dos outros (ex.: leituras).
+ * Em platform threads (construtor), é um pool fixo com fila limitada. Em virtual threads (virtual), cada
+ * tarefa ganha uma virtual thread e os limites viram semáforos: a tarefa espera vaga por até maxWait
+ * (vencido o prazo, não roda), sem ocupar thread de plataforma enquanto espera.
+ */
+public class Bulkhead implements Executor, AutoCloseable {
+
+    private static final Duration SHUTDOWN_WAIT = Duration.ofSeconds(5);
+
+    private final String name;
+    private final ExecutorService executor;
+    private final int maxConcurrent;
+    private final Semaphore running;
+    private final Semaphore admitted;
+    private final Duration maxWait;
+
+    public Bulkhead(String name, int maxConcurrent, int queueCapacity) {
+        this(name, maxConcurrent, queueCapacity, null);
+    }
+
+    private Bulkhead(String name, int maxConcurrent, int queueCapacity, Duration maxWait) {
+        if (maxConcurrent < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("maxConcurrent e queueCapacity devem ser >= 1");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        if (maxWait == null) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), threadFactory(name), this::reject);
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+            this.running = null;
+            this.admitted = null;
+        } else {
+            this.executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("coupon-" + name + "-", 1).factory());
+            this.running = new Semaphore(maxConcurrent);
+            this.admitted = new Semaphore(maxConcurrent + queueCapacity);
+        }
+    }
+
+    /**
+     * Bulkhead do modo virtual threads (spring.threads.virtual.enabled=true): mesmos limites, tarefas em
+     * virtual threads. maxWait é a espera máxima por vaga (o timeout do use case).
+     */
+    public static Bulkhead virtual(String name, int maxConcurrent, int queueCapacity, Duration maxWait) {
+        if (maxWait == null || maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxWait deve ser informado e não negativo");
+        }
+        return new Bulkhead(name, maxConcurrent, queueCapacity, maxWait);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (admitted == null) {
+            executor.execute(task);
+            return;
+        }
+        if (!admitted.tryAcquire()) {
+            throw new RejectedExecutionException("Bulkhead " + name + " cheio");
+        }
+        try {
+            executor.execute(() -> runWhenFree(task));
+        } catch (RejectedExecutionException e) {
+            admitted.release();
+            throw new RejectedExecutionException("Bulkhead " + name + " encerrado", e);
+        }
+    }
+
+    /**
+     * Execução assíncrona deste compartimento com o timeout dado, para entregar ao use case.
+     */
+    public AsyncExecution execution(Duration timeout) {
+        return new AsyncExecution(this, timeout);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int active() {
+        return admitted == null
+                ? ((ThreadPoolExecutor) executor).getActiveCount()
+                : maxConcurrent - running.availablePermits();
+    }
+
+    public int queued() {
+        return admitted == null
+                ? ((ThreadPoolExecutor) executor).getQueue().size()
+                : running.getQueueLength();
+    }
+
+    /**
+     * Para de aceitar tarefas e espera as que já estão na fila ou rodando terminarem.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_WAIT.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWhenFree(Runnable task) {
+        try {
+            if (!running.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                running.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            admitted.release();
+        }
+    }
+
+    private void reject(Runnable task, ThreadPoolExecutor pool) {
+        throw new RejectedExecutionException(pool.isShutdown()
+                ? "Bulkhead " + name + " encerrado"
+                : "Bulkhead " + name + " cheio");
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "coupon-" + name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
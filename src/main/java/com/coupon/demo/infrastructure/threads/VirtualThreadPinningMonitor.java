@@ -0,0 +1,104 @@
+package com.coupon.demo.infrastructure.threads;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta virtual threads presas à carrier (pinning) pelo evento JFR jdk.VirtualThreadPinned:
+ * bloqueio dentro de synchronized ou de código nativo (ex.: locks do Hibernate e do H2).
+ * Cada ponto de pinning (frames do topo da pilha) é logado uma vez com a pilha; todos são contados.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int SITE_FRAMES = 3;
+    private static final int LOGGED_FRAMES = 12;
+    private static final int MAX_TRACKED_SITES = 100;
+
+    private final Duration threshold;
+    private final LongAdder pinned = new LongAdder();
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Monitor de pinning de virtual threads ativo (limite {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    public long pinnedCount() {
+        return pinned.sum();
+    }
+
+    /**
+     * Ocorrências por ponto de pinning (no máximo MAX_TRACKED_SITES pontos distintos).
+     */
+    public Map<String, Long> pinnedSites() {
+        return sites.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> e.getValue().sum()));
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String site = stackTrace == null ? "desconhecido" : describe(stackTrace, SITE_FRAMES, true);
+        LongAdder count = sites.get(site);
+        if (count == null && sites.size() < MAX_TRACKED_SITES) {
+            LongAdder created = new LongAdder();
+            count = sites.putIfAbsent(site, created);
+            if (count == null) {
+                count = created;
+                log.warn("Virtual thread presa à carrier por {} ms em:\n\t{}", event.getDuration().toMillis(),
+                        stackTrace == null ? site : describe(stackTrace, LOGGED_FRAMES, false).replace(" <- ", "\n\t"));
+            }
+        }
+        if (count != null) {
+            count.increment();
+        }
+    }
+
+    /**
+     * skipJdk descarta os frames do próprio JDK (park, sleep, Object.wait) para o ponto
+     * identificar o código que bloqueou segurando o monitor.
+     */
+    private static String describe(RecordedStackTrace stackTrace, int frames, boolean skipJdk) {
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(f -> !skipJdk || !isJdk(f.getMethod().getType().getName()))
+                .limit(frames)
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+    }
+
+    private static boolean isJdk(String type) {
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+}
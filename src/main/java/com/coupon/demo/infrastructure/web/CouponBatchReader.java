@@ -0,0 +1,127 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.application.usecase.CreateCouponBatchUseCase.Item;
+import com.coupon.demo.application.usecase.CreateCouponBatchUseCase.ItemError;
+import com.coupon.demo.dto.request.CouponRequestDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Lê o corpo de um lote sob demanda: array JSON ou NDJSON (um objeto por linha).
+ * Cada elemento vira CouponRequestDto (mesmo deserializador e Bean Validation do POST /coupon);
+ * falha de conversão ou de validação vira erro do item, sem abortar o lote.
+ * JSON estruturalmente inválido interrompe a leitura com IllegalArgumentException.
+ */
+class CouponBatchReader implements Iterator<Item> {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JsonParser parser;
+    private final List<ItemError> errors = new ArrayList<>();
+
+    private boolean array;
+    private boolean pending;
+    private boolean finished;
+    private int received;
+    private Item next;
+
+    CouponBatchReader(ObjectMapper objectMapper, Validator validator, InputStream body) throws IOException {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.parser = objectMapper.getFactory().createParser(body);
+        JsonToken first = parser.nextToken();
+        if (first == null) {
+            finished = true;
+        } else if (first == JsonToken.START_ARRAY) {
+            array = true;
+        } else {
+            pending = true;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        advance();
+        return next != null;
+    }
+
+    @Override
+    public Item next() {
+        advance();
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        Item item = next;
+        next = null;
+        return item;
+    }
+
+    /**
+     * Total de elementos lidos do corpo, válidos ou não.
+     */
+    int received() {
+        return received;
+    }
+
+    /**
+     * Erros de conversão e Bean Validation, por posição no lote.
+     */
+    List<ItemError> errors() {
+        return errors;
+    }
+
+    private void advance() {
+        while (next == null && !finished) {
+            try {
+                JsonToken token = pending ? parser.currentToken() : parser.nextToken();
+                pending = false;
+                if (token == null || (array && token == JsonToken.END_ARRAY)) {
+                    finished = true;
+                    parser.close();
+                    return;
+                }
+                int index = received++;
+                next = toItem(index, objectMapper.readTree(parser));
+            } catch (IOException e) {
+                finished = true;
+                throw new IllegalArgumentException("Corpo do lote inválido após " + received + " itens: "
+                        + (e instanceof JsonProcessingException jpe ? jpe.getOriginalMessage() : e.getMessage()));
+            }
+        }
+    }
+
+    private Item toItem(int index, JsonNode node) {
+        CouponRequestDto dto;
+        try {
+            dto = objectMapper.treeToValue(node, CouponRequestDto.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            String message = e instanceof JsonProcessingException jpe ? jpe.getOriginalMessage() : e.getMessage();
+            errors.add(new ItemError(index, message));
+            return null;
+        }
+        Set<ConstraintViolation<CouponRequestDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            errors.add(new ItemError(index, violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "))));
+            return null;
+        }
+        return new Item(index, dto.getCode(), dto.getDescription(), dto.getDiscountValue(),
+                dto.getExpirationDate(), dto.isPublished(), dto.getMaxUses());
+    }
+}
@@ -0,0 +1,80 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.application.exception.PreconditionFailedException;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Validadores HTTP do cupom (RFC 9110): ETag forte a partir da versão ("3") e Last-Modified a partir
+ * de updatedAt; avaliação de If-None-Match / If-Modified-Since nos GETs e de If-Match no DELETE.
+ */
+final class CouponConditionalRequests {
+
+    private CouponConditionalRequests() {
+    }
+
+    static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * updatedAt (hora local do servidor) em segundos inteiros, a precisão do Last-Modified; nulo se não houver.
+     */
+    static Instant lastModified(LocalDateTime updatedAt) {
+        return updatedAt != null
+                ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.SECONDS)
+                : null;
+    }
+
+    static boolean isConditional(HttpHeaders request) {
+        return !request.getIfNoneMatch().isEmpty() || request.getIfModifiedSince() >= 0;
+    }
+
+    /**
+     * If-None-Match, quando presente, decide sozinho (comparação fraca, lista ou "*");
+     * senão If-Modified-Since: não modificado se a última alteração não é posterior à data enviada.
+     */
+    static boolean notModified(String etag, Instant lastModified, HttpHeaders request) {
+        List<String> ifNoneMatch = request.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            for (String candidate : ifNoneMatch) {
+                String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = request.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified != null
+                && !lastModified.isAfter(Instant.ofEpochMilli(ifModifiedSince));
+    }
+
+    /**
+     * Versão exigida pelo If-Match do DELETE: nula sem o cabeçalho ou com "*". Comparação forte,
+     * então ETag fraca ou que não é de versão nunca confere (412). Só uma ETag por requisição.
+     */
+    static Long expectedVersion(HttpHeaders request) {
+        List<String> ifMatch = request.getIfMatch();
+        if (ifMatch.isEmpty() || ifMatch.contains("*")) {
+            return null;
+        }
+        if (ifMatch.size() > 1) {
+            throw new IllegalArgumentException("If-Match com mais de uma ETag não é suportado.");
+        }
+        String tag = ifMatch.get(0);
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // não é uma ETag de versão
+            }
+        }
+        throw new PreconditionFailedException("O cupom foi alterado desde a versão informada.");
+    }
+}
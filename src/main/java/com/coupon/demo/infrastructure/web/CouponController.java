@@ -1,65 +1,273 @@
 package com.coupon.demo.infrastructure.web;
 
+import com.coupon.demo.application.usecase.CreateCouponBatchUseCase;
 import com.coupon.demo.application.usecase.CreateCouponUseCase;
+import com.coupon.demo.application.port.ListCouponsPort;
 import com.coupon.demo.application.usecase.DeleteCouponUseCase;
+import com.coupon.demo.application.usecase.ExportCouponsUseCase;
+import com.coupon.demo.application.usecase.GetCouponByCodeUseCase;
 import com.coupon.demo.application.usecase.GetCouponUseCase;
+import com.coupon.demo.application.usecase.GetCouponVersionUseCase;
+import com.coupon.demo.application.usecase.ListCouponsUseCase;
+import com.coupon.demo.application.usecase.RedeemCouponUseCase;
 import com.coupon.demo.dto.request.CouponRequestDto;
+import com.coupon.demo.dto.response.CouponBatchResponseDto;
+import com.coupon.demo.dto.response.CouponPageResponseDto;
+import com.coupon.demo.dto.response.CouponRedemptionResponseDto;
 import com.coupon.demo.dto.response.CouponResponseDto;
 import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.domain.CouponStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller HTTP: traduz DTO ↔ comando e delega para os use cases.
  * Não contém regras de negócio; apenas adapta Web para Application.
+ * Criação, buscas e remoção usam a variante assíncrona (executeAsync): a thread do Tomcat é liberada
+ * e a resposta sai quando o future completa, no bulkhead do use case.
  */
 @RestController
 @RequestMapping("/coupon")
 public class CouponController {
 
     private final CreateCouponUseCase createCouponUseCase;
+    private final CreateCouponBatchUseCase createCouponBatchUseCase;
     private final DeleteCouponUseCase deleteCouponUseCase;
     private final GetCouponUseCase getCouponUseCase;
+    private final GetCouponByCodeUseCase getCouponByCodeUseCase;
+    private final GetCouponVersionUseCase getCouponVersionUseCase;
+    private final ListCouponsUseCase listCouponsUseCase;
+    private final ExportCouponsUseCase exportCouponsUseCase;
+    private final RedeemCouponUseCase redeemCouponUseCase;
     private final CouponWebMapper webMapper;
+    private final CouponJsonCache jsonCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     public CouponController(CreateCouponUseCase createCouponUseCase,
+                            CreateCouponBatchUseCase createCouponBatchUseCase,
                             DeleteCouponUseCase deleteCouponUseCase,
                             GetCouponUseCase getCouponUseCase,
-                            CouponWebMapper webMapper) {
+                            GetCouponByCodeUseCase getCouponByCodeUseCase,
+                            GetCouponVersionUseCase getCouponVersionUseCase,
+                            ListCouponsUseCase listCouponsUseCase,
+                            ExportCouponsUseCase exportCouponsUseCase,
+                            RedeemCouponUseCase redeemCouponUseCase,
+                            CouponWebMapper webMapper,
+                            CouponJsonCache jsonCache,
+                            ObjectMapper objectMapper,
+                            Validator validator) {
         this.createCouponUseCase = createCouponUseCase;
+        this.createCouponBatchUseCase = createCouponBatchUseCase;
         this.deleteCouponUseCase = deleteCouponUseCase;
         this.getCouponUseCase = getCouponUseCase;
+        this.getCouponByCodeUseCase = getCouponByCodeUseCase;
+        this.getCouponVersionUseCase = getCouponVersionUseCase;
+        this.listCouponsUseCase = listCouponsUseCase;
+        this.exportCouponsUseCase = exportCouponsUseCase;
+        this.redeemCouponUseCase = redeemCouponUseCase;
         this.webMapper = webMapper;
+        this.jsonCache = jsonCache;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     @PostMapping
-    public ResponseEntity<CouponResponseDto> criarCupom(@Valid @RequestBody CouponRequestDto request) {
-        Coupon created = createCouponUseCase.execute(
+    public CompletableFuture<ResponseEntity<CouponResponseDto>> criarCupom(@Valid @RequestBody CouponRequestDto request) {
+        return createCouponUseCase.executeAsync(
                 request.getCode(),
                 request.getDescription(),
                 request.getDiscountValue(),
                 request.getExpirationDate(),
-                request.isPublished()
-        );
-        return ResponseEntity.status(HttpStatus.CREATED).body(webMapper.toResponseDto(created));
+                request.isPublished(),
+                request.getMaxUses()
+        ).thenApply(created -> withValidators(ResponseEntity.status(HttpStatus.CREATED), created)
+                .body(webMapper.toResponseDto(created)));
     }
 
+    /**
+     * Criação em lote: array JSON ou NDJSON, lido sob demanda. Responde 200 com o resumo
+     * (criados, rejeitados e erro de cada item rejeitado).
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<CouponBatchResponseDto> criarCuponsEmLote(InputStream body) throws IOException {
+        CouponBatchReader reader = new CouponBatchReader(objectMapper, validator, body);
+        CreateCouponBatchUseCase.Result result = createCouponBatchUseCase.execute(reader);
+        return ResponseEntity.ok(webMapper.toBatchResponseDto(reader.received(), result, reader.errors()));
+    }
+
+    /**
+     * Listagem por cursor em ordem de (expirationDate, id): o nextCursor da resposta
+     * é passado em cursor para buscar a página seguinte.
+     */
+    @GetMapping
+    public ResponseEntity<CouponPageResponseDto> listarCupons(@RequestParam(required = false) CouponStatus status,
+                                                              @RequestParam(required = false) Boolean published,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "50") int limit) {
+        ListCouponsUseCase.Page page = listCouponsUseCase.execute(
+                new ListCouponsPort.Filter(status, published), CouponCursorCodec.decode(cursor), limit);
+        return ResponseEntity.ok(new CouponPageResponseDto(
+                page.items().stream().map(webMapper::toResponseDto).toList(),
+                CouponCursorCodec.encode(page.next())));
+    }
+
+    /**
+     * Exporta todos os cupons do filtro escrevendo direto no corpo da resposta (NDJSON ou CSV).
+     */
+    @GetMapping("/export")
+    public void exportarCupons(@RequestParam(required = false) CouponStatus status,
+                               @RequestParam(required = false) Boolean published,
+                               @RequestParam(defaultValue = "ndjson") String format,
+                               HttpServletResponse response) throws IOException {
+        CouponExportWriter.Format exportFormat = CouponExportWriter.Format.of(format);
+        response.setContentType(exportFormat.contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"coupons." + exportFormat.extension + "\"");
+        CouponExportWriter writer = CouponExportWriter.create(exportFormat, response.getOutputStream(),
+                objectMapper, webMapper);
+        exportCouponsUseCase.execute(new ListCouponsPort.Filter(status, published), writer);
+        writer.finish();
+    }
+
+    /**
+     * Serve o corpo JSON pré-serializado do cupom (CouponJsonCache) com ETag (versão), Last-Modified e
+     * Cache-Control. GET condicional (If-None-Match / If-Modified-Since) que confere responde 304: com o corpo
+     * guardado, sem consultar o banco; sem ele, só com a consulta da versão. Na falta, carrega, serializa e guarda.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<CouponResponseDto> buscarCoupon(@PathVariable String id) {
+    public CompletableFuture<ResponseEntity<byte[]>> buscarCoupon(@PathVariable String id,
+                                                                  @RequestHeader HttpHeaders headers) {
+        UUID uuid = parseId(id);
+        CouponJsonCache.Entry cached = jsonCache.get(uuid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(jsonResponse(cached, headers));
+        }
+        long epoch = jsonCache.epoch();
+        if (!CouponConditionalRequests.isConditional(headers)) {
+            return loadJson(uuid, epoch, headers);
+        }
+        return getCouponVersionUseCase.executeAsync(uuid).thenCompose(current -> {
+            String etag = CouponConditionalRequests.etag(current.version());
+            Instant lastModified = CouponConditionalRequests.lastModified(current.updatedAt());
+            if (CouponConditionalRequests.notModified(etag, lastModified, headers)) {
+                return CompletableFuture.completedFuture(notModified(etag, lastModified));
+            }
+            return loadJson(uuid, epoch, headers);
+        });
+    }
+
+    /**
+     * Mesmo corpo, validadores e 304 do GET /{id}, pelo mesmo CouponJsonCache (o código resolve o id no índice
+     * dele). Sem o corpo guardado, carrega pelo código, inclusive num GET condicional: não há consulta da
+     * versão por código.
+     */
+    @GetMapping("/code/{code}")
+    public CompletableFuture<ResponseEntity<byte[]>> buscarCouponPorCodigo(@PathVariable String code,
+                                                                          @RequestHeader HttpHeaders headers) {
+        CouponJsonCache.Entry cached = jsonCache.getByCode(code);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(jsonResponse(cached, headers));
+        }
+        long epoch = jsonCache.epoch();
+        return getCouponByCodeUseCase.executeAsync(code)
+                .thenApply(coupon -> jsonResponse(cacheJson(coupon, epoch), headers));
+    }
+
+    /**
+     * Resgata (usa) o cupom uma vez. 400 se não estiver ativo, publicado e dentro da validade,
+     * ou se maxUses já foi atingido.
+     */
+    @PostMapping("/{id}/redeem")
+    public ResponseEntity<CouponRedemptionResponseDto> resgatarCoupon(@PathVariable String id) {
         UUID uuid = parseId(id);
-        Coupon coupon = getCouponUseCase.execute(uuid);
-        return ResponseEntity.ok(webMapper.toResponseDto(coupon));
+        RedeemCouponUseCase.Redemption redemption = redeemCouponUseCase.execute(uuid);
+        return ResponseEntity.ok(webMapper.toRedemptionDto(redemption));
     }
 
+    /**
+     * Soft delete. Com If-Match (ETag de uma versão), só deleta se o cupom ainda estiver nessa versão;
+     * senão 412.
+     */
     @DeleteMapping("/{id}")
-    public ResponseEntity<CouponResponseDto> deletarCoupon(@PathVariable String id) {
+    public CompletableFuture<ResponseEntity<CouponResponseDto>> deletarCoupon(@PathVariable String id,
+                                                                              @RequestHeader HttpHeaders headers) {
         UUID uuid = parseId(id);
-        Coupon deleted = deleteCouponUseCase.execute(uuid);
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).body(webMapper.toResponseDto(deleted));
+        Long expectedVersion = CouponConditionalRequests.expectedVersion(headers);
+        return deleteCouponUseCase.executeAsync(uuid, expectedVersion)
+                .whenComplete((deleted, e) -> jsonCache.invalidate(uuid))
+                .thenApply(deleted -> withValidators(ResponseEntity.status(HttpStatus.NO_CONTENT), deleted)
+                        .body(webMapper.toResponseDto(deleted)));
+    }
+
+    private CompletableFuture<ResponseEntity<byte[]>> loadJson(UUID id, long epoch, HttpHeaders headers) {
+        return getCouponUseCase.executeAsync(id).thenApply(coupon -> jsonResponse(cacheJson(coupon, epoch), headers));
+    }
+
+    /**
+     * Serializa o cupom carregado e guarda o corpo (por id e código), se não houve invalidação desde epoch.
+     */
+    private CouponJsonCache.Entry cacheJson(Coupon coupon, long epoch) {
+        CouponJsonCache.Entry entry = new CouponJsonCache.Entry(toJson(coupon),
+                CouponConditionalRequests.etag(coupon.getVersion()),
+                CouponConditionalRequests.lastModified(coupon.getUpdatedAt()),
+                CouponCode.pack(coupon.getCode()));
+        jsonCache.put(coupon.getId(), entry, epoch);
+        return entry;
+    }
+
+    private ResponseEntity<byte[]> jsonResponse(CouponJsonCache.Entry entry, HttpHeaders headers) {
+        if (CouponConditionalRequests.notModified(entry.etag(), entry.lastModified(), headers)) {
+            return notModified(entry.etag(), entry.lastModified());
+        }
+        return withValidators(ResponseEntity.ok(), entry.etag(), entry.lastModified())
+                .cacheControl(jsonCache.cacheControl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.body());
+    }
+
+    private ResponseEntity<byte[]> notModified(String etag, Instant lastModified) {
+        return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModified)
+                .cacheControl(jsonCache.cacheControl())
+                .build();
+    }
+
+    private ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, Coupon coupon) {
+        return withValidators(builder, CouponConditionalRequests.etag(coupon.getVersion()),
+                CouponConditionalRequests.lastModified(coupon.getUpdatedAt()));
+    }
+
+    private ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, String etag,
+                                                      Instant lastModified) {
+        builder.eTag(etag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    private byte[] toJson(Coupon coupon) {
+        try {
+            return objectMapper.writeValueAsBytes(webMapper.toResponseDto(coupon));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private static UUID parseId(String id) {
@@ -0,0 +1,39 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.application.port.ListCouponsPort.Cursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor opaco da listagem: "expirationDate|id" em Base64 URL-safe. O cliente só o devolve.
+ */
+final class CouponCursorCodec {
+
+    private CouponCursorCodec() {
+    }
+
+    static String encode(Cursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String raw = cursor.expirationDate() + "|" + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.dto.response.CouponEventPageResponseDto;
+import com.coupon.demo.infrastructure.config.CouponEventsProperties;
+import com.coupon.demo.infrastructure.events.CouponEvent;
+import com.coupon.demo.infrastructure.events.CouponEventFeed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Controller HTTP do feed de eventos de ciclo de vida (CouponEventFeed), a partir de uma sequence:
+ * JSON com long-poll (wait, em segundos, até coupon.events.max-wait, abaixo do timeout assíncrono de 30 s
+ * do Tomcat) ou SSE (Accept: text/event-stream), em que cada evento leva a sequence como id e a
+ * reconexão retoma do Last-Event-ID.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/coupon/events")
+public class CouponEventController {
+
+    static final int MAX_LIMIT = 1000;
+
+    private final CouponEventFeed feed;
+    private final CouponWebMapper webMapper;
+    private final CouponEventsProperties properties;
+
+    public CouponEventController(CouponEventFeed feed, CouponWebMapper webMapper,
+                                 CouponEventsProperties properties) {
+        this.feed = feed;
+        this.webMapper = webMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Eventos com sequence maior que after (sem after, a partir do mais antigo retido). Sem eventos novos,
+     * espera até wait segundos pelo próximo; vencido o prazo, responde a página vazia com next = after.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<CouponEventPageResponseDto>> listarEventos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") long wait) {
+        checkLimit(limit);
+        Duration timeout = Duration.ofSeconds(Math.max(0, wait));
+        if (timeout.compareTo(properties.maxWait()) > 0) {
+            timeout = properties.maxWait();
+        }
+        CompletableFuture<CouponEventFeed.Page> page = timeout.isZero()
+                ? CompletableFuture.completedFuture(feed.read(after, limit))
+                : feed.await(after, limit, timeout);
+        return page.thenApply(found -> ResponseEntity.ok(webMapper.toEventPageDto(found)));
+    }
+
+    /**
+     * Stream SSE: eventos nomeados pelo tipo (CREATED, DELETED), um evento reset quando o feed já descartou
+     * eventos que o cliente não viu e um comentário a cada max-wait sem eventos, para detectar a desconexão.
+     * Cada conexão é servida por uma virtual thread que espera no feed; dura até coupon.events.sse-timeout.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharEventos(@RequestParam(required = false) Long after,
+                                        @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        checkLimit(limit);
+        SseEmitter emitter = new SseEmitter(properties.sseTimeout().toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(error -> open.set(false));
+        Long from = lastEventId != null ? lastEventId : after;
+        Thread.ofVirtual().name("coupon-events-sse").start(() -> stream(emitter, open, from, limit));
+        return emitter;
+    }
+
+    private void stream(SseEmitter emitter, AtomicBoolean open, Long after, int limit) {
+        try {
+            Long next = after;
+            while (open.get()) {
+                CouponEventFeed.Page page = feed.await(next, limit, properties.maxWait()).join();
+                if (page.reset()) {
+                    emitter.send(SseEmitter.event().name("reset").data(page.next()));
+                }
+                if (page.events().isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+                for (CouponEvent event : page.events()) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.sequence()))
+                            .name(event.type().name())
+                            .data(webMapper.toEventDto(event), MediaType.APPLICATION_JSON));
+                }
+                next = page.next();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Conexão SSE de eventos de cupom encerrada", e);
+        }
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessException("O limite deve estar entre 1 e " + MAX_LIMIT);
+        }
+    }
+}
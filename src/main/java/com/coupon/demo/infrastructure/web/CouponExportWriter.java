@@ -0,0 +1,134 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.domain.Coupon;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Escreve cada cupom direto no corpo da resposta, em NDJSON ou CSV, com buffer de tamanho fixo.
+ * Nada é acumulado: a memória não depende de quantas linhas são exportadas.
+ */
+abstract class CouponExportWriter implements Consumer<Coupon> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        final String contentType;
+        final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        static Format of(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de exportação inválido: " + value + " (use ndjson ou csv)");
+            }
+        }
+    }
+
+    static CouponExportWriter create(Format format, OutputStream output,
+                                     ObjectMapper objectMapper, CouponWebMapper webMapper) throws IOException {
+        return format == Format.CSV
+                ? new Csv(output)
+                : new Ndjson(output, objectMapper, webMapper);
+    }
+
+    @Override
+    public void accept(Coupon coupon) {
+        try {
+            write(coupon);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    abstract void write(Coupon coupon) throws IOException;
+
+    /**
+     * Esvazia o buffer; não fecha o stream da resposta (o container cuida disso).
+     */
+    abstract void finish() throws IOException;
+
+    private static final class Ndjson extends CouponExportWriter {
+
+        private final JsonGenerator generator;
+        private final CouponWebMapper webMapper;
+
+        private Ndjson(OutputStream output, ObjectMapper objectMapper, CouponWebMapper webMapper) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+            this.webMapper = webMapper;
+        }
+
+        @Override
+        void write(Coupon coupon) throws IOException {
+            generator.writeObject(webMapper.toResponseDto(coupon));
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class Csv extends CouponExportWriter {
+
+        private static final String HEADER = "id,code,description,discountValue,expirationDate,status,published\n";
+
+        private final Writer writer;
+
+        private Csv(OutputStream output) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write(HEADER);
+        }
+
+        @Override
+        void write(Coupon coupon) throws IOException {
+            writer.append(String.valueOf(coupon.getId())).append(',')
+                    .append(coupon.getCode()).append(',');
+            quote(coupon.getDescription());
+            writer.append(',').append(String.valueOf(coupon.getDiscountValue())).append(',')
+                    .append(coupon.getExpirationDate() != null ? coupon.getExpirationDate().toLocalDate().toString() : "")
+                    .append(',').append(coupon.getStatus().name())
+                    .append(',').append(String.valueOf(coupon.isPublished()))
+                    .append('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void quote(String value) throws IOException {
+            writer.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.append('"');
+                }
+                writer.append(c);
+            }
+            writer.append('"');
+        }
+    }
+}
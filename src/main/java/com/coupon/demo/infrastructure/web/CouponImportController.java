@@ -0,0 +1,44 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.dto.request.CouponImportRequestDto;
+import com.coupon.demo.dto.response.CouponImportStatusDto;
+import com.coupon.demo.infrastructure.importer.CouponImportJob;
+import com.coupon.demo.infrastructure.importer.CouponImportJobs;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Controller HTTP da importação de arquivos NDJSON: dispara o job (202) e expõe o progresso.
+ */
+@RestController
+@RequestMapping("/coupon/import")
+public class CouponImportController {
+
+    private final CouponImportJobs importJobs;
+    private final CouponWebMapper webMapper;
+
+    public CouponImportController(CouponImportJobs importJobs, CouponWebMapper webMapper) {
+        this.importJobs = importJobs;
+        this.webMapper = webMapper;
+    }
+
+    @PostMapping
+    public ResponseEntity<CouponImportStatusDto> importarArquivo(@Valid @RequestBody CouponImportRequestDto request) {
+        CouponImportJob job = importJobs.start(request.getFile());
+        return ResponseEntity.accepted()
+                .location(URI.create("/coupon/import/" + job.getId()))
+                .body(webMapper.toImportStatusDto(job));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CouponImportStatusDto> acompanharImportacao(@PathVariable UUID id) {
+        CouponImportJob job = importJobs.find(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Importação não encontrada"));
+        return ResponseEntity.ok(webMapper.toImportStatusDto(job));
+    }
+}
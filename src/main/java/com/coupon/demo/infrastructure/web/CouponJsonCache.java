@@ -0,0 +1,120 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.infrastructure.cache.CouponCodeIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import org.springframework.http.CacheControl;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Corpo JSON já serializado do GET /coupon/{id} e do GET /coupon/code/{code}, com ETag (versão) e
+ * Last-Modified, por cupom.
+ * A representação só muda na deleção (usos não fazem parte dela), então os bytes são gerados uma vez
+ * e servidos direto, sem DTO, formatação nem Jackson; com If-None-Match igual, nem o banco é consultado.
+ * A busca por código resolve o id num CouponCodeIndex que acompanha o cache, como no CachingCouponAdapter:
+ * o código entra junto com o corpo, na operação do cache sobre o id, e sai com ele (codeEvictionListener no
+ * builder, para tamanho e expiração; invalidações explícitas aqui).
+ * Guarda também o Cache-Control das respostas, para caches intermediários.
+ * Uma gravação é descartada se houve invalidação desde que a leitura começou (epoch), para que um GET
+ * concorrente com a deleção não guarde o corpo anterior a ela.
+ */
+public class CouponJsonCache {
+
+    private final Cache<UUID, Entry> cache;
+    private final CouponCodeIndex codeIndex;
+    private final CacheControl cacheControl;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CouponJsonCache(Cache<UUID, Entry> cache, CouponCodeIndex codeIndex, CacheControl cacheControl) {
+        this.cache = cache;
+        this.codeIndex = codeIndex;
+        this.cacheControl = cacheControl;
+    }
+
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+
+    public Entry get(UUID id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Corpo guardado do cupom com o código, ou null (código inválido, desconhecido ou corpo fora do cache).
+     */
+    public Entry getByCode(String code) {
+        long packed = CouponCode.pack(code);
+        if (packed == CouponCode.INVALID) {
+            return null;
+        }
+        UUID id = codeIndex.get(packed);
+        return id != null ? cache.getIfPresent(id) : null;
+    }
+
+    /**
+     * Marca do início de uma leitura; passado a put junto com o corpo gerado a partir dela.
+     */
+    public long epoch() {
+        return invalidations.get();
+    }
+
+    /**
+     * Guarda o corpo (e indexa o código) se nenhuma invalidação aconteceu desde epoch. O compute por chave
+     * serializa com invalidate, então a verificação e a gravação não se intercalam com uma deleção do mesmo id.
+     */
+    public void put(UUID id, Entry entry, long epoch) {
+        cache.asMap().compute(id, (key, current) -> {
+            if (invalidations.get() != epoch) {
+                return current;
+            }
+            codeIndex.put(entry.code(), id);
+            return entry;
+        });
+    }
+
+    public void invalidate(UUID id) {
+        cache.asMap().compute(id, (key, current) -> {
+            invalidations.incrementAndGet();
+            if (current != null) {
+                codeIndex.remove(current.code());
+            }
+            return null;
+        });
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+        codeIndex.clear();
+    }
+
+    /**
+     * Listener para Caffeine.evictionListener: retira do índice o código do corpo que saiu do cache por
+     * peso ou expiração, dentro da operação do cache.
+     */
+    public static RemovalListener<UUID, Entry> codeEvictionListener(CouponCodeIndex codeIndex) {
+        return (id, entry, cause) -> {
+            if (entry != null) {
+                codeIndex.remove(entry.code());
+            }
+        };
+    }
+
+    /**
+     * Bytes do corpo e seus validadores: ETag forte da versão e Last-Modified (nulo se desconhecido);
+     * code é o código empacotado (CouponCode.pack), para o índice por código.
+     */
+    public record Entry(byte[] body, String etag, Instant lastModified, long code) {
+
+        /**
+         * Peso aproximado da entrada em bytes, para eviction por peso.
+         */
+        public static int weigh(UUID id, Entry entry) {
+            return 112 + entry.body().length + 2 * entry.etag().length();
+        }
+    }
+}
@@ -1,10 +1,24 @@
 package com.coupon.demo.infrastructure.web;
 
+import com.coupon.demo.application.usecase.CreateCouponBatchUseCase;
+import com.coupon.demo.application.usecase.ImportCouponsUseCase;
+import com.coupon.demo.application.usecase.RedeemCouponUseCase;
 import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.dto.response.CouponBatchResponseDto;
+import com.coupon.demo.dto.response.CouponEventDto;
+import com.coupon.demo.dto.response.CouponEventPageResponseDto;
+import com.coupon.demo.dto.response.CouponImportStatusDto;
+import com.coupon.demo.dto.response.CouponRedemptionResponseDto;
 import com.coupon.demo.dto.response.CouponResponseDto;
+import com.coupon.demo.infrastructure.events.CouponEvent;
+import com.coupon.demo.infrastructure.events.CouponEventFeed;
+import com.coupon.demo.infrastructure.importer.CouponImportJob;
 import org.springframework.stereotype.Component;
 
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Mapeia modelo de domínio para DTO de resposta (camada web).
@@ -25,6 +39,52 @@ public class CouponWebMapper {
                 : null);
         dto.setStatus(coupon.getStatus());
         dto.setPublished(coupon.isPublished());
+        dto.setMaxUses(coupon.getMaxUses());
         return dto;
     }
+
+    public CouponRedemptionResponseDto toRedemptionDto(RedeemCouponUseCase.Redemption redemption) {
+        return new CouponRedemptionResponseDto(redemption.couponId().toString(), redemption.code(),
+                redemption.usedCount(), redemption.maxUses());
+    }
+
+    /**
+     * Junta os erros de leitura (conversão/Bean Validation) com os do use case, ordenados pela posição.
+     */
+    public CouponBatchResponseDto toBatchResponseDto(int received, CreateCouponBatchUseCase.Result result,
+                                                     List<CreateCouponBatchUseCase.ItemError> readErrors) {
+        List<CouponBatchResponseDto.ItemError> errors = Stream.concat(readErrors.stream(), result.errors().stream())
+                .sorted(Comparator.comparingInt(CreateCouponBatchUseCase.ItemError::index))
+                .map(e -> new CouponBatchResponseDto.ItemError(e.index(), e.message()))
+                .toList();
+        return new CouponBatchResponseDto(received, result.created(), errors.size(), errors);
+    }
+
+    public CouponImportStatusDto toImportStatusDto(CouponImportJob job) {
+        ImportCouponsUseCase.Report report = job.getReport();
+        return new CouponImportStatusDto(
+                job.getId().toString(),
+                job.getFile(),
+                job.getStatus().name(),
+                report.read(),
+                report.created(),
+                report.rejected(),
+                report.errors().stream()
+                        .map(e -> new CouponImportStatusDto.LineError(e.number(), e.message()))
+                        .toList(),
+                job.getStartedAt().toString(),
+                job.getFinishedAt() != null ? job.getFinishedAt().toString() : null,
+                job.getFailure()
+        );
+    }
+
+    public CouponEventDto toEventDto(CouponEvent event) {
+        return new CouponEventDto(event.sequence(), event.type().name(), event.couponId().toString(),
+                event.code(), event.version(), event.occurredAt().toString());
+    }
+
+    public CouponEventPageResponseDto toEventPageDto(CouponEventFeed.Page page) {
+        return new CouponEventPageResponseDto(page.events().stream().map(this::toEventDto).toList(),
+                page.next(), page.reset());
+    }
 }
@@ -1,5 +1,6 @@
 package com.coupon.demo.infrastructure.web;
 
+import com.coupon.demo.application.exception.PreconditionFailedException;
 import com.coupon.demo.application.exception.ResourceNotFoundException;
 import com.coupon.demo.domain.BusinessException;
 import org.springframework.core.Ordered;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -37,12 +40,41 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
+    /**
+     * If-Match com versão que não é mais a atual.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(PreconditionFailedException ex) {
+        Map<String, Object> body = errorBody(HttpStatus.PRECONDITION_FAILED.value(), "Precondition Failed", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
         Map<String, Object> body = errorBody(HttpStatus.BAD_REQUEST.value(), "Bad Request", ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
+    /**
+     * Bulkhead do use case cheio: recusa imediata em vez de fila sem limite.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, Object>> handleRejected(RejectedExecutionException ex) {
+        Map<String, Object> body = errorBody(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable",
+                "Serviço sobrecarregado, tente novamente.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Variante assíncrona que estourou o timeout do use case (fila incluída).
+     */
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<Map<String, Object>> handleTimeout(TimeoutException ex) {
+        Map<String, Object> body = errorBody(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable",
+                "Tempo limite da operação excedido.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<Map<String, Object>> handleMessageNotReadable(HttpMessageNotReadableException ex) {
         String message = ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage();
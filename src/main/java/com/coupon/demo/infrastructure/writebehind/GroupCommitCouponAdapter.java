@@ -0,0 +1,177 @@
+package com.coupon.demo.infrastructure.writebehind;
+
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.domain.Coupon;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorator write-behind (group commit) da SaveCouponPort.
+ * Cupons novos de requisições concorrentes entram numa fila; uma thread de gravação junta em grupo
+ * o que chegar até maxBatchSize ou até maxWait após o primeiro, e grava o grupo com um único saveAll
+ * (um lote JDBC, uma transação). Cada chamador espera o próprio CompletableFuture, que só completa
+ * depois do commit do grupo: save continua síncrono e o contrato de CreateCouponUseCase não muda.
+ * Se o grupo falhar (ex.: um código duplicado desfaz a transação), os cupons são regravados um a um
+ * para que cada chamador receba o próprio resultado. Atualizações (cupom com id) e saveAll passam direto.
+ */
+@Slf4j
+public class GroupCommitCouponAdapter implements SaveCouponPort, AutoCloseable {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final SaveCouponPort delegate;
+    private final BlockingQueue<PendingSave> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private volatile boolean running;
+    private Thread writer;
+
+    public GroupCommitCouponAdapter(SaveCouponPort delegate, int maxBatchSize, Duration maxWait, int queueCapacity) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("coupon-write-behind").daemon(true).start(this::run);
+    }
+
+    /**
+     * Para de aceitar cupons e espera a thread de gravação terminar o que já está na fila.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = writer;
+            writer = null;
+        }
+        if (current != null) {
+            current.join();
+        }
+    }
+
+    @Override
+    public Coupon save(Coupon coupon) {
+        if (coupon.getId() != null) {
+            return delegate.save(coupon);
+        }
+        try {
+            return saveAsync(coupon).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Enfileira um cupom novo; o future completa com o cupom gravado depois do commit do seu grupo.
+     * Com a fila cheia, espera vaga (contrapressão em vez de memória sem limite).
+     */
+    public CompletableFuture<Coupon> saveAsync(Coupon coupon) {
+        PendingSave pending = new PendingSave(coupon, new CompletableFuture<>());
+        if (!running) {
+            throw new IllegalStateException("Write-behind de cupons encerrado");
+        }
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao enfileirar cupom", e);
+        }
+        if (!running && queue.remove(pending)) {
+            pending.future().completeExceptionally(new IllegalStateException("Write-behind de cupons encerrado"));
+        }
+        return pending.future();
+    }
+
+    @Override
+    public List<Coupon> saveAll(List<Coupon> coupons) {
+        return delegate.saveAll(coupons);
+    }
+
+    private void run() {
+        List<PendingSave> group = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSave first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                fill(group);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada no write-behind de cupons", e);
+                group.forEach(p -> p.future().completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Completa o grupo com o que já está na fila e, faltando espaço, espera até maxWait após o primeiro.
+     */
+    private void fill(List<PendingSave> group) throws InterruptedException {
+        queue.drainTo(group, maxBatchSize - group.size());
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (group.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingSave next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+            queue.drainTo(group, maxBatchSize - group.size());
+        }
+    }
+
+    private void commit(List<PendingSave> group) {
+        List<Coupon> coupons = new ArrayList<>(group.size());
+        group.forEach(p -> coupons.add(p.coupon()));
+        List<Coupon> saved;
+        try {
+            saved = delegate.saveAll(coupons);
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).future().completeExceptionally(e);
+                return;
+            }
+            log.debug("Grupo de {} cupons falhou; regravando um a um", group.size(), e);
+            for (PendingSave pending : group) {
+                try {
+                    pending.future().complete(delegate.save(pending.coupon()));
+                } catch (RuntimeException individual) {
+                    pending.future().completeExceptionally(individual);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).future().complete(saved.get(i));
+        }
+    }
+
+    private record PendingSave(Coupon coupon, CompletableFuture<Coupon> future) {
+    }
+}
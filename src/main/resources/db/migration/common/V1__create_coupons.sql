@@ -0,0 +1,23 @@
+-- Tabela de cupons e índices das consultas (mesmos tipos que o mapeamento de CouponEntity valida).
+create table coupons (
+    id              uuid             not null,
+    code            varchar(6)       not null,
+    description     varchar(1000)    not null,
+    discount_value  double precision not null,
+    expiration_date timestamp(6)     not null,
+    status          varchar(16)      not null,
+    published       boolean          not null,
+    max_uses        integer,
+    used_count      bigint           not null default 0,
+    version         bigint           not null default 0,
+    updated_at      timestamp(6)     not null,
+    constraint pk_coupons primary key (id),
+    constraint uk_coupons_code unique (code),
+    constraint ck_coupons_status check (status in ('ACTIVE', 'INACTIVE', 'DELETED'))
+);
+
+-- Listagem e exportação sem filtro: ordem (expiration_date, id) e seek do cursor.
+create index idx_coupons_expiration_id on coupons (expiration_date, id);
+
+-- Listagem com status e published: igualdade nos dois e a mesma ordem, sem ordenar o resultado.
+create index idx_coupons_status_published_expiration on coupons (status, published, expiration_date, id);
@@ -0,0 +1,13 @@
+-- Outbox dos eventos de ciclo de vida dos cupons: cada linha é gravada na mesma transação que cria ou deleta
+-- o cupom (CouponPersistenceAdapter) e removida pelo relay (CouponOutboxRelay) depois de entregue aos sinks.
+-- A ordem de entrega é a do id; a chave primária serve à leitura em blocos.
+create table coupon_outbox (
+    id          bigint generated by default as identity,
+    type        varchar(16)  not null,
+    coupon_id   uuid         not null,
+    code        varchar(6)   not null,
+    version     bigint       not null,
+    occurred_at timestamp(6) not null,
+    constraint pk_coupon_outbox primary key (id),
+    constraint ck_coupon_outbox_type check (type in ('CREATED', 'DELETED'))
+);
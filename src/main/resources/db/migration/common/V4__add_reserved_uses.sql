@@ -0,0 +1,5 @@
+-- Permissões de uso já reservadas pelos contadores de resgate (CouponUsageCounters) dos cupons com limite.
+-- Cada instância reserva um bloco aqui antes de entregá-lo, com um UPDATE condicionado a max_uses, e só grava
+-- used_count depois, em lote: numa queda, permissões reservadas e não usadas se perdem, mas nenhum resgate
+-- passa de max_uses. Linhas anteriores partem de used_count (greatest(reserved_uses, used_count) na reserva).
+alter table coupons add column reserved_uses bigint not null default 0;
@@ -0,0 +1,3 @@
+-- O H2 não tem índice parcial: a faixa de cupons ativos (expiração em segundo plano, listagem por status)
+-- sai de um índice com o status na frente.
+create index idx_coupons_status_expiration on coupons (status, expiration_date, id);
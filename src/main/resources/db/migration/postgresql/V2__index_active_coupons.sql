@@ -0,0 +1,3 @@
+-- Índice parcial só com os cupons ativos: a expiração em segundo plano percorre a faixa vencida sem passar
+-- por cupons inativos e deletados, e o índice não cresce com eles.
+create index idx_coupons_active_expiration on coupons (expiration_date, id) where status = 'ACTIVE';
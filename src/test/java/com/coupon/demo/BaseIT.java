@@ -8,6 +8,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
@@ -27,4 +32,13 @@ public abstract class BaseIT {
     void setup() {
         couponRepository.deleteAll();
     }
+
+    /**
+     * mockMvc.perform que segue os endpoints assíncronos (CompletableFuture) até a resposta final.
+     */
+    protected ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
 }
\ No newline at end of file
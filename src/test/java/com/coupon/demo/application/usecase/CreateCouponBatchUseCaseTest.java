@@ -0,0 +1,85 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.application.usecase.CreateCouponBatchUseCase.Item;
+import com.coupon.demo.application.usecase.CreateCouponBatchUseCase.Result;
+import com.coupon.demo.domain.Coupon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreateCouponBatchUseCaseTest {
+
+    private static final LocalDate FUTURE = LocalDate.now().plusDays(1);
+
+    @Mock
+    private SaveCouponPort saveCouponPort;
+
+    private CreateCouponBatchUseCase createCouponBatchUseCase;
+
+    @BeforeEach
+    void setup() {
+        createCouponBatchUseCase = new CreateCouponBatchUseCase(saveCouponPort, 2);
+    }
+
+    @Test
+    @DisplayName("Deve persistir itens válidos em blocos do tamanho configurado")
+    void devePersistirEmBlocos() {
+        when(saveCouponPort.saveAll(anyList())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+
+        Result result = createCouponBatchUseCase.execute(List.of(
+                item(0, "AAA001"), item(1, "AAA002"), item(2, "AAA003")).iterator());
+
+        assertEquals(3, result.created());
+        assertTrue(result.errors().isEmpty());
+        verify(saveCouponPort, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve reportar erro de domínio por item sem interromper o lote")
+    void deveReportarErroPorItem() {
+        when(saveCouponPort.saveAll(anyList())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+
+        Result result = createCouponBatchUseCase.execute(List.of(
+                item(0, "AAA001"), item(1, "ABC"), item(2, "AAA003")).iterator());
+
+        assertEquals(2, result.created());
+        assertEquals(1, result.errors().size());
+        assertEquals(1, result.errors().get(0).index());
+    }
+
+    @Test
+    @DisplayName("Falha do bloco deve regravar item a item e apontar somente o item com problema")
+    void deveIsolarItemQueFalhouNoBloco() {
+        when(saveCouponPort.saveAll(anyList())).thenThrow(new RuntimeException("unique"));
+        when(saveCouponPort.save(any(Coupon.class))).thenAnswer(invocation -> {
+            Coupon coupon = invocation.getArgument(0);
+            if (coupon.getCode().equals("AAA002")) {
+                throw new RuntimeException("unique");
+            }
+            return coupon;
+        });
+
+        Result result = createCouponBatchUseCase.execute(List.of(item(0, "AAA001"), item(1, "AAA002")).iterator());
+
+        assertEquals(1, result.created());
+        assertEquals(1, result.errors().size());
+        assertEquals(1, result.errors().get(0).index());
+    }
+
+    private static Item item(int index, String code) {
+        return new Item(index, code, "Lote", 1.0, FUTURE, true);
+    }
+}
@@ -33,7 +33,7 @@ class CreateCouponUseCaseTest {
         String code = "AB1234";
         String description = "Desc";
         Double discountValue = 1.0;
-        String expirationDate = java.time.LocalDate.now().plusDays(1).toString();
+        java.time.LocalDate expirationDate = java.time.LocalDate.now().plusDays(1);
         boolean published = true;
 
         UUID generatedId = UUID.randomUUID();
@@ -61,7 +61,7 @@ class CreateCouponUseCaseTest {
         String code = "ABC";
         String description = "Desc";
         Double discountValue = 1.0;
-        String expirationDate = java.time.LocalDate.now().plusDays(1).toString();
+        java.time.LocalDate expirationDate = java.time.LocalDate.now().plusDays(1);
         boolean published = true;
 
         assertThrows(BusinessException.class, () ->
@@ -1,15 +1,15 @@
 package com.coupon.demo.application.usecase;
 
+import com.coupon.demo.application.exception.PreconditionFailedException;
 import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.DeleteCouponPort;
 import com.coupon.demo.application.port.LoadCouponPort;
-import com.coupon.demo.application.port.SaveCouponPort;
 import com.coupon.demo.domain.BusinessException;
 import com.coupon.demo.domain.Coupon;
 import com.coupon.demo.domain.CouponStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -19,7 +19,6 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,26 +31,23 @@ class DeleteCouponUseCaseTest {
     private LoadCouponPort loadCouponPort;
 
     @Mock
-    private SaveCouponPort saveCouponPort;
+    private DeleteCouponPort deleteCouponPort;
 
     @Test
-    @DisplayName("Deve realizar soft delete e persistir")
+    @DisplayName("Deve realizar soft delete com um único UPDATE e devolver o cupom deletado, sem nova leitura")
     void deveRealizarSoftDeleteDoCupom() {
         UUID id = UUID.randomUUID();
-        Coupon coupon = Coupon.reconstitute(id, "ABC123", "d", 1.0,
-                LocalDateTime.now().plusDays(1), CouponStatus.ACTIVE, true);
+        Coupon deleted = Coupon.reconstitute(id, "ABC123", "d", 1.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.DELETED, true);
 
-        when(loadCouponPort.findById(id)).thenReturn(Optional.of(coupon));
-        when(saveCouponPort.save(any(Coupon.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(deleteCouponPort.markDeleted(eq(id), isNull(), any())).thenReturn(Optional.of(deleted));
 
         Coupon result = deleteCouponUseCase.execute(id);
 
         assertNotNull(result);
         assertEquals(CouponStatus.DELETED, result.getStatus());
-
-        ArgumentCaptor<Coupon> captor = ArgumentCaptor.forClass(Coupon.class);
-        verify(saveCouponPort, times(1)).save(captor.capture());
-        assertEquals(CouponStatus.DELETED, captor.getValue().getStatus());
+        verify(deleteCouponPort, times(1)).markDeleted(eq(id), isNull(), any());
+        verifyNoInteractions(loadCouponPort);
     }
 
     @Test
@@ -61,21 +57,32 @@ class DeleteCouponUseCaseTest {
         Coupon coupon = Coupon.reconstitute(id, "ABC123", "d", 1.0,
                 LocalDateTime.now().plusDays(1), CouponStatus.DELETED, true);
 
+        when(deleteCouponPort.markDeleted(eq(id), isNull(), any())).thenReturn(Optional.empty());
         when(loadCouponPort.findById(id)).thenReturn(Optional.of(coupon));
 
         assertThrows(BusinessException.class, () -> deleteCouponUseCase.execute(id));
-
-        verify(saveCouponPort, never()).save(any(Coupon.class));
     }
 
     @Test
     @DisplayName("Deve lançar ResourceNotFoundException ao tentar deletar cupom inexistente")
     void deveLancarErroAoDeletarCupomInexistente() {
         UUID id = UUID.randomUUID();
+        when(deleteCouponPort.markDeleted(eq(id), isNull(), any())).thenReturn(Optional.empty());
         when(loadCouponPort.findById(id)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> deleteCouponUseCase.execute(id));
+    }
+
+    @Test
+    @DisplayName("Deve lançar PreconditionFailedException quando a versão esperada não for a atual")
+    void deveFalharComVersaoDiferente() {
+        UUID id = UUID.randomUUID();
+        Coupon current = Coupon.reconstitute(id, "ABC123", "d", 1.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.ACTIVE, true, null, 0, 3, LocalDateTime.now());
+
+        when(deleteCouponPort.markDeleted(eq(id), eq(2L), any())).thenReturn(Optional.empty());
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(current));
 
-        verify(saveCouponPort, never()).save(any(Coupon.class));
+        assertThrows(PreconditionFailedException.class, () -> deleteCouponUseCase.execute(id, 2L));
     }
 }
@@ -0,0 +1,61 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetCouponByCodeUseCaseTest {
+
+    @InjectMocks
+    private GetCouponByCodeUseCase getCouponByCodeUseCase;
+
+    @Mock
+    private LoadCouponPort loadCouponPort;
+
+    @Test
+    @DisplayName("Deve retornar cupom quando o código existir")
+    void deveRetornarCupomQuandoExistir() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = Coupon.reconstitute(id, "ABC123", "Desc", 1.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.ACTIVE, true);
+
+        when(loadCouponPort.findByCode("ABC123")).thenReturn(Optional.of(coupon));
+
+        Coupon result = getCouponByCodeUseCase.execute("ABC123");
+
+        assertEquals(id, result.getId());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResourceNotFoundException quando o código não existir")
+    void deveLancarErroQuandoCodigoNaoEncontrado() {
+        when(loadCouponPort.findByCode("ABC123")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> getCouponByCodeUseCase.execute("ABC123"));
+    }
+
+    @Test
+    @DisplayName("Deve lançar BusinessException para código fora do formato sem consultar a porta")
+    void deveRejeitarCodigoInvalido() {
+        assertThrows(BusinessException.class, () -> getCouponByCodeUseCase.execute("ABC"));
+
+        verify(loadCouponPort, never()).findByCode(any());
+    }
+}
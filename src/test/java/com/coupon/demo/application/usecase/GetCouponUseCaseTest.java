@@ -11,9 +11,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -51,4 +54,23 @@ class GetCouponUseCaseTest {
 
         assertThrows(ResourceNotFoundException.class, () -> getCouponUseCase.execute(id));
     }
+
+    @Test
+    @DisplayName("Variante assíncrona deve completar com o cupom ou com ResourceNotFoundException")
+    void deveBuscarDeFormaAssincrona() {
+        UUID id = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        Coupon coupon = Coupon.reconstitute(id, "ABC123", "Desc", 1.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.ACTIVE, true);
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(coupon));
+        when(loadCouponPort.findById(missing)).thenReturn(Optional.empty());
+        GetCouponUseCase useCase = new GetCouponUseCase(loadCouponPort,
+                new AsyncExecution(Runnable::run, Duration.ofSeconds(1)));
+
+        assertEquals(id, useCase.executeAsync(id).join().getId());
+
+        CompletableFuture<Coupon> notFound = useCase.executeAsync(missing);
+        CompletionException e = assertThrows(CompletionException.class, notFound::join);
+        assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+    }
 }
@@ -0,0 +1,179 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.application.usecase.ImportCouponsUseCase.Line;
+import com.coupon.demo.application.usecase.ImportCouponsUseCase.Report;
+import com.coupon.demo.domain.Coupon;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportCouponsUseCaseTest {
+
+    private static final LocalDate FUTURE = LocalDate.now().plusDays(1);
+
+    private final ExecutorService writerExecutor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        writerExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve gravar em blocos e contar lidos, criados e rejeitados")
+    void deveImportarEmBlocos() {
+        RecordingPort port = new RecordingPort();
+        ImportCouponsUseCase useCase = new ImportCouponsUseCase(port, writerExecutor, 2, 1, 10);
+        List<Report> progress = new ArrayList<>();
+
+        Report report = useCase.execute(List.of(
+                line(1, "AAA001"), line(2, "AAA002"), Line.rejected(3, "Data inválida"),
+                line(4, "ABC"), line(5, "AAA005")).iterator(), progress::add);
+
+        assertEquals(5, report.read());
+        assertEquals(3, report.created());
+        assertEquals(2, report.rejected());
+        assertTrue(report.finished());
+        assertEquals(List.of(3L, 4L), report.errors().stream().map(ImportCouponsUseCase.LineError::number).toList());
+        assertEquals(List.of(2, 1), port.chunkSizes);
+        assertTrue(progress.get(progress.size() - 1).finished());
+    }
+
+    @Test
+    @DisplayName("Deve criar os cupons com o maxUses de cada linha")
+    void deveManterMaxUses() {
+        RecordingPort port = new RecordingPort();
+        ImportCouponsUseCase useCase = new ImportCouponsUseCase(port, writerExecutor, 10, 1, 10);
+
+        Report report = useCase.execute(List.of(
+                new Line(1, "AAA001", "Limitado", 10.0, FUTURE, true, 3, null),
+                line(2, "AAA002"),
+                new Line(3, "AAA003", "Inválido", 10.0, FUTURE, true, 0, null)).iterator(), r -> { });
+
+        assertEquals(2, report.created());
+        assertEquals(List.of(3L), report.errors().stream().map(ImportCouponsUseCase.LineError::number).toList());
+        assertEquals(3, port.coupons.get(0).getMaxUses());
+        assertNull(port.coupons.get(1).getMaxUses());
+    }
+
+    @Test
+    @DisplayName("Deve guardar apenas os primeiros erros, mas contar todos")
+    void deveLimitarErrosReportados() {
+        ImportCouponsUseCase useCase = new ImportCouponsUseCase(new RecordingPort(), writerExecutor, 10, 1, 2);
+
+        Report report = useCase.execute(List.of(
+                Line.rejected(1, "x"), Line.rejected(2, "x"), Line.rejected(3, "x")).iterator(), r -> { });
+
+        assertEquals(3, report.rejected());
+        assertEquals(2, report.errors().size());
+    }
+
+    @Test
+    @DisplayName("Deve bloquear a leitura quando a fila de blocos está cheia (backpressure)")
+    void deveAplicarBackpressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingPort port = new RecordingPort() {
+            @Override
+            public List<Coupon> saveAll(List<Coupon> coupons) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.saveAll(coupons);
+            }
+        };
+        ImportCouponsUseCase useCase = new ImportCouponsUseCase(port, writerExecutor, 1, 1, 10);
+        AtomicLong consumed = new AtomicLong();
+        Iterator<Line> lines = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return consumed.get() < 100;
+            }
+
+            @Override
+            public Line next() {
+                long n = consumed.incrementAndGet();
+                return line(n, "A%05d".formatted(n));
+            }
+        };
+
+        Thread reader = Thread.ofPlatform().start(() -> useCase.execute(lines, r -> { }));
+        Thread.sleep(300);
+
+        // 1 bloco no writer + 1 na fila + 1 aguardando vaga
+        assertTrue(consumed.get() <= 3, "leu " + consumed.get() + " linhas com o writer parado");
+        release.countDown();
+        reader.join(5000);
+        assertEquals(100, consumed.get());
+        assertEquals(100, port.saved.get());
+    }
+
+    @Test
+    @DisplayName("Deve propagar falha inesperada do writer e parar a leitura")
+    void devePropagarFalhaDoWriter() {
+        SaveCouponPort failing = new RecordingPort() {
+            @Override
+            public List<Coupon> saveAll(List<Coupon> coupons) {
+                throw new Error("disco cheio");
+            }
+        };
+        ImportCouponsUseCase useCase = new ImportCouponsUseCase(failing, writerExecutor, 1, 1, 10);
+        AtomicLong consumed = new AtomicLong();
+        Iterator<Line> endless = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Line next() {
+                long n = consumed.incrementAndGet();
+                return line(n, "A%05d".formatted(n % 100000));
+            }
+        };
+
+        assertThrows(Throwable.class, () -> useCase.execute(endless, r -> { }));
+        assertTrue(consumed.get() < 10);
+    }
+
+    private static Line line(long number, String code) {
+        return new Line(number, code, "Cupom " + code, 10.0, FUTURE, false, null, null);
+    }
+
+    private static class RecordingPort implements SaveCouponPort {
+
+        final List<Integer> chunkSizes = new ArrayList<>();
+        final List<Coupon> coupons = new ArrayList<>();
+        final AtomicInteger saved = new AtomicInteger();
+
+        @Override
+        public Coupon save(Coupon coupon) {
+            saved.incrementAndGet();
+            return coupon;
+        }
+
+        @Override
+        public List<Coupon> saveAll(List<Coupon> coupons) {
+            synchronized (chunkSizes) {
+                chunkSizes.add(coupons.size());
+                this.coupons.addAll(coupons);
+            }
+            saved.addAndGet(coupons.size());
+            return List.copyOf(coupons);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.port.ListCouponsPort;
+import com.coupon.demo.application.port.ListCouponsPort.Cursor;
+import com.coupon.demo.application.port.ListCouponsPort.Filter;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListCouponsUseCaseTest {
+
+    private static final Filter ALL = new Filter(null, null);
+
+    @Mock
+    private ListCouponsPort listCouponsPort;
+
+    @InjectMocks
+    private ListCouponsUseCase listCouponsUseCase;
+
+    @Test
+    @DisplayName("Deve devolver cursor do último item quando há mais resultados")
+    void deveDevolverProximoCursor() {
+        List<Coupon> found = List.of(coupon(1), coupon(2), coupon(3));
+        when(listCouponsPort.findPage(ALL, null, 3)).thenReturn(found);
+
+        ListCouponsUseCase.Page page = listCouponsUseCase.execute(ALL, null, 2);
+
+        assertEquals(2, page.items().size());
+        assertEquals(Cursor.of(found.get(1)), page.next());
+    }
+
+    @Test
+    @DisplayName("Deve indicar última página com cursor nulo")
+    void deveIndicarUltimaPagina() {
+        when(listCouponsPort.findPage(eq(ALL), any(), anyInt())).thenReturn(List.of(coupon(1)));
+
+        ListCouponsUseCase.Page page = listCouponsUseCase.execute(ALL, Cursor.of(coupon(0)), 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.next());
+    }
+
+    @Test
+    @DisplayName("Deve recusar limite fora do intervalo")
+    void deveRecusarLimiteInvalido() {
+        assertThrows(BusinessException.class, () -> listCouponsUseCase.execute(ALL, null, 0));
+        assertThrows(BusinessException.class,
+                () -> listCouponsUseCase.execute(ALL, null, ListCouponsUseCase.MAX_LIMIT + 1));
+        verifyNoInteractions(listCouponsPort);
+    }
+
+    private static Coupon coupon(int day) {
+        return Coupon.reconstitute(UUID.randomUUID(), "ABC12" + day, "Cupom", 1.0,
+                LocalDateTime.now().plusDays(day), CouponStatus.ACTIVE, true);
+    }
+}
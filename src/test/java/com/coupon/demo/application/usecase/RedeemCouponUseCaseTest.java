@@ -0,0 +1,88 @@
+package com.coupon.demo.application.usecase;
+
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.CouponUsagePort;
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedeemCouponUseCaseTest {
+
+    @InjectMocks
+    private RedeemCouponUseCase redeemCouponUseCase;
+
+    @Mock
+    private LoadCouponPort loadCouponPort;
+
+    @Mock
+    private CouponUsagePort couponUsagePort;
+
+    @Test
+    @DisplayName("Deve consumir um uso e devolver a contagem")
+    void deveResgatarCupom() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = coupon(id, CouponStatus.ACTIVE, 5);
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(coupon));
+        when(couponUsagePort.tryRedeem(coupon)).thenReturn(OptionalLong.of(3));
+
+        RedeemCouponUseCase.Redemption redemption = redeemCouponUseCase.execute(id);
+
+        assertEquals(id, redemption.couponId());
+        assertEquals(3, redemption.usedCount());
+        assertEquals(5, redemption.maxUses());
+    }
+
+    @Test
+    @DisplayName("Deve lançar BusinessException quando o limite de usos foi atingido")
+    void naoDeveResgatarAlemDoLimite() {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = coupon(id, CouponStatus.ACTIVE, 1);
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(coupon));
+        when(couponUsagePort.tryRedeem(coupon)).thenReturn(OptionalLong.empty());
+
+        assertThrows(BusinessException.class, () -> redeemCouponUseCase.execute(id));
+    }
+
+    @Test
+    @DisplayName("Cupom deletado não deve consumir uso")
+    void naoDeveResgatarCupomDeletado() {
+        UUID id = UUID.randomUUID();
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(coupon(id, CouponStatus.DELETED, null)));
+
+        assertThrows(BusinessException.class, () -> redeemCouponUseCase.execute(id));
+
+        verify(couponUsagePort, never()).tryRedeem(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar ResourceNotFoundException para cupom inexistente")
+    void deveLancarErroParaCupomInexistente() {
+        UUID id = UUID.randomUUID();
+        when(loadCouponPort.findById(id)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> redeemCouponUseCase.execute(id));
+
+        verify(couponUsagePort, never()).tryRedeem(any());
+    }
+
+    private static Coupon coupon(UUID id, CouponStatus status, Integer maxUses) {
+        return Coupon.reconstitute(id, "ABC123", "d", 1.0, LocalDateTime.now().plusDays(1), status, true, maxUses, 0);
+    }
+}
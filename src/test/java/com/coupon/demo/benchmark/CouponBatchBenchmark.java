@@ -0,0 +1,116 @@
+package com.coupon.demo.benchmark;
+
+import com.coupon.demo.application.usecase.CreateCouponBatchUseCase;
+import com.coupon.demo.application.usecase.CreateCouponUseCase;
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.infrastructure.persistence.CouponRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara cupons/s entre POST /coupon em laço (uma transação por cupom) e a criação em lote,
+ * ambos direto nos use cases sobre o H2. Executar com ./gradlew benchmark.
+ * O aquecimento passa pelos dois caminhos até o JIT compilá-los; com poucas chamadas, o create unitário ainda
+ * roda interpretado e o ganho do lote sai inflado. Mediana de ROUNDS rodadas.
+ * Falha abaixo da meta do pedido (TARGET_SPEEDUP); as medições e a lacuna estão no README.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "coupon.cache.enabled=false"
+})
+class CouponBatchBenchmark {
+
+    private static final int SINGLE_ROWS = 5_000;
+    private static final int BATCH_ROWS = 100_000;
+    private static final int ROUNDS = 3;
+    private static final double TARGET_SPEEDUP = 20.0;
+    private static final LocalDate FUTURE = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private CreateCouponBatchUseCase createCouponBatchUseCase;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    private int nextCode;
+
+    @Test
+    @DisplayName("Cupons por segundo: create unitário x criação em lote")
+    void compararCreateUnitarioComLote() {
+        warmUp();
+
+        double[] single = new double[ROUNDS];
+        double[] batch = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            couponRepository.deleteAllInBatch();
+            long start = System.nanoTime();
+            for (int i = 0; i < SINGLE_ROWS; i++) {
+                createCouponUseCase.execute(code(), "Unitário", 1.0, FUTURE, true);
+            }
+            single[round] = rate(SINGLE_ROWS, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            CreateCouponBatchUseCase.Result result = createCouponBatchUseCase.execute(items(BATCH_ROWS));
+            batch[round] = rate(BATCH_ROWS, System.nanoTime() - start);
+
+            assertEquals(BATCH_ROWS, result.created());
+            assertEquals(SINGLE_ROWS + BATCH_ROWS, couponRepository.count());
+            System.out.printf("rodada %d: create unitário %,.0f cupons/s | lote %,.0f cupons/s | ganho %.1fx%n",
+                    round + 1, single[round], batch[round], batch[round] / single[round]);
+        }
+
+        double speedup = median(batch) / median(single);
+        System.out.printf("mediana: create unitário %,.0f cupons/s | lote %,.0f cupons/s | ganho %.1fx%n",
+                median(single), median(batch), speedup);
+        assertTrue(speedup >= TARGET_SPEEDUP,
+                () -> String.format("Ganho do lote de %.1fx, abaixo da meta de %.0fx", speedup, TARGET_SPEEDUP));
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 10_000; i++) {
+            createCouponUseCase.execute(code(), "Aquecimento", 1.0, FUTURE, true);
+        }
+        for (int i = 0; i < 5; i++) {
+            createCouponBatchUseCase.execute(items(20_000));
+        }
+    }
+
+    private Iterator<CreateCouponBatchUseCase.Item> items(int count) {
+        int firstCode = nextCode;
+        nextCode += count;
+        return IntStream.range(0, count)
+                .mapToObj(i -> new CreateCouponBatchUseCase.Item(i, CouponCode.unpack(firstCode + i), "Lote", 1.0,
+                        FUTURE, true))
+                .iterator();
+    }
+
+    private String code() {
+        return CouponCode.unpack(nextCode++);
+    }
+
+    private static double rate(int rows, long nanos) {
+        return rows / (nanos / 1_000_000_000.0);
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
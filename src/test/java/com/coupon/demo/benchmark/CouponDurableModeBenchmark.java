@@ -0,0 +1,204 @@
+package com.coupon.demo.benchmark;
+
+import com.coupon.demo.CouponApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Modo em memória (jdbc:h2:mem) contra o modo durável (perfil durable: H2 em arquivo mapeado em memória e
+ * snapshot do cache) e contra H2 em arquivo comum: criações/s (POST /coupon) e leituras/s por código sorteado
+ * entre os criados, com CLIENTS clientes; as rodadas alternam os modos, para que o aquecimento da JVM não
+ * favoreça nenhum. Depois, no modo durável, reinícios alternados com e sem o snapshot do cache: tempo de subida
+ * e da primeira passada pelos HOT cupons quentes (GET /coupon/code/{code}), que com o cache frio vai ao banco
+ * em cada um. Executar com ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class CouponDurableModeBenchmark {
+
+    private static final int CLIENTS = 16;
+    private static final int HOT = 2_000;
+    private static final int HOT_PASSES = 5;
+    private static final int ROUNDS = 3;
+    private static final Duration WARM_UP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+    private static final AtomicLong CODES = new AtomicLong();
+
+    private final HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+    @Test
+    @DisplayName("Memória x arquivo x arquivo mapeado; reinício com e sem snapshot do cache")
+    void compararModos(@TempDir Path dir) throws Exception {
+        Path durable = dir.resolve("durable");
+        String[] mapped = {"--spring.profiles.active=durable", "--COUPON_DATA_DIR=" + durable};
+        Map<String, String[]> modes = new LinkedHashMap<>();
+        modes.put("memória", new String[]{"--spring.datasource.url=jdbc:h2:mem:durable-benchmark"});
+        modes.put("arquivo", new String[]{"--spring.profiles.active=durable", "--COUPON_DATA_DIR=" + dir.resolve("file"),
+                "--spring.datasource.url=jdbc:h2:file:" + dir.resolve("file") + "/coupondb;CACHE_SIZE=65536;DB_CLOSE_ON_EXIT=FALSE"});
+        modes.put("arquivo mapeado (durable)", mapped);
+
+        Map<String, long[][]> throughput = new LinkedHashMap<>();
+        modes.keySet().forEach(mode -> throughput.put(mode, new long[2][ROUNDS]));
+        List<String> hot = new ArrayList<>(HOT);
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Map.Entry<String, String[]> mode : modes.entrySet()) {
+                measure(mode.getValue(), mode.getValue() == mapped ? hot : null, throughput.get(mode.getKey()), round);
+            }
+        }
+        throughput.forEach((mode, counts) -> System.out.printf("%-26s mediana %,d criações/s, %,d leituras/s%n",
+                mode, median(counts[0]) / MEASURE.toSeconds(), median(counts[1]) / MEASURE.toSeconds()));
+
+        long[][] warmMillis = new long[2][ROUNDS];
+        long[][] coldMillis = new long[2][ROUNDS];
+        long rows = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            rows = restart(mapped, hot, warmMillis, round);
+            // Sem snapshot: um arquivo que ainda não existe (o desligamento grava nele, por isso um por rodada).
+            restart(concat(mapped, "--coupon.cache.snapshot-file=" + durable.resolve("cold-" + round + ".snapshot")),
+                    hot, coldMillis, round);
+        }
+        System.out.printf("reinício durável com %,d cupons preservados: com snapshot subida %,d ms e primeira passada"
+                        + " por %,d cupons quentes %,d ms | sem snapshot subida %,d ms e primeira passada %,d ms%n",
+                rows, median(warmMillis[0]), HOT, median(warmMillis[1]), median(coldMillis[0]), median(coldMillis[1]));
+    }
+
+    /**
+     * Criações e leituras em MEASURE num contexto novo. Com hot, a primeira rodada guarda os primeiros códigos
+     * criados; toda rodada os lê HOT_PASSES vezes antes de fechar, para que sejam as entradas mais quentes do
+     * snapshot gravado no desligamento.
+     */
+    private void measure(String[] args, List<String> hot, long[][] counts, int round) throws Exception {
+        try (ConfigurableApplicationContext context = start(args)) {
+            String base = base(context);
+            ConcurrentLinkedQueue<String> created = new ConcurrentLinkedQueue<>();
+            run(WARM_UP, () -> create(base, created));
+            counts[0][round] = run(MEASURE, () -> create(base, created));
+            List<String> codes = List.copyOf(created);
+            run(WARM_UP, () -> read(base, codes));
+            counts[1][round] = run(MEASURE, () -> read(base, codes));
+            if (hot != null) {
+                if (hot.isEmpty()) {
+                    hot.addAll(codes.subList(0, HOT));
+                }
+                for (int pass = 0; pass < HOT_PASSES; pass++) {
+                    hot.forEach(code -> read(base, code));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sobe, passa uma vez pelos cupons quentes e fecha (gravando o snapshot); retorna os cupons no banco.
+     */
+    private long restart(String[] args, List<String> hot, long[][] millis, int round) throws Exception {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start(args)) {
+            millis[0][round] = (System.nanoTime() - start) / 1_000_000;
+            String base = base(context);
+            long pass = System.nanoTime();
+            hot.forEach(code -> read(base, code));
+            millis[1][round] = (System.nanoTime() - pass) / 1_000_000;
+            return context.getBean(JdbcTemplate.class).queryForObject("select count(*) from coupons", Long.class);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String[] args) {
+        return new SpringApplicationBuilder(CouponApplication.class)
+                .run(concat(args, "--server.port=0", "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false", "--coupon.expiration.enabled=false",
+                        "--logging.level.root=WARN"));
+    }
+
+    /**
+     * CLIENTS clientes em laço fechado até o prazo; retorna quantas operações terminaram.
+     */
+    private static long run(Duration duration, Runnable operation) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        LongAdder count = new LongAdder();
+        List<Future<?>> clients = new ArrayList<>(CLIENTS);
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(users.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        operation.run();
+                        count.increment();
+                    }
+                }));
+            }
+        }
+        for (Future<?> future : clients) {
+            future.get();
+        }
+        return count.sum();
+    }
+
+    private void create(String base, ConcurrentLinkedQueue<String> created) {
+        String digits = Long.toString(CODES.incrementAndGet(), 36).toUpperCase(Locale.ROOT);
+        String code = "0".repeat(6 - digits.length()) + digits;
+        String body = "{\"code\":\"" + code + "\",\"description\":\"Durável\",\"discountValue\":1.0,\"expirationDate\":\""
+                + LocalDate.now().plusDays(30) + "\",\"published\":true}";
+        send(HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), 201);
+        created.add(code);
+    }
+
+    private void read(String base, List<String> codes) {
+        read(base, codes.get(ThreadLocalRandom.current().nextInt(codes.size())));
+    }
+
+    private void read(String base, String code) {
+        send(HttpRequest.newBuilder(URI.create(base + "/code/" + code)).GET().build(), 200);
+    }
+
+    private void send(HttpRequest request, int status) {
+        try {
+            assertEquals(status, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String base(ConfigurableApplicationContext context) {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/coupon";
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static String[] concat(String[] first, String... second) {
+        return Stream.concat(Arrays.stream(first), Arrays.stream(second)).toArray(String[]::new);
+    }
+}
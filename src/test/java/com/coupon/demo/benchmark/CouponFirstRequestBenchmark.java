@@ -0,0 +1,223 @@
+package com.coupon.demo.benchmark;
+
+import com.coupon.demo.CouponApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tempo do início do processo até a primeira resposta 200 de GET /coupon/{id}, como um pod novo do autoscaler:
+ * perfil default (antes), perfil prod, prod com AOT (-Dspring.aot.enabled=true) e prod com AOT e arquivo
+ * AppCDS gerado por uma execução de treino (-XX:ArchiveClassesAtExit com -Dspring.context.exit=onRefresh),
+ * os mesmos passos do Dockerfile. Cada execução é um processo java novo sobre o mesmo banco H2 em arquivo.
+ * Os modos AOT só entram com as classes do processAot no classpath: ./gradlew benchmark -Paot.
+ * Os diretórios de classes viram jars, porque o CDS não arquiva classes lidas de diretórios.
+ */
+@Tag("benchmark")
+class CouponFirstRequestBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final Duration BOOT_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    @DisplayName("Primeira requisição: default x prod x AOT x AOT + CDS")
+    void compararPrimeiraRequisicao(@TempDir Path dir) throws Exception {
+        String classpath = jarredClasspath(dir);
+        String database = "--spring.datasource.url=jdbc:h2:file:" + dir.resolve("coupons");
+        String id = seed(classpath, database);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default (antes)", List.of());
+        modes.put("prod", List.of("-Dspring.profiles.active=prod"));
+        if (aotProcessed()) {
+            List<String> aot = List.of("-Dspring.profiles.active=prod", "-Dspring.aot.enabled=true");
+            modes.put("prod + AOT", aot);
+            Path archive = dir.resolve("app.jsa");
+            train(classpath, database, aot, archive);
+            modes.put("prod + AOT + CDS", concat(aot, List.of("-XX:SharedArchiveFile=" + archive)));
+        }
+
+        Map<String, long[]> millis = new LinkedHashMap<>();
+        modes.keySet().forEach(mode -> millis.put(mode, new long[ROUNDS]));
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+                millis.get(mode.getKey())[round] = firstRequest(classpath, database, mode.getValue(), id);
+            }
+        }
+        millis.forEach((mode, times) -> {
+            long[] sorted = times.clone();
+            Arrays.sort(sorted);
+            System.out.printf("%-18s mediana %,d ms até o primeiro 200 (mín %,d, máx %,d)%n",
+                    mode, sorted[ROUNDS / 2], sorted[0], sorted[ROUNDS - 1]);
+        });
+    }
+
+    /**
+     * Sobe o processo, espera o primeiro 200 do GET e o encerra; retorna o tempo desde o start do processo.
+     */
+    private long firstRequest(String classpath, String database, List<String> jvmOptions, String id)
+            throws Exception {
+        int port = freePort();
+        long start = System.nanoTime();
+        Process process = launch(classpath, jvmOptions, database, "--server.port=" + port);
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/coupon/" + id))
+                    .GET().build();
+            long deadline = start + BOOT_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (ConnectException e) {
+                    assertTrue(process.isAlive(), "A aplicação terminou antes de responder");
+                }
+                Thread.sleep(5);
+            }
+            throw new AssertionError("Sem resposta 200 em " + BOOT_TIMEOUT);
+        } finally {
+            stop(process);
+        }
+    }
+
+    /**
+     * Cria o cupom lido pelas execuções medidas (e o esquema, pelas migrações).
+     */
+    private String seed(String classpath, String database) throws Exception {
+        int port = freePort();
+        Process process = launch(classpath, List.of(), database, "--server.port=" + port);
+        try {
+            String body = "{\"code\":\"BOOT01\",\"description\":\"Subida\",\"discountValue\":1.0,\"expirationDate\":\""
+                    + LocalDate.now().plusDays(30) + "\",\"published\":true}";
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/coupon"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+            long deadline = System.nanoTime() + BOOT_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                try {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    assertEquals(201, response.statusCode(), response.body());
+                    return response.body().replaceAll(".*\"id\":\"([^\"]+)\".*", "$1");
+                } catch (ConnectException e) {
+                    Thread.sleep(50);
+                }
+            }
+            throw new AssertionError("Sem resposta em " + BOOT_TIMEOUT);
+        } finally {
+            stop(process);
+        }
+    }
+
+    /**
+     * Execução de treino: sobe o contexto até o refresh e grava no arquivo as classes carregadas.
+     */
+    private static void train(String classpath, String database, List<String> jvmOptions, Path archive)
+            throws Exception {
+        Process process = launch(classpath, concat(jvmOptions,
+                List.of("-XX:ArchiveClassesAtExit=" + archive, "-Dspring.context.exit=onRefresh")), database);
+        assertEquals(0, process.waitFor());
+        assertTrue(Files.exists(archive), "Arquivo CDS não gerado");
+    }
+
+    private static Process launch(String classpath, List<String> jvmOptions, String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", classpath, CouponApplication.class.getName(),
+                "--coupon.expiration.enabled=false", "--logging.level.root=WARN"));
+        command.addAll(List.of(args));
+        return new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        process.waitFor();
+    }
+
+    private static boolean aotProcessed() {
+        try {
+            Class.forName(CouponApplication.class.getName() + "__ApplicationContextInitializer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Classpath do teste com cada diretório empacotado num jar, na mesma ordem. As entradas de diretório
+     * entram no jar: sem elas, a varredura de componentes e de migrações não encontra nada.
+     */
+    private static String jarredClasspath(Path dir) throws IOException {
+        List<String> entries = new ArrayList<>();
+        int index = 0;
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Paths.get(entry);
+            if (Files.isDirectory(path)) {
+                Path jar = dir.resolve("classes-" + index++ + ".jar");
+                jar(path, jar);
+                entries.add(jar.toString());
+            } else if (Files.exists(path)) {
+                entries.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void jar(Path source, Path target) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(target));
+             Stream<Path> files = Files.walk(source)) {
+            for (Path file : (Iterable<Path>) files.filter(file -> !file.equals(source))::iterator) {
+                String name = source.relativize(file).toString().replace(File.separatorChar, '/');
+                if (Files.isDirectory(file)) {
+                    out.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    out.putNextEntry(new JarEntry(name));
+                    Files.copy(file, (OutputStream) out);
+                }
+                out.closeEntry();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        return Stream.concat(first.stream(), second.stream()).toList();
+    }
+}
@@ -0,0 +1,186 @@
+package com.coupon.demo.benchmark;
+
+import com.coupon.demo.CouponApplication;
+import com.coupon.demo.infrastructure.threads.VirtualThreadPinningMonitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Carga HTTP em GET /coupon/{id} (sem cache, sempre no banco) com o Tomcat em threads de plataforma
+ * e em virtual threads. Cada comando SQL espera LATENCY segurando a conexão, para simular um banco na rede,
+ * e o pool do Tomcat é menor que o de conexões: é o cenário em que as threads de plataforma
+ * esgotam antes do CPU. Executar com ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class CouponLoadBenchmark {
+
+    private static final Duration LATENCY = Duration.ofMillis(10);
+    private static final int CLIENTS = 400;
+    private static final int TOMCAT_THREADS = 50;
+    private static final int POOL_SIZE = 100;
+    private static final Duration WARM_UP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+
+    @Test
+    @DisplayName("Requisições por segundo e p99: threads de plataforma x virtual threads")
+    void compararPlataformaComVirtual() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("plataforma: %,.0f req/s, p99 %.1f ms | virtual: %,.0f req/s, p99 %.1f ms, pinning: %d%n",
+                platform.throughput, platform.p99Millis, virtual.throughput, virtual.p99Millis, virtual.pinned);
+        assertEquals(0, platform.errors);
+        assertEquals(0, virtual.errors);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CouponApplication.class, NetworkLatency.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "coupon.cache.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+             HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI coupon = URI.create("http://localhost:" + port + "/coupon/" + createCoupon(client, port));
+
+            load(client, coupon, WARM_UP);
+            Load measured = load(client, coupon, MEASURE);
+
+            long pinned = context.getBeanProvider(VirtualThreadPinningMonitor.class)
+                    .stream().mapToLong(VirtualThreadPinningMonitor::pinnedCount).sum();
+            return new Result(measured.count() / (double) MEASURE.toSeconds(),
+                    percentile(measured.latencies(), 0.99) / 1_000_000.0, measured.errors(), pinned);
+        }
+    }
+
+    private static String createCoupon(HttpClient client, int port) throws Exception {
+        String body = "{\"code\":\"LOAD01\",\"description\":\"Carga\",\"discountValue\":1.0,\"expirationDate\":\""
+                + LocalDate.now().plusDays(30) + "\",\"published\":true}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/coupon"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        return response.body().replaceAll(".*\"id\":\"([^\"]+)\".*", "$1");
+    }
+
+    /**
+     * CLIENTS usuários em laço fechado até o prazo; cada um guarda as próprias latências.
+     */
+    private static Load load(HttpClient client, URI uri, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        LongAdder errors = new LongAdder();
+        List<Future<long[]>> clients = new ArrayList<>(CLIENTS);
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(users.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                        if (n == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, n * 2);
+                        }
+                        latencies[n++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, n);
+                }));
+            }
+        }
+        List<long[]> all = new ArrayList<>(CLIENTS);
+        for (Future<long[]> future : clients) {
+            all.add(future.get());
+        }
+        long[] latencies = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Load(latencies.length, latencies, errors.sum());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private record Load(long count, long[] latencies, long errors) {
+    }
+
+    private record Result(double throughput, double p99Millis, long errors, long pinned) {
+    }
+
+    /**
+     * Envolve o DataSource para que cada comando SQL espere LATENCY segurando a conexão,
+     * como a ida e volta de um banco remoto.
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class NetworkLatency {
+
+        @Bean
+        static BeanPostProcessor slowNetworkDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return slow(super.getConnection());
+                        }
+                    } : bean;
+                }
+            };
+        }
+
+        private static Connection slow(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            Thread.sleep(LATENCY);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.coupon.demo.benchmark;
+
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.infrastructure.memory.OffHeapCouponAdapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cupons em mapas no heap (um objeto Coupon por cupom, indexado por id e por código, como um cache) contra o
+ * OffHeapCouponAdapter, com COMPARED cupons: memória ocupada (heap após um GC completo; no off-heap, também os
+ * buffers diretos), duração de um GC completo com os cupons vivos e leituras/s por código sorteado. As rodadas
+ * alternam os modos, para que o aquecimento da JVM não favoreça nenhum. Depois, o off-heap sozinho com LARGE
+ * cupons, que não caberiam no heap de 1 GB do benchmark como objetos. Executar com ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class CouponOffHeapBenchmark {
+
+    private static final int COMPARED = 1_000_000;
+    private static final int LARGE = 10_000_000;
+    private static final int BLOCK = 10_000;
+    private static final int LOOKUPS = 2_000_000;
+    private static final int ROUNDS = 3;
+    /**
+     * Alvo da réplica na borda: 10 milhões de cupons em algumas centenas de MB (registros, textos e índices).
+     */
+    private static final long LARGE_TARGET_BYTES = 400L << 20;
+    private static final LocalDate EXPIRATION = LocalDate.now().plusDays(30);
+
+    @Test
+    @DisplayName("Heap x off-heap: memória, GC completo e leituras por código; off-heap com 10 milhões")
+    void compararArmazenamentos() {
+        long[][] heap = new long[3][ROUNDS];
+        long[][] offHeap = new long[3][ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            measureHeap(heap, round);
+            measureOffHeap(offHeap, round);
+        }
+        System.out.printf("heap     (%,d cupons): mediana %,d MB no heap, GC completo %,d ms, %,d leituras/s%n",
+                COMPARED, median(heap[0]) >> 20, median(heap[1]), median(heap[2]));
+        System.out.printf("off-heap (%,d cupons): mediana %,d MB (heap + diretos), GC completo %,d ms, %,d leituras/s%n",
+                COMPARED, median(offHeap[0]) >> 20, median(offHeap[1]), median(offHeap[2]));
+
+        long before = usedHeap();
+        long start = System.nanoTime();
+        OffHeapCouponAdapter adapter = new OffHeapCouponAdapter(LARGE);
+        load(LARGE, adapter::saveAll);
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+        long heapBytes = usedHeap() - before;
+        long gcMillis = fullGc();
+        long reads = reads(code -> adapter.findByCode(code).orElseThrow(), LARGE);
+        System.out.printf("off-heap (%,d cupons): carga %,d ms; %,d MB diretos (%,d MB do armazenamento),"
+                        + " índices %,d MB, heap +%,d MB; GC completo %,d ms; %,d leituras/s%n",
+                LARGE, loadMillis, directBytes() >> 20, adapter.offHeapBytes() >> 20, adapter.indexBytes() >> 20,
+                heapBytes >> 20, gcMillis, reads);
+        assertEquals(LARGE, adapter.size());
+        long storeBytes = adapter.offHeapBytes() + adapter.indexBytes();
+        assertTrue(storeBytes < LARGE_TARGET_BYTES, "10 milhões de cupons ocupam " + (storeBytes >> 20) + " MB");
+    }
+
+    private static void measureHeap(long[][] results, int round) {
+        long before = usedHeap();
+        Map<UUID, Coupon> byId = new ConcurrentHashMap<>(COMPARED * 2);
+        Map<String, UUID> byCode = new ConcurrentHashMap<>(COMPARED * 2);
+        load(COMPARED, block -> block.forEach(coupon -> {
+            Coupon saved = Coupon.reconstitute(UUID.randomUUID(), coupon.getCode(), coupon.getDescription(),
+                    coupon.getDiscountValue(), coupon.getExpirationDate(), coupon.getStatus(), coupon.isPublished(),
+                    coupon.getMaxUses(), 0, 0, LocalDateTime.now());
+            byId.put(saved.getId(), saved);
+            byCode.put(saved.getCode(), saved.getId());
+        }));
+        results[1][round] = fullGc();
+        results[0][round] = usedHeap() - before;
+        results[2][round] = reads(code -> byId.get(byCode.get(code)), COMPARED);
+        assertEquals(COMPARED, byId.size());
+    }
+
+    private static void measureOffHeap(long[][] results, int round) {
+        long before = usedHeap();
+        OffHeapCouponAdapter adapter = new OffHeapCouponAdapter(COMPARED);
+        load(COMPARED, adapter::saveAll);
+        results[1][round] = fullGc();
+        results[0][round] = usedHeap() - before + adapter.offHeapBytes();
+        results[2][round] = reads(code -> adapter.findByCode(code).orElseThrow(), COMPARED);
+        assertEquals(COMPARED, adapter.size());
+    }
+
+    /**
+     * Cria count cupons com códigos sequenciais e entrega em blocos de BLOCK.
+     */
+    private static void load(int count, Consumer<List<Coupon>> sink) {
+        List<Coupon> block = new ArrayList<>(BLOCK);
+        for (int i = 0; i < count; i++) {
+            block.add(Coupon.create(CouponCode.unpack(i), "Cupom " + i, 1.0, EXPIRATION, true));
+            if (block.size() == BLOCK) {
+                sink.accept(block);
+                block = new ArrayList<>(BLOCK);
+            }
+        }
+        if (!block.isEmpty()) {
+            sink.accept(block);
+        }
+    }
+
+    /**
+     * LOOKUPS leituras por código sorteado entre os count primeiros; leituras por segundo.
+     */
+    private static long reads(Function<String, Object> lookup, int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < LOOKUPS / 10; i++) {
+            lookup.apply(CouponCode.unpack(random.nextInt(count)));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookup.apply(CouponCode.unpack(random.nextInt(count)));
+        }
+        return LOOKUPS * 1_000_000_000L / (System.nanoTime() - start);
+    }
+
+    /**
+     * Duração de um GC completo (System.gc), pelo tempo acumulado dos coletores.
+     */
+    private static long fullGc() {
+        long before = gcMillis();
+        System.gc();
+        return gcMillis() - before;
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long directBytes() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,142 @@
+package com.coupon.demo.benchmark;
+
+import com.coupon.demo.CouponApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Vazão HTTP com o perfil default (SQL no stdout, formatado) e com o perfil prod (sem SQL no log, cache de
+ * comandos do driver, lotes ordenados, pool fixo). Cada cliente repete criar cupom, buscar pelo código e listar
+ * uma página, com o cache de leitura desligado para que toda requisição vá ao banco. O stdout da aplicação vai
+ * para um arquivo durante a carga, como o log de um contêiner. Executar com ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class CouponProfileLoadBenchmark {
+
+    private static final int CLIENTS = 32;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration MEASURE = Duration.ofSeconds(15);
+    private static final AtomicLong CODES = new AtomicLong();
+
+    @Test
+    @DisplayName("Requisições por segundo: perfil default x perfil prod")
+    void compararPerfis(@TempDir Path dir) throws Exception {
+        Result defaults = run("default", dir);
+        Result prod = run("prod", dir);
+
+        System.out.printf("default: %,.0f req/s (%,d bytes de log) | prod: %,.0f req/s (%,d bytes de log)%n",
+                defaults.throughput, defaults.logBytes, prod.throughput, prod.logBytes);
+        assertEquals(0, defaults.errors);
+        assertEquals(0, prod.errors);
+    }
+
+    private Result run(String profile, Path dir) throws Exception {
+        PrintStream stdout = System.out;
+        Path log = dir.resolve(profile + ".log");
+        try (PrintStream file = new PrintStream(new FileOutputStream(log.toFile()), true);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(CouponApplication.class)
+                     .profiles(profile)
+                     .run("--server.port=0",
+                             "--spring.datasource.url=jdbc:h2:mem:profile-" + profile,
+                             "--coupon.cache.enabled=false",
+                             "--coupon.expiration.enabled=false",
+                             "--logging.level.root=WARN");
+             HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.setOut(file);
+            try {
+                load(client, port, WARM_UP);
+                Load measured = load(client, port, MEASURE);
+                return new Result(measured.count() / (double) MEASURE.toSeconds(), measured.errors(),
+                        log.toFile().length());
+            } finally {
+                System.setOut(stdout);
+            }
+        }
+    }
+
+    /**
+     * CLIENTS usuários em laço fechado até o prazo; cada volta são três requisições.
+     */
+    private static Load load(HttpClient client, int port, Duration duration) throws Exception {
+        String base = "http://localhost:" + port + "/coupon";
+        HttpRequest page = HttpRequest.newBuilder(URI.create(base + "?status=ACTIVE&limit=20")).GET().build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        LongAdder requests = new LongAdder();
+        LongAdder errors = new LongAdder();
+        List<Future<?>> clients = new ArrayList<>(CLIENTS);
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(users.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String code = nextCode();
+                        expect(201, client.send(create(base, code), HttpResponse.BodyHandlers.discarding()), errors);
+                        expect(200, client.send(HttpRequest.newBuilder(URI.create(base + "/code/" + code)).GET().build(),
+                                HttpResponse.BodyHandlers.discarding()), errors);
+                        expect(200, client.send(page, HttpResponse.BodyHandlers.discarding()), errors);
+                        requests.add(3);
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> future : clients) {
+            future.get();
+        }
+        return new Load(requests.sum(), errors.sum());
+    }
+
+    private static HttpRequest create(String base, String code) {
+        String body = "{\"code\":\"" + code + "\",\"description\":\"Carga\",\"discountValue\":1.0,\"expirationDate\":\""
+                + LocalDate.now().plusDays(30) + "\",\"published\":true}";
+        return HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    /**
+     * Códigos distintos de 6 caracteres, em base 36.
+     */
+    private static String nextCode() {
+        String digits = Long.toString(CODES.incrementAndGet(), 36).toUpperCase(Locale.ROOT);
+        return "0".repeat(6 - digits.length()) + digits;
+    }
+
+    private static void expect(int status, HttpResponse<?> response, LongAdder errors) {
+        if (response.statusCode() != status) {
+            errors.increment();
+        }
+    }
+
+    private record Load(long count, long errors) {
+    }
+
+    private record Result(double throughput, long errors, long logBytes) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.coupon.demo.benchmark;
+
+import com.coupon.demo.CouponApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Subida da aplicação (contexto completo, Tomcat incluído) sobre um banco que já tem o esquema e ROWS cupons,
+ * como num reinício: ddl-auto=update (introspecção do esquema e ALTERs a cada subida) contra Flyway + validate
+ * e Flyway + none. Conta as idas ao banco durante a subida (comandos e consultas de metadados) e mede o tempo
+ * com LATENCY por ida, como num banco na rede; num H2 embutido as idas são quase de graça.
+ * As rodadas alternam os modos, para que o aquecimento da JVM não favoreça nenhum. Executar com ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class CouponStartupBenchmark {
+
+    private static final Duration LATENCY = Duration.ofMillis(2);
+    private static final int ROWS = 200_000;
+    private static final int ROUNDS = 5;
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+    private static final Map<String, String[]> MODES = new LinkedHashMap<>();
+
+    static {
+        MODES.put("ddl-auto=update", new String[]{"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=update"});
+        MODES.put("flyway + validate", new String[]{"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"});
+        MODES.put("flyway + none", new String[]{"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=none"});
+    }
+
+    @Test
+    @DisplayName("Subida com ddl-auto=update x migrações Flyway")
+    void compararSubida() {
+        Map<String, long[]> millis = new LinkedHashMap<>();
+        Map<String, Long> roundTrips = new LinkedHashMap<>();
+        MODES.forEach((mode, properties) -> {
+            try (ConfigurableApplicationContext context = start(mode, properties)) {
+                seed(context.getBean(JdbcTemplate.class));
+            }
+            millis.put(mode, new long[ROUNDS]);
+        });
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Map.Entry<String, String[]> mode : MODES.entrySet()) {
+                ROUND_TRIPS.set(0);
+                long start = System.nanoTime();
+                start(mode.getKey(), mode.getValue()).close();
+                millis.get(mode.getKey())[round] = (System.nanoTime() - start) / 1_000_000;
+                roundTrips.put(mode.getKey(), ROUND_TRIPS.get());
+            }
+        }
+        millis.forEach((mode, times) -> {
+            long[] sorted = times.clone();
+            Arrays.sort(sorted);
+            System.out.printf("%-18s mediana %,d ms (mín %,d, máx %,d), %,d idas ao banco, com %,d cupons%n",
+                    mode, sorted[ROUNDS / 2], sorted[0], sorted[ROUNDS - 1], roundTrips.get(mode), ROWS);
+        });
+    }
+
+    /**
+     * Cada modo tem o próprio banco em memória, mantido entre as subidas (DB_CLOSE_DELAY=-1).
+     * Como argumentos de linha de comando, para valer sobre o application.properties.
+     */
+    private static ConfigurableApplicationContext start(String mode, String[] properties) {
+        String[] common = {
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:startup-" + mode.replaceAll("\\W", "") + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "coupon.expiration.enabled=false",
+                "logging.level.root=WARN"
+        };
+        return new SpringApplicationBuilder(CouponApplication.class, NetworkRoundTrips.class)
+                .run(Stream.concat(Arrays.stream(common), Arrays.stream(properties))
+                        .map(property -> "--" + property)
+                        .toArray(String[]::new));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                insert into coupons (id, code, description, discount_value, expiration_date, status, published,
+                                     used_count, version, updated_at)
+                select random_uuid(), lpad(cast(x as varchar), 6, '0'), 'Cupom ' || x, 10.0,
+                       localtimestamp + x * interval '1' minute, 'ACTIVE', true, 0, 0, localtimestamp
+                from system_range(1, ?)""", ROWS);
+    }
+
+    /**
+     * Envolve o DataSource para que cada ida ao banco (execução de comando e consulta de metadados que devolve
+     * um ResultSet) seja contada e espere LATENCY, como a ida e volta de um banco remoto.
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class NetworkRoundTrips {
+
+        @Bean
+        static BeanPostProcessor roundTripDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return wrap(super.getConnection(), Connection.class);
+                        }
+                    } : bean;
+                }
+            };
+        }
+
+        /**
+         * Conexões, comandos e metadados são envolvidos para que as execuções dos objetos criados por eles
+         * também sejam contadas.
+         */
+        @SuppressWarnings("unchecked")
+        private static <T> T wrap(T target, Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                boolean roundTrip = method.getName().startsWith("execute")
+                        || (target instanceof DatabaseMetaData && ResultSet.class.equals(method.getReturnType()));
+                if (roundTrip) {
+                    ROUND_TRIPS.incrementAndGet();
+                    Thread.sleep(LATENCY);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof DatabaseMetaData metaData) {
+                    return wrap(metaData, DatabaseMetaData.class);
+                }
+                if (result instanceof Statement statement && target instanceof Connection) {
+                    return wrap(statement, (Class<Statement>) method.getReturnType());
+                }
+                return result;
+            });
+        }
+    }
+}
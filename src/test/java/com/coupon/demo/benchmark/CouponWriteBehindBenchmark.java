@@ -0,0 +1,145 @@
+package com.coupon.demo.benchmark;
+
+import com.coupon.demo.CouponApplication;
+import com.coupon.demo.application.usecase.CreateCouponUseCase;
+import com.coupon.demo.domain.CouponCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cupons/s de CreateCouponUseCase com CLIENTS chamadores concorrentes, sem e com write-behind.
+ * Cada commit espera COMMIT_LATENCY, como o fsync de um banco durável: é o custo que o group commit
+ * divide entre os cupons do grupo. Executar com ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class CouponWriteBehindBenchmark {
+
+    private static final Duration COMMIT_LATENCY = Duration.ofMillis(2);
+    private static final int CLIENTS = 64;
+    private static final Duration WARM_UP = Duration.ofSeconds(2);
+    private static final Duration MEASURE = Duration.ofSeconds(8);
+    private static final LocalDate FUTURE = LocalDate.now().plusDays(30);
+
+    @Test
+    @DisplayName("Cupons por segundo com criações concorrentes: transação por cupom x group commit")
+    void compararTransacaoPorCupomComGroupCommit() throws Exception {
+        Result direct = run(false);
+        Result grouped = run(true);
+
+        System.out.printf("transação por cupom: %,.0f cupons/s | group commit: %,.0f cupons/s | ganho: %.1fx%n",
+                direct.throughput, grouped.throughput, grouped.throughput / direct.throughput);
+        assertEquals(0, direct.errors);
+        assertEquals(0, grouped.errors);
+    }
+
+    private Result run(boolean writeBehind) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CouponApplication.class, DurableCommit.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:write-behind-" + writeBehind,
+                        "spring.datasource.hikari.maximum-pool-size=" + CLIENTS,
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "coupon.write-behind.enabled=" + writeBehind,
+                        "logging.level.root=WARN")
+                .run()) {
+            CreateCouponUseCase useCase = context.getBean(CreateCouponUseCase.class);
+            AtomicInteger codes = new AtomicInteger();
+            create(useCase, codes, WARM_UP);
+            int before = codes.get();
+            long errors = create(useCase, codes, MEASURE);
+            return new Result((codes.get() - before) / (double) MEASURE.toSeconds(), errors);
+        }
+    }
+
+    /**
+     * CLIENTS chamadores em laço fechado até o prazo; retorna quantas criações falharam.
+     */
+    private static long create(CreateCouponUseCase useCase, AtomicInteger codes, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Long>> clients = new ArrayList<>(CLIENTS);
+        try (ExecutorService executor = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(executor.submit(() -> {
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            useCase.execute(CouponCode.unpack(codes.incrementAndGet()), "Carga", 1.0, FUTURE, true);
+                        } catch (RuntimeException e) {
+                            errors++;
+                        }
+                    }
+                    return errors;
+                }));
+            }
+        }
+        long errors = 0;
+        for (Future<Long> client : clients) {
+            errors += client.get();
+        }
+        return errors;
+    }
+
+    private record Result(double throughput, long errors) {
+    }
+
+    /**
+     * Envolve o DataSource para que cada commit espere COMMIT_LATENCY, como um fsync.
+     */
+    @Configuration(proxyBeanMethods = false)
+    static class DurableCommit {
+
+        @Bean
+        static BeanPostProcessor durableCommitDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return durable(super.getConnection());
+                        }
+                    } : bean;
+                }
+            };
+        }
+
+        private static Connection durable(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("commit")) {
+                            Thread.sleep(COMMIT_LATENCY);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.coupon.demo.controller;
+
+import com.coupon.demo.BaseIT;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CouponBatchIT extends BaseIT {
+
+    private static final String FUTURE = LocalDate.now().plusDays(30).toString();
+
+    @Test
+    @DisplayName("Lote em array JSON: cria os válidos e reporta erro de cada item rejeitado")
+    void deveCriarLoteEmArrayJson() throws Exception {
+        String body = "["
+                + item("LOTE01") + ","
+                + item("ABC") + ","
+                + "{\"code\":\"LOTE02\",\"description\":\"x\",\"discountValue\":1.0,\"expirationDate\":\"31/12/2099\"},"
+                + item("LOTE03")
+                + "]";
+
+        perform(post("/coupon/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[1].index").value(2));
+
+        assertEquals(2, couponRepository.count());
+    }
+
+    @Test
+    @DisplayName("Lote NDJSON: código duplicado rejeita apenas o item repetido")
+    void deveCriarLoteNdjsonIsolandoDuplicado() throws Exception {
+        String body = item("NDJ001") + "\n" + item("NDJ002") + "\n" + item("ndj-001") + "\n";
+
+        perform(post("/coupon/batch").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(2));
+
+        assertEquals(2, couponRepository.count());
+    }
+
+    private static String item(String code) {
+        return "{\"code\":\"" + code + "\",\"description\":\"Lote\",\"discountValue\":1.0,"
+                + "\"expirationDate\":\"" + FUTURE + "\",\"published\":true}";
+    }
+}
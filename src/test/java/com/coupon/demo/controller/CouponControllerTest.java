@@ -1,32 +1,54 @@
 package com.coupon.demo.controller;
 
 import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
 import com.coupon.demo.domain.CouponStatus;
 import com.coupon.demo.dto.request.CouponRequestDto;
 import com.coupon.demo.dto.response.CouponResponseDto;
 import com.coupon.demo.infrastructure.web.CouponController;
+import com.coupon.demo.infrastructure.web.CouponJsonCache;
 import com.coupon.demo.infrastructure.web.CouponWebMapper;
+import com.coupon.demo.application.usecase.CreateCouponBatchUseCase;
 import com.coupon.demo.application.usecase.CreateCouponUseCase;
 import com.coupon.demo.application.usecase.DeleteCouponUseCase;
+import com.coupon.demo.application.usecase.ExportCouponsUseCase;
+import com.coupon.demo.application.usecase.GetCouponByCodeUseCase;
 import com.coupon.demo.application.usecase.GetCouponUseCase;
+import com.coupon.demo.application.usecase.GetCouponVersionUseCase;
+import com.coupon.demo.application.usecase.ListCouponsUseCase;
+import com.coupon.demo.application.usecase.RedeemCouponUseCase;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,15 +64,41 @@ class CouponControllerTest {
     @MockBean
     private CreateCouponUseCase createCouponUseCase;
 
+    @MockBean
+    private CreateCouponBatchUseCase createCouponBatchUseCase;
+
     @MockBean
     private DeleteCouponUseCase deleteCouponUseCase;
 
     @MockBean
     private GetCouponUseCase getCouponUseCase;
 
+    @MockBean
+    private GetCouponByCodeUseCase getCouponByCodeUseCase;
+
+    @MockBean
+    private GetCouponVersionUseCase getCouponVersionUseCase;
+
+    @MockBean
+    private ListCouponsUseCase listCouponsUseCase;
+
+    @MockBean
+    private ExportCouponsUseCase exportCouponsUseCase;
+
+    @MockBean
+    private RedeemCouponUseCase redeemCouponUseCase;
+
     @MockBean
     private CouponWebMapper webMapper;
 
+    @MockBean
+    private CouponJsonCache jsonCache;
+
+    @BeforeEach
+    void setupJsonCache() {
+        when(jsonCache.cacheControl()).thenReturn(CacheControl.noCache());
+    }
+
     @Test
     @DisplayName("Deve criar um cupom com sucesso e retornar status 201")
     void deveCriarCupomComSucesso() throws Exception {
@@ -58,7 +106,7 @@ class CouponControllerTest {
         requestDto.setCode("NATAL2");
         requestDto.setDescription("Desconto de Natal");
         requestDto.setDiscountValue(10.0);
-        requestDto.setExpirationDate("2026-12-25");
+        requestDto.setExpirationDate(LocalDate.now().plusDays(10));
 
         UUID id = UUID.randomUUID();
         Coupon created = Coupon.reconstitute(id, "NATAL2", "Desconto de Natal", 10.0,
@@ -70,10 +118,11 @@ class CouponControllerTest {
         responseDto.setStatus(CouponStatus.ACTIVE);
         responseDto.setExpirationDate(LocalDate.now().plusDays(10).toString());
 
-        when(createCouponUseCase.execute(any(), any(), any(), any(), anyBoolean())).thenReturn(created);
+        when(createCouponUseCase.executeAsync(any(), any(), any(), any(), anyBoolean(), any()))
+                .thenReturn(CompletableFuture.completedFuture(created));
         when(webMapper.toResponseDto(any(Coupon.class))).thenReturn(responseDto);
 
-        mockMvc.perform(post("/coupon")
+        perform(post("/coupon")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestDto)))
                 .andExpect(status().isCreated())
@@ -87,7 +136,7 @@ class CouponControllerTest {
     void naoDeveCriarCupomComDadosInvalidos() throws Exception {
         CouponRequestDto requestDto = new CouponRequestDto();
 
-        mockMvc.perform(post("/coupon")
+        perform(post("/coupon")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestDto)))
                 .andExpect(status().isBadRequest());
@@ -105,15 +154,77 @@ class CouponControllerTest {
         responseDto.setCode("TEST1");
         responseDto.setDescription("Teste de busca");
 
-        when(getCouponUseCase.execute(eq(UUID.fromString(id)))).thenReturn(coupon);
+        when(getCouponUseCase.executeAsync(eq(UUID.fromString(id)))).thenReturn(CompletableFuture.completedFuture(coupon));
         when(webMapper.toResponseDto(any(Coupon.class))).thenReturn(responseDto);
 
-        mockMvc.perform(get("/coupon/{id}", id).contentType(MediaType.APPLICATION_JSON))
+        perform(get("/coupon/{id}", id).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
                 .andExpect(jsonPath("$.id").value(id))
                 .andExpect(jsonPath("$.code").value("TEST1"));
     }
 
+    @Test
+    @DisplayName("Deve servir o corpo guardado e responder 304 para If-None-Match igual, sem chamar o use case")
+    void deveServirCorpoGuardado() throws Exception {
+        UUID id = UUID.randomUUID();
+        CouponJsonCache.Entry entry = new CouponJsonCache.Entry(
+                ("{\"id\":\"" + id + "\",\"code\":\"CACHE1\"}").getBytes(StandardCharsets.UTF_8), "\"4\"", null,
+                CouponCode.pack("CACHE1"));
+        when(jsonCache.get(id)).thenReturn(entry);
+
+        perform(get("/coupon/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, entry.etag()))
+                .andExpect(jsonPath("$.code").value("CACHE1"));
+        perform(get("/coupon/{id}", id).header(HttpHeaders.IF_NONE_MATCH, entry.etag()))
+                .andExpect(status().isNotModified());
+
+        verify(getCouponUseCase, never()).executeAsync(any());
+        verify(getCouponVersionUseCase, never()).executeAsync(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar um cupom pelo código e retornar status 200")
+    void deveBuscarCupomPorCodigo() throws Exception {
+        String id = UUID.randomUUID().toString();
+        Coupon coupon = Coupon.reconstitute(UUID.fromString(id), "ABC123", "Teste de busca", 1.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.ACTIVE, true);
+
+        CouponResponseDto responseDto = new CouponResponseDto();
+        responseDto.setId(id);
+        responseDto.setCode("ABC123");
+
+        when(getCouponByCodeUseCase.executeAsync(eq("ABC123"))).thenReturn(CompletableFuture.completedFuture(coupon));
+        when(webMapper.toResponseDto(any(Coupon.class))).thenReturn(responseDto);
+
+        perform(get("/coupon/code/{code}", "ABC123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.code").value("ABC123"));
+        verify(jsonCache).put(eq(UUID.fromString(id)), any(CouponJsonCache.Entry.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve servir pelo código o corpo guardado e responder 304 para If-None-Match igual")
+    void deveServirCorpoGuardadoPorCodigo() throws Exception {
+        CouponJsonCache.Entry entry = new CouponJsonCache.Entry(
+                "{\"code\":\"CACHE2\"}".getBytes(StandardCharsets.UTF_8), "\"2\"", null, CouponCode.pack("CACHE2"));
+        when(jsonCache.getByCode("CACHE2")).thenReturn(entry);
+
+        perform(get("/coupon/code/{code}", "CACHE2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, entry.etag()))
+                .andExpect(jsonPath("$.code").value("CACHE2"));
+        perform(get("/coupon/code/{code}", "CACHE2").header(HttpHeaders.IF_NONE_MATCH, entry.etag()))
+                .andExpect(status().isNotModified());
+
+        verify(getCouponByCodeUseCase, never()).executeAsync(any());
+    }
+
     @Test
     @DisplayName("Deve deletar cupom e retornar status 204 com corpo")
     void deveDeletarCupom() throws Exception {
@@ -126,10 +237,10 @@ class CouponControllerTest {
         deletedDto.setCode("ABC123");
         deletedDto.setStatus(CouponStatus.DELETED);
 
-        when(deleteCouponUseCase.execute(eq(UUID.fromString(id)))).thenReturn(deleted);
+        when(deleteCouponUseCase.executeAsync(eq(UUID.fromString(id)), isNull())).thenReturn(CompletableFuture.completedFuture(deleted));
         when(webMapper.toResponseDto(any(Coupon.class))).thenReturn(deletedDto);
 
-        mockMvc.perform(delete("/coupon/{id}", id))
+        perform(delete("/coupon/{id}", id))
                 .andExpect(status().isNoContent())
                 .andExpect(jsonPath("$.id").value(id))
                 .andExpect(jsonPath("$.code").value("ABC123"));
@@ -140,11 +251,34 @@ class CouponControllerTest {
     void naoDeveDeletarCupomJaDeletado() throws Exception {
         String id = UUID.randomUUID().toString();
 
-        when(deleteCouponUseCase.execute(eq(UUID.fromString(id))))
-                .thenThrow(new com.coupon.demo.domain.BusinessException("Não é possível deletar um cupom que já está deletado."));
+        when(deleteCouponUseCase.executeAsync(eq(UUID.fromString(id)), isNull()))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new com.coupon.demo.domain.BusinessException("Não é possível deletar um cupom que já está deletado.")));
 
-        mockMvc.perform(delete("/coupon/{id}", id))
+        perform(delete("/coupon/{id}", id))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Não é possível deletar um cupom que já está deletado."));
     }
+
+    @Test
+    @DisplayName("Deve retornar 503 quando o bulkhead da busca estiver cheio")
+    void deveRetornar503ComBulkheadCheio() throws Exception {
+        String id = UUID.randomUUID().toString();
+
+        when(getCouponUseCase.executeAsync(eq(UUID.fromString(id))))
+                .thenThrow(new RejectedExecutionException("Bulkhead read cheio"));
+
+        perform(get("/coupon/{id}", id))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Serviço sobrecarregado, tente novamente."));
+    }
+
+    /**
+     * Endpoints assíncronos devolvem CompletableFuture; o MockMvc precisa do asyncDispatch para ver a resposta.
+     */
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
 }
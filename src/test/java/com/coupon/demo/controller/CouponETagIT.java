@@ -0,0 +1,135 @@
+package com.coupon.demo.controller;
+
+import com.coupon.demo.BaseIT;
+import com.coupon.demo.dto.request.CouponRequestDto;
+import com.coupon.demo.infrastructure.web.CouponJsonCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CouponETagIT extends BaseIT {
+
+    @Autowired
+    private CouponJsonCache jsonCache;
+
+    @Test
+    @DisplayName("GET deve trazer ETag da versão, Last-Modified e Cache-Control")
+    void deveEmitirValidadores() throws Exception {
+        String id = createCoupon("ETAG03");
+
+        perform(get("/coupon/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"));
+    }
+
+    @Test
+    @DisplayName("GET condicional sem corpo guardado deve responder 304 só com a consulta da versão")
+    void deveResponder304PelaVersao() throws Exception {
+        String id = createCoupon("ETAG04");
+        MockHttpServletResponse first = perform(get("/coupon/{id}", id)).andReturn().getResponse();
+        jsonCache.invalidateAll();
+
+        perform(get("/coupon/{id}", id).header(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        jsonCache.invalidateAll();
+        perform(get("/coupon/{id}", id).header(HttpHeaders.IF_MODIFIED_SINCE, first.getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isNotModified());
+        String anHourAgo = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().minusHours(1));
+        perform(get("/coupon/{id}", id).header(HttpHeaders.IF_MODIFIED_SINCE, anHourAgo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("ETAG04"));
+    }
+
+    @Test
+    @DisplayName("DELETE com If-Match deve exigir a versão atual")
+    void deleteDeveRespeitarIfMatch() throws Exception {
+        String id = createCoupon("ETAG05");
+
+        perform(delete("/coupon/{id}", id).header(HttpHeaders.IF_MATCH, "\"5\""))
+                .andExpect(status().isPreconditionFailed());
+        perform(delete("/coupon/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.status").value("DELETED"));
+        perform(delete("/coupon/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("GET com If-None-Match igual deve responder 304 sem consultar o banco")
+    void deveResponder304SemConsultarBanco() throws Exception {
+        String id = createCoupon("ETAG01");
+
+        MockHttpServletResponse first = perform(get("/coupon/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("ETAG01"))
+                .andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        // sem a linha no banco, só o corpo guardado pode responder
+        couponRepository.deleteAll();
+
+        perform(get("/coupon/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+        perform(get("/coupon/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(first.getContentAsByteArray()));
+    }
+
+    @Test
+    @DisplayName("Deleção deve invalidar o corpo guardado e trocar o ETag")
+    void deveTrocarETagAposDelecao() throws Exception {
+        String id = createCoupon("ETAG02");
+        String etag = perform(get("/coupon/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        perform(delete("/coupon/{id}", id)).andExpect(status().isNoContent());
+
+        String deletedEtag = perform(get("/coupon/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DELETED"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, deletedEtag);
+
+        perform(get("/coupon/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "W/" + deletedEtag + ", \"outro\""))
+                .andExpect(status().isNotModified());
+    }
+
+    private String createCoupon(String code) throws Exception {
+        CouponRequestDto request = new CouponRequestDto();
+        request.setCode(code);
+        request.setDescription("Cupom com ETag");
+        request.setDiscountValue(10.0);
+        request.setExpirationDate(LocalDate.now().plusDays(10));
+        request.setPublished(true);
+
+        String json = perform(post("/coupon")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asText();
+    }
+}
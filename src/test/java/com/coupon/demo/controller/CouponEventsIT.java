@@ -0,0 +1,201 @@
+package com.coupon.demo.controller;
+
+import com.coupon.demo.BaseIT;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.dto.request.CouponRequestDto;
+import com.coupon.demo.infrastructure.events.CouponEventFeed;
+import com.coupon.demo.infrastructure.events.CouponOutboxRelay;
+import com.coupon.demo.infrastructure.persistence.CouponPersistenceAdapter;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Outbox, relay e feed de ponta a ponta: as escritas pela API geram os eventos na mesma transação e o
+ * relay os entrega ao feed lido por GET /coupon/events (JSON, long-poll e SSE).
+ * Banco próprio: os contextos de outros testes, ainda abertos, têm relays que drenariam o mesmo outbox
+ * para os seus feeds, como instâncias que dividem um banco. O relay agendado fica parado: os testes chamam
+ * relay() nos pontos em que conferem o outbox, e uma execução agendada entre duas conferências o esvaziaria.
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:coupon-events",
+        "coupon.events.relay-interval=1h"
+})
+class CouponEventsIT extends BaseIT {
+
+    private static final String FUTURE = LocalDate.now().plusDays(30).toString();
+
+    @Autowired
+    private CouponOutboxRelay relay;
+
+    @Autowired
+    private CouponEventFeed feed;
+
+    @Autowired
+    private CouponPersistenceAdapter persistenceAdapter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    private long after;
+
+    @BeforeEach
+    void drainOutbox() {
+        relay.relay();
+        after = feed.lastSequence();
+    }
+
+    @Test
+    @DisplayName("Criação, lote e deleção viram eventos CREATED e DELETED, na ordem, com a versão do cupom")
+    void deveEmitirEventosDoCicloDeVida() throws Exception {
+        String id = create("EVT101");
+        String body = item("EVT102") + "\n" + item("EVT103") + "\n";
+        perform(post("/coupon/batch").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(jsonPath("$.created").value(2));
+        perform(delete("/coupon/{id}", id)).andExpect(status().isNoContent());
+        relay.relay();
+
+        JsonNode page = json(perform(get("/coupon/events").param("after", Long.toString(after)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reset").value(false))
+                .andReturn());
+
+        List<String> events = new ArrayList<>();
+        page.get("events").forEach(event -> events.add(event.get("type").asText() + " "
+                + event.get("code").asText() + " " + event.get("version").asLong()));
+        assertEquals(List.of("CREATED EVT101 0", "CREATED EVT102 0", "CREATED EVT103 0", "DELETED EVT101 1"), events);
+        assertEquals(id, page.get("events").get(3).get("couponId").asText());
+        assertEquals(page.get("events").get(3).get("sequence").asLong(), page.get("next").asLong());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from coupon_outbox", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Long-poll espera pelo próximo evento; sem eventos, responde vazio no fim do prazo")
+    void deveEsperarNoLongPoll() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/coupon/events")
+                        .param("after", Long.toString(after))
+                        .param("wait", "10"))
+                .andReturn();
+        assertTrue(pending.getRequest().isAsyncStarted());
+
+        create("EVT201");
+        relay.relay();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.events[0].code").value("EVT201"));
+        perform(get("/coupon/events").param("after", Long.toString(feed.lastSequence())).param("wait", "1"))
+                .andExpect(jsonPath("$.events").isEmpty())
+                .andExpect(jsonPath("$.next").value(feed.lastSequence()));
+        perform(get("/coupon/events").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Escrita recusada não deixa evento; falha na entrega devolve os eventos ao outbox")
+    void deveGravarEventosNaTransacaoDaEscrita() throws Exception {
+        create("EVT301");
+        assertThrows(DataIntegrityViolationException.class, () -> persistenceAdapter.save(
+                Coupon.create("EVT301", "Repetido", 1.0, LocalDate.now().plusDays(10), true)));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from coupon_outbox", Integer.class));
+
+        assertThrows(IllegalStateException.class, () -> persistenceAdapter.drainOutbox(10, events -> {
+            throw new IllegalStateException("sink indisponível");
+        }));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from coupon_outbox", Integer.class));
+
+        relay.relay();
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from coupon_outbox", Integer.class));
+        assertEquals("EVT301", feed.read(after, 10).events().getFirst().code());
+    }
+
+    @Test
+    @DisplayName("SSE entrega os eventos nomeados pelo tipo, com a sequence como id, a partir do Last-Event-ID")
+    void deveTransmitirPorSse() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/coupon/events"))
+                .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE)
+                .header("Last-Event-ID", Long.toString(after))
+                .build();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            assertEquals(200, response.statusCode());
+            CompletableFuture<List<String>> received = CompletableFuture.supplyAsync(() -> {
+                List<String> lines = new ArrayList<>();
+                for (String line : (Iterable<String>) response.body()::iterator) {
+                    lines.add(line);
+                    if (line.startsWith("data:") && line.contains("EVT401")) {
+                        break;
+                    }
+                }
+                return lines;
+            });
+
+            create("EVT401");
+            relay.relay();
+
+            List<String> lines = received.get(10, TimeUnit.SECONDS);
+            response.body().close();
+            int data = lines.size() - 1;
+            assertEquals("event:CREATED", lines.get(data - 1));
+            assertEquals("id:" + feed.lastSequence(), lines.get(data - 2));
+            assertTrue(lines.get(data).contains("\"type\":\"CREATED\""));
+        }
+    }
+
+    private String create(String code) throws Exception {
+        String body = perform(post("/coupon").contentType(MediaType.APPLICATION_JSON).content(request(code)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+
+    private String request(String code) throws Exception {
+        CouponRequestDto request = new CouponRequestDto();
+        request.setCode(code);
+        request.setDescription("Evento " + code);
+        request.setDiscountValue(5.0);
+        request.setExpirationDate(LocalDate.now().plusDays(10));
+        request.setPublished(true);
+        return objectMapper.writeValueAsString(request);
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private static String item(String code) {
+        return "{\"code\":\"" + code + "\",\"description\":\"Lote\",\"discountValue\":1.0,\"expirationDate\":\""
+                + FUTURE + "\",\"published\":true}";
+    }
+}
@@ -0,0 +1,79 @@
+package com.coupon.demo.controller;
+
+import com.coupon.demo.BaseIT;
+import com.coupon.demo.domain.CouponStatus;
+import com.coupon.demo.dto.request.CouponRequestDto;
+import com.coupon.demo.infrastructure.expiration.CouponExpirationSweeper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CouponExpirationIT extends BaseIT {
+
+    @Autowired
+    private CouponExpirationSweeper sweeper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Cupom vencido deve passar para INACTIVE, com versão nova e sem sobra nos caches")
+    void deveExpirarCupomVencido() throws Exception {
+        String expired = create("EXP001");
+        String deleted = create("EXP002");
+        String active = create("EXP003");
+        perform(delete("/coupon/{id}", deleted)).andExpect(status().isNoContent());
+        perform(get("/coupon/{id}", expired))
+                .andExpect(jsonPath("$.status").value("ACTIVE"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+        expire(expired);
+        expire(deleted);
+
+        assertEquals(1, sweeper.sweep());
+
+        perform(get("/coupon/{id}", expired).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("INACTIVE"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        perform(get("/coupon/code/{code}", "EXP001"))
+                .andExpect(jsonPath("$.status").value("INACTIVE"));
+        perform(post("/coupon/{id}/redeem", expired))
+                .andExpect(status().isBadRequest());
+        assertEquals(CouponStatus.DELETED, couponRepository.findById(UUID.fromString(deleted)).orElseThrow().getStatus());
+        assertEquals(CouponStatus.ACTIVE, couponRepository.findById(UUID.fromString(active)).orElseThrow().getStatus());
+        assertEquals(0, sweeper.sweep());
+    }
+
+    private void expire(String id) {
+        jdbcTemplate.update("update coupons set expiration_date = ? where id = ?",
+                LocalDateTime.now().minusDays(1), UUID.fromString(id));
+    }
+
+    private String create(String code) throws Exception {
+        CouponRequestDto request = new CouponRequestDto();
+        request.setCode(code);
+        request.setDescription("Cupom " + code);
+        request.setDiscountValue(10.0);
+        request.setExpirationDate(LocalDate.now().plusDays(10));
+        request.setPublished(true);
+        String body = perform(post("/coupon")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+}
@@ -8,6 +8,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -25,10 +31,10 @@ class CouponJourneyIT extends BaseIT {
         request.setCode("JO2026");
         request.setDescription("Cupom da Jornada");
         request.setDiscountValue(15.0);
-        request.setExpirationDate(LocalDate.now().plusDays(30).toString());
+        request.setExpirationDate(LocalDate.now().plusDays(30));
         request.setPublished(true);
 
-        String responseJson = mockMvc.perform(post("/coupon")
+        String responseJson = perform(post("/coupon")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
@@ -40,11 +46,15 @@ class CouponJourneyIT extends BaseIT {
 
         assertEquals(1, couponRepository.count(), "Deveria ter 1 cupom no banco");
 
-        mockMvc.perform(get("/coupon/" + createdId))
+        perform(get("/coupon/" + createdId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code").value("JO2026"));
 
-        mockMvc.perform(delete("/coupon/" + createdId))
+        perform(get("/coupon/code/jo2026"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(createdId));
+
+        perform(delete("/coupon/" + createdId))
                 .andExpect(status().isNoContent())
                 .andExpect(jsonPath("$.status").value("DELETED"));
 
@@ -59,10 +69,10 @@ class CouponJourneyIT extends BaseIT {
         request.setCode("DUPLO1");
         request.setDescription("Cupom para testar delete duplo");
         request.setDiscountValue(5.0);
-        request.setExpirationDate(LocalDate.now().plusDays(10).toString());
+        request.setExpirationDate(LocalDate.now().plusDays(10));
         request.setPublished(false);
 
-        String responseJson = mockMvc.perform(post("/coupon")
+        String responseJson = perform(post("/coupon")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
@@ -70,11 +80,49 @@ class CouponJourneyIT extends BaseIT {
 
         String createdId = objectMapper.readTree(responseJson).get("id").asText();
 
-        mockMvc.perform(delete("/coupon/" + createdId))
+        perform(delete("/coupon/" + createdId))
                 .andExpect(status().isNoContent());
 
-        mockMvc.perform(delete("/coupon/" + createdId))
+        perform(delete("/coupon/" + createdId))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Não é possível deletar um cupom que já está deletado."));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deleções concorrentes do mesmo cupom: exatamente uma deve ter sucesso")
+    void deleteConcorrenteDeveTerUmUnicoSucesso() throws Exception {
+        CouponRequestDto request = new CouponRequestDto();
+        request.setCode("CONC01");
+        request.setDescription("Cupom para deleção concorrente");
+        request.setDiscountValue(5.0);
+        request.setExpirationDate(LocalDate.now().plusDays(10));
+        request.setPublished(true);
+
+        String responseJson = perform(post("/coupon")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String createdId = objectMapper.readTree(responseJson).get("id").asText();
+
+        int attempts = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(attempts)) {
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return perform(delete("/coupon/" + createdId)).andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+        }
+
+        List<Integer> statuses = new ArrayList<>();
+        for (Future<Integer> result : results) {
+            statuses.add(result.get());
+        }
+        assertEquals(1, statuses.stream().filter(s -> s == 204).count(), statuses.toString());
+        assertEquals(attempts - 1, statuses.stream().filter(s -> s == 400).count(), statuses.toString());
+    }
+}
@@ -0,0 +1,109 @@
+package com.coupon.demo.controller;
+
+import com.coupon.demo.BaseIT;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CouponListingIT extends BaseIT {
+
+    @BeforeEach
+    void criarCupons() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 7; i++) {
+            body.append("{\"code\":\"LST00").append(i).append("\",\"description\":\"Lista, \\\"").append(i)
+                    .append("\\\"\",\"discountValue\":1.0,\"expirationDate\":\"")
+                    .append(LocalDate.now().plusDays(8 - i % 3)).append("\",\"published\":").append(i % 2 == 0)
+                    .append("}\n");
+        }
+        perform(post("/coupon/batch").contentType(MediaType.APPLICATION_NDJSON).content(body.toString()))
+                .andExpect(jsonPath("$.created").value(7));
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todas as páginas pelo cursor, em ordem e sem repetir itens")
+    void devePaginarPorCursor() throws Exception {
+        List<String> dates = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String url = "/coupon?limit=3" + (cursor != null ? "&cursor=" + cursor : "");
+            JsonNode page = objectMapper.readTree(perform(get(url))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> {
+                dates.add(item.get("expirationDate").asText());
+                ids.add(item.get("id").asText());
+            });
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(7, ids.stream().distinct().count());
+        assertEquals(dates.stream().sorted().toList(), dates);
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por published e status")
+    void deveFiltrar() throws Exception {
+        perform(get("/coupon").param("published", "true").param("status", "ACTIVE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        perform(get("/coupon").param("status", "DELETED"))
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Deve recusar cursor e limite inválidos com 400")
+    void deveRecusarParametrosInvalidos() throws Exception {
+        perform(get("/coupon").param("cursor", "nao-e-cursor"))
+                .andExpect(status().isBadRequest());
+        perform(get("/coupon").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve exportar em NDJSON uma linha por cupom")
+    void deveExportarNdjson() throws Exception {
+        String body = perform(get("/coupon/export").param("published", "false"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(4, lines.length);
+        for (String line : lines) {
+            assertFalse(objectMapper.readTree(line).get("published").asBoolean());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve exportar em CSV com cabeçalho e descrição entre aspas")
+    void deveExportarCsv() throws Exception {
+        String body = perform(get("/coupon/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(8, lines.length);
+        assertTrue(lines[0].startsWith("id,code,description"));
+        assertTrue(lines[1].contains("\"Lista, \"\""));
+    }
+}
@@ -0,0 +1,59 @@
+package com.coupon.demo.controller;
+
+import com.coupon.demo.BaseIT;
+import com.coupon.demo.dto.request.CouponRequestDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureObservability
+class CouponMetricsIT extends BaseIT {
+
+    @Test
+    @DisplayName("Deve expor no Prometheus timers por resultado dos use cases, do adapter, Hikari e Hibernate")
+    void deveExporMetricasPorCamada() throws Exception {
+        perform(post("/coupon").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("MET001"))))
+                .andExpect(status().isCreated());
+        perform(post("/coupon").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("ABC"))))
+                .andExpect(status().isBadRequest());
+        perform(get("/coupon/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+
+        String scrape = perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertMetric(scrape, "coupon_usecase_seconds_count", "usecase=\"CreateCouponUseCase\"", "outcome=\"success\"");
+        assertMetric(scrape, "coupon_usecase_seconds_count", "usecase=\"CreateCouponUseCase\"", "outcome=\"business_error\"");
+        assertMetric(scrape, "coupon_usecase_seconds_count", "usecase=\"GetCouponUseCase\"", "outcome=\"not_found\"");
+        assertMetric(scrape, "coupon_usecase_seconds_bucket", "usecase=\"CreateCouponUseCase\"", "le=");
+        assertMetric(scrape, "coupon_persistence_seconds_count", "operation=\"save\"", "outcome=\"success\"");
+        assertMetric(scrape, "coupon_persistence_seconds_bucket", "operation=\"save\"", "le=");
+        assertMetric(scrape, "hikaricp_connections_acquire_seconds_bucket", "le=");
+        assertMetric(scrape, "hikaricp_connections_usage_seconds_bucket", "le=");
+        assertMetric(scrape, "hikaricp_connections_pending", "pool=");
+        assertMetric(scrape, "hibernate_statements_total", "status=\"prepared\"");
+        assertMetric(scrape, "coupon_load_coalesced_total", "by=\"id\"");
+    }
+
+    private static void assertMetric(String scrape, String name, String... labels) {
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith(name + "{") && Stream.of(labels).allMatch(line::contains)),
+                () -> "métrica ausente: " + name + " " + String.join(", ", labels));
+    }
+
+    private static CouponRequestDto request(String code) {
+        return new CouponRequestDto(code, "Métricas", 1.0, LocalDate.now().plusDays(5), true, null);
+    }
+}
@@ -0,0 +1,70 @@
+package com.coupon.demo.controller;
+
+import com.coupon.demo.BaseIT;
+import com.coupon.demo.dto.request.CouponRequestDto;
+import com.coupon.demo.infrastructure.redemption.CouponUsageCounters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CouponRedemptionIT extends BaseIT {
+
+    @Autowired
+    private CouponUsageCounters couponUsageCounters;
+
+    @Test
+    @DisplayName("Deve resgatar até maxUses, recusar o excedente e gravar os usos no banco")
+    void deveResgatarAteOLimite() throws Exception {
+        String id = create("RED001", 2, true);
+
+        perform(post("/coupon/{id}/redeem", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usedCount").value(1))
+                .andExpect(jsonPath("$.maxUses").value(2));
+        perform(post("/coupon/{id}/redeem", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usedCount").value(2));
+        perform(post("/coupon/{id}/redeem", id))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O cupom atingiu o limite de usos."));
+
+        couponUsageCounters.flush();
+        assertEquals(2, couponRepository.findById(UUID.fromString(id)).orElseThrow().getUsedCount());
+    }
+
+    @Test
+    @DisplayName("Não deve resgatar cupom não publicado, deletado ou inexistente")
+    void naoDeveResgatarCupomIndisponivel() throws Exception {
+        String draft = create("RED002", null, false);
+        perform(post("/coupon/{id}/redeem", draft))
+                .andExpect(status().isBadRequest());
+
+        String deleted = create("RED003", null, true);
+        perform(delete("/coupon/{id}", deleted)).andExpect(status().isNoContent());
+        perform(post("/coupon/{id}/redeem", deleted))
+                .andExpect(status().isBadRequest());
+
+        perform(post("/coupon/{id}/redeem", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private String create(String code, Integer maxUses, boolean published) throws Exception {
+        CouponRequestDto request = new CouponRequestDto(code, "Resgate", 5.0, LocalDate.now().plusDays(10),
+                published, maxUses);
+        String json = perform(post("/coupon")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asText();
+    }
+}
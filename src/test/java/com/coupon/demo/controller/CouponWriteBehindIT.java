@@ -0,0 +1,65 @@
+package com.coupon.demo.controller;
+
+import com.coupon.demo.BaseIT;
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.dto.request.CouponRequestDto;
+import com.coupon.demo.infrastructure.cache.CachingCouponAdapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "coupon.write-behind.enabled=true")
+class CouponWriteBehindIT extends BaseIT {
+
+    @Autowired
+    private SaveCouponPort saveCouponPort;
+
+    @Test
+    @DisplayName("Com write-behind, criações concorrentes respondem 201 só com a linha já gravada")
+    void deveCriarCuponsConcorrentesPorGroupCommit() throws Exception {
+        assertInstanceOf(CachingCouponAdapter.class, saveCouponPort);
+        int requests = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> ids = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+            for (int i = 0; i < requests; i++) {
+                CouponRequestDto request = new CouponRequestDto(String.format("WB%04d", i), "Write-behind", 2.0,
+                        LocalDate.now().plusDays(10), true, null);
+                ids.add(executor.submit(() -> {
+                    start.await();
+                    String json = perform(post("/coupon")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(request)))
+                            .andExpect(status().isCreated())
+                            .andReturn().getResponse().getContentAsString();
+                    return objectMapper.readTree(json).get("id").asText();
+                }));
+            }
+            start.countDown();
+        }
+
+        assertEquals(requests, couponRepository.count());
+        for (Future<String> id : ids) {
+            perform(get("/coupon/" + id.get()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.description").value("Write-behind"));
+        }
+    }
+}
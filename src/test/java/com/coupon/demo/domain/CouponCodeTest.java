@@ -0,0 +1,87 @@
+package com.coupon.demo.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponCodeTest {
+
+    private static final long SEED = 20261017L;
+    private static final int SAMPLES = 200_000;
+    private static final String ALPHABET = "AZaz09MmQq5-_ .$/\\\t\nÁáÇçßıİﬁ٣０Ａ\u00A0\uD83D\uDE00";
+
+    @Test
+    @DisplayName("Deve empacotar e desempacotar o código normalizado")
+    void deveEmpacotarEDesempacotar() {
+        assertEquals("AB1234", CouponCode.unpack(CouponCode.pack("AB1234")));
+        assertEquals("000000", CouponCode.unpack(CouponCode.pack("000000")));
+        assertEquals("ZZZZZZ", CouponCode.unpack(CouponCode.pack("ZZZZZZ")));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a mesma normalização de Coupon.create")
+    void deveNormalizarAntesDeEmpacotar() {
+        long expected = CouponCode.pack("AB1234");
+
+        assertEquals(expected, CouponCode.pack("ab-12$34"));
+        assertEquals(expected, CouponCode.pack(" aB 1-2-3-4 "));
+    }
+
+    @Test
+    @DisplayName("Deve devolver INVALID quando não houver exatamente 6 caracteres alfanuméricos")
+    void deveRejeitarTamanhoDiferenteDeSeis() {
+        assertEquals(CouponCode.INVALID, CouponCode.pack(null));
+        assertEquals(CouponCode.INVALID, CouponCode.pack(""));
+        assertEquals(CouponCode.INVALID, CouponCode.pack("AB-C12"));
+        assertEquals(CouponCode.INVALID, CouponCode.pack("ABCDEF7"));
+        assertEquals(CouponCode.INVALID, CouponCode.pack("ÁBC123"));
+    }
+
+    @Test
+    @DisplayName("Deve devolver o próprio código quando já normalizado")
+    void deveReaproveitarCodigoNormalizado() {
+        String code = "AB1234";
+
+        assertSame(code, CouponCode.normalize(code));
+        assertEquals("AB1234", CouponCode.normalize("ab-12 34"));
+        assertNull(CouponCode.normalize("AB123"));
+        assertNull(CouponCode.normalize(null));
+    }
+
+    @Test
+    @DisplayName("Deve normalizar exatamente como a implementação anterior (regex) para entradas aleatórias")
+    void deveEquivalerAoNormalizadorPorRegex() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = randomCode(random);
+            assertEquals(legacyNormalize(input), CouponCode.normalize(input),
+                    () -> "entrada divergente: \"" + input + "\" (seed " + SEED + ")");
+        }
+    }
+
+    /**
+     * Normalizador anterior de Coupon.create, mantido como referência.
+     */
+    private static String legacyNormalize(String code) {
+        String limpo = code.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+        return limpo.length() == 6 ? limpo : null;
+    }
+
+    /**
+     * Tamanhos de 0 a 12 concentram casos perto de 6; caracteres misturam ASCII,
+     * acentuados, dígitos não ASCII, largura total e pares substitutos.
+     */
+    private static String randomCode(Random random) {
+        int length = random.nextInt(13);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(random.nextInt(4) == 0
+                    ? ALPHABET.charAt(random.nextInt(ALPHABET.length()))
+                    : (char) random.nextInt(128));
+        }
+        return sb.toString();
+    }
+}
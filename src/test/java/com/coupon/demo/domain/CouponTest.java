@@ -74,7 +74,9 @@ class CouponTest {
         String past = LocalDate.now().minusDays(1).toString();
 
         assertThrows(BusinessException.class,
-                () -> Coupon.create("ABC123", "desc", 1.0, null, true));
+                () -> Coupon.create("ABC123", "desc", 1.0, (String) null, true));
+        assertThrows(BusinessException.class,
+                () -> Coupon.create("ABC123", "desc", 1.0, (LocalDate) null, true));
         assertThrows(BusinessException.class,
                 () -> Coupon.create("ABC123", "desc", 1.0, "   ", true));
 
@@ -108,4 +110,33 @@ class CouponTest {
 
         assertThrows(IllegalStateException.class, coupon::delete);
     }
+
+    @Test
+    @DisplayName("Deve criar cupom com limite de usos e rejeitar limite menor que 1")
+    void deveValidarLimiteDeUsos() {
+        LocalDate future = LocalDate.now().plusDays(1);
+
+        Coupon coupon = Coupon.create("ABC123", "d", 1.0, future, true, 10);
+
+        assertEquals(10, coupon.getMaxUses());
+        assertEquals(0, coupon.getUsedCount());
+        assertNull(Coupon.create("ABC123", "d", 1.0, future, true).getMaxUses());
+        assertThrows(BusinessException.class, () -> Coupon.create("ABC123", "d", 1.0, future, true, 0));
+    }
+
+    @Test
+    @DisplayName("Só cupom ativo, publicado e dentro da validade pode ser resgatado")
+    void deveValidarResgate() {
+        LocalDateTime now = LocalDateTime.now();
+        java.util.UUID id = java.util.UUID.randomUUID();
+
+        assertDoesNotThrow(() -> Coupon.reconstitute(id, "ABC123", "d", 1.0,
+                now.plusDays(1), CouponStatus.ACTIVE, true).checkRedeemable(now));
+        assertThrows(BusinessException.class, () -> Coupon.reconstitute(id, "ABC123", "d", 1.0,
+                now.plusDays(1), CouponStatus.DELETED, true).checkRedeemable(now));
+        assertThrows(BusinessException.class, () -> Coupon.reconstitute(id, "ABC123", "d", 1.0,
+                now.plusDays(1), CouponStatus.ACTIVE, false).checkRedeemable(now));
+        assertThrows(BusinessException.class, () -> Coupon.reconstitute(id, "ABC123", "d", 1.0,
+                now.minusSeconds(1), CouponStatus.ACTIVE, true).checkRedeemable(now));
+    }
 }
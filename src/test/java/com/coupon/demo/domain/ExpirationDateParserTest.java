@@ -0,0 +1,53 @@
+package com.coupon.demo.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpirationDateParserTest {
+
+    @Test
+    @DisplayName("Deve aceitar yyyy-MM-dd e dd-MM-yyyy, ignorando espaços nas pontas")
+    void deveAceitarOsDoisFormatos() {
+        LocalDate expected = LocalDate.of(2026, 12, 31);
+
+        assertEquals(expected, ExpirationDateParser.parse("2026-12-31"));
+        assertEquals(expected, ExpirationDateParser.parse("31-12-2026"));
+        assertEquals(expected, ExpirationDateParser.parse("  31-12-2026\t"));
+        assertEquals(LocalDate.of(2028, 2, 29), ExpirationDateParser.parse("29-02-2028"));
+    }
+
+    @Test
+    @DisplayName("Deve devolver null para formato, dígito ou dia inválidos")
+    void deveRejeitarSemExcecao() {
+        assertNull(ExpirationDateParser.parse(null));
+        assertNull(ExpirationDateParser.parse(""));
+        assertNull(ExpirationDateParser.parse("31/12/2026"));
+        assertNull(ExpirationDateParser.parse("2026-1-31"));
+        assertNull(ExpirationDateParser.parse("2026-12-3a"));
+        assertNull(ExpirationDateParser.parse("2026-13-01"));
+        assertNull(ExpirationDateParser.parse("00-12-2026"));
+        assertNull(ExpirationDateParser.parse("31-02-2026"));
+        assertNull(ExpirationDateParser.parse("2027-02-29"));
+        assertNull(ExpirationDateParser.parse("31-12-20260"));
+    }
+
+    @Test
+    @DisplayName("Deve concordar com LocalDate.parse em todas as datas ISO de um ano bissexto e um comum")
+    void deveConcordarComLocalDateParse() {
+        for (int year : new int[]{2027, 2028}) {
+            for (int month = 1; month <= 12; month++) {
+                for (int day = 1; day <= 31; day++) {
+                    String iso = "%04d-%02d-%02d".formatted(year, month, day);
+                    LocalDate expected = day <= LocalDate.of(year, month, 1).lengthOfMonth()
+                            ? LocalDate.of(year, month, day) : null;
+                    assertEquals(expected, ExpirationDateParser.parse(iso), iso);
+                    assertEquals(expected, ExpirationDateParser.parse("%02d-%02d-%04d".formatted(day, month, year)), iso);
+                }
+            }
+        }
+    }
+}
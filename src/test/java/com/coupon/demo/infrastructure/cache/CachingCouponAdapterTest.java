@@ -0,0 +1,257 @@
+package com.coupon.demo.infrastructure.cache;
+
+import com.coupon.demo.application.port.DeleteCouponPort;
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.domain.CouponStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingCouponAdapterTest {
+
+    @Mock
+    private LoadCouponPort loadCouponPort;
+
+    @Mock
+    private SaveCouponPort saveCouponPort;
+
+    @Mock
+    private DeleteCouponPort deleteCouponPort;
+
+    private CachingCouponAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        adapter = new CachingCouponAdapter(loadCouponPort, saveCouponPort, deleteCouponPort,
+                Caffeine.newBuilder().maximumSize(100).recordStats().build(), new CouponCodeIndex(16));
+    }
+
+    @Test
+    @DisplayName("Deve consultar a porta apenas na primeira leitura do mesmo id")
+    void deveServirSegundaLeituraDoCache() {
+        UUID id = UUID.randomUUID();
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(activeCoupon(id)));
+
+        assertTrue(adapter.findById(id).isPresent());
+        assertTrue(adapter.findById(id).isPresent());
+
+        verify(loadCouponPort, times(1)).findById(id);
+        assertEquals(1, adapter.stats().hitCount());
+        assertEquals(1, adapter.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Não deve cachear cupom inexistente")
+    void naoDeveCachearAusencia() {
+        UUID id = UUID.randomUUID();
+        when(loadCouponPort.findById(id)).thenReturn(Optional.empty());
+
+        assertTrue(adapter.findById(id).isEmpty());
+        assertTrue(adapter.findById(id).isEmpty());
+
+        verify(loadCouponPort, times(2)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Mutar o cupom lido não deve alterar a entrada do cache")
+    void naoDeveExporEntradaDoCache() {
+        UUID id = UUID.randomUUID();
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(activeCoupon(id)));
+
+        adapter.findById(id).orElseThrow().delete();
+
+        assertEquals(CouponStatus.ACTIVE, adapter.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Save deve invalidar o id para que o soft delete não seja servido desatualizado")
+    void saveDeveInvalidarEntrada() {
+        UUID id = UUID.randomUUID();
+        Coupon deleted = Coupon.reconstitute(id, "ABC123", "d", 1.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.DELETED, true);
+        when(loadCouponPort.findById(id))
+                .thenReturn(Optional.of(activeCoupon(id)))
+                .thenReturn(Optional.of(deleted));
+        when(saveCouponPort.save(any(Coupon.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Coupon loaded = adapter.findById(id).orElseThrow();
+        loaded.delete();
+        adapter.save(loaded);
+
+        assertEquals(CouponStatus.DELETED, adapter.findById(id).orElseThrow().getStatus());
+        verify(loadCouponPort, times(2)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Deleção confirmada deve marcar a cópia em cache como DELETED sem nova leitura")
+    void markDeletedDeveAtualizarEntrada() {
+        UUID id = UUID.randomUUID();
+        Coupon returned = Coupon.reconstitute(id, "ABC123", "d", 1.0, LocalDateTime.now().plusDays(1),
+                CouponStatus.DELETED, true, null, 0, 1, LocalDateTime.now());
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(activeCoupon(id)));
+        when(deleteCouponPort.markDeleted(eq(id), isNull(), any())).thenReturn(Optional.of(returned));
+
+        adapter.findById(id);
+        assertEquals(returned, adapter.markDeleted(id, null, LocalDateTime.now()).orElseThrow());
+
+        Coupon deleted = adapter.findById(id).orElseThrow();
+        assertEquals(CouponStatus.DELETED, deleted.getStatus());
+        assertEquals(1, deleted.getVersion());
+        verify(loadCouponPort, times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Deleção sem linha alterada deve descartar a entrada")
+    void markDeletedSemAlteracaoDeveInvalidar() {
+        UUID id = UUID.randomUUID();
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(activeCoupon(id)));
+        when(deleteCouponPort.markDeleted(eq(id), isNull(), any())).thenReturn(Optional.empty());
+
+        adapter.findById(id);
+        assertTrue(adapter.markDeleted(id, null, LocalDateTime.now()).isEmpty());
+        adapter.findById(id);
+
+        verify(loadCouponPort, times(2)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o id mesmo quando o save falhar")
+    void deveInvalidarMesmoComFalhaNoSave() {
+        UUID id = UUID.randomUUID();
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(activeCoupon(id)));
+        when(saveCouponPort.save(any(Coupon.class))).thenThrow(new IllegalStateException("falha"));
+
+        Coupon loaded = adapter.findById(id).orElseThrow();
+        assertThrows(IllegalStateException.class, () -> adapter.save(loaded));
+        adapter.findById(id);
+
+        verify(loadCouponPort, times(2)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Busca por código deve guardar o cupom no cache; as seguintes não devem consultar a porta")
+    void deveResolverCodigoPeloIndice() {
+        UUID id = UUID.randomUUID();
+        when(loadCouponPort.findByCode("ABC123")).thenReturn(Optional.of(activeCoupon(id)));
+
+        assertEquals(id, adapter.findByCode("ABC123").orElseThrow().getId());
+        assertEquals(id, adapter.findByCode("abc-123").orElseThrow().getId());
+        assertEquals(id, adapter.findById(id).orElseThrow().getId());
+
+        verify(loadCouponPort, times(1)).findByCode(any());
+        verify(loadCouponPort, never()).findById(id);
+    }
+
+    @Test
+    @DisplayName("Carga por id deve indexar o código do cupom")
+    void findByIdDeveIndexarCodigo() {
+        UUID id = UUID.randomUUID();
+        when(loadCouponPort.findById(id)).thenReturn(Optional.of(activeCoupon(id)));
+
+        adapter.findById(id);
+
+        assertEquals(id, adapter.findByCode("ABC123").orElseThrow().getId());
+        verify(loadCouponPort, never()).findByCode(any());
+    }
+
+    @Test
+    @DisplayName("Save e saveAll não devem indexar códigos nem tirar do índice os códigos em cache")
+    void escritasNaoDevemIndexarCodigo() {
+        CouponCodeIndex codeIndex = new CouponCodeIndex(16);
+        CachingCouponAdapter indexed = new CachingCouponAdapter(loadCouponPort, saveCouponPort, deleteCouponPort,
+                Caffeine.newBuilder().maximumSize(100).build(), codeIndex);
+        UUID hotId = UUID.randomUUID();
+        indexed.warm(List.of(coupon(hotId, "HOT001")));
+        List<Coupon> created = List.of(coupon(UUID.randomUUID(), "NEW001"), coupon(UUID.randomUUID(), "NEW002"));
+        when(saveCouponPort.saveAll(any())).thenReturn(created);
+        when(saveCouponPort.save(any(Coupon.class))).thenReturn(coupon(UUID.randomUUID(), "NEW003"));
+
+        indexed.saveAll(created);
+        indexed.save(Coupon.create("NEW003", "d", 1.0, java.time.LocalDate.now().plusDays(1).toString(), true));
+
+        assertEquals(1, codeIndex.size());
+        assertEquals(hotId, codeIndex.get(CouponCode.pack("HOT001")));
+    }
+
+    @Test
+    @DisplayName("Invalidar o id deve tirar o código do índice")
+    void invalidateDeveRemoverCodigoDoIndice() {
+        CouponCodeIndex codeIndex = new CouponCodeIndex(16);
+        CachingCouponAdapter indexed = new CachingCouponAdapter(loadCouponPort, saveCouponPort, deleteCouponPort,
+                Caffeine.newBuilder().maximumSize(100).build(), codeIndex);
+        UUID id = UUID.randomUUID();
+        indexed.warm(List.of(coupon(id, "ABC123")));
+
+        indexed.invalidate(id);
+
+        assertEquals(0, codeIndex.size());
+    }
+
+    @Test
+    @DisplayName("Entrada do índice apontando para cupom removido deve cair na porta por código")
+    void deveDescartarEntradaDoIndiceSemCupom() {
+        CouponCodeIndex codeIndex = new CouponCodeIndex(16);
+        CachingCouponAdapter indexed = new CachingCouponAdapter(loadCouponPort, saveCouponPort, deleteCouponPort,
+                Caffeine.newBuilder().maximumSize(100).build(), codeIndex);
+        UUID removedId = UUID.randomUUID();
+        UUID currentId = UUID.randomUUID();
+        codeIndex.put(CouponCode.pack("ABC123"), removedId);
+        when(loadCouponPort.findById(removedId)).thenReturn(Optional.empty());
+        when(loadCouponPort.findByCode("ABC123")).thenReturn(Optional.of(activeCoupon(currentId)));
+
+        assertEquals(currentId, indexed.findByCode("ABC123").orElseThrow().getId());
+        assertEquals(currentId, codeIndex.get(CouponCode.pack("ABC123")));
+    }
+
+    @Test
+    @DisplayName("Cupom removido do cache por tamanho deve sair também do índice de códigos, um a um")
+    void evictionDeveRemoverCodigoDoIndice() {
+        CouponCodeIndex codeIndex = new CouponCodeIndex(16);
+        Cache<UUID, Coupon> cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .executor(Runnable::run)
+                .evictionListener(CachingCouponAdapter.codeEvictionListener(codeIndex))
+                .build();
+        CachingCouponAdapter bounded = new CachingCouponAdapter(loadCouponPort, saveCouponPort, deleteCouponPort,
+                cache, codeIndex);
+
+        for (int i = 0; i < 100; i++) {
+            bounded.warm(List.of(coupon(UUID.randomUUID(), CouponCode.unpack(i))));
+            cache.cleanUp();
+            assertTrue(codeIndex.size() <= 1);
+        }
+
+        assertEquals(1, cache.estimatedSize());
+        assertEquals(1, codeIndex.size());
+        Coupon kept = cache.asMap().values().iterator().next();
+        assertEquals(kept.getId(), codeIndex.get(CouponCode.pack(kept.getCode())));
+    }
+
+    private static Coupon coupon(UUID id, String code) {
+        return Coupon.reconstitute(id, code, "d", 1.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.ACTIVE, true);
+    }
+
+    private static Coupon activeCoupon(UUID id) {
+        return Coupon.reconstitute(id, "ABC123", "d", 1.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.ACTIVE, true);
+    }
+}
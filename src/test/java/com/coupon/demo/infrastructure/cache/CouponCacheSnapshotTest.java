@@ -0,0 +1,128 @@
+package com.coupon.demo.infrastructure.cache;
+
+import com.coupon.demo.application.port.DeleteCouponPort;
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CouponCacheSnapshotTest {
+
+    @TempDir
+    private Path dir;
+
+    private final Map<UUID, Coupon> database = new HashMap<>();
+    private final List<List<UUID>> loads = new ArrayList<>();
+    private final Function<List<UUID>, List<Coupon>> loader = ids -> {
+        loads.add(List.copyOf(ids));
+        return ids.stream().filter(database::containsKey).map(database::get).toList();
+    };
+
+    private LoadCouponPort loadCouponPort;
+    private Path file;
+
+    @BeforeEach
+    void setup() {
+        loadCouponPort = mock(LoadCouponPort.class);
+        file = dir.resolve("cache.snapshot");
+    }
+
+    @Test
+    @DisplayName("Deve gravar os mais quentes e, na subida, servir do cache sem consultar a porta")
+    void deveRestaurarEntradasMaisQuentes() throws IOException {
+        CachingCouponAdapter before = adapter(loadCouponPort);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Coupon coupon = coupon(i);
+            database.put(coupon.getId(), coupon);
+            ids.add(coupon.getId());
+            when(loadCouponPort.findById(coupon.getId())).thenReturn(Optional.of(coupon));
+        }
+        ids.forEach(before::findById);
+
+        List<UUID> hottest = before.hottest(2);
+        assertEquals(2, new CouponCacheSnapshot(before, loader, file, 2).save());
+
+        CachingCouponAdapter after = adapter(mock(LoadCouponPort.class));
+        assertEquals(2, new CouponCacheSnapshot(after, loader, file, 2).restore());
+
+        assertEquals(List.of(hottest), loads);
+        Coupon first = database.get(hottest.get(0));
+        assertEquals(first.getDescription(), after.findById(first.getId()).orElseThrow().getDescription());
+        assertEquals(hottest.get(1), after.findByCode(database.get(hottest.get(1)).getCode()).orElseThrow().getId());
+        assertEquals(2, after.stats().hitCount());
+        assertEquals(0, after.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Cupons que sumiram do banco ficam fora; os valores vêm do banco, não do arquivo")
+    void deveRestaurarValoresAtuaisDoBanco() throws IOException {
+        CachingCouponAdapter before = adapter(loadCouponPort);
+        Coupon kept = coupon(1);
+        Coupon removed = coupon(2);
+        for (Coupon coupon : List.of(kept, removed)) {
+            when(loadCouponPort.findById(coupon.getId())).thenReturn(Optional.of(coupon));
+            before.findById(coupon.getId());
+        }
+        new CouponCacheSnapshot(before, loader, file, 10).save();
+        database.put(kept.getId(), Coupon.reconstitute(kept.getId(), kept.getCode(), kept.getDescription(),
+                kept.getDiscountValue(), kept.getExpirationDate(), CouponStatus.INACTIVE, true, null, 0,
+                kept.getVersion() + 1, LocalDateTime.now()));
+
+        CachingCouponAdapter after = adapter(mock(LoadCouponPort.class));
+        assertEquals(1, new CouponCacheSnapshot(after, loader, file, 10).restore());
+
+        assertEquals(CouponStatus.INACTIVE, after.findById(kept.getId()).orElseThrow().getStatus());
+        assertFalse(after.hottest(10).contains(removed.getId()));
+    }
+
+    @Test
+    @DisplayName("Arquivo ausente, truncado ou não configurado: cache vazio, sem erro")
+    void deveIgnorarSnapshotAusenteOuInvalido() throws IOException {
+        CachingCouponAdapter adapter = adapter(loadCouponPort);
+
+        assertEquals(0, new CouponCacheSnapshot(adapter, loader, file, 10).restore());
+
+        Files.write(file, new byte[]{0, 0, 0, 1, 0, 0, 0, 5, 1, 2, 3});
+        assertEquals(0, new CouponCacheSnapshot(adapter, loader, file, 10).restore());
+
+        assertEquals(0, new CouponCacheSnapshot(adapter, loader, null, 10).restore());
+        assertEquals(0, new CouponCacheSnapshot(adapter, loader, null, 10).save());
+        assertTrue(loads.isEmpty());
+        assertTrue(adapter.hottest(10).isEmpty());
+    }
+
+    private static CachingCouponAdapter adapter(LoadCouponPort loadCouponPort) {
+        return new CachingCouponAdapter(loadCouponPort, mock(SaveCouponPort.class), mock(DeleteCouponPort.class),
+                Caffeine.newBuilder().maximumSize(100).recordStats().executor(Runnable::run).build(),
+                new CouponCodeIndex(16));
+    }
+
+    private static Coupon coupon(int i) {
+        return Coupon.reconstitute(UUID.randomUUID(), "SNP00" + i, "Cupom " + i, 1.0, LocalDateTime.now().plusDays(5),
+                CouponStatus.ACTIVE, true, null, 0, 0L, LocalDateTime.now());
+    }
+}
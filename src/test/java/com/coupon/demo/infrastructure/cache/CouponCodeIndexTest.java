@@ -0,0 +1,58 @@
+package com.coupon.demo.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponCodeIndexTest {
+
+    @Test
+    @DisplayName("Deve mapear, sobrescrever e remover códigos")
+    void deveMapearSobrescreverERemover() {
+        CouponCodeIndex index = new CouponCodeIndex(4);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        index.put(42L, first);
+        assertEquals(first, index.get(42L));
+
+        index.put(42L, second);
+        assertEquals(second, index.get(42L));
+        assertEquals(1, index.size());
+
+        index.remove(42L);
+        assertNull(index.get(42L));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Deve manter consistência com HashMap após crescimento e remoções aleatórias")
+    void deveSeComportarComoMapa() {
+        CouponCodeIndex index = new CouponCodeIndex(1);
+        Map<Long, UUID> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            long code = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                index.remove(code);
+                expected.remove(code);
+            } else {
+                UUID id = new UUID(random.nextLong(), random.nextLong());
+                index.put(code, id);
+                expected.put(code, id);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (long code = 0; code < 5_000; code++) {
+            assertEquals(expected.get(code), index.get(code));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.coupon.demo.infrastructure.cache;
+
+import com.coupon.demo.CouponApplication;
+import com.coupon.demo.domain.Coupon;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Perfil durable de ponta a ponta: dois contextos seguidos sobre o mesmo COUPON_DATA_DIR.
+ */
+class CouponDurableRestartIT {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    @DisplayName("Cupons sobrevivem ao reinício e o cache volta aquecido pelo snapshot")
+    void deveReiniciarComDadosECacheAquecido() {
+        UUID id;
+        try (ConfigurableApplicationContext context = start()) {
+            CachingCouponAdapter adapter = context.getBean(CachingCouponAdapter.class);
+            id = adapter.save(Coupon.create("DUR001", "Durável", 1.0, LocalDate.now().plusDays(5), true)).getId();
+            adapter.findById(id);
+        }
+        assertTrue(Files.exists(dir.resolve("coupondb.mv.db")));
+        assertTrue(Files.exists(dir.resolve("coupon-cache.snapshot")));
+
+        try (ConfigurableApplicationContext context = start()) {
+            CachingCouponAdapter adapter = context.getBean(CachingCouponAdapter.class);
+
+            assertEquals("Durável", adapter.findById(id).orElseThrow().getDescription());
+            assertEquals(id, adapter.findByCode("DUR001").orElseThrow().getId());
+            assertEquals(2, adapter.stats().hitCount());
+            assertEquals(0, adapter.stats().missCount());
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CouponApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("durable")
+                .run("--COUPON_DATA_DIR=" + dir, "--coupon.expiration.enabled=false", "--logging.level.root=WARN");
+    }
+}
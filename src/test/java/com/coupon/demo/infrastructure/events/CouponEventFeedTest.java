@@ -0,0 +1,117 @@
+package com.coupon.demo.infrastructure.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CouponEventFeedTest {
+
+    private final CouponEventFeed feed = new CouponEventFeed(4);
+
+    @Test
+    @DisplayName("Lê a partir de after, na ordem, com limit e next para a leitura seguinte")
+    void deveLerAPartirDeAfter() {
+        feed.publish(List.of(event(10), event(12), event(15)));
+
+        CouponEventFeed.Page first = feed.read(null, 2);
+        CouponEventFeed.Page second = feed.read(first.next(), 2);
+        CouponEventFeed.Page empty = feed.read(second.next(), 2);
+
+        assertEquals(List.of(1L, 2L), sequences(first));
+        assertEquals(2, first.next());
+        assertEquals(List.of(3L), sequences(second));
+        assertTrue(empty.events().isEmpty());
+        assertEquals(3, empty.next());
+        assertFalse(first.reset() || second.reset() || empty.reset());
+    }
+
+    @Test
+    @DisplayName("Id do outbox confirmado depois de um maior ainda é publicado, com a sequence seguinte do feed")
+    void devePublicarIdsConfirmadosForaDeOrdem() {
+        CouponEvent later = event(11);
+        CouponEvent earlier = event(10);
+        feed.publish(List.of(later));
+        CouponEventFeed.Page first = feed.read(null, 10);
+
+        feed.publish(List.of(earlier));
+        feed.publish(List.of(earlier));
+
+        CouponEventFeed.Page resumed = feed.read(first.next(), 10);
+        assertEquals(List.of(1L), sequences(first));
+        assertEquals(List.of(2L), sequences(resumed));
+        assertEquals(earlier.couponId(), resumed.events().getFirst().couponId());
+        assertEquals(List.of(later.couponId(), earlier.couponId()),
+                feed.read(null, 10).events().stream().map(CouponEvent::couponId).toList());
+    }
+
+    @Test
+    @DisplayName("Sequence que o feed não emitiu, como a de um processo anterior, recebe reset")
+    void deveSinalizarResetParaSequenceDeOutroProcesso() {
+        CouponEventFeed restarted = new CouponEventFeed(4, 1_000);
+        restarted.publish(List.of(event(1)));
+
+        assertTrue(restarted.read(5L, 10).reset());
+        assertTrue(restarted.read(5_000L, 10).reset());
+        assertEquals(List.of(1_000L), sequences(restarted.read(5_000L, 10)));
+        assertFalse(restarted.read(999L, 10).reset());
+    }
+
+    @Test
+    @DisplayName("Repetidos pelo relay são ignorados")
+    void deveIgnorarRepetidos() {
+        feed.publish(List.of(event(1), event(2)));
+        feed.publish(List.of(event(1), event(2), event(3)));
+
+        assertEquals(List.of(1L, 2L, 3L), sequences(feed.read(null, 10)));
+        assertEquals(3, feed.lastSequence());
+    }
+
+    @Test
+    @DisplayName("Quem ficou para trás do buffer recebe reset e os eventos a partir do mais antigo retido")
+    void deveSinalizarReset() {
+        feed.publish(List.of(event(1), event(2), event(3), event(4), event(5), event(6)));
+
+        CouponEventFeed.Page behind = feed.read(1L, 10);
+        CouponEventFeed.Page current = feed.read(2L, 10);
+
+        assertTrue(behind.reset());
+        assertEquals(List.of(3L, 4L, 5L, 6L), sequences(behind));
+        assertFalse(current.reset());
+        assertEquals(List.of(3L, 4L, 5L, 6L), sequences(current));
+        assertFalse(feed.read(null, 10).reset());
+    }
+
+    @Test
+    @DisplayName("await completa no próximo publish, ou vazio no fim do prazo")
+    void deveEsperarPorEventosNovos() {
+        feed.publish(List.of(event(1)));
+        CompletableFuture<CouponEventFeed.Page> waiting = feed.await(1L, 10, Duration.ofSeconds(10));
+        assertFalse(waiting.isDone());
+
+        feed.publish(List.of(event(1), event(2)));
+
+        assertEquals(List.of(2L), sequences(waiting.join()));
+        CouponEventFeed.Page timedOut = feed.await(2L, 10, Duration.ofMillis(20)).join();
+        assertTrue(timedOut.events().isEmpty());
+        assertEquals(2, timedOut.next());
+        assertEquals(List.of(1L, 2L), sequences(feed.await(null, 10, Duration.ofSeconds(10)).join()));
+    }
+
+    private static List<Long> sequences(CouponEventFeed.Page page) {
+        return page.events().stream().map(CouponEvent::sequence).toList();
+    }
+
+    static CouponEvent event(long sequence) {
+        return new CouponEvent(sequence, CouponEvent.Type.CREATED, UUID.randomUUID(), "EVT001", 0,
+                LocalDateTime.now());
+    }
+}
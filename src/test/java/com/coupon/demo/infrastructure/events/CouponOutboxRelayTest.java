@@ -0,0 +1,109 @@
+package com.coupon.demo.infrastructure.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CouponOutboxRelayTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Deve drenar em blocos até um bloco incompleto, entregando cada bloco a todos os sinks")
+    void deveDrenarEmBlocos() {
+        FakeOutbox outbox = new FakeOutbox(7);
+        List<CouponEvent> first = new ArrayList<>();
+        List<CouponEvent> second = new ArrayList<>();
+        CouponOutboxRelay relay = relay(outbox, 3, first::addAll, second::addAll);
+
+        assertEquals(7, relay.relay());
+
+        assertEquals(List.of(3, 3, 1), outbox.batches);
+        assertEquals(7, first.size());
+        assertEquals(first, second);
+        assertEquals(0, outbox.pending.size());
+        assertEquals(7.0, registry.get(CouponOutboxRelay.RELAYED_COUNTER).counter().count());
+        assertEquals(1, registry.get(CouponOutboxRelay.RUN_TIMER).tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Sink com falha desfaz o bloco, que volta inteiro na execução seguinte")
+    void deveReentregarAposFalhaDoSink() {
+        FakeOutbox outbox = new FakeOutbox(5);
+        List<CouponEvent> delivered = new ArrayList<>();
+        int[] calls = {0};
+        CouponEventSink flaky = events -> {
+            if (++calls[0] == 2) {
+                throw new IllegalStateException("sink indisponível");
+            }
+        };
+        CouponOutboxRelay relay = relay(outbox, 2, delivered::addAll, flaky);
+
+        assertThrows(IllegalStateException.class, relay::relay);
+        assertEquals(3, outbox.pending.size());
+        assertEquals(1, registry.get(CouponOutboxRelay.RUN_TIMER).tag("outcome", "error").timer().count());
+
+        assertEquals(3, relay.relay());
+        assertEquals(0, outbox.pending.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 3L, 4L, 5L),
+                delivered.stream().map(CouponEvent::sequence).toList());
+    }
+
+    @Test
+    @DisplayName("Outbox vazio não entrega nada; depois do close, não drena")
+    void naoDeveDrenarOutboxVazioNemFechado() throws Exception {
+        FakeOutbox outbox = new FakeOutbox(0);
+        CouponOutboxRelay relay = relay(outbox, 2, events -> { });
+
+        assertEquals(0, relay.relay());
+        relay.close();
+        outbox.add(3);
+        assertEquals(0, relay.relay());
+        assertEquals(List.of(0), outbox.batches);
+        assertEquals(0.0, registry.get(CouponOutboxRelay.RELAYED_COUNTER).counter().count());
+    }
+
+    private CouponOutboxRelay relay(FakeOutbox outbox, int batchSize, CouponEventSink... sinks) {
+        return new CouponOutboxRelay(outbox, List.of(sinks), batchSize, Duration.ofMinutes(1), registry);
+    }
+
+    /**
+     * Outbox em memória com a semântica de drainOutbox: os eventos só saem se o consumer retornar.
+     */
+    private static final class FakeOutbox implements CouponOutboxRelay.Drainer {
+
+        private final List<CouponEvent> pending = new ArrayList<>();
+        private final List<Integer> batches = new ArrayList<>();
+        private long sequence;
+
+        FakeOutbox(int count) {
+            add(count);
+        }
+
+        void add(int count) {
+            for (int i = 0; i < count; i++) {
+                pending.add(CouponEventFeedTest.event(++sequence));
+            }
+        }
+
+        @Override
+        public int drain(int limit, Consumer<List<CouponEvent>> consumer) {
+            List<CouponEvent> batch = List.copyOf(pending.subList(0, Math.min(limit, pending.size())));
+            batches.add(batch.size());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            consumer.accept(batch);
+            pending.subList(0, batch.size()).clear();
+            return batch.size();
+        }
+    }
+}
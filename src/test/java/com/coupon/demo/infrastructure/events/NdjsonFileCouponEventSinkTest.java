@@ -0,0 +1,52 @@
+package com.coupon.demo.infrastructure.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NdjsonFileCouponEventSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Acrescenta uma linha JSON por evento, preservando o que já estava no arquivo")
+    void deveAcrescentarLinhas() throws Exception {
+        Path file = dir.resolve("eventos/coupons.ndjson");
+        CouponEvent created = CouponEventFeedTest.event(1);
+        CouponEvent deleted = new CouponEvent(2, CouponEvent.Type.DELETED, created.couponId(), created.code(), 1,
+                created.occurredAt());
+        try (NdjsonFileCouponEventSink sink = new NdjsonFileCouponEventSink(file, objectMapper)) {
+            sink.publish(List.of(created));
+        }
+        try (NdjsonFileCouponEventSink sink = new NdjsonFileCouponEventSink(file, objectMapper)) {
+            sink.publish(List.of(deleted));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertEquals("CREATED", first.get("type").asText());
+        assertEquals(created.couponId().toString(), first.get("couponId").asText());
+        assertEquals(created.occurredAt(), LocalDateTime.parse(first.get("occurredAt").asText()));
+        assertEquals(2, second.get("sequence").asLong());
+        assertEquals("DELETED", second.get("type").asText());
+        assertEquals(1, second.get("version").asLong());
+    }
+}
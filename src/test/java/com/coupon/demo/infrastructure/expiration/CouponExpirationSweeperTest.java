@@ -0,0 +1,114 @@
+package com.coupon.demo.infrastructure.expiration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponExpirationSweeperTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<UUID> invalidated = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("Deve expirar em blocos até sobrar um bloco incompleto, invalidando cada id")
+    void deveExpirarEmBlocos() {
+        FakeExpirer expirer = new FakeExpirer(7);
+        CouponExpirationSweeper sweeper = sweeper(expirer, 3, 100);
+
+        assertEquals(7, sweeper.sweep());
+
+        assertEquals(List.of(3, 3, 1), expirer.chunks);
+        assertEquals(expirer.expired, invalidated);
+        assertEquals(1, registry.get(CouponExpirationSweeper.TRANSITIONED_SUMMARY).summary().count());
+        assertEquals(7.0, registry.get(CouponExpirationSweeper.TRANSITIONED_SUMMARY).summary().totalAmount());
+        assertEquals(1, registry.get(CouponExpirationSweeper.RUN_TIMER).tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve parar em maxChunksPerRun e deixar o restante para a próxima execução")
+    void deveLimitarBlocosPorExecucao() {
+        FakeExpirer expirer = new FakeExpirer(10);
+        CouponExpirationSweeper sweeper = sweeper(expirer, 2, 2);
+
+        assertEquals(4, sweeper.sweep());
+        assertEquals(4, sweeper.sweep());
+        assertEquals(2, sweeper.sweep());
+        assertEquals(0, sweeper.sweep());
+
+        assertEquals(10, invalidated.size());
+        assertEquals(4, registry.get(CouponExpirationSweeper.RUN_TIMER).timer().count());
+    }
+
+    @Test
+    @DisplayName("Falha num bloco mantém os anteriores e a próxima execução retoma do banco")
+    void deveRetomarAposFalha() {
+        FakeExpirer expirer = new FakeExpirer(5);
+        expirer.failOnChunk = 1;
+        CouponExpirationSweeper sweeper = sweeper(expirer, 2, 100);
+
+        assertThrows(IllegalStateException.class, sweeper::sweep);
+        assertEquals(2, invalidated.size());
+        assertEquals(1, registry.get(CouponExpirationSweeper.RUN_TIMER).tag("outcome", "error").timer().count());
+
+        assertEquals(3, sweeper.sweep());
+        assertEquals(5, invalidated.size());
+    }
+
+    @Test
+    @DisplayName("Depois do close não deve iniciar novos blocos")
+    void naoDeveExpirarAposClose() throws InterruptedException {
+        FakeExpirer expirer = new FakeExpirer(5);
+        CouponExpirationSweeper sweeper = sweeper(expirer, 2, 100);
+        sweeper.start();
+        sweeper.close();
+
+        assertEquals(0, sweeper.sweep());
+        assertTrue(expirer.chunks.isEmpty());
+    }
+
+    private CouponExpirationSweeper sweeper(FakeExpirer expirer, int chunkSize, int maxChunksPerRun) {
+        return new CouponExpirationSweeper(expirer, invalidated::add, chunkSize, maxChunksPerRun,
+                Duration.ZERO, Duration.ofHours(1), registry);
+    }
+
+    /**
+     * "Banco" com remaining cupons vencidos; cada bloco consome até limit deles.
+     */
+    private static class FakeExpirer implements CouponExpirationSweeper.Expirer {
+
+        private int remaining;
+        private int failOnChunk = -1;
+        private final List<Integer> chunks = new ArrayList<>();
+        private final List<UUID> expired = new ArrayList<>();
+
+        FakeExpirer(int remaining) {
+            this.remaining = remaining;
+        }
+
+        @Override
+        public List<UUID> expire(LocalDateTime now, int limit) {
+            if (chunks.size() == failOnChunk) {
+                failOnChunk = -1;
+                throw new IllegalStateException("falha simulada");
+            }
+            int size = Math.min(limit, remaining);
+            remaining -= size;
+            chunks.add(size);
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                ids.add(UUID.randomUUID());
+            }
+            expired.addAll(ids);
+            return ids;
+        }
+    }
+}
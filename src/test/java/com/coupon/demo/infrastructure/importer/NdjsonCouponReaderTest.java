@@ -0,0 +1,98 @@
+package com.coupon.demo.infrastructure.importer;
+
+import com.coupon.demo.application.usecase.ImportCouponsUseCase.Line;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonCouponReaderTest {
+
+    @Test
+    @DisplayName("Deve ler um objeto por linha, normalizando a data e ignorando campos desconhecidos")
+    void deveLerLinhasValidas() throws IOException {
+        List<Line> lines = read("""
+                {"code":"ABC123","description":"Primeiro","discountValue":10,"expirationDate":"31-12-2030","published":true,"maxUses":5}
+                {"code":"XYZ789","description":"Segundo","discountValue":"2.5","expirationDate":"2030-01-01","extra":{"a":[1,2]}}
+                """);
+
+        assertEquals(2, lines.size());
+        Line first = lines.get(0);
+        assertEquals(1, first.number());
+        assertEquals("ABC123", first.code());
+        assertEquals(LocalDate.of(2030, 12, 31), first.expirationDate());
+        assertTrue(first.published());
+        assertEquals(5, first.maxUses());
+        assertNull(first.rejection());
+        assertEquals(2.5, lines.get(1).discountValue());
+        assertEquals(2, lines.get(1).number());
+        assertNull(lines.get(1).maxUses());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar linha com data, tipo ou descrição inválidos e seguir a leitura")
+    void deveRejeitarLinhasInvalidas() throws IOException {
+        List<Line> lines = read("""
+                {"code":"ABC123","description":"Data","discountValue":10,"expirationDate":"2030/12/31"}
+                {"code":"ABC124","description":"Tipo","discountValue":"dez","expirationDate":"2030-12-31"}
+                {"code":"ABC125","description":" ","discountValue":10,"expirationDate":"2030-12-31"}
+                [1,2]
+                {"code":"ABC126","description":"Usos","discountValue":10,"maxUses":1.5}
+                {"code":"ABC127","description":"Usos","discountValue":10,"maxUses":99999999999}
+                {"code":"ABC128","description":"Ok","discountValue":10,"expirationDate":"2030-12-31"}
+                """);
+
+        assertEquals(7, lines.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L),
+                lines.stream().filter(l -> l.rejection() != null).map(Line::number).toList());
+        assertNull(lines.get(6).rejection());
+    }
+
+    @Test
+    @DisplayName("Deve pular objeto ou array em campo de valor simples, sem ler os campos internos")
+    void devePularValoresEstruturados() throws IOException {
+        List<Line> lines = read("""
+                {"code":"ABC123","description":"Array","discountValue":[1],"expirationDate":"2030-12-31"}
+                {"code":"ABC124","description":"Objeto","published":{"code":"X"},"discountValue":10}
+                {"code":"ABC125","description":"Texto","published":"sim","discountValue":10}
+                {"code":"ABC126","description":"Ok","discountValue":10,"expirationDate":"2030-12-31","published":false}
+                """);
+
+        assertEquals(4, lines.size());
+        assertEquals(List.of(1L, 2L, 3L), lines.stream().map(Line::number).limit(3).toList());
+        assertTrue(lines.stream().limit(3).allMatch(l -> l.rejection() != null));
+        Line valid = lines.get(3);
+        assertEquals(4, valid.number());
+        assertEquals("ABC126", valid.code());
+        assertFalse(valid.published());
+        assertNull(valid.rejection());
+    }
+
+    @Test
+    @DisplayName("Deve interromper com o número da linha quando o JSON está malformado")
+    void deveFalharEmJsonMalformado() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> read("""
+                {"code":"ABC123","description":"Ok","discountValue":10,"expirationDate":"2030-12-31"}
+                {"code":"ABC124",
+                """));
+
+        assertTrue(e.getMessage().contains("linha"));
+    }
+
+    private static List<Line> read(String ndjson) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        try (NdjsonCouponReader reader = new NdjsonCouponReader(new JsonFactory(),
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))) {
+            reader.forEachRemaining(lines::add);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,99 @@
+package com.coupon.demo.infrastructure.memory;
+
+import com.coupon.demo.infrastructure.persistence.CouponPersistenceAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Perfil memory de ponta a ponta: a API inteira sobre OffHeapCouponAdapter, sem DataSource nem JPA.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("memory")
+class CouponMemoryProfileIT {
+
+    private static final String FUTURE = LocalDate.now().plusDays(30).toString();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    @DisplayName("Sobe sem banco, com o adapter em memória no lugar do JPA")
+    void deveSubirSemBanco() {
+        assertEquals(0, context.getBeanNamesForType(DataSource.class).length);
+        assertEquals(0, context.getBeanNamesForType(CouponPersistenceAdapter.class).length);
+        assertEquals(1, context.getBeanNamesForType(OffHeapCouponAdapter.class).length);
+    }
+
+    @Test
+    @DisplayName("Carga em lote, leitura por código, resgate, listagem e deleção pela API")
+    void deveServirAApiEmMemoria() throws Exception {
+        String body = item("MEM101", 1) + "\n" + item("MEM102", null) + "\n" + item("mem-101", null) + "\n";
+        perform(post("/coupon/batch").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(2));
+
+        String json = perform(get("/coupon/code/{code}", "MEM101"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Borda"))
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(json).get("id").asText();
+
+        perform(post("/coupon/{id}/redeem", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usedCount").value(1));
+        perform(post("/coupon/{id}/redeem", id))
+                .andExpect(status().isBadRequest());
+
+        String page = perform(get("/coupon").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(page.contains("MEM101") && page.contains("MEM102"));
+
+        perform(delete("/coupon/{id}", id)).andExpect(status().isNoContent());
+        perform(get("/coupon/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DELETED"));
+    }
+
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
+    private static String item(String code, Integer maxUses) {
+        return "{\"code\":\"" + code + "\",\"description\":\"Borda\",\"discountValue\":1.0,\"expirationDate\":\""
+                + FUTURE + "\",\"published\":true,\"maxUses\":" + maxUses + "}";
+    }
+}
@@ -0,0 +1,276 @@
+package com.coupon.demo.infrastructure.memory;
+
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.ListCouponsPort.Cursor;
+import com.coupon.demo.application.port.ListCouponsPort.Filter;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.domain.CouponStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapCouponAdapterTest {
+
+    private static final Filter ALL = new Filter(null, null);
+    /**
+     * Ordem de UUID do H2 (bits sem sinal); UUID.compareTo compara com sinal.
+     */
+    private static final Comparator<UUID> UNSIGNED = Comparator
+            .<UUID>comparingLong(id -> id.getMostSignificantBits() ^ Long.MIN_VALUE)
+            .thenComparingLong(id -> id.getLeastSignificantBits() ^ Long.MIN_VALUE);
+
+    private final OffHeapCouponAdapter adapter = new OffHeapCouponAdapter(16);
+
+    @Test
+    @DisplayName("Deve gravar e ler de volta todos os campos, por id e por código bruto")
+    void deveGravarELerTodosOsCampos() {
+        LocalDate expiration = LocalDate.now().plusDays(7);
+        Coupon saved = adapter.save(Coupon.create("ab-12.cd", "Desconto à vista", 12.5, expiration, true, 3));
+
+        Coupon byId = adapter.findById(saved.getId()).orElseThrow();
+        assertEquals("AB12CD", byId.getCode());
+        assertEquals("Desconto à vista", byId.getDescription());
+        assertEquals(12.5, byId.getDiscountValue());
+        assertEquals(expiration.atStartOfDay(), byId.getExpirationDate());
+        assertEquals(CouponStatus.ACTIVE, byId.getStatus());
+        assertTrue(byId.isPublished());
+        assertEquals(3, byId.getMaxUses());
+        assertEquals(0, byId.getUsedCount());
+        assertEquals(0, byId.getVersion());
+        assertEquals(saved.getUpdatedAt(), byId.getUpdatedAt());
+        assertEquals(saved.getId(), adapter.findByCode("ab12cd").orElseThrow().getId());
+        assertTrue(adapter.findByCode("ZZZZZZ").isEmpty());
+        assertTrue(adapter.findByCode("curto").isEmpty());
+        assertTrue(adapter.findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Campos opcionais nulos continuam nulos")
+    void deveManterNulos() {
+        Coupon saved = adapter.save(Coupon.create("NUL001", null, 1.0, LocalDate.now().plusDays(1), false));
+
+        Coupon found = adapter.findById(saved.getId()).orElseThrow();
+        assertNull(found.getDescription());
+        assertNull(found.getMaxUses());
+        assertFalse(found.isPublished());
+    }
+
+    @Test
+    @DisplayName("Código repetido é recusado; num bloco, nenhum item é gravado")
+    void deveRecusarCodigoRepetido() {
+        adapter.save(coupon("DUP001"));
+
+        assertThrows(BusinessException.class, () -> adapter.save(coupon("DUP001")));
+        assertThrows(BusinessException.class, () -> adapter.saveAll(List.of(coupon("DUP002"), coupon("DUP001"))));
+        assertThrows(BusinessException.class, () -> adapter.saveAll(List.of(coupon("DUP003"), coupon("DUP003"))));
+        assertTrue(adapter.findByCode("DUP002").isEmpty());
+        assertTrue(adapter.findByCode("DUP003").isEmpty());
+        assertEquals(1, adapter.size());
+    }
+
+    @Test
+    @DisplayName("Expiração fora da meia-noite não cabe em dias e é recusada")
+    void deveRecusarExpiracaoComHora() {
+        Coupon withTime = Coupon.reconstitute(null, "HOR001", "Hora", 1.0, LocalDateTime.now().plusDays(1),
+                CouponStatus.ACTIVE, true);
+
+        assertThrows(IllegalArgumentException.class, () -> adapter.save(withTime));
+        assertEquals(0, adapter.size());
+    }
+
+    @Test
+    @DisplayName("Alteração confere e incrementa a versão e reindexa o código trocado")
+    void deveAtualizarComVersao() {
+        Coupon saved = adapter.save(coupon("UPD001"));
+        Coupon changed = Coupon.reconstitute(saved.getId(), "UPD002", "Nova", 2.0, saved.getExpirationDate(),
+                CouponStatus.INACTIVE, false, null, 0, saved.getVersion(), saved.getUpdatedAt());
+
+        Coupon updated = adapter.save(changed);
+
+        assertEquals(1, updated.getVersion());
+        assertEquals("Nova", adapter.findByCode("UPD002").orElseThrow().getDescription());
+        assertTrue(adapter.findByCode("UPD001").isEmpty());
+        assertEquals(CouponStatus.INACTIVE, adapter.findById(saved.getId()).orElseThrow().getStatus());
+        assertThrows(ResourceNotFoundException.class, () -> adapter.save(changed));
+    }
+
+    @Test
+    @DisplayName("Alteração mantém os usos gravados, como o used_count não atualizável do adapter JPA")
+    void deveManterUsosNaAlteracao() {
+        Coupon saved = adapter.save(Coupon.create("USO001", "Usos", 1.0, LocalDate.now().plusDays(1), true, 10));
+        adapter.tryRedeem(saved);
+        adapter.tryRedeem(saved);
+        Coupon changed = Coupon.reconstitute(saved.getId(), "USO001", "Nova", 1.0, saved.getExpirationDate(),
+                CouponStatus.ACTIVE, true, 5, 0, saved.getVersion(), saved.getUpdatedAt());
+
+        Coupon updated = adapter.save(changed);
+
+        assertEquals(2, updated.getUsedCount());
+        assertEquals(5, updated.getMaxUses());
+        assertEquals(2, adapter.findById(saved.getId()).orElseThrow().getUsedCount());
+    }
+
+    @Test
+    @DisplayName("Id calculado do slot: volta ao mesmo cupom e não vale em outra instância")
+    void naoDeveEncontrarIdDeOutraInstancia() {
+        Coupon saved = adapter.save(coupon("IDS001"));
+        OffHeapCouponAdapter other = new OffHeapCouponAdapter(16);
+        Coupon foreign = other.save(coupon("IDS001"));
+
+        assertEquals(4, saved.getId().version());
+        assertEquals(2, saved.getId().variant());
+        assertEquals("IDS001", adapter.findById(saved.getId()).orElseThrow().getCode());
+        assertTrue(adapter.findById(foreign.getId()).isEmpty());
+        assertTrue(other.findById(saved.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Soft delete com versão esperada, uma única vez")
+    void deveMarcarDeletado() {
+        Coupon saved = adapter.save(coupon("DEL001"));
+        LocalDateTime deletedAt = LocalDateTime.now();
+
+        assertTrue(adapter.markDeleted(saved.getId(), 5L, deletedAt).isEmpty());
+        Coupon returned = adapter.markDeleted(saved.getId(), 0L, deletedAt).orElseThrow();
+        assertTrue(adapter.markDeleted(saved.getId(), null, deletedAt).isEmpty());
+        assertTrue(adapter.markDeleted(UUID.randomUUID(), null, deletedAt).isEmpty());
+
+        assertEquals(CouponStatus.DELETED, returned.getStatus());
+        assertEquals(1, returned.getVersion());
+        Coupon deleted = adapter.findById(saved.getId()).orElseThrow();
+        assertEquals(CouponStatus.DELETED, deleted.getStatus());
+        assertEquals(1, deleted.getVersion());
+        assertEquals(deletedAt.withNano(0), deleted.getUpdatedAt());
+        assertEquals(1, adapter.findVersion(saved.getId()).orElseThrow().version());
+    }
+
+    @Test
+    @DisplayName("Resgates concorrentes não passam de maxUses")
+    void deveRespeitarMaxUsesSobConcorrencia() throws Exception {
+        Coupon saved = adapter.save(Coupon.create("USE001", "Usos", 1.0, LocalDate.now().plusDays(1), true, 50));
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                attempts.add(executor.submit(() -> adapter.tryRedeem(saved).isPresent()));
+            }
+        }
+        long accepted = 0;
+        for (Future<Boolean> attempt : attempts) {
+            accepted += attempt.get() ? 1 : 0;
+        }
+
+        assertEquals(50, accepted);
+        assertEquals(50, adapter.findById(saved.getId()).orElseThrow().getUsedCount());
+        assertEquals(0, adapter.findById(saved.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("Páginas na ordem (expirationDate, id) com cursor e filtro, e forEach com todos os filtrados")
+    void devePaginarNaOrdemDoAdapterJpa() {
+        List<Coupon> saved = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            saved.add(adapter.save(Coupon.create(code(i), "Página", 1.0, LocalDate.now().plusDays(1 + i % 7),
+                    i % 3 != 0)));
+        }
+        List<UUID> expected = saved.stream()
+                .filter(Coupon::isPublished)
+                .sorted(Comparator.comparing(Coupon::getExpirationDate).thenComparing(Coupon::getId, UNSIGNED))
+                .map(Coupon::getId)
+                .toList();
+        Filter published = new Filter(CouponStatus.ACTIVE, true);
+
+        List<UUID> paged = new ArrayList<>();
+        Cursor cursor = null;
+        List<Coupon> page;
+        do {
+            page = adapter.findPage(published, cursor, 37);
+            page.forEach(coupon -> paged.add(coupon.getId()));
+            cursor = page.isEmpty() ? null : Cursor.of(page.get(page.size() - 1));
+        } while (page.size() == 37);
+
+        assertEquals(expected, paged);
+        List<UUID> visited = new ArrayList<>();
+        assertEquals(expected.size(), adapter.forEach(published, coupon -> visited.add(coupon.getId())));
+        assertEquals(expected.size(), visited.size());
+        assertEquals(300, adapter.forEach(ALL, coupon -> { }));
+        assertTrue(adapter.findPage(new Filter(CouponStatus.DELETED, null), null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cresce além de um bloco de registros e da capacidade inicial dos índices")
+    void deveCrescer() {
+        List<Coupon> saved = new ArrayList<>();
+        for (int from = 0; from < 40_000; from += 1_000) {
+            List<Coupon> block = new ArrayList<>();
+            for (int i = from; i < from + 1_000; i++) {
+                block.add(Coupon.create(code(i), "Cupom " + i, 1.0, LocalDate.now().plusDays(1), true));
+            }
+            saved.addAll(adapter.saveAll(block));
+        }
+
+        assertEquals(40_000, adapter.size());
+        for (int i = 0; i < saved.size(); i += 997) {
+            Coupon coupon = saved.get(i);
+            assertEquals("Cupom " + i, adapter.findById(coupon.getId()).orElseThrow().getDescription());
+            assertEquals(coupon.getId(), adapter.findByCode(code(i)).orElseThrow().getId());
+        }
+        assertTrue(adapter.offHeapBytes() >= 40_000L * CouponRecords.RECORD_BYTES);
+    }
+
+    @Test
+    @DisplayName("Leituras concorrentes com escritas nunca veem um cupom pela metade")
+    void deveLerDeFormaConsistenteDuranteEscritas() throws Exception {
+        Coupon stable = adapter.save(coupon("STB001"));
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    adapter.save(Coupon.create(code(1_000_000 + i), "Escrita " + i, 1.0,
+                            LocalDate.now().plusDays(1), true));
+                }
+                writing.set(false);
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    while (writing.get()) {
+                        Coupon found = adapter.findById(stable.getId()).orElseThrow();
+                        assertEquals("STB001", found.getCode());
+                        assertEquals("Cupom", found.getDescription());
+                    }
+                }));
+            }
+            writer.get();
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        }
+        assertEquals(20_001, adapter.size());
+    }
+
+    private static Coupon coupon(String code) {
+        return Coupon.create(code, "Cupom", 1.0, LocalDate.now().plusDays(5), true);
+    }
+
+    private static String code(int i) {
+        return CouponCode.unpack(i);
+    }
+}
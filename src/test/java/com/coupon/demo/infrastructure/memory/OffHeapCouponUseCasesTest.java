@@ -0,0 +1,99 @@
+package com.coupon.demo.infrastructure.memory;
+
+import com.coupon.demo.application.exception.PreconditionFailedException;
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.application.port.ListCouponsPort.Filter;
+import com.coupon.demo.application.usecase.AsyncExecution;
+import com.coupon.demo.application.usecase.CreateCouponBatchUseCase;
+import com.coupon.demo.application.usecase.CreateCouponUseCase;
+import com.coupon.demo.application.usecase.DeleteCouponUseCase;
+import com.coupon.demo.application.usecase.GetCouponByCodeUseCase;
+import com.coupon.demo.application.usecase.GetCouponUseCase;
+import com.coupon.demo.application.usecase.GetCouponVersionUseCase;
+import com.coupon.demo.application.usecase.ListCouponsUseCase;
+import com.coupon.demo.application.usecase.RedeemCouponUseCase;
+import com.coupon.demo.domain.BusinessException;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Os use cases reais, sem mocks, sobre o adapter em memória: o mesmo fluxo das portas JPA.
+ */
+class OffHeapCouponUseCasesTest {
+
+    private final OffHeapCouponAdapter adapter = new OffHeapCouponAdapter(16);
+    private final AsyncExecution async = new AsyncExecution(Runnable::run, Duration.ofSeconds(1));
+
+    private final CreateCouponUseCase create = new CreateCouponUseCase(adapter, async);
+    private final CreateCouponBatchUseCase batch = new CreateCouponBatchUseCase(adapter, 2);
+    private final GetCouponUseCase get = new GetCouponUseCase(adapter, async);
+    private final GetCouponByCodeUseCase getByCode = new GetCouponByCodeUseCase(adapter, async);
+    private final GetCouponVersionUseCase getVersion = new GetCouponVersionUseCase(adapter, async);
+    private final DeleteCouponUseCase delete = new DeleteCouponUseCase(adapter, adapter, async);
+    private final ListCouponsUseCase list = new ListCouponsUseCase(adapter);
+    private final RedeemCouponUseCase redeem = new RedeemCouponUseCase(adapter, adapter);
+
+    @Test
+    @DisplayName("Criar, buscar por id e código, resgatar até o limite e deletar")
+    void deveExecutarAJornadaDoCupom() {
+        Coupon created = create.execute("mem-001", "Borda", 5.0, LocalDate.now().plusDays(3), true, 2);
+
+        assertEquals(created.getId(), get.execute(created.getId()).getId());
+        assertEquals(created.getId(), getByCode.executeAsync("MEM001").join().getId());
+        assertEquals(1, redeem.execute(created.getId()).usedCount());
+        assertEquals(2, redeem.execute(created.getId()).usedCount());
+        assertThrows(BusinessException.class, () -> redeem.execute(created.getId()));
+
+        assertThrows(PreconditionFailedException.class, () -> delete.execute(created.getId(), 7L));
+        Coupon deleted = delete.execute(created.getId(), 0L);
+        assertEquals(CouponStatus.DELETED, deleted.getStatus());
+        assertEquals(1, getVersion.execute(created.getId()).version());
+        assertThrows(BusinessException.class, () -> delete.execute(created.getId()));
+        assertThrows(BusinessException.class, () -> redeem.execute(created.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> get.execute(UUID.randomUUID()));
+        assertThrows(ResourceNotFoundException.class, () -> delete.execute(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Lote: inválidos e repetidos viram erros por item, os demais são gravados")
+    void deveCriarLoteComErrosPorItem() {
+        create.execute("LOT000", "Já existe", 1.0, LocalDate.now().plusDays(3), true);
+        LocalDate date = LocalDate.now().plusDays(3);
+
+        CreateCouponBatchUseCase.Result result = batch.execute(List.of(
+                new CreateCouponBatchUseCase.Item(0, "LOT001", "Um", 1.0, date, true),
+                new CreateCouponBatchUseCase.Item(1, "LOT000", "Repetido", 1.0, date, true),
+                new CreateCouponBatchUseCase.Item(2, "X", "Inválido", 1.0, date, true),
+                new CreateCouponBatchUseCase.Item(3, "LOT002", "Dois", 1.0, date, true)).iterator());
+
+        assertEquals(2, result.created());
+        assertEquals(List.of(1, 2), result.errors().stream().map(CreateCouponBatchUseCase.ItemError::index).toList());
+        assertEquals("Dois", getByCode.execute("LOT002").getDescription());
+    }
+
+    @Test
+    @DisplayName("Listagem por cursor até a última página")
+    void deveListarPorCursor() {
+        for (int i = 0; i < 5; i++) {
+            create.execute("PAG00" + i, "Página", 1.0, LocalDate.now().plusDays(5 - i), true);
+        }
+
+        ListCouponsUseCase.Page first = list.execute(new Filter(null, true), null, 3);
+        ListCouponsUseCase.Page second = list.execute(new Filter(null, true), first.next(), 3);
+
+        assertEquals(List.of("PAG004", "PAG003", "PAG002"), first.items().stream().map(Coupon::getCode).toList());
+        assertEquals(List.of("PAG001", "PAG000"), second.items().stream().map(Coupon::getCode).toList());
+        assertNull(second.next());
+    }
+}
@@ -0,0 +1,176 @@
+package com.coupon.demo.infrastructure.persistence;
+
+import com.coupon.demo.BaseIT;
+import com.coupon.demo.application.exception.ResourceNotFoundException;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conta as instruções que cada escrita do adapter manda ao banco (hibernate.generate_statistics=true).
+ * As estatísticas só veem as instruções do Hibernate: o evento do outbox vai por JDBC direto na mesma conexão
+ * e é conferido pela linha gravada. Banco próprio e relay parado, para nenhum relay drenar o outbox no meio.
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:coupon-adapter",
+        "coupon.events.relay-interval=1h"
+})
+class CouponPersistenceAdapterIT extends BaseIT {
+
+    @Autowired
+    private CouponPersistenceAdapter adapter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setupStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Criar cupom deve gravar a linha do cupom (um INSERT, sem SELECT) e uma linha CREATED no outbox")
+    void createDeveGravarCupomEEvento() {
+        statistics.clear();
+
+        Coupon saved = adapter.save(Coupon.create("INS001", "Insert", 1.0, LocalDate.now().plusDays(5), true));
+
+        assertNotNull(saved.getId());
+        assertEquals(0, saved.getVersion());
+        assertNotNull(saved.getUpdatedAt());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of("CREATED 0"), outbox(saved.getId()));
+    }
+
+    @Test
+    @DisplayName("Atualizar cupom existente deve emitir exatamente um UPDATE, sem SELECT")
+    void updateDeveEmitirUmUpdate() {
+        Coupon saved = adapter.save(Coupon.create("UPD001", "Update", 1.0, LocalDate.now().plusDays(5), true));
+        Coupon changed = Coupon.reconstitute(saved.getId(), saved.getCode(), "Alterado", saved.getDiscountValue(),
+                saved.getExpirationDate(), saved.getStatus(), false);
+        statistics.clear();
+
+        adapter.save(changed);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        CouponEntity row = couponRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("Alterado", row.getDescription());
+        assertEquals(false, row.isPublished());
+        assertEquals(1L, row.getVersion());
+    }
+
+    @Test
+    @DisplayName("Soft delete deve devolver o cupom lido do próprio UPDATE, sem SELECT, e gravar uma linha DELETED no outbox")
+    void markDeletedDeveEmitirUmUpdateEEvento() {
+        Coupon saved = adapter.save(Coupon.create("DEL001", "Delete", 1.0, LocalDate.now().plusDays(5), true));
+        LocalDateTime deletedAt = LocalDateTime.now().withNano(0);
+        statistics.clear();
+
+        Coupon deleted = adapter.markDeleted(saved.getId(), null, deletedAt).orElseThrow();
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(saved.getId(), deleted.getId());
+        assertEquals("DEL001", deleted.getCode());
+        assertEquals(saved.getExpirationDate(), deleted.getExpirationDate());
+        assertEquals(CouponStatus.DELETED, deleted.getStatus());
+        assertEquals(1L, deleted.getVersion());
+        assertEquals(deletedAt, deleted.getUpdatedAt());
+        CouponEntity row = couponRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(CouponStatus.DELETED, row.getStatus());
+        assertEquals(1L, row.getVersion());
+        assertEquals(List.of("CREATED 0", "DELETED 1"), outbox(saved.getId()));
+    }
+
+    @Test
+    @DisplayName("Soft delete com versão antiga não deve alterar a linha")
+    void markDeletedComVersaoAntigaNaoDeveAlterar() {
+        Coupon saved = adapter.save(Coupon.create("DEL002", "Delete", 1.0, LocalDate.now().plusDays(5), true));
+
+        assertTrue(adapter.markDeleted(saved.getId(), 7L, LocalDateTime.now()).isEmpty());
+        assertEquals(List.of("CREATED 0"), outbox(saved.getId()));
+        assertTrue(adapter.markDeleted(saved.getId(), 0L, LocalDateTime.now()).isPresent());
+        assertTrue(adapter.markDeleted(saved.getId(), null, LocalDateTime.now()).isEmpty());
+        assertTrue(adapter.markDeleted(UUID.randomUUID(), null, LocalDateTime.now()).isEmpty());
+        assertEquals(CouponStatus.DELETED, couponRepository.findById(saved.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Consulta de versão deve emitir um único SELECT, sem carregar a entidade")
+    void findVersionDeveEmitirUmSelect() {
+        Coupon saved = adapter.save(Coupon.create("VER001", "Versão", 1.0, LocalDate.now().plusDays(5), true));
+        statistics.clear();
+
+        var version = adapter.findVersion(saved.getId()).orElseThrow();
+
+        assertEquals(0, version.version());
+        assertNotNull(version.updatedAt());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Reserva de permissões deve parar em max_uses, contando os usos já gravados, e aceitar devoluções")
+    void reserveDeveRespeitarMaxUses() {
+        Coupon limited = adapter.save(Coupon.create("RES001", "Reserva", 1.0, LocalDate.now().plusDays(5), true, 10));
+        Coupon unlimited = adapter.save(Coupon.create("RES002", "Reserva", 1.0, LocalDate.now().plusDays(5), true));
+        UUID id = limited.getId();
+        adapter.addUses(Map.of(id, 3L));
+
+        assertEquals(4, adapter.reserve(id, 4));
+        assertEquals(3, adapter.reserve(id, 4));
+        assertEquals(0, adapter.reserve(id, 4));
+        adapter.release(Map.of(id, 2L));
+        assertEquals(2, adapter.reserve(id, 4));
+
+        assertEquals(10L, jdbcTemplate.queryForObject(
+                "select reserved_uses from coupons where id = ?", Long.class, id));
+        assertEquals(0, adapter.reserve(unlimited.getId(), 4));
+        assertEquals(0, adapter.reserve(UUID.randomUUID(), 4));
+    }
+
+    @Test
+    @DisplayName("Atualizar cupom inexistente deve lançar ResourceNotFoundException em vez de inserir")
+    void updateDeCupomInexistenteDeveFalhar() {
+        Coupon missing = Coupon.reconstitute(UUID.randomUUID(), "MIS001", "Inexistente", 1.0,
+                LocalDateTime.now().plusDays(5), CouponStatus.ACTIVE, true);
+
+        assertThrows(ResourceNotFoundException.class, () -> adapter.save(missing));
+        assertEquals(0, couponRepository.count());
+    }
+
+    /**
+     * Eventos do cupom no outbox, na ordem do id, como "TYPE version".
+     */
+    private List<String> outbox(UUID couponId) {
+        return jdbcTemplate.queryForList(
+                "select type || ' ' || version from coupon_outbox where coupon_id = ? order by id",
+                String.class, couponId);
+    }
+}
@@ -0,0 +1,69 @@
+package com.coupon.demo.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Configuração de banco do perfil prod: pool fixo, cache de comandos do driver, lotes JDBC e SQL fora do log.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:prod-profile",
+        "coupon.expiration.enabled=false"
+})
+@ActiveProfiles("prod")
+class CouponProdProfileIT {
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JpaProperties jpaProperties;
+
+    @Test
+    @DisplayName("Pool de tamanho fixo, dimensionado pela configuração")
+    void poolDeTamanhoFixo() {
+        assertEquals(10, dataSource.getMaximumPoolSize());
+        assertEquals(10, dataSource.getMinimumIdle());
+        assertEquals(2000, dataSource.getConnectionTimeout());
+    }
+
+    @Test
+    @DisplayName("Cache de comandos preparados do H2 ampliado pelas propriedades do driver")
+    void cacheDeComandosDoDriver() {
+        String size = jdbcTemplate.queryForObject(
+                "select setting_value from information_schema.settings where setting_name = 'QUERY_CACHE_SIZE'",
+                String.class);
+
+        assertEquals("64", size);
+    }
+
+    @Test
+    @DisplayName("Hibernate com lotes ordenados e sem SQL no log")
+    void hibernateSemSqlNoLogEComLotes() {
+        Map<String, Object> properties = entityManagerFactory.getProperties();
+
+        assertFalse(jpaProperties.isShowSql());
+        assertEquals("false", String.valueOf(properties.get("hibernate.format_sql")));
+        assertEquals("100", String.valueOf(properties.get("hibernate.jdbc.batch_size")));
+        assertEquals("true", String.valueOf(properties.get("hibernate.order_inserts")));
+        assertEquals("true", String.valueOf(properties.get("hibernate.order_updates")));
+    }
+}
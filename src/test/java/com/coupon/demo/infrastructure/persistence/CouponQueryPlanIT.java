@@ -0,0 +1,39 @@
+package com.coupon.demo.infrastructure.persistence;
+
+import com.coupon.demo.BaseIT;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Planos (EXPLAIN do H2) das consultas como o Hibernate as gera, sobre o esquema das migrações:
+ * cada uma percorre o índice esperado, sem varrer a tabela; as páginas seguintes começam a faixa no cursor.
+ */
+class CouponQueryPlanIT extends BaseIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("Consultas de cupons devem usar os índices das migrações")
+    @CsvSource(delimiter = '|', textBlock = """
+            listagem sem filtro         | IDX_COUPONS_EXPIRATION_ID               | select id from coupons where 1 = 1 order by expiration_date, id fetch first 51 rows only
+            página seguinte (seek)      | IDX_COUPONS_EXPIRATION_ID               | select id from coupons where (expiration_date, id) > (timestamp '2030-01-01 00:00:00', random_uuid()) order by expiration_date, id fetch first 51 rows only
+            seek status e published     | IDX_COUPONS_STATUS_PUBLISHED_EXPIRATION | select id from coupons where (expiration_date, id) > (timestamp '2030-01-01 00:00:00', random_uuid()) and status = 'ACTIVE' and published = true order by expiration_date, id fetch first 51 rows only
+            listagem status e published | IDX_COUPONS_STATUS_PUBLISHED_EXPIRATION | select id from coupons where 1 = 1 and status = 'ACTIVE' and published = true order by expiration_date, id fetch first 51 rows only
+            listagem por status         | IDX_COUPONS_STATUS_EXPIRATION           | select id from coupons where 1 = 1 and status = 'INACTIVE' order by expiration_date, id fetch first 51 rows only
+            expiração                   | IDX_COUPONS_STATUS_EXPIRATION           | select id from coupons where status = 'ACTIVE' and expiration_date <= localtimestamp order by expiration_date fetch first 500 rows only for update
+            busca por código            | UK_COUPONS_CODE                         | select id from coupons where code = 'ABC123'
+            """)
+    void deveUsarIndice(String consulta, String index, String sql) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class).toUpperCase();
+
+        assertTrue(plan.contains(index), consulta + ": " + plan);
+        assertFalse(plan.contains("TABLESCAN"), consulta + ": " + plan);
+    }
+}
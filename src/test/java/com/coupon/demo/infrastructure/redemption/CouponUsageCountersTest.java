@@ -0,0 +1,287 @@
+package com.coupon.demo.infrastructure.redemption;
+
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponUsageCountersTest {
+
+    private static final long LEASE = 16;
+
+    private final Store store = new Store();
+
+    @Test
+    @DisplayName("Sob concorrência, nunca deve entregar mais usos que maxUses")
+    void naoDeveExcederLimiteSobConcorrencia() throws Exception {
+        CouponUsageCounters counters = counters(8);
+        Coupon coupon = store.coupon(UUID.randomUUID(), 5_000, 0);
+        int threads = 16;
+        int attemptsPerThread = 1_000;
+
+        long granted = redeemConcurrently(counters, coupon, threads, attemptsPerThread);
+
+        assertEquals(5_000, granted);
+        assertEquals(5_000, counters.usedCount(coupon.getId()));
+        assertTrue(counters.tryRedeem(coupon).isEmpty());
+        counters.flush();
+        assertEquals(5_000L, store.used.get(coupon.getId()));
+        assertEquals(5_000L, store.reserved.get(coupon.getId()));
+    }
+
+    @Test
+    @DisplayName("Com limite menor que o número de faixas, deve entregar exatamente o limite")
+    void deveRespeitarLimitePequeno() throws Exception {
+        CouponUsageCounters counters = counters(16);
+        Coupon coupon = store.coupon(UUID.randomUUID(), 3, 0);
+
+        assertEquals(3, redeemConcurrently(counters, coupon, 8, 10));
+    }
+
+    @Test
+    @DisplayName("Cupom sem limite deve contar todos os resgates, sem reservar permissões")
+    void deveContarCupomSemLimite() throws Exception {
+        CouponUsageCounters counters = counters(4);
+        Coupon coupon = store.coupon(UUID.randomUUID(), null, 10);
+
+        assertEquals(4_000, redeemConcurrently(counters, coupon, 4, 1_000));
+        assertEquals(4_010, counters.usedCount(coupon.getId()));
+        assertEquals(0, store.reservations.get());
+    }
+
+    @Test
+    @DisplayName("Deve reservar permissões em blocos e devolver as não usadas no desligamento")
+    void deveReservarEmBlocos() {
+        CouponUsageCounters counters = new CouponUsageCounters(store, 2, 10, Duration.ofSeconds(1),
+                Duration.ofMinutes(5));
+        Coupon coupon = store.coupon(UUID.randomUUID(), 100, 0);
+        for (int i = 0; i < 25; i++) {
+            assertTrue(counters.tryRedeem(coupon).isPresent());
+        }
+
+        assertEquals(3, store.reservations.get());
+        assertEquals(30L, store.reserved.get(coupon.getId()));
+
+        counters.close();
+        assertEquals(25L, store.reserved.get(coupon.getId()));
+        assertEquals(25L, store.used.get(coupon.getId()));
+        assertTrue(counters.tryRedeem(coupon).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Após gravar no desligamento e reiniciar, o limite deve continuar valendo")
+    void deveManterLimiteAposReinicio() {
+        UUID id = UUID.randomUUID();
+        CouponUsageCounters first = counters(4);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(first.tryRedeem(store.coupon(id, 10, 0)).isPresent());
+        }
+        first.close();
+        assertEquals(7L, store.used.get(id));
+
+        CouponUsageCounters restarted = counters(4);
+        Coupon reloaded = store.coupon(id, 10, store.used.get(id));
+        int granted = 0;
+        while (restarted.tryRedeem(reloaded).isPresent()) {
+            granted++;
+        }
+        assertEquals(3, granted);
+    }
+
+    @Test
+    @DisplayName("Numa queda sem gravar os usos, o reinício não deve conceder além de maxUses")
+    void naoDeveExcederLimiteAposQueda() {
+        UUID id = UUID.randomUUID();
+        CouponUsageCounters crashed = new CouponUsageCounters(store, 2, 4, Duration.ofSeconds(1),
+                Duration.ofMinutes(5));
+        for (int i = 0; i < 7; i++) {
+            assertTrue(crashed.tryRedeem(store.coupon(id, 10, 0)).isPresent());
+        }
+        assertNull(store.used.get(id));
+
+        CouponUsageCounters restarted = new CouponUsageCounters(store, 2, 4, Duration.ofSeconds(1),
+                Duration.ofMinutes(5));
+        int granted = 0;
+        while (restarted.tryRedeem(store.coupon(id, 10, 0)).isPresent()) {
+            granted++;
+        }
+        assertEquals(2, granted);
+        assertEquals(10L, store.reserved.get(id));
+    }
+
+    @Test
+    @DisplayName("Falha na gravação deve devolver os usos para o próximo flush")
+    void deveReenviarUsosAposFalha() {
+        CouponUsageCounters counters = counters(2);
+        Coupon coupon = store.coupon(UUID.randomUUID(), null, 0);
+        store.failing.set(true);
+        counters.tryRedeem(coupon);
+        counters.tryRedeem(coupon);
+
+        assertThrows(IllegalStateException.class, counters::flush);
+        store.failing.set(false);
+        counters.tryRedeem(coupon);
+
+        assertEquals(1, counters.flush());
+        assertEquals(3L, store.used.get(coupon.getId()));
+        assertEquals(0, counters.flush());
+    }
+
+    @Test
+    @DisplayName("Contador ocioso deve devolver as permissões, sair da memória e o próximo resgate deve recomeçar dos usos gravados")
+    void deveRemoverContadorOcioso() {
+        CouponUsageCounters counters = new CouponUsageCounters(store, 2, LEASE, Duration.ofMillis(100),
+                Duration.ofMillis(250));
+        UUID id = UUID.randomUUID();
+        Coupon stale = store.coupon(id, 5, 0);
+        for (int i = 0; i < 3; i++) {
+            counters.tryRedeem(stale);
+        }
+
+        assertEquals(1, counters.flush());
+        counters.flush();
+        counters.flush();
+        assertEquals(1, counters.size());
+        counters.flush();
+
+        assertEquals(0, counters.size());
+        assertEquals(3L, store.used.get(id));
+        assertEquals(3L, store.reserved.get(id));
+        int granted = 0;
+        while (counters.tryRedeem(stale).isPresent()) {
+            granted++;
+        }
+        assertEquals(2, granted);
+        assertEquals(5, counters.usedCount(id));
+    }
+
+    @Test
+    @DisplayName("Remoção de contadores ociosos durante resgates concorrentes não deve perder usos nem exceder o limite")
+    void naoDevePerderUsosAoRemoverContadores() throws Exception {
+        CouponUsageCounters counters = new CouponUsageCounters(store, 4, 7, Duration.ofMillis(1),
+                Duration.ofMillis(1));
+        Coupon coupon = store.coupon(UUID.randomUUID(), 3_000, 0);
+        AtomicBoolean done = new AtomicBoolean();
+        Thread flusher = Thread.ofPlatform().start(() -> {
+            while (!done.get()) {
+                counters.flush();
+                Thread.onSpinWait();
+            }
+        });
+
+        long granted;
+        try {
+            granted = redeemConcurrently(counters, coupon, 8, 500);
+        } finally {
+            done.set(true);
+            flusher.join();
+        }
+        counters.flush();
+
+        assertEquals(3_000, granted);
+        assertEquals(3_000L, store.used.get(coupon.getId()));
+        assertEquals(3_000L, store.reserved.get(coupon.getId()));
+    }
+
+    @Test
+    @DisplayName("Faixas devem ser arredondadas para potência de 2")
+    void deveArredondarFaixas() {
+        assertEquals(8, counters(5).stripes());
+        assertEquals(1, counters(1).stripes());
+        assertTrue(Integer.bitCount(counters(0).stripes()) == 1);
+    }
+
+    private CouponUsageCounters counters(int stripes) {
+        return new CouponUsageCounters(store, stripes, LEASE, Duration.ofSeconds(1), Duration.ofMinutes(5));
+    }
+
+    private static long redeemConcurrently(CouponUsageCounters counters, Coupon coupon,
+                                           int threads, int attemptsPerThread) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (counters.tryRedeem(coupon).isPresent()) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+        }
+        long granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get();
+        }
+        return granted;
+    }
+
+    /**
+     * Banco em memória com as mesmas regras do CouponPersistenceAdapter: reserva limitada por max_uses a partir
+     * do maior entre reserved_uses e used_count.
+     */
+    private static final class Store implements UsageStore {
+
+        final Map<UUID, Long> used = new ConcurrentHashMap<>();
+        final Map<UUID, Long> reserved = new ConcurrentHashMap<>();
+        final Map<UUID, Integer> maxUses = new ConcurrentHashMap<>();
+        final AtomicInteger reservations = new AtomicInteger();
+        final AtomicBoolean failing = new AtomicBoolean();
+
+        Coupon coupon(UUID id, Integer limit, long usedCount) {
+            if (limit != null) {
+                maxUses.put(id, limit);
+            }
+            return Coupon.reconstitute(id, "ABC123", "d", 1.0, LocalDateTime.now().plusDays(1),
+                    CouponStatus.ACTIVE, true, limit, usedCount);
+        }
+
+        @Override
+        public long usedCount(Coupon coupon) {
+            return used.getOrDefault(coupon.getId(), coupon.getUsedCount());
+        }
+
+        @Override
+        public void addUses(Map<UUID, Long> uses) {
+            if (failing.get()) {
+                throw new IllegalStateException("banco indisponível");
+            }
+            uses.forEach((id, n) -> used.merge(id, n, Long::sum));
+        }
+
+        @Override
+        public synchronized long reserve(UUID id, long permits) {
+            reservations.incrementAndGet();
+            long base = Math.max(reserved.getOrDefault(id, 0L), used.getOrDefault(id, 0L));
+            long granted = Math.max(0, Math.min(permits, maxUses.get(id) - base));
+            reserved.put(id, base + granted);
+            return granted;
+        }
+
+        @Override
+        public synchronized void release(Map<UUID, Long> permits) {
+            permits.forEach((id, n) -> reserved.merge(id, -n, Long::sum));
+        }
+    }
+}
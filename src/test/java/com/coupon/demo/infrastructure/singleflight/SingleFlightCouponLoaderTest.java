@@ -0,0 +1,198 @@
+package com.coupon.demo.infrastructure.singleflight;
+
+import com.coupon.demo.application.port.DeleteCouponPort;
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightCouponLoaderTest {
+
+    private static final int CALLERS = 16;
+
+    @Test
+    @DisplayName("Buscas concorrentes do mesmo id devem gerar uma única consulta")
+    void deveJuntarBuscasConcorrentes() throws Exception {
+        UUID id = UUID.randomUUID();
+        BlockingPort port = new BlockingPort(() -> Optional.of(activeCoupon(id)));
+        SingleFlightCouponLoader loader = new SingleFlightCouponLoader(port, port);
+
+        List<Optional<Coupon>> results = concurrently(() -> loader.findById(id), port, loader);
+
+        assertEquals(1, port.queries.get());
+        assertEquals(CALLERS - 1, loader.coalescedById());
+        assertTrue(results.stream().allMatch(r -> r.map(c -> c.getId().equals(id)).orElse(false)));
+        // cada participante recebe a própria cópia
+        assertEquals(CALLERS, results.stream().map(Optional::get).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Falha da consulta deve chegar a todos que esperavam nela")
+    void deveRepassarFalhaAosParticipantes() throws Exception {
+        UUID id = UUID.randomUUID();
+        BlockingPort port = new BlockingPort(() -> {
+            throw new IllegalStateException("banco fora");
+        });
+        SingleFlightCouponLoader loader = new SingleFlightCouponLoader(port, port);
+
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Optional<Coupon>>> futures = start(pool, () -> loader.findById(id), port, loader);
+            for (Future<Optional<Coupon>> future : futures) {
+                Exception e = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, port.queries.get());
+    }
+
+    @Test
+    @DisplayName("Busca posterior ao fim da consulta deve ir ao banco de novo")
+    void naoDeveGuardarResultado() {
+        UUID id = UUID.randomUUID();
+        BlockingPort port = new BlockingPort(() -> Optional.of(activeCoupon(id)));
+        port.release.countDown();
+        SingleFlightCouponLoader loader = new SingleFlightCouponLoader(port, port);
+
+        loader.findById(id);
+        loader.findById(id);
+
+        assertEquals(2, port.queries.get());
+        assertEquals(0, loader.coalescedById());
+    }
+
+    @Test
+    @DisplayName("Busca após a deleção não deve entrar na consulta iniciada antes dela")
+    void naoDeveJuntarBuscaPosteriorADelecao() throws Exception {
+        UUID id = UUID.randomUUID();
+        BlockingPort port = new BlockingPort(() -> Optional.of(activeCoupon(id)));
+        SingleFlightCouponLoader loader = new SingleFlightCouponLoader(port, port);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<Coupon>> before = pool.submit(() -> loader.findById(id));
+            assertTrue(port.started.await(5, TimeUnit.SECONDS));
+
+            loader.markDeleted(id, null, LocalDateTime.now());
+            Future<Optional<Coupon>> after = pool.submit(() -> loader.findById(id));
+            port.release.countDown();
+
+            assertTrue(before.get(5, TimeUnit.SECONDS).isPresent());
+            assertTrue(after.get(5, TimeUnit.SECONDS).isPresent());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(2, port.queries.get());
+        assertEquals(0, loader.coalescedById());
+    }
+
+    @Test
+    @DisplayName("Grafias diferentes do mesmo código devem gerar uma única consulta")
+    void deveJuntarBuscasPorCodigoNormalizado() throws Exception {
+        UUID id = UUID.randomUUID();
+        BlockingPort port = new BlockingPort(() -> Optional.of(activeCoupon(id)));
+        SingleFlightCouponLoader loader = new SingleFlightCouponLoader(port, port);
+        AtomicInteger turn = new AtomicInteger();
+
+        concurrently(() -> loader.findByCode(turn.getAndIncrement() % 2 == 0 ? "abc-123" : "ABC123"), port, loader);
+
+        assertEquals(1, port.queries.get());
+        assertEquals(CALLERS - 1, loader.coalescedByCode());
+    }
+
+    private static List<Optional<Coupon>> concurrently(Supplier<Optional<Coupon>> call, BlockingPort port,
+                                                       SingleFlightCouponLoader loader) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Optional<Coupon>> results = new ArrayList<>();
+            for (Future<Optional<Coupon>> future : start(pool, call, port, loader)) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Dispara as buscas com a consulta presa até que todas tenham entrado nela, e então a libera.
+     */
+    private static List<Future<Optional<Coupon>>> start(ExecutorService pool, Supplier<Optional<Coupon>> call,
+                                                        BlockingPort port, SingleFlightCouponLoader loader)
+            throws InterruptedException {
+        List<Future<Optional<Coupon>>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(pool.submit(call::get));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loader.coalescedById() + loader.coalescedByCode() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        port.release.countDown();
+        return futures;
+    }
+
+    private static Coupon activeCoupon(UUID id) {
+        return Coupon.reconstitute(id, "ABC123", "Desc", 10.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.ACTIVE, true);
+    }
+
+    /**
+     * Porta cuja consulta só termina quando release é liberado.
+     */
+    private static final class BlockingPort implements LoadCouponPort, DeleteCouponPort {
+
+        final AtomicInteger queries = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        private final Supplier<Optional<Coupon>> result;
+
+        BlockingPort(Supplier<Optional<Coupon>> result) {
+            this.result = result;
+        }
+
+        @Override
+        public Optional<Coupon> findById(UUID id) {
+            return query();
+        }
+
+        @Override
+        public Optional<Coupon> findByCode(String code) {
+            return query();
+        }
+
+        @Override
+        public Optional<Coupon> markDeleted(UUID id, Long expectedVersion, LocalDateTime deletedAt) {
+            return result.get();
+        }
+
+        private Optional<Coupon> query() {
+            queries.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        }
+    }
+}
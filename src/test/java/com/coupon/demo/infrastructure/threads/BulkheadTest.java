@@ -0,0 +1,138 @@
+package com.coupon.demo.infrastructure.threads;
+
+import com.coupon.demo.application.port.LoadCouponPort;
+import com.coupon.demo.application.usecase.AsyncExecution;
+import com.coupon.demo.application.usecase.GetCouponUseCase;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import com.coupon.demo.infrastructure.config.CouponAsyncConfig;
+import com.coupon.demo.infrastructure.config.CouponAsyncProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkheadTest {
+
+    @Test
+    @DisplayName("Deve recusar na hora quando as threads e a fila estão ocupadas")
+    void deveRecusarQuandoCheio() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (Bulkhead bulkhead = new Bulkhead("test", 1, 1)) {
+            AsyncExecution async = bulkhead.execution(Duration.ofSeconds(5));
+            CompletableFuture<String> running = async.supply(() -> await(release));
+            CompletableFuture<String> queued = async.supply(() -> "fila");
+
+            assertThrows(RejectedExecutionException.class, () -> async.supply(() -> "recusada"));
+
+            release.countDown();
+            assertEquals("ok", running.get(5, TimeUnit.SECONDS));
+            assertEquals("fila", queued.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve completar com TimeoutException e não rodar a tarefa que venceu na fila")
+    void deveEstourarTimeoutSemRodarTarefaDaFila() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        try (Bulkhead bulkhead = new Bulkhead("test", 1, 1)) {
+            bulkhead.execution(Duration.ofSeconds(5)).supply(() -> await(release));
+            CompletableFuture<Boolean> queued = bulkhead.execution(Duration.ofMillis(50)).supply(() -> ran.getAndSet(true));
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, e.getCause());
+
+            release.countDown();
+        }
+        assertFalse(ran.get());
+    }
+
+    @Test
+    @DisplayName("Bulkhead lotado não deve atrasar tarefas de outro bulkhead")
+    void deveIsolarBulkheads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (Bulkhead slow = new Bulkhead("slow", 1, 10);
+             Bulkhead fast = new Bulkhead("fast", 1, 10)) {
+            for (int i = 0; i < 5; i++) {
+                slow.execution(Duration.ofSeconds(5)).supply(() -> await(release));
+            }
+
+            assertEquals("rápida", fast.execution(Duration.ofSeconds(1)).supply(() -> "rápida").get(1, TimeUnit.SECONDS));
+            assertEquals(1, slow.active());
+            assertEquals(4, slow.queued());
+
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Com spring.threads.virtual.enabled=true, o use case assíncrono roda numa virtual thread")
+    void deveRodarUseCaseEmVirtualThread() throws Exception {
+        assertTrue(runsOnVirtualThread(new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true")));
+        assertFalse(runsOnVirtualThread(new MockEnvironment()));
+    }
+
+    @Test
+    @DisplayName("Em virtual threads, deve limitar as que rodam, recusar acima da fila e não rodar quem esperou demais")
+    void deveLimitarEmVirtualThreads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        try (Bulkhead bulkhead = Bulkhead.virtual("test", 1, 1, Duration.ofMillis(50))) {
+            CompletableFuture<String> running = bulkhead.execution(Duration.ofSeconds(5)).supply(() -> await(release));
+            CompletableFuture<Boolean> queued = bulkhead.execution(Duration.ofMillis(50)).supply(() -> ran.getAndSet(true));
+
+            assertThrows(RejectedExecutionException.class, () -> bulkhead.execution(Duration.ofSeconds(5)).supply(() -> "recusada"));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, e.getCause());
+            assertEquals(1, bulkhead.active());
+
+            release.countDown();
+            assertEquals("ok", running.get(5, TimeUnit.SECONDS));
+        }
+        assertFalse(ran.get());
+    }
+
+    private static boolean runsOnVirtualThread(MockEnvironment environment) throws Exception {
+        UUID id = UUID.randomUUID();
+        Coupon coupon = Coupon.reconstitute(id, "ABC123", "Desc", 1.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.ACTIVE, true);
+        AtomicBoolean virtual = new AtomicBoolean();
+        LoadCouponPort loadCouponPort = mock(LoadCouponPort.class);
+        when(loadCouponPort.findById(id)).thenAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return Optional.of(coupon);
+        });
+        CouponAsyncProperties properties = new CouponAsyncProperties(null, null, null);
+        try (Bulkhead bulkhead = new CouponAsyncConfig().readBulkhead(properties, environment)) {
+            GetCouponUseCase useCase = new GetCouponUseCase(loadCouponPort,
+                    bulkhead.execution(properties.read().timeout()));
+            assertEquals(id, useCase.executeAsync(id).get(5, TimeUnit.SECONDS).getId());
+        }
+        return virtual.get();
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "ok";
+    }
+}
@@ -0,0 +1,41 @@
+package com.coupon.demo.infrastructure.threads;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    @DisplayName("Deve registrar virtual thread bloqueada dentro de synchronized")
+    void deveDetectarPinning() throws Exception {
+        try (VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(5))) {
+            monitor.start();
+
+            // a gravação JFR começa de forma assíncrona: repete o pinning até ele ser observado
+            long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+            while (monitor.pinnedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.ofVirtual().start(this::sleepHoldingMonitor).join();
+                Thread.sleep(200);
+            }
+            assertTrue(monitor.pinnedCount() > 0);
+            assertTrue(monitor.pinnedSites().keySet().stream()
+                    .anyMatch(site -> site.contains(VirtualThreadPinningMonitorTest.class.getName())));
+        }
+    }
+
+    private void sleepHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.application.exception.PreconditionFailedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponConditionalRequestsTest {
+
+    private static final String ETAG = CouponConditionalRequests.etag(3);
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-01-10T12:00:00Z");
+
+    @Test
+    @DisplayName("If-None-Match deve aceitar lista, W/ e * e ter precedência sobre If-Modified-Since")
+    void deveAvaliarIfNoneMatch() {
+        assertTrue(notModified(headers(HttpHeaders.IF_NONE_MATCH, ETAG)));
+        assertTrue(notModified(headers(HttpHeaders.IF_NONE_MATCH, "\"1\", W/" + ETAG)));
+        assertTrue(notModified(headers(HttpHeaders.IF_NONE_MATCH, "*")));
+        assertFalse(notModified(headers(HttpHeaders.IF_NONE_MATCH, "\"2\"")));
+
+        HttpHeaders both = headers(HttpHeaders.IF_NONE_MATCH, "\"2\"");
+        both.setIfModifiedSince(LAST_MODIFIED.plusSeconds(60).toEpochMilli());
+        assertFalse(notModified(both));
+    }
+
+    @Test
+    @DisplayName("If-Modified-Since deve responder não modificado até a data da última alteração")
+    void deveAvaliarIfModifiedSince() {
+        HttpHeaders same = new HttpHeaders();
+        same.setIfModifiedSince(ZonedDateTime.ofInstant(LAST_MODIFIED, ZoneId.of("GMT")));
+        HttpHeaders before = new HttpHeaders();
+        before.setIfModifiedSince(LAST_MODIFIED.minusSeconds(1).toEpochMilli());
+
+        assertTrue(notModified(same));
+        assertFalse(notModified(before));
+        assertFalse(CouponConditionalRequests.notModified(ETAG, null, same));
+        assertFalse(notModified(new HttpHeaders()));
+    }
+
+    @Test
+    @DisplayName("If-Match deve virar a versão esperada; * ou ausente, qualquer versão")
+    void deveLerVersaoDoIfMatch() {
+        assertEquals(3L, CouponConditionalRequests.expectedVersion(headers(HttpHeaders.IF_MATCH, ETAG)));
+        assertNull(CouponConditionalRequests.expectedVersion(headers(HttpHeaders.IF_MATCH, "*")));
+        assertNull(CouponConditionalRequests.expectedVersion(new HttpHeaders()));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> CouponConditionalRequests.expectedVersion(headers(HttpHeaders.IF_MATCH, "W/" + ETAG)));
+        assertThrows(PreconditionFailedException.class,
+                () -> CouponConditionalRequests.expectedVersion(headers(HttpHeaders.IF_MATCH, "\"abc\"")));
+        assertThrows(IllegalArgumentException.class,
+                () -> CouponConditionalRequests.expectedVersion(headers(HttpHeaders.IF_MATCH, "\"1\", \"2\"")));
+    }
+
+    @Test
+    @DisplayName("Last-Modified deve ser updatedAt em segundos inteiros")
+    void deveTruncarLastModified() {
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 10, 9, 30, 15, 999_000_000);
+
+        Instant lastModified = CouponConditionalRequests.lastModified(updatedAt);
+
+        assertEquals(updatedAt.withNano(0).atZone(ZoneId.systemDefault()).toInstant(), lastModified);
+        assertNull(CouponConditionalRequests.lastModified(null));
+    }
+
+    private static boolean notModified(HttpHeaders request) {
+        return CouponConditionalRequests.notModified(ETAG, LAST_MODIFIED, request);
+    }
+
+    private static HttpHeaders headers(String name, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(name, value);
+        return headers;
+    }
+}
@@ -0,0 +1,77 @@
+package com.coupon.demo.infrastructure.web;
+
+import com.coupon.demo.domain.CouponCode;
+import com.coupon.demo.infrastructure.cache.CouponCodeIndex;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponJsonCacheTest {
+
+    private final CouponCodeIndex codeIndex = new CouponCodeIndex(16);
+    private final CouponJsonCache cache = new CouponJsonCache(Caffeine.newBuilder()
+            .maximumSize(100)
+            .executor(Runnable::run)
+            .evictionListener(CouponJsonCache.codeEvictionListener(codeIndex))
+            .build(), codeIndex, CacheControl.noCache());
+
+    @Test
+    @DisplayName("Não deve guardar corpo lido antes de uma invalidação")
+    void naoDeveGuardarCorpoAnteriorAInvalidacao() {
+        UUID id = UUID.randomUUID();
+        long epoch = cache.epoch();
+
+        cache.invalidate(id);
+        cache.put(id, entry("{\"status\":\"ACTIVE\"}", 0), epoch);
+
+        assertNull(cache.get(id));
+
+        CouponJsonCache.Entry fresh = entry("{\"status\":\"DELETED\"}", 1);
+        cache.put(id, fresh, cache.epoch());
+        assertSame(fresh, cache.get(id));
+    }
+
+    @Test
+    @DisplayName("Busca por código acha o corpo guardado e deixa de achar após a invalidação")
+    void deveAcharPorCodigoEnquantoGuardado() {
+        UUID id = UUID.randomUUID();
+        CouponJsonCache.Entry entry = entry("{\"code\":\"ABC123\"}", 0);
+
+        assertNull(cache.getByCode("ABC123"));
+        cache.put(id, entry, cache.epoch());
+
+        assertSame(entry, cache.getByCode("ABC123"));
+        assertSame(entry, cache.getByCode("abc-123"));
+        assertNull(cache.getByCode("invalido"));
+
+        cache.invalidate(id);
+        assertNull(cache.getByCode("ABC123"));
+        assertEquals(0, codeIndex.size());
+    }
+
+    @Test
+    @DisplayName("O código sai do índice quando o corpo sai do cache por tamanho")
+    void deveTirarCodigoNaEviction() {
+        CouponJsonCache.Entry first = entry("{\"code\":\"ABC123\"}", 0);
+        cache.put(UUID.randomUUID(), first, cache.epoch());
+        for (int i = 0; i < 500; i++) {
+            cache.put(UUID.randomUUID(), new CouponJsonCache.Entry(new byte[0], "\"0\"", null, 1000 + i),
+                    cache.epoch());
+        }
+
+        assertTrue(codeIndex.size() <= 100);
+        cache.invalidateAll();
+        assertEquals(0, codeIndex.size());
+    }
+
+    private static CouponJsonCache.Entry entry(String json, long version) {
+        return new CouponJsonCache.Entry(json.getBytes(StandardCharsets.UTF_8),
+                CouponConditionalRequests.etag(version), null, CouponCode.pack("ABC123"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.coupon.demo.infrastructure.writebehind;
+
+import com.coupon.demo.application.port.SaveCouponPort;
+import com.coupon.demo.domain.Coupon;
+import com.coupon.demo.domain.CouponStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCommitCouponAdapterTest {
+
+    private final FakeSavePort delegate = new FakeSavePort();
+    private GroupCommitCouponAdapter adapter;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (adapter != null) {
+            adapter.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Saves concorrentes devem ser gravados em grupos, cada chamador com o próprio cupom")
+    void deveAgruparSavesConcorrentes() throws Exception {
+        adapter = start(50, Duration.ofMillis(50));
+        int callers = 40;
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Coupon>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                String code = String.format("GRP%03d", i);
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    return adapter.save(coupon(code));
+                }));
+            }
+            ready.countDown();
+        }
+
+        for (int i = 0; i < callers; i++) {
+            Coupon saved = results.get(i).get();
+            assertNotNull(saved.getId());
+            assertEquals(String.format("GRP%03d", i), saved.getCode());
+        }
+        assertEquals(callers, delegate.groups.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(delegate.groups.size() < callers, "esperava grupos com mais de um cupom: " + delegate.groups);
+    }
+
+    @Test
+    @DisplayName("O future só deve completar depois do commit do grupo")
+    void deveCompletarSoAposCommit() throws Exception {
+        adapter = start(10, Duration.ZERO);
+        delegate.commitGate = new CountDownLatch(1);
+
+        CompletableFuture<Coupon> future = adapter.saveAsync(coupon("WAIT01"));
+
+        assertThrows(java.util.concurrent.TimeoutException.class, () -> future.get(200, TimeUnit.MILLISECONDS));
+        delegate.commitGate.countDown();
+        assertNotNull(future.get(5, TimeUnit.SECONDS).getId());
+    }
+
+    @Test
+    @DisplayName("Falha do grupo deve regravar um a um e falhar só o cupom inválido")
+    void deveIsolarFalhaDoGrupo() throws Exception {
+        adapter = start(10, Duration.ofMillis(200));
+        delegate.rejectedCode = "BAD001";
+
+        CompletableFuture<Coupon> ok = adapter.saveAsync(coupon("OK0001"));
+        CompletableFuture<Coupon> bad = adapter.saveAsync(coupon("BAD001"));
+        CompletableFuture<Coupon> other = adapter.saveAsync(coupon("OK0002"));
+
+        assertNotNull(ok.get(5, TimeUnit.SECONDS).getId());
+        assertNotNull(other.get(5, TimeUnit.SECONDS).getId());
+        Exception e = assertThrows(Exception.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertThrows(IllegalStateException.class, () -> adapter.save(coupon("BAD001")));
+    }
+
+    @Test
+    @DisplayName("Atualização (cupom com id) deve ir direto ao delegate")
+    void atualizacaoDevePassarDireto() {
+        adapter = start(10, Duration.ofMillis(200));
+        Coupon existing = Coupon.reconstitute(UUID.randomUUID(), "UPD001", "d", 1.0,
+                LocalDateTime.now().plusDays(1), CouponStatus.ACTIVE, true);
+
+        assertSame(existing, adapter.save(existing));
+        assertTrue(delegate.groups.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Close deve gravar o que está na fila e recusar novos cupons")
+    void closeDeveDrenarFila() throws Exception {
+        adapter = start(10, Duration.ofMillis(100));
+        delegate.commitGate = new CountDownLatch(1);
+        CompletableFuture<Coupon> first = adapter.saveAsync(coupon("CLS001"));
+        CompletableFuture<Coupon> second = adapter.saveAsync(coupon("CLS002"));
+
+        Thread closer = Thread.ofPlatform().start(() -> {
+            try {
+                adapter.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        delegate.commitGate.countDown();
+        closer.join(5_000);
+
+        assertNotNull(first.get(1, TimeUnit.SECONDS).getId());
+        assertNotNull(second.get(1, TimeUnit.SECONDS).getId());
+        assertThrows(IllegalStateException.class, () -> adapter.saveAsync(coupon("CLS003")));
+    }
+
+    private GroupCommitCouponAdapter start(int maxBatchSize, Duration maxWait) {
+        GroupCommitCouponAdapter started = new GroupCommitCouponAdapter(delegate, maxBatchSize, maxWait, 1_000);
+        started.start();
+        return started;
+    }
+
+    private static Coupon coupon(String code) {
+        return Coupon.create(code, "Grupo", 1.0, LocalDate.now().plusDays(5), true);
+    }
+
+    /**
+     * Delegate em memória: atribui ids, registra o tamanho de cada saveAll e pode segurar o commit.
+     */
+    private static class FakeSavePort implements SaveCouponPort {
+
+        final List<Integer> groups = new CopyOnWriteArrayList<>();
+        volatile CountDownLatch commitGate;
+        volatile String rejectedCode;
+
+        @Override
+        public Coupon save(Coupon coupon) {
+            if (coupon.getCode().equals(rejectedCode)) {
+                throw new IllegalStateException("código duplicado");
+            }
+            return coupon.getId() != null ? coupon : withId(coupon);
+        }
+
+        @Override
+        public List<Coupon> saveAll(List<Coupon> coupons) {
+            awaitGate();
+            if (coupons.stream().anyMatch(c -> c.getCode().equals(rejectedCode))) {
+                throw new IllegalStateException("código duplicado");
+            }
+            groups.add(coupons.size());
+            return coupons.stream().map(FakeSavePort::withId).toList();
+        }
+
+        private void awaitGate() {
+            CountDownLatch gate = commitGate;
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private static Coupon withId(Coupon coupon) {
+            return Coupon.reconstitute(UUID.randomUUID(), coupon.getCode(), coupon.getDescription(),
+                    coupon.getDiscountValue(), coupon.getExpirationDate(), coupon.getStatus(), coupon.isPublished());
+        }
+    }
+}